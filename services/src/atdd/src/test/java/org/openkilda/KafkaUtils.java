@@ -86,6 +86,19 @@ public class KafkaUtils {
     }
 
     public KafkaConsumer<String, String> createConsumer() {
+        return new KafkaConsumer<>(makeConsumerProperties(
+                "org.apache.kafka.common.serialization.StringDeserializer"));
+    }
+
+    /**
+     * Creates consumer of raw record values, for the topics which carry binary encoded messages.
+     */
+    public KafkaConsumer<String, byte[]> createMessageConsumer() {
+        return new KafkaConsumer<>(makeConsumerProperties(
+                "org.apache.kafka.common.serialization.ByteArrayDeserializer"));
+    }
+
+    private Properties makeConsumerProperties(String valueDeserializer) {
         Properties props = new Properties();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, settings.getBootstrapServers());
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "ATDD");
@@ -94,9 +107,8 @@ public class KafkaUtils {
         props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, "30000");
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG,
                 "org.apache.kafka.common.serialization.StringDeserializer");
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG,
-                "org.apache.kafka.common.serialization.StringDeserializer");
-        return new KafkaConsumer<>(props);
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, valueDeserializer);
+        return props;
     }
 
     public DumpStateManager getStateDumpsFromBolts() {
@@ -1,12 +1,12 @@
 package org.openkilda.atdd.floodlight;
 
 import static org.junit.Assert.assertTrue;
-import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.KafkaParameters;
 import org.openkilda.KafkaUtils;
 import org.openkilda.messaging.HeartBeat;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodecs;
 
 import cucumber.api.java.en.Given;
 import cucumber.api.java.en.Then;
@@ -18,11 +18,11 @@ import java.util.Collections;
 
 public class HeartBeatTest {
     private final KafkaUtils kafkaUtils;
-    private final KafkaConsumer<String, String> heartBeatConsumer;
+    private final KafkaConsumer<String, byte[]> heartBeatConsumer;
 
     public HeartBeatTest() throws IOException {
         kafkaUtils = new KafkaUtils();
-        heartBeatConsumer = kafkaUtils.createConsumer();
+        heartBeatConsumer = kafkaUtils.createMessageConsumer();
     }
 
     @Given("^rewind heart beat kafka position to the end$")
@@ -42,8 +42,8 @@ public class HeartBeatTest {
     public void got_heart_beat_event(int expect) throws Throwable {
         int beatsCount = 0;
 
-        for (ConsumerRecord<String, String> record : heartBeatConsumer.poll(500)) {
-            Message raw = MAPPER.readValue(record.value(), Message.class);
+        for (ConsumerRecord<String, byte[]> record : heartBeatConsumer.poll(500)) {
+            Message raw = MessageCodecs.decode(record.value(), Message.class);
 
             if (raw instanceof HeartBeat) {
                 beatsCount += 1;
@@ -17,6 +17,7 @@ package org.openkilda.floodlight.config;
 
 import org.openkilda.config.KafkaConsumerGroupConfig;
 import org.openkilda.config.mapping.Mapping;
+import org.openkilda.messaging.codec.CborMessageCodec;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
@@ -40,6 +41,13 @@ public interface KafkaFloodlightConfig extends KafkaConsumerGroupConfig {
     @Key("heart-beat-interval")
     String getHeartBeatInterval();
 
+    /**
+     * Returns the content type of the stats and discovery messages, the other messages are sent as JSON.
+     */
+    @Key("telemetry-content-type")
+    @Default(CborMessageCodec.CONTENT_TYPE)
+    String getTelemetryContentType();
+
     /**
      * Returns Kafka properties built with the configuration data for Producer.
      */
@@ -54,7 +62,7 @@ public interface KafkaFloodlightConfig extends KafkaConsumerGroupConfig {
         properties.put("linger.ms", 10);
 
         properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        properties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         return properties;
     }
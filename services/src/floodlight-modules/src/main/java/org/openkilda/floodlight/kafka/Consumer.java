@@ -1,38 +1,45 @@
 package org.openkilda.floodlight.kafka;
 
+import org.apache.kafka.clients.consumer.ConsumerRebalanceListener;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.clients.consumer.ConsumerRecords;
 import org.apache.kafka.clients.consumer.KafkaConsumer;
-import org.openkilda.floodlight.switchmanager.ISwitchManager;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.Map;
+import java.util.Properties;
 
 public class Consumer implements Runnable {
     private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
 
     private final List<String> topics;
     private final ConsumerContext context;
-    private final ExecutorService handlersPool;
+    private final RecordDispatcher dispatcher;
     private final RecordHandler.Factory handlerFactory;
-    private final ISwitchManager switchManager; // HACK alert.. adding to facilitate safeSwitchTick()
 
+    /**
+     * Set while records fetching is stopped by {@link #applyBackpressure(KafkaConsumer)}, partitions assigned during
+     * this time must be paused too.
+     */
+    private boolean paused;
 
     public Consumer(
-            ConsumerContext context, ExecutorService handlersPool, RecordHandler.Factory handlerFactory,
-            ISwitchManager switchManager, String topic, String ...moreTopics) {
+            ConsumerContext context, RecordDispatcher dispatcher, RecordHandler.Factory handlerFactory,
+            String topic, String ...moreTopics) {
         this.topics = new ArrayList<>(moreTopics.length + 1);
         this.topics.add(topic);
         this.topics.addAll(Arrays.asList(moreTopics));
 
         this.context = context;
-        this.handlersPool = handlersPool;
+        this.dispatcher = dispatcher;
         this.handlerFactory = handlerFactory;
-        this.switchManager = switchManager;
     }
 
     @Override
@@ -49,20 +56,25 @@ public class Consumer implements Runnable {
              */
             KafkaConsumer<String, String> consumer = null;
             try {
-                consumer = new KafkaConsumer<>(context.getKafkaConsumerProperties());
-                consumer.subscribe(topics);
+                Properties properties = context.getKafkaConsumerProperties();
+                // offsets are committed only after records are handled, see commit()
+                properties.put("enable.auto.commit", "false");
+                consumer = new KafkaConsumer<>(properties);
+                paused = false;
+                consumer.subscribe(topics, new RevokeListener(consumer));
 
                 while (true) {
                     ConsumerRecords<String, String> batch = consumer.poll(100);
-                    if (batch.count() < 1) {
-                        continue;
+                    if (0 < batch.count()) {
+                        logger.debug("Received records batch contain {} messages", batch.count());
+                        for (ConsumerRecord<String, String> record : batch) {
+                            dispatcher.received(record);
+                            handle(record);
+                        }
                     }
 
-                    logger.debug("Received records batch contain {} messages", batch.count());
-                    for (ConsumerRecord<String, String> record : batch) {
-                        handle(record);
-                    }
-                    switchManager.safeModeTick(); // HACK alert .. should go in its own timer loop
+                    applyBackpressure(consumer);
+                    commit(consumer);
                 }
             } catch (Exception e) {
                 /*
@@ -71,6 +83,7 @@ public class Consumer implements Runnable {
                 logger.error("Exception received during main kafka consumer loop: {}", e);
             } finally {
                 if (consumer != null) {
+                    dispatcher.forget(consumer.assignment());
                     consumer.close(); // we'll create a new one
                 }
             }
@@ -79,6 +92,68 @@ public class Consumer implements Runnable {
 
     protected void handle(ConsumerRecord<String, String> record) {
         logger.trace("received message: {} - {}", record.offset(), record.value());
-        handlersPool.execute(handlerFactory.produce(record));
+        RecordHandler handler = handlerFactory.produce(record);
+        dispatcher.dispatch(record, handler.getDispatchKey(), handler);
+    }
+
+    /**
+     * Stop fetching records while any of dispatcher's lanes is overloaded. Paused consumer still must be polled.
+     */
+    private void applyBackpressure(KafkaConsumer<String, String> consumer) {
+        if (!paused) {
+            if (dispatcher.isSaturated()) {
+                logger.warn("Records handling is too slow, pause kafka consumer");
+                consumer.pause(consumer.assignment());
+                paused = true;
+            }
+        } else if (dispatcher.isDrained()) {
+            logger.info("Records handling backlog is drained, resume kafka consumer");
+            consumer.resume(consumer.paused());
+            paused = false;
+        }
+    }
+
+    private void commit(KafkaConsumer<String, String> consumer) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = dispatcher.collectCommittable();
+        if (offsets.isEmpty()) {
+            return;
+        }
+        // the callback is called from within the consumer poll, i.e. on this thread
+        consumer.commitAsync(offsets, (committed, error) -> {
+            if (error != null) {
+                // not marked as committed, so these offsets are collected again by the next commit
+                logger.error("Unable to commit kafka offsets {}: {}", committed, error.toString());
+            } else {
+                dispatcher.committed(committed);
+            }
+        });
+    }
+
+    private class RevokeListener implements ConsumerRebalanceListener {
+        private final KafkaConsumer<String, String> consumer;
+
+        RevokeListener(KafkaConsumer<String, String> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+            Map<TopicPartition, OffsetAndMetadata> offsets = dispatcher.collectCommittable(partitions);
+            try {
+                if (!offsets.isEmpty()) {
+                    consumer.commitSync(offsets);
+                }
+            } finally {
+                dispatcher.forget(partitions);
+            }
+        }
+
+        @Override
+        public void onPartitionsAssigned(Collection<TopicPartition> partitions) {
+            if (paused) {
+                logger.info("Pause kafka consumer on newly assigned partitions {}", partitions);
+                consumer.pause(partitions);
+            }
+        }
     }
 }
@@ -18,7 +18,6 @@ package org.openkilda.floodlight.kafka;
 import org.openkilda.config.KafkaTopicsConfig;
 import org.openkilda.floodlight.config.KafkaFloodlightConfig;
 import org.openkilda.floodlight.config.provider.ConfigurationProvider;
-import org.openkilda.floodlight.switchmanager.ISwitchManager;
 
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.FloodlightModuleException;
@@ -30,11 +29,11 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public class KafkaMessageCollector implements IFloodlightModule {
     private static int EXEC_POOL_SIZE = 10;
+    private static int EXEC_BACKLOG_LIMIT = 1000;
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaMessageCollector.class);
 
@@ -72,17 +71,16 @@ public class KafkaMessageCollector implements IFloodlightModule {
 
         ConsumerContext context = new ConsumerContext(moduleContext, kafkaConfig, topicsConfig);
         RecordHandler.Factory handlerFactory = new RecordHandler.Factory(context);
-        ISwitchManager switchManager = moduleContext.getServiceImpl(ISwitchManager.class);
 
         logger.info("Starting {}", this.getClass().getCanonicalName());
         try {
-            ExecutorService parseRecordExecutor = Executors.newFixedThreadPool(EXEC_POOL_SIZE);
+            RecordDispatcher dispatcher = new RecordDispatcher(EXEC_POOL_SIZE, EXEC_BACKLOG_LIMIT);
 
             Consumer consumer;
             if (!context.isTestingMode()) {
-                consumer = new Consumer(context, parseRecordExecutor, handlerFactory, switchManager, inputTopic);
+                consumer = new Consumer(context, dispatcher, handlerFactory, inputTopic);
             } else {
-                consumer = new TestAwareConsumer(context, parseRecordExecutor, handlerFactory, switchManager, inputTopic);
+                consumer = new TestAwareConsumer(context, dispatcher, handlerFactory, inputTopic);
             }
             Executors.newSingleThreadExecutor().execute(consumer);
         } catch (Exception exception) {
@@ -20,6 +20,8 @@ import org.openkilda.floodlight.config.KafkaFloodlightConfig;
 import org.openkilda.floodlight.config.provider.ConfigurationProvider;
 import org.openkilda.floodlight.kafka.producer.Producer;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageCodecs;
 
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
@@ -78,6 +80,7 @@ public class KafkaMessageProducer implements IFloodlightModule, IFloodlightServi
         Context context = new Context(moduleContext, kafkaConfig);
 
         initProducer(context);
+        initCodecs(kafkaConfig, topicsConfig);
         initHeartBeat(context);
     }
 
@@ -107,6 +110,21 @@ public class KafkaMessageProducer implements IFloodlightModule, IFloodlightServi
         }
     }
 
+    private void initCodecs(KafkaFloodlightConfig kafkaConfig, KafkaTopicsConfig topicsConfig)
+            throws FloodlightModuleException {
+        final String option = "telemetry-content-type";
+
+        String value = kafkaConfig.getTelemetryContentType();
+        try {
+            MessageCodec codec = MessageCodecs.forContentType(value);
+            producer.setCodec(topicsConfig.getStatsTopic(), codec);
+            producer.setCodec(topoDiscoTopic, codec);
+        } catch (IllegalArgumentException e) {
+            throw new FloodlightModuleException(String.format(
+                    "Invalid value for option %s=\"%s\": %s", option, value, e.getMessage()));
+        }
+    }
+
     private void initHeartBeat(Context context) throws FloodlightModuleException {
         final String option = "heart-beat-interval";
 
@@ -0,0 +1,197 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executes record handlers on a fixed set of single threaded lanes.
+ *
+ * <p>Records are hashed onto lanes by the key of their parsed message (the target switch DPID, see
+ * {@link org.openkilda.messaging.MessageKeys}), not by the kafka record key, so commands for one switch are executed
+ * in the order they were received even if their producer didn't key them, while different switches are handled in
+ * parallel. Messages that don't target a switch have no ordering requirements and are spread over all lanes.
+ *
+ * <p>Dispatcher also tracks handling progress of each partition: only offsets of completely handled records
+ * (and all records before them) are reported as committable.
+ */
+public class RecordDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(RecordDispatcher.class);
+
+    private final List<ThreadPoolExecutor> lanes;
+    private final int backlogLimit;
+    private final AtomicInteger unkeyedSequence = new AtomicInteger();
+    private final Map<TopicPartition, PartitionProgress> progress = new ConcurrentHashMap<>();
+    private final Map<TopicPartition, Long> committed = new HashMap<>();
+
+    public RecordDispatcher(int lanesCount, int backlogLimit) {
+        this.backlogLimit = backlogLimit;
+
+        lanes = new ArrayList<>(lanesCount);
+        for (int i = 0; i < lanesCount; i++) {
+            lanes.add(new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()));
+        }
+    }
+
+    /**
+     * Registers received record. Records must be passed here in the order they are received, even if they are
+     * not going to be dispatched.
+     */
+    public void received(ConsumerRecord<?, ?> record) {
+        getProgress(record).received(record.offset());
+    }
+
+    /**
+     * Schedules record handler execution on the lane of the message key, {@code null} key means any lane.
+     */
+    public void dispatch(ConsumerRecord<?, ?> record, String key, Runnable handler) {
+        PartitionProgress partition = getProgress(record);
+        long offset = record.offset();
+
+        partition.started(offset);
+        lanes.get(laneIndex(key)).execute(() -> {
+            try {
+                handler.run();
+            } catch (Exception e) {
+                logger.error("Unhandled exception during {}:{}-{} handling", record.topic(), record.partition(),
+                        offset, e);
+            } finally {
+                partition.completed(offset);
+            }
+        });
+    }
+
+    /**
+     * Checks whether any lane have got more records than it is allowed to keep in its queue. Consumer should
+     * stop fetching new records until {@link #isDrained()} become true.
+     */
+    public boolean isSaturated() {
+        for (ThreadPoolExecutor lane : lanes) {
+            if (backlogLimit <= lane.getQueue().size()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether all lanes have reduced their backlog down to the half of the limit.
+     */
+    public boolean isDrained() {
+        for (ThreadPoolExecutor lane : lanes) {
+            if (backlogLimit / 2 < lane.getQueue().size()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns offsets that can be committed and were not reported as {@link #committed(Map)} yet. The same offsets
+     * are returned again until their commit succeeds.
+     */
+    public Map<TopicPartition, OffsetAndMetadata> collectCommittable() {
+        return collectCommittable(progress.keySet());
+    }
+
+    /**
+     * Same as {@link #collectCommittable()}, but only for the given partitions.
+     */
+    public Map<TopicPartition, OffsetAndMetadata> collectCommittable(Collection<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            PartitionProgress partitionProgress = progress.get(partition);
+            if (partitionProgress == null) {
+                continue;
+            }
+            long offset = partitionProgress.getCommittable();
+            Long last = committed.get(partition);
+            if (0 <= offset && (last == null || last < offset)) {
+                offsets.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        return offsets;
+    }
+
+    /**
+     * Registers successfully committed offsets. Commits may complete out of order, older offsets are ignored.
+     */
+    public void committed(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        for (Map.Entry<TopicPartition, OffsetAndMetadata> entry : offsets.entrySet()) {
+            if (progress.containsKey(entry.getKey())) {
+                committed.merge(entry.getKey(), entry.getValue().offset(), Math::max);
+            }
+        }
+    }
+
+    /**
+     * Stops progress tracking for the partitions (i.e. they were revoked from the consumer). Handlers of already
+     * dispatched records are still executed.
+     */
+    public void forget(Collection<TopicPartition> partitions) {
+        for (TopicPartition partition : partitions) {
+            progress.remove(partition);
+            committed.remove(partition);
+        }
+    }
+
+    private PartitionProgress getProgress(ConsumerRecord<?, ?> record) {
+        return progress.computeIfAbsent(
+                new TopicPartition(record.topic(), record.partition()), ignore -> new PartitionProgress());
+    }
+
+    private int laneIndex(String key) {
+        int hash = key != null ? key.hashCode() : unkeyedSequence.getAndIncrement();
+        return Math.abs(hash % lanes.size());
+    }
+
+    private static class PartitionProgress {
+        private final TreeSet<Long> pending = new TreeSet<>();
+        private long next = -1;
+
+        synchronized void received(long offset) {
+            next = offset + 1;
+        }
+
+        synchronized void started(long offset) {
+            pending.add(offset);
+        }
+
+        synchronized void completed(long offset) {
+            pending.remove(offset);
+        }
+
+        synchronized long getCommittable() {
+            return pending.isEmpty() ? next : pending.first();
+        }
+    }
+}
@@ -29,6 +29,7 @@ import org.openkilda.floodlight.switchmanager.SwitchOperationException;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosable;
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.MessageKeys;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.CommandWithReplyToMessage;
@@ -93,6 +94,9 @@ class RecordHandler implements Runnable {
     private final ConsumerRecord<String, String> record;
     private final MeterPool meterPool;
 
+    private boolean parsed = false;
+    private CommandMessage message;
+
     public RecordHandler(ConsumerContext context, ConsumerRecord<String, String> record,
                          MeterPool meterPool) {
         this.context = context;
@@ -674,17 +678,36 @@ class RecordHandler implements Runnable {
         return allocatedId;
     }
 
-    private void parseRecord(ConsumerRecord<String, String> record) {
-        CommandMessage message;
-        try {
-            String value = record.value();
-            // TODO: Prior to Message changes, this MAPPER would read Message ..
-            //          but, changed to BaseMessage and got an error wrt "timestamp" ..
-            //          so, need to experiment with why CommandMessage can't be read as
-            //          a BaseMessage
-            message = MAPPER.readValue(value, CommandMessage.class);
-        } catch (Exception exception) {
-            logger.error("error parsing record={}", record.value(), exception);
+    private CommandMessage parseRecord(ConsumerRecord<String, String> record) {
+        if (!parsed) {
+            parsed = true;
+            try {
+                String value = record.value();
+                // TODO: Prior to Message changes, this MAPPER would read Message ..
+                //          but, changed to BaseMessage and got an error wrt "timestamp" ..
+                //          so, need to experiment with why CommandMessage can't be read as
+                //          a BaseMessage
+                message = MAPPER.readValue(value, CommandMessage.class);
+            } catch (Exception exception) {
+                logger.error("error parsing record={}", record.value(), exception);
+            }
+        }
+        return message;
+    }
+
+    /**
+     * Parses the record and returns the key of its message (the target switch DPID, see {@link MessageKeys}), so
+     * the dispatcher can keep the commands for one switch in order. {@code null} if the message doesn't target a
+     * switch or can't be parsed.
+     */
+    String getDispatchKey() {
+        CommandMessage parsedMessage = parseRecord(record);
+        return parsedMessage != null ? MessageKeys.of(parsedMessage) : null;
+    }
+
+    private void handleRecord(ConsumerRecord<String, String> record) {
+        CommandMessage message = parseRecord(record);
+        if (message == null) {
             return;
         }
 
@@ -698,7 +721,7 @@ class RecordHandler implements Runnable {
 
     @Override
     public void run() {
-        parseRecord(record);
+        handleRecord(record);
     }
 
     protected SwitchInfoData buildSwitchInfoData(IOFSwitch sw) {
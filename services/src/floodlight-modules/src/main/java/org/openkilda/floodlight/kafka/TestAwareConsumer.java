@@ -17,7 +17,6 @@ package org.openkilda.floodlight.kafka;
 
 import org.openkilda.floodlight.kafka.RecordHandler.Factory;
 import org.openkilda.floodlight.kafka.producer.Producer;
-import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.messaging.ctrl.KafkaBreakTarget;
 import org.openkilda.messaging.ctrl.KafkaBreakTrigger;
 
@@ -27,7 +26,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
 
 public class TestAwareConsumer extends Consumer {
     private static final Logger logger = LoggerFactory.getLogger(TestAwareConsumer.class);
@@ -35,9 +33,9 @@ public class TestAwareConsumer extends Consumer {
     private KafkaBreakTrigger breakTrigger;
     private List<KafkaBreakTrigger> expectedTriggers;
 
-    public TestAwareConsumer(ConsumerContext context, ExecutorService handlersPool,
-                             Factory handlerFactory, ISwitchManager switchManager, String topic, String... moreTopics) {
-        super(context, handlersPool, handlerFactory, switchManager, topic, moreTopics);
+    public TestAwareConsumer(ConsumerContext context, RecordDispatcher dispatcher,
+                             Factory handlerFactory, String topic, String... moreTopics) {
+        super(context, dispatcher, handlerFactory, topic, moreTopics);
 
         breakTrigger = new KafkaBreakTrigger(KafkaBreakTarget.FLOODLIGHT_CONSUMER);
 
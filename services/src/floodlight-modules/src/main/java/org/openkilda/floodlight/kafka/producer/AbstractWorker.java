@@ -16,23 +16,40 @@
 package org.openkilda.floodlight.kafka.producer;
 
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.MessageKeys;
+import org.openkilda.messaging.codec.MessageCodec;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.utils.Utils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 public abstract class AbstractWorker {
     private static final Logger log = LoggerFactory.getLogger(AbstractWorker.class);
 
-    private final Producer<String, String> kafkaProducer;
+    private final Producer<String, byte[]> kafkaProducer;
     private final String topic;
+    private final MessageCodec codec;
+
+    /**
+     * Number of the topic partitions, 0 until the first keyed message. It is read once per topic and passed over to
+     * the next worker of the topic, adding partitions to a topic moves its keys anyway.
+     */
+    private volatile int partitionCount;
 
-    public AbstractWorker(Producer<String, String> kafkaProducer, String topic) {
+    public AbstractWorker(Producer<String, byte[]> kafkaProducer, String topic, MessageCodec codec) {
         this.kafkaProducer = kafkaProducer;
         this.topic = topic;
+        this.codec = codec;
+    }
+
+    protected AbstractWorker(AbstractWorker worker) {
+        this(worker.getKafkaProducer(), worker.getTopic(), worker.getCodec());
+        this.partitionCount = worker.partitionCount;
     }
 
     /**
@@ -40,27 +57,48 @@ public abstract class AbstractWorker {
      */
     public SendStatus sendMessage(Message payload, Callback callback) {
         log.debug("Send kafka message: {} <== {}", getTopic(), payload);
-        String json = encode(payload);
-        return send(json, callback);
+        return send(MessageKeys.of(payload), encode(payload), callback);
     }
 
-    protected abstract SendStatus send(String payload, Callback callback);
+    protected abstract SendStatus send(String key, byte[] payload, Callback callback);
 
-    protected String encode(Message message) {
-        String encoded;
+    protected byte[] encode(Message message) {
+        byte[] encoded;
         try {
-            encoded = Utils.MAPPER.writeValueAsString(message);
-        } catch (JsonProcessingException e) {
+            encoded = codec.encode(message);
+        } catch (IOException e) {
             throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
         }
 
         return encoded;
     }
 
-    protected Producer<String, String> getKafkaProducer() {
+    /**
+     * Partition of the message key, the same one the kafka's default partitioner picks. Both workers put a key into
+     * its own partition and all unkeyed messages into the first one, so messages keep their order across
+     * ordered/unordered periods.
+     */
+    protected int partitionFor(String key) {
+        if (key == null) {
+            return 0;
+        }
+
+        int count = partitionCount;
+        if (count == 0) {
+            count = kafkaProducer.partitionsFor(topic).size();
+            partitionCount = count;
+        }
+        return Utils.toPositive(Utils.murmur2(key.getBytes(StandardCharsets.UTF_8))) % count;
+    }
+
+    protected Producer<String, byte[]> getKafkaProducer() {
         return kafkaProducer;
     }
 
+    protected MessageCodec getCodec() {
+        return codec;
+    }
+
     protected String getTopic() {
         return topic;
     }
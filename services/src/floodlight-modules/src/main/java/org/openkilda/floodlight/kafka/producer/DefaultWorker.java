@@ -15,18 +15,24 @@
 
 package org.openkilda.floodlight.kafka.producer;
 
+import org.openkilda.messaging.codec.MessageCodec;
+
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 
 public class DefaultWorker extends AbstractWorker {
-    public DefaultWorker(Producer<String, String> kafkaProducer, String topic) {
-        super(kafkaProducer, topic);
+    public DefaultWorker(Producer<String, byte[]> kafkaProducer, String topic, MessageCodec codec) {
+        super(kafkaProducer, topic, codec);
+    }
+
+    public DefaultWorker(AbstractWorker worker) {
+        super(worker);
     }
 
     @Override
-    protected SendStatus send(String payload, Callback callback) {
-        ProducerRecord<String, String> record = new ProducerRecord<>(getTopic(), payload);
+    protected SendStatus send(String key, byte[] payload, Callback callback) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(getTopic(), partitionFor(key), key, payload);
         return new SendStatus(getKafkaProducer().send(record, callback));
     }
 }
@@ -15,56 +15,33 @@
 
 package org.openkilda.floodlight.kafka.producer;
 
+import org.openkilda.messaging.codec.MessageCodec;
+
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
-import org.apache.kafka.clients.producer.RecordMetadata;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.util.concurrent.Future;
 
 public class OrderAwareWorker extends AbstractWorker {
-    private static final Logger log = LoggerFactory.getLogger(OrderAwareWorker.class);
-
     private int deep = 1;
     private long expireAt = 0;
-    private Integer partition;
 
     public OrderAwareWorker(AbstractWorker worker) {
-        super(worker.getKafkaProducer(), worker.getTopic());
+        super(worker);
 
         if (worker instanceof OrderAwareWorker) {
             OrderAwareWorker other = (OrderAwareWorker) worker;
             this.deep += other.deep;
-            this.partition = other.partition;
         }
     }
 
-    public OrderAwareWorker(Producer<String, String> kafkaProducer, String topic) {
-        super(kafkaProducer, topic);
+    public OrderAwareWorker(Producer<String, byte[]> kafkaProducer, String topic, MessageCodec codec) {
+        super(kafkaProducer, topic, codec);
     }
 
     @Override
-    protected synchronized SendStatus send(String payload, Callback callback) {
-        ProducerRecord<String, String> record;
-        if (partition == null) {
-            record = new ProducerRecord<>(getTopic(), payload);
-        } else {
-            record = new ProducerRecord<>(getTopic(), partition, null, payload);
-        }
-
-        Future<RecordMetadata> promise = getKafkaProducer().send(record, callback);
-        if (partition == null) {
-            try {
-                partition = promise.get().partition();
-            } catch (Exception e) {
-                log.error("Can't determine kafka topic partition for order aware writing, due to send error "
-                        + "(will retry on next send attempt). Error: {}", e.toString());
-            }
-        }
-
-        return new SendStatus(promise);
+    protected synchronized SendStatus send(String key, byte[] payload, Callback callback) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(getTopic(), partitionFor(key), key, payload);
+        return new SendStatus(getKafkaProducer().send(record, callback));
     }
 
     @Override
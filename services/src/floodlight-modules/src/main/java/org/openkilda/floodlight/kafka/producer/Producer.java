@@ -17,6 +17,8 @@ package org.openkilda.floodlight.kafka.producer;
 
 import org.openkilda.floodlight.kafka.Context;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageCodecs;
 
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.KafkaProducer;
@@ -26,6 +28,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class Producer {
 
@@ -33,6 +36,7 @@ public class Producer {
 
     private final org.apache.kafka.clients.producer.Producer producer;
     private final Map<String, AbstractWorker> workersMap = new HashMap<>();
+    private final Map<String, MessageCodec> codecs = new ConcurrentHashMap<>();
 
     public Producer(Context context) {
         this(new KafkaProducer<>(context.getKafkaProducerProperties()));
@@ -42,6 +46,15 @@ public class Producer {
         this.producer = producer;
     }
 
+    /**
+     * Sets the wire format of the messages sent to the topic, the messages of the other topics are sent as JSON.
+     * Must be called before the first message is sent to the topic. The consumers of the topic must detect the
+     * format of each record, see {@link MessageCodecs#decode}.
+     */
+    public void setCodec(String topic, MessageCodec codec) {
+        codecs.put(topic, codec);
+    }
+
     /**
      * Enable guaranteed message order for topic.
      */
@@ -80,14 +93,18 @@ public class Producer {
 
     private AbstractWorker getWorker(String topic) {
         AbstractWorker worker = workersMap.computeIfAbsent(
-                topic, t -> new DefaultWorker(producer, t));
+                topic, t -> new DefaultWorker(producer, t, getCodec(t)));
         if (!worker.isActive()) {
-            worker = new DefaultWorker(producer, topic);
+            worker = new DefaultWorker(worker);
             workersMap.put(topic, worker);
         }
         return worker;
     }
 
+    private MessageCodec getCodec(String topic) {
+        return codecs.getOrDefault(topic, MessageCodecs.JSON);
+    }
+
     private void reportError(String topic, Message message, Exception exception) {
         logger.error(
                 "Fail to send message(correlationId=\"{}\") in kafka topic={}: {}",
@@ -15,8 +15,6 @@
 
 package org.openkilda.floodlight.pathverification;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
 import org.openkilda.config.KafkaTopicsConfig;
 import org.openkilda.floodlight.config.provider.ConfigurationProvider;
 import org.openkilda.floodlight.pathverification.type.PathType;
@@ -24,6 +22,9 @@ import org.openkilda.floodlight.pathverification.web.PathVerificationServiceWebR
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageKeys;
+import org.openkilda.messaging.codec.MessageCodec;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -34,7 +35,6 @@ import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
@@ -78,6 +78,7 @@ import org.projectfloodlight.openflow.types.U64;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
@@ -103,7 +104,8 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
     private IOFSwitchService switchService;
     private IRestApiService restApiService;
     private boolean isAlive = false;
-    private KafkaProducer<String, String> producer;
+    private KafkaProducer<String, byte[]> producer;
+    private MessageCodec codec = MessageCodecs.JSON;
     private double islBandwidthQuotient = 1.0;
     private Algorithm algorithm;
     private JWTVerifier verifier;
@@ -153,6 +155,12 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
             throws FloodlightModuleException {
         topoDiscoTopic = topicsConfig.getTopoDiscoTopic();
         islBandwidthQuotient = serviceConfig.getIslBandwidthQuotient();
+        try {
+            codec = MessageCodecs.forContentType(serviceConfig.getTelemetryContentType());
+        } catch (IllegalArgumentException e) {
+            throw new FloodlightModuleException(String.format(
+                    "Invalid value for option telemetry-content-type: %s", e.getMessage()));
+        }
 
         initAlgorithm(serviceConfig.getHmac256Secret());
     }
@@ -176,7 +184,7 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
     }
 
     @VisibleForTesting
-    void setKafkaProducer(KafkaProducer<String, String> mockProducer) {
+    void setKafkaProducer(KafkaProducer<String, byte[]> mockProducer) {
         producer = mockProducer;
     }
 
@@ -542,13 +550,12 @@ public class PathVerificationService implements IFloodlightModule, IOFMessageLis
 
             Message message = new InfoMessage(path, System.currentTimeMillis(), CorrelationContext.getId(), null);
 
-            final String json = MAPPER.writeValueAsString(message);
-            logger.debug("about to send {}", json);
-            producer.send(new ProducerRecord<>(topoDiscoTopic, json));
+            logger.debug("about to send {}", message);
+            producer.send(new ProducerRecord<>(topoDiscoTopic, MessageKeys.of(message), codec.encode(message)));
             logger.debug("packet_in processed for {}-{}", sw.getId(), inPort);
 
-        } catch (JsonProcessingException exception) {
-            logger.error("could not create json for path packet_in: {}", exception.getMessage(), exception);
+        } catch (IOException exception) {
+            logger.error("could not encode the message for path packet_in: {}", exception.getMessage(), exception);
         } catch (UnsupportedOperationException exception) {
             logger.error("could not parse packet_in message: {}", exception.getMessage(),
                     exception);
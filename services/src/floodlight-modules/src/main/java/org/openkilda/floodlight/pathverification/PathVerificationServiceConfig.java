@@ -15,6 +15,8 @@
 
 package org.openkilda.floodlight.pathverification;
 
+import org.openkilda.messaging.codec.CborMessageCodec;
+
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
@@ -33,6 +35,13 @@ public interface PathVerificationServiceConfig {
     @Key("bootstrap-servers")
     String getBootstrapServers();
 
+    /**
+     * Returns the content type of the discovered ISL messages.
+     */
+    @Key("telemetry-content-type")
+    @Default(CborMessageCodec.CONTENT_TYPE)
+    String getTelemetryContentType();
+
     /**
      * Returns Kafka properties built with the configuration data for Producer.
      */
@@ -40,7 +49,7 @@ public interface PathVerificationServiceConfig {
         Properties properties = new Properties();
         properties.put("bootstrap.servers", getBootstrapServers());
         properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        properties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         return properties;
     }
@@ -243,7 +243,12 @@ public interface ISwitchManager extends IFloodlightService {
      */
     void stopSafeMode(final DatapathId dpid);
 
-    void safeModeTick();
+    /**
+     * Returns state of all switches being in safe mode.
+     *
+     * @return safe mode progress of each switch
+     */
+    List<SafeModeProgress> getSafeModeProgress();
 
     void sendSwitchActivate(final IOFSwitch sw) throws SwitchOperationException;
 
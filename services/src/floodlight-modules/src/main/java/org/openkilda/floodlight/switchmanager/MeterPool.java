@@ -20,13 +20,16 @@ import org.openkilda.messaging.payload.ResourcePool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * Allocates and deallocates meter ids.
+ *
+ * <p>There is no common lock, meters of different flows are allocated concurrently. The meters of a flow are allocated
+ * and deallocated under the lock of its entry, so a meter allocated while the flow is deallocated is not lost.</p>
  */
 public class MeterPool {
     private static final Logger logger = LoggerFactory.getLogger(MeterPool.class);
@@ -36,46 +39,42 @@ public class MeterPool {
     private final Map<String, ResourcePool> switchMeterPool = new ConcurrentHashMap<>();
     private final Map<String, Set<Integer>> flowMeterPool = new ConcurrentHashMap<>();
 
-    public synchronized Set<Integer> getMetersByFlow(final String flowId) {
+    public Set<Integer> getMetersByFlow(final String flowId) {
         return flowMeterPool.get(flowId);
     }
 
-    public synchronized Set<Integer> getMetersBySwitch(final String switchId) {
+    public Set<Integer> getMetersBySwitch(final String switchId) {
         ResourcePool pool = switchMeterPool.get(switchId);
         return pool == null ? null : pool.dumpPool();
     }
 
-    public synchronized Integer allocate(final String switchId, final String flowId, Integer meterId) {
+    public Integer allocate(final String switchId, final String flowId, Integer meterId) {
         ResourcePool switchPool = getSwitchPool(switchId);
-        Set<Integer> flowPool = getFlowPool(flowId);
-
-        Integer allocatedMeterId = switchPool.allocate(meterId);
-        if (allocatedMeterId == null) {
-            logger.warn("Meter pool already have record for meter id {}", meterId);
-            allocatedMeterId = meterId;
-        }
-        flowPool.add(allocatedMeterId);
 
-        return allocatedMeterId;
+        return allocateForFlow(flowId, () -> {
+            Integer allocatedMeterId = switchPool.allocate(meterId);
+            if (allocatedMeterId == null) {
+                logger.warn("Meter pool already have record for meter id {}", meterId);
+                allocatedMeterId = meterId;
+            }
+            return allocatedMeterId;
+        });
     }
 
-    public synchronized Integer allocate(final String switchId, final String flowId) {
+    public Integer allocate(final String switchId, final String flowId) {
         ResourcePool switchPool = getSwitchPool(switchId);
-        Set<Integer> flowPool = getFlowPool(flowId);
-
-        Integer meterId = switchPool.allocate();
-        flowPool.add(meterId);
 
-        return meterId;
+        return allocateForFlow(flowId, switchPool::allocate);
     }
 
-    public synchronized Integer deallocate(final String switchId, final String flowId) {
+    public Integer deallocate(final String switchId, final String flowId) {
         ResourcePool switchPool = switchMeterPool.get(switchId);
         if (switchPool == null) {
             logger.error("Could not deallocate meter: no such switch {}", switchId);
             return null;
         }
 
+        // the removal waits for an allocation of the flow in progress, so the allocated meter is deallocated too
         Set<Integer> flowPool = flowMeterPool.remove(flowId);
         if (flowPool == null) {
             logger.error("Could not deallocate meter: no such flow id={}", flowId);
@@ -94,16 +93,20 @@ public class MeterPool {
     }
 
     private ResourcePool getSwitchPool(final String switchId) {
-        ResourcePool switchPool = switchMeterPool.get(switchId);
-        if (switchPool == null) {
-            switchPool = new ResourcePool(MIN_METER_ID, MAX_METER_ID);
-            switchMeterPool.put(switchId, switchPool);
-        }
-
-        return switchPool;
+        return switchMeterPool.computeIfAbsent(switchId, k -> new ResourcePool(MIN_METER_ID, MAX_METER_ID));
     }
 
-    private Set<Integer> getFlowPool(final String flowId) {
-        return flowMeterPool.computeIfAbsent(flowId, k -> new HashSet<>());
+    /**
+     * Allocates the meter and records it for the flow atomically with the deallocation of the flow.
+     */
+    private Integer allocateForFlow(final String flowId, Supplier<Integer> allocation) {
+        Integer[] meterId = new Integer[1];
+        flowMeterPool.compute(flowId, (id, meters) -> {
+            Set<Integer> flowPool = meters != null ? meters : ConcurrentHashMap.newKeySet();
+            meterId[0] = allocation.get();
+            flowPool.add(meterId[0]);
+            return flowPool;
+        });
+        return meterId[0];
     }
 }
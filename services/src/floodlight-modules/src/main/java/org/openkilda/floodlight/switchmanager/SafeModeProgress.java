@@ -0,0 +1,78 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.switchmanager;
+
+/**
+ * Snapshot of safe mode (safe default rules installation) state of one switch.
+ */
+public class SafeModeProgress {
+    /**
+     * Default rule being verified.
+     */
+    public enum Stage {
+        DROP_RULE,
+        BROADCAST_RULE,
+        UNICAST_RULE,
+        COMPLETED
+    }
+
+    private final String switchId;
+    private final Stage stage;
+    private final boolean ruleApplied;
+    private final int datapoints;
+    private final long startedAt;
+
+    public SafeModeProgress(String switchId, Stage stage, boolean ruleApplied, int datapoints, long startedAt) {
+        this.switchId = switchId;
+        this.stage = stage;
+        this.ruleApplied = ruleApplied;
+        this.datapoints = datapoints;
+        this.startedAt = startedAt;
+    }
+
+    public String getSwitchId() {
+        return switchId;
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Whether the rule of current stage is already installed and its effect is being measured.
+     */
+    public boolean isRuleApplied() {
+        return ruleApplied;
+    }
+
+    /**
+     * Count of flow stats collected from the switch since it has entered safe mode.
+     */
+    public int getDatapoints() {
+        return datapoints;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %s%s, %d datapoints", switchId, stage, ruleApplied ? " (applied)" : "",
+                datapoints);
+    }
+}
@@ -40,7 +40,10 @@ import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.info.event.SwitchState;
 import org.openkilda.messaging.payload.flow.OutputVlanType;
 
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.floodlightcontroller.core.FloodlightContext;
 import net.floodlightcontroller.core.IFloodlightProviderService;
 import net.floodlightcontroller.core.IOFMessageListener;
@@ -103,8 +106,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
@@ -212,7 +218,9 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         KafkaTopicsConfig topicsConfig = provider.getConfiguration(KafkaTopicsConfig.class);
         topoDiscoTopic = topicsConfig.getTopoDiscoTopic();
 
-        String connectModeProperty = provider.getConfiguration(SwitchManagerConfig.class).getConnectMode();
+        SwitchManagerConfig config = provider.getConfiguration(SwitchManagerConfig.class);
+        safeModeInterval = config.getSafeModeInterval();
+        String connectModeProperty = config.getConnectMode();
         try {
             connectMode = ConnectModeRequest.Mode.valueOf(connectModeProperty);
         } catch (Exception e) {
@@ -231,6 +239,11 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         logger.info("Starting " + SwitchEventCollector.class.getCanonicalName());
         restApiService.addRestletRoutable(new SwitchManagerWebRoutable());
         floodlightProvider.addOFMessageListener(OFType.ERROR, this);
+
+        safeModeExecutor = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("switch-safe-mode").setDaemon(true).build());
+        safeModeExecutor.scheduleWithFixedDelay(
+                this::safeModeTick, safeModeInterval, safeModeInterval, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -468,21 +481,9 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
             throw new IllegalArgumentException(String.format("Switch %s was not found", dpid));
         }
 
-        OFFactory ofFactory = sw.getOFFactory();
-        OFFlowStatsRequest flowRequest = ofFactory.buildFlowStatsRequest()
-                .setOutGroup(OFGroup.ANY)
-                .setCookieMask(U64.ZERO)
-                .build();
-
         try {
-            Future<List<OFFlowStatsReply>> future = sw.writeStatsRequest(flowRequest);
-            List<OFFlowStatsReply> values = future.get(10, TimeUnit.SECONDS);
-            if (values != null) {
-                entries = values.stream()
-                        .map(OFFlowStatsReply::getEntries)
-                        .flatMap(List::stream)
-                        .collect(Collectors.toList());
-            }
+            Future<List<OFFlowStatsReply>> future = sw.writeStatsRequest(buildFlowTableDumpRequest(sw));
+            entries = flattenFlowStats(future.get(10, TimeUnit.SECONDS));
         } catch (ExecutionException | InterruptedException | TimeoutException e) {
             logger.error("Could not get flow stats for {}.", dpid, e);
         }
@@ -490,6 +491,23 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return entries;
     }
 
+    private OFFlowStatsRequest buildFlowTableDumpRequest(IOFSwitch sw) {
+        return sw.getOFFactory().buildFlowStatsRequest()
+                .setOutGroup(OFGroup.ANY)
+                .setCookieMask(U64.ZERO)
+                .build();
+    }
+
+    private List<OFFlowStatsEntry> flattenFlowStats(List<OFFlowStatsReply> values) {
+        if (values == null) {
+            return new ArrayList<>();
+        }
+        return values.stream()
+                .map(OFFlowStatsReply::getEntries)
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1231,6 +1249,8 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
 
     /**
      * A struct to collect all the data necessary to manage the safe application of base rules.
+     *
+     * <p>Only safe mode executor thread modifies it, other threads read {@link #progress} snapshot only.
      */
     private static final class SafeData {
         // Any switch rule with a priority less than this will be ignored
@@ -1239,20 +1259,52 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         // Used to filter out rules with low packet counts .. only test rules with more packets than this
         private static final int PACKET_COUNT_MIN = 5;
 
-        DatapathId dpid;
+        final DatapathId dpid;
+        final long startedAt;
 
         /**
          * The time of data collections may be inconsistent .. so if we try to see whether the rate
          * of data is different .. then use the captured timestamps to get an average.
          */
-        List<Long> timestamps;
-        Map<Long, List<Long>> ruleByteCounts; // counter per cookie per timestamp
-        Map<Long, List<Long>> rulePktCounts;  // counter per cookie per timestamp
+        final List<Long> timestamps = new ArrayList<>();
+        final Map<Long, List<Long>> ruleByteCounts = new HashMap<>(); // counter per cookie per timestamp
+        final Map<Long, List<Long>> rulePktCounts = new HashMap<>();  // counter per cookie per timestamp
         // Stages - 0 = not started; 1 = applied; 2 = okay; 3 = removed (too many errors)
         int dropRuleStage;
         int broadcastRuleStage;
         int unicastRuleStage;
 
+        // time the flow stats request was sent at, 0 if there is no request in progress
+        long statsRequestTime;
+
+        volatile SafeModeProgress progress;
+
+        SafeData(DatapathId dpid) {
+            this.dpid = dpid;
+            this.startedAt = System.currentTimeMillis();
+            updateProgress();
+        }
+
+        void updateProgress() {
+            SafeModeProgress.Stage stage;
+            int ruleStage;
+            if (dropRuleStage < RULE_TESTED) {
+                stage = SafeModeProgress.Stage.DROP_RULE;
+                ruleStage = dropRuleStage;
+            } else if (broadcastRuleStage < RULE_TESTED) {
+                stage = SafeModeProgress.Stage.BROADCAST_RULE;
+                ruleStage = broadcastRuleStage;
+            } else if (unicastRuleStage < RULE_TESTED) {
+                stage = SafeModeProgress.Stage.UNICAST_RULE;
+                ruleStage = unicastRuleStage;
+            } else {
+                stage = SafeModeProgress.Stage.COMPLETED;
+                ruleStage = RULE_TESTED;
+            }
+            progress = new SafeModeProgress(
+                    dpid.toString(), stage, ruleStage == RULE_APPLIED, timestamps.size(), startedAt);
+        }
+
         void consumeData(long timestamp, List<OFFlowStatsEntry> flowEntries) {
             timestamps.add(timestamp);
 
@@ -1313,8 +1365,9 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         }
     }
 
-    private Map<DatapathId, SafeData> safeSwitches = new HashMap<>();
-    private long lastRun = 0L;
+    private final Map<DatapathId, SafeData> safeSwitches = new ConcurrentHashMap<>();
+    private ScheduledExecutorService safeModeExecutor;
+    private long safeModeInterval;
 
     /**
      * {@inheritDoc}
@@ -1323,10 +1376,7 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     public void startSafeMode(final DatapathId dpid) {
         // Don't create a new object if one already exists .. ie, don't restart the process of
         // installing base rules.
-        if (!safeSwitches.containsKey(dpid)) {
-            SafeData safeData = safeSwitches.put(dpid, new SafeData());
-            safeData.dpid = dpid;
-        }
+        safeSwitches.computeIfAbsent(dpid, SafeData::new);
     }
 
     /**
@@ -1337,12 +1387,22 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         safeSwitches.remove(dpid);
     }
 
-    private static final long tick_length = 1000;
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<SafeModeProgress> getSafeModeProgress() {
+        return safeSwitches.values().stream()
+                .map(safeData -> safeData.progress)
+                .collect(Collectors.toList());
+    }
+
+    private static final long SAFE_MODE_STATS_TIMEOUT = TimeUnit.SECONDS.toMillis(10);
     private static final boolean BROADCAST = true;
     private static final int DROP_STAGE = 1;
     private static final int BROADCAST_STAGE = 2;
     private static final int UNICAST_STAGE = 3;
-    // NB: The logic in safeModeTick relies on these RULE_* numbers. Mostly, it relies on the
+    // NB: The logic in advanceSafeMode relies on these RULE_* numbers. Mostly, it relies on the
     // IS_GOOD and NO_GOOD being greater that TESTED. And in reality, TESTED is just the lower
     // of IS_GOOD and NO_GOOD.
     private static final int RULE_APPLIED = 1;
@@ -1350,103 +1410,143 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
     private static final int RULE_IS_GOOD = 2;
     private static final int RULE_NO_GOOD = 3;
 
-    @Override
-    public void safeModeTick() {
-        // this may be called sporadically, so we'll need to measure the time between calls ..
+    /**
+     * Request flow stats from all switches in safe mode. Replies are processed by {@link #advanceSafeMode} on the
+     * safe mode executor, so slow switches do not delay each other.
+     */
+    private void safeModeTick() {
         long time = System.currentTimeMillis();
-        if (time - lastRun < tick_length) {
-            return;
+        for (SafeData safeData : safeSwitches.values()) {
+            try {
+                if (safeData.statsRequestTime != 0) {
+                    if (time - safeData.statsRequestTime < SAFE_MODE_STATS_TIMEOUT) {
+                        continue;
+                    }
+                    logger.warn("SAFE MODE: Flow stats request for '{}' timed out, retrying", safeData.dpid);
+                }
+                requestSafeModeStats(safeData, time);
+            } catch (Exception e) {
+                logger.error("SAFE MODE: Unable to request flow stats for '{}'", safeData.dpid, e);
+                safeData.statsRequestTime = 0;
+            }
         }
+    }
 
-        lastRun = time;
+    private void requestSafeModeStats(SafeData safeData, long requestTime) {
+        IOFSwitch sw = ofSwitchService.getSwitch(safeData.dpid);
+        if (sw == null) {
+            logger.warn("SAFE MODE: Switch '{}' is not connected, removing it from safe mode", safeData.dpid);
+            safeSwitches.remove(safeData.dpid, safeData);
+            return;
+        }
 
-        Collection<SafeData> values = safeSwitches.values();
-        for (SafeData safeData : values) {
-            // Grab switch rule stats .. X pre and post .. X for 0, X for 1 .. make a decision.
-            try {
-                safeData.consumeData(time, dumpFlowTable(safeData.dpid));
-                int datapoints = safeData.timestamps.size();
-
-                if (safeData.dropRuleStage < RULE_TESTED) {
-
-                    logger.debug("SAFE MODE: Collected Data during Drop Rule Stage for '{}' ", safeData.dpid);
-                    if (safeData.shouldApplyRule(DROP_STAGE)) {
-                        logger.info("SAFE MODE: APPLY Drop Rule for '{}' ", safeData.dpid);
-                        safeData.dropRuleStage = RULE_APPLIED;
-                        installDropFlow(safeData.dpid);
-                    } else if (safeData.shouldTestRule(DROP_STAGE)) {
-                        List<Integer> ruleEffect = safeData.getRuleEffect(DROP_STAGE);
-                        if (safeData.isRuleOkay(ruleEffect)) {
-                            logger.info("SAFE MODE: Drop Rule is GOOD for '{}' ", safeData.dpid);
-                            safeData.dropRuleStage = RULE_IS_GOOD;
-                        } else {
-                            logger.warn("SAFE MODE: Drop Rule is BAD for '{}'. "
-                                            + "Good Packet Count: {}. Bad Packet Count: {} ",
-                                    safeData.dpid, ruleEffect.get(0), ruleEffect.get(1));
-                            safeData.dropRuleStage = RULE_NO_GOOD;
-                            deleteRulesWithCookie(safeData.dpid, ISwitchManager.DROP_RULE_COOKIE);
+        safeData.statsRequestTime = requestTime;
+        Futures.addCallback(sw.writeStatsRequest(buildFlowTableDumpRequest(sw)),
+                new FutureCallback<List<OFFlowStatsReply>>() {
+                    @Override
+                    public void onSuccess(List<OFFlowStatsReply> values) {
+                        // ignore stale replies and switches that have left safe mode meanwhile
+                        if (safeData.statsRequestTime != requestTime || safeSwitches.get(safeData.dpid) != safeData) {
+                            return;
                         }
+                        safeData.statsRequestTime = 0;
+                        advanceSafeMode(safeData, System.currentTimeMillis(), flattenFlowStats(values));
                     }
 
-                } else if (safeData.broadcastRuleStage < RULE_TESTED) {
-
-                    logger.debug("SAFE MODE: Collected Data during Broadcast Verification Rule "
-                            + "Stage for '{}' ", safeData.dpid);
-                    if (safeData.shouldApplyRule(BROADCAST_STAGE)) {
-                        logger.info("SAFE MODE: APPLY Broadcast Verification Rule for '{}' ", safeData.dpid);
-                        safeData.broadcastRuleStage = RULE_APPLIED;
-                        installVerificationRule(safeData.dpid, BROADCAST);
-                    } else if (safeData.shouldTestRule(BROADCAST_STAGE)) {
-                        List<Integer> ruleEffect = safeData.getRuleEffect(BROADCAST_STAGE);
-                        if (safeData.isRuleOkay(ruleEffect)) {
-                            logger.info("SAFE MODE: Broadcast Verification Rule is GOOD for '{}' ", safeData.dpid);
-                            safeData.broadcastRuleStage = RULE_IS_GOOD;
-                        } else {
-                            logger.warn("SAFE MODE: Broadcast Verification Rule is BAD for '{}'. "
-                                            + "Good Packet Count: {}. Bad Packet Count: {} ",
-                                    safeData.dpid, ruleEffect.get(0), ruleEffect.get(1));
-                            safeData.broadcastRuleStage = RULE_NO_GOOD;
-                            deleteRulesWithCookie(safeData.dpid, ISwitchManager.VERIFICATION_BROADCAST_RULE_COOKIE);
+                    @Override
+                    public void onFailure(Throwable error) {
+                        if (safeData.statsRequestTime == requestTime) {
+                            safeData.statsRequestTime = 0;
                         }
+                        logger.error("SAFE MODE: Could not get flow stats for '{}'", safeData.dpid, error);
                     }
-                } else if (safeData.unicastRuleStage < RULE_TESTED) {
-
-                    // TODO: make this smarter and advance the unicast if unicast not applied.
-                    logger.debug("SAFE MODE: Collected Data during Unicast Verification Rule Stage "
-                            + "for '{}' ", safeData.dpid);
-                    if (safeData.shouldApplyRule(UNICAST_STAGE)) {
-                        logger.info("SAFE MODE: APPLY Unicast Verification Rule for '{}' ", safeData.dpid);
-                        safeData.unicastRuleStage = RULE_APPLIED;
-                        installVerificationRule(safeData.dpid, !BROADCAST);
-                    } else if (safeData.shouldTestRule(UNICAST_STAGE)) {
-                        List<Integer> ruleEffect = safeData.getRuleEffect(UNICAST_STAGE);
-                        if (safeData.isRuleOkay(ruleEffect)) {
-                            logger.info("SAFE MODE: Unicast Verification Rule is GOOD for '{}' ", safeData.dpid);
-                            safeData.unicastRuleStage = RULE_IS_GOOD;
-                        } else {
-                            logger.warn("SAFE MODE: Unicast Verification Rule is BAD for '{}'. "
-                                            + "Good Packet Count: {}. Bad Packet Count: {} ",
-                                    safeData.dpid, ruleEffect.get(0), ruleEffect.get(1));
-                            safeData.unicastRuleStage = RULE_NO_GOOD;
-                            deleteRulesWithCookie(safeData.dpid, ISwitchManager.VERIFICATION_UNICAST_RULE_COOKIE);
-                        }
+                }, safeModeExecutor);
+    }
+
+    private void advanceSafeMode(SafeData safeData, long time, List<OFFlowStatsEntry> flowEntries) {
+        // Grab switch rule stats .. X pre and post .. X for 0, X for 1 .. make a decision.
+        try {
+            safeData.consumeData(time, flowEntries);
+            if (safeData.dropRuleStage < RULE_TESTED) {
+
+                logger.debug("SAFE MODE: Collected Data during Drop Rule Stage for '{}' ", safeData.dpid);
+                if (safeData.shouldApplyRule(DROP_STAGE)) {
+                    logger.info("SAFE MODE: APPLY Drop Rule for '{}' ", safeData.dpid);
+                    safeData.dropRuleStage = RULE_APPLIED;
+                    installDropFlow(safeData.dpid);
+                } else if (safeData.shouldTestRule(DROP_STAGE)) {
+                    List<Integer> ruleEffect = safeData.getRuleEffect(DROP_STAGE);
+                    if (safeData.isRuleOkay(ruleEffect)) {
+                        logger.info("SAFE MODE: Drop Rule is GOOD for '{}' ", safeData.dpid);
+                        safeData.dropRuleStage = RULE_IS_GOOD;
+                    } else {
+                        logger.warn("SAFE MODE: Drop Rule is BAD for '{}'. "
+                                        + "Good Packet Count: {}. Bad Packet Count: {} ",
+                                safeData.dpid, ruleEffect.get(0), ruleEffect.get(1));
+                        safeData.dropRuleStage = RULE_NO_GOOD;
+                        deleteRulesWithCookie(safeData.dpid, ISwitchManager.DROP_RULE_COOKIE);
                     }
+                }
 
-                } else {
-                    // once done with installing rules, we need to notify kilda that the switch is up
-                    // and that ports up.
-                    logger.info("SAFE MODE: COMPLETED base rules for '{}' ", safeData.dpid);
-                    IOFSwitch sw = lookupSwitch(safeData.dpid);
-                    sendSwitchActivate(sw);
-                    sendPortUpEvents(sw);
-                    // WE ARE DONE!! Remove ourselves from the list.
-                    values.remove(safeData);  // will be reflected in safeSwitches
+            } else if (safeData.broadcastRuleStage < RULE_TESTED) {
+
+                logger.debug("SAFE MODE: Collected Data during Broadcast Verification Rule "
+                        + "Stage for '{}' ", safeData.dpid);
+                if (safeData.shouldApplyRule(BROADCAST_STAGE)) {
+                    logger.info("SAFE MODE: APPLY Broadcast Verification Rule for '{}' ", safeData.dpid);
+                    safeData.broadcastRuleStage = RULE_APPLIED;
+                    installVerificationRule(safeData.dpid, BROADCAST);
+                } else if (safeData.shouldTestRule(BROADCAST_STAGE)) {
+                    List<Integer> ruleEffect = safeData.getRuleEffect(BROADCAST_STAGE);
+                    if (safeData.isRuleOkay(ruleEffect)) {
+                        logger.info("SAFE MODE: Broadcast Verification Rule is GOOD for '{}' ", safeData.dpid);
+                        safeData.broadcastRuleStage = RULE_IS_GOOD;
+                    } else {
+                        logger.warn("SAFE MODE: Broadcast Verification Rule is BAD for '{}'. "
+                                        + "Good Packet Count: {}. Bad Packet Count: {} ",
+                                safeData.dpid, ruleEffect.get(0), ruleEffect.get(1));
+                        safeData.broadcastRuleStage = RULE_NO_GOOD;
+                        deleteRulesWithCookie(safeData.dpid, ISwitchManager.VERIFICATION_BROADCAST_RULE_COOKIE);
+                    }
                 }
-            } catch (SwitchOperationException e) {
-                logger.error("Error while switch {} was in safe mode. Removing switch from safe "
-                        + "mode and NOT SENDING ACTIVATION. \nERROR: {}", safeData.dpid, e);
-                values.remove(safeData);
+            } else if (safeData.unicastRuleStage < RULE_TESTED) {
+
+                // TODO: make this smarter and advance the unicast if unicast not applied.
+                logger.debug("SAFE MODE: Collected Data during Unicast Verification Rule Stage "
+                        + "for '{}' ", safeData.dpid);
+                if (safeData.shouldApplyRule(UNICAST_STAGE)) {
+                    logger.info("SAFE MODE: APPLY Unicast Verification Rule for '{}' ", safeData.dpid);
+                    safeData.unicastRuleStage = RULE_APPLIED;
+                    installVerificationRule(safeData.dpid, !BROADCAST);
+                } else if (safeData.shouldTestRule(UNICAST_STAGE)) {
+                    List<Integer> ruleEffect = safeData.getRuleEffect(UNICAST_STAGE);
+                    if (safeData.isRuleOkay(ruleEffect)) {
+                        logger.info("SAFE MODE: Unicast Verification Rule is GOOD for '{}' ", safeData.dpid);
+                        safeData.unicastRuleStage = RULE_IS_GOOD;
+                    } else {
+                        logger.warn("SAFE MODE: Unicast Verification Rule is BAD for '{}'. "
+                                        + "Good Packet Count: {}. Bad Packet Count: {} ",
+                                safeData.dpid, ruleEffect.get(0), ruleEffect.get(1));
+                        safeData.unicastRuleStage = RULE_NO_GOOD;
+                        deleteRulesWithCookie(safeData.dpid, ISwitchManager.VERIFICATION_UNICAST_RULE_COOKIE);
+                    }
+                }
+
+            } else {
+                // once done with installing rules, we need to notify kilda that the switch is up
+                // and that ports up.
+                logger.info("SAFE MODE: COMPLETED base rules for '{}' ", safeData.dpid);
+                IOFSwitch sw = lookupSwitch(safeData.dpid);
+                sendSwitchActivate(sw);
+                sendPortUpEvents(sw);
+                // WE ARE DONE!! Remove ourselves from the list.
+                safeSwitches.remove(safeData.dpid, safeData);
             }
+            safeData.updateProgress();
+        } catch (SwitchOperationException e) {
+            logger.error("Error while switch {} was in safe mode. Removing switch from safe "
+                    + "mode and NOT SENDING ACTIVATION. \nERROR: {}", safeData.dpid, e);
+            safeSwitches.remove(safeData.dpid, safeData);
         }
     }
 
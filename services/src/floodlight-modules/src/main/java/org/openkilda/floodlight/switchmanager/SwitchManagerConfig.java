@@ -16,10 +16,18 @@
 package org.openkilda.floodlight.switchmanager;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
 @Configuration
 public interface SwitchManagerConfig {
     @Key("connect-mode")
     String getConnectMode();
+
+    /**
+     * Delay (in milliseconds) between safe mode flow stats collections.
+     */
+    @Key("safe-mode-interval")
+    @Default("1000")
+    long getSafeModeInterval();
 }
@@ -0,0 +1,37 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.switchmanager.web;
+
+import org.openkilda.floodlight.switchmanager.ISwitchManager;
+import org.openkilda.floodlight.switchmanager.SafeModeProgress;
+
+import org.restlet.resource.Get;
+import org.restlet.resource.ServerResource;
+
+import java.util.List;
+
+public class SafeModeResource extends ServerResource {
+    /**
+     * Reports default rules installation progress of the switches being in safe mode.
+     */
+    @Get("json")
+    public List<SafeModeProgress> getSafeModeProgress() {
+        ISwitchManager switchManager = (ISwitchManager) getContext().getAttributes()
+                .get(ISwitchManager.class.getCanonicalName());
+        return switchManager.getSafeModeProgress();
+    }
+}
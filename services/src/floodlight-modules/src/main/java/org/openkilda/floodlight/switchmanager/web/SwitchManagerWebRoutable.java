@@ -32,6 +32,7 @@ public class SwitchManagerWebRoutable implements RestletRoutable {
         router.attach("/flow", FlowResource.class);
         router.attach("/flows/switch_id/{switch_id}", FlowsResource.class);
         router.attach("/meters/switch_id/{switch_id}", MetersResource.class);
+        router.attach("/safe_mode", SafeModeResource.class);
 
         Filter filter = new RequestCorrelationFilter();
         filter.setNext(router);
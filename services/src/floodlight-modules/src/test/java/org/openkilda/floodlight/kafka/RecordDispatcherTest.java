@@ -0,0 +1,161 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.floodlight.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class RecordDispatcherTest {
+    private static final String TOPIC = "speaker";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final String SWITCH_ID = "00:00:00:00:00:00:00:01";
+
+    @Test
+    public void recordsWithSameKeyAreHandledInOrder() throws Exception {
+        RecordDispatcher subject = new RecordDispatcher(4, 100);
+
+        List<Long> handled = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(20);
+        for (long offset = 0; offset < 20; offset++) {
+            // the producer may not key the record, the lane is chosen by the message key
+            ConsumerRecord<String, String> record = makeRecord(offset, null);
+            subject.received(record);
+            subject.dispatch(record, SWITCH_ID, () -> {
+                handled.add(record.offset());
+                done.countDown();
+            });
+        }
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < handled.size(); i++) {
+            Assert.assertEquals(Long.valueOf(i), handled.get(i));
+        }
+    }
+
+    @Test
+    public void offsetIsCommittableOnlyAfterHandling() throws Exception {
+        RecordDispatcher subject = new RecordDispatcher(1, 100);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        ConsumerRecord<String, String> blocked = makeRecord(10, SWITCH_ID);
+        subject.received(blocked);
+        subject.dispatch(blocked, SWITCH_ID, () -> {
+            awaitQuietly(release);
+            done.countDown();
+        });
+        ConsumerRecord<String, String> following = makeRecord(11, "00:00:00:00:00:00:00:02");
+        subject.received(following);
+        subject.dispatch(following, "00:00:00:00:00:00:00:02", done::countDown);
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = subject.collectCommittable();
+        Assert.assertEquals(10L, offsets.get(PARTITION).offset());
+
+        release.countDown();
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        // handler completion is registered right after the handler returns
+        long committable = 0;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (committable < 12L && System.currentTimeMillis() < deadline) {
+            OffsetAndMetadata entry = subject.collectCommittable().get(PARTITION);
+            if (entry != null) {
+                committable = entry.offset();
+            }
+        }
+        Assert.assertEquals(12L, committable);
+
+        subject.committed(Collections.singletonMap(PARTITION, new OffsetAndMetadata(12L)));
+        Assert.assertTrue(subject.collectCommittable().isEmpty());
+    }
+
+    @Test
+    public void offsetIsCollectedAgainUntilCommitted() throws Exception {
+        RecordDispatcher subject = new RecordDispatcher(1, 100);
+        subject.received(makeRecord(5, SWITCH_ID));
+
+        // i.e. the commit of the first collected offsets has failed
+        Assert.assertEquals(6L, subject.collectCommittable().get(PARTITION).offset());
+        Assert.assertEquals(6L, subject.collectCommittable().get(PARTITION).offset());
+
+        subject.committed(Collections.singletonMap(PARTITION, new OffsetAndMetadata(6L)));
+        // late completion of an older commit
+        subject.committed(Collections.singletonMap(PARTITION, new OffsetAndMetadata(3L)));
+        Assert.assertTrue(subject.collectCommittable().isEmpty());
+    }
+
+    @Test
+    public void collectOnlyRequestedPartitions() throws Exception {
+        RecordDispatcher subject = new RecordDispatcher(1, 100);
+        TopicPartition other = new TopicPartition(TOPIC, 1);
+        subject.received(makeRecord(5, SWITCH_ID));
+        subject.received(new ConsumerRecord<>(TOPIC, other.partition(), 7, SWITCH_ID, "{}"));
+
+        Map<TopicPartition, OffsetAndMetadata> offsets = subject.collectCommittable(Collections.singleton(PARTITION));
+        Assert.assertEquals(Collections.singleton(PARTITION), offsets.keySet());
+
+        // offsets of other partitions are not affected
+        Assert.assertEquals(8L, subject.collectCommittable().get(other).offset());
+    }
+
+    @Test
+    public void saturation() throws Exception {
+        RecordDispatcher subject = new RecordDispatcher(1, 4);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(5);
+        for (long offset = 0; offset < 5; offset++) {
+            ConsumerRecord<String, String> record = makeRecord(offset, null);
+            subject.received(record);
+            subject.dispatch(record, null, () -> {
+                awaitQuietly(release);
+                done.countDown();
+            });
+        }
+
+        Assert.assertTrue(subject.isSaturated());
+        Assert.assertFalse(subject.isDrained());
+
+        release.countDown();
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+
+        Assert.assertFalse(subject.isSaturated());
+        Assert.assertTrue(subject.isDrained());
+    }
+
+    private static ConsumerRecord<String, String> makeRecord(long offset, String key) {
+        return new ConsumerRecord<>(TOPIC, PARTITION.partition(), offset, key, "{}");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -26,11 +26,14 @@ import org.openkilda.floodlight.config.KafkaFloodlightConfig;
 import org.openkilda.floodlight.config.provider.ConfigurationProvider;
 import org.openkilda.floodlight.kafka.producer.Producer;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
+import org.openkilda.floodlight.switchmanager.MeterPool;
 import org.openkilda.floodlight.switchmanager.SwitchManager;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.messaging.command.switches.DeleteRulesAction;
+import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.event.SwitchState;
@@ -40,7 +43,9 @@ import com.google.common.collect.ImmutableMap;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.OFSwitch;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.easymock.EasyMockSupport;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
@@ -167,6 +172,28 @@ public class RecordHandlerTest extends EasyMockSupport {
         // TODO: verify content of InfoMessage in producer.postMessage
     }
 
+    @Test
+    public void dispatchKeyIsTargetSwitch() throws Exception {
+        String switchId = "00:00:00:00:00:00:00:01";
+        CommandMessage command = new CommandMessage(
+                new SwitchRulesDeleteRequest(switchId, DeleteRulesAction.DROP_ALL, null),
+                System.currentTimeMillis(), Utils.SYSTEM_CORRELATION_ID, Destination.CONTROLLER);
+        // the producer didn't key the record
+        ConsumerRecord<String, String> record = new ConsumerRecord<>(
+                "speaker", 0, 0L, null, Utils.MAPPER.writeValueAsString(command));
+
+        RecordHandler subject = new RecordHandler(consumerContext, record, new MeterPool());
+        Assert.assertEquals(switchId, subject.getDispatchKey());
+    }
+
+    @Test
+    public void dispatchKeyOfInvalidRecord() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("speaker", 0, 0L, null, "{");
+
+        RecordHandler subject = new RecordHandler(consumerContext, record, new MeterPool());
+        Assert.assertNull(subject.getDispatchKey());
+    }
+
     //    @Test
     //    public void portDumpTest() {
     //        DatapathId dpid = DatapathId.of("de:ad:be:ef:00:00:00:00");
@@ -22,6 +22,7 @@ import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.NetworkSyncBeginMarker;
 import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 
@@ -40,20 +41,24 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 public class ProducerTest extends EasyMockSupport {
     private static final String TOPIC = "A";
+    private static final String SWITCH_ID = "ff:fe:00:00:00:00:00:06";
     private static final TopicPartition[] partitions = new TopicPartition[]{
             new TopicPartition(TOPIC, 0),
             new TopicPartition(TOPIC, 1)
     };
 
-    private org.apache.kafka.clients.producer.Producer<String, String> kafkaProducer;
+    private org.apache.kafka.clients.producer.Producer<String, byte[]> kafkaProducer;
     private Producer subject;
+    private List<PartitionInfo> partitionsForResult;
 
     @Before
     @SuppressWarnings("unchecked")
@@ -61,11 +66,10 @@ public class ProducerTest extends EasyMockSupport {
         kafkaProducer = strictMock(org.apache.kafka.clients.producer.Producer.class);
         subject = new Producer(kafkaProducer);
 
-        ArrayList<PartitionInfo> partitionsForResult = new ArrayList<>(2);
+        partitionsForResult = new ArrayList<>(2);
         for (TopicPartition p : partitions) {
             partitionsForResult.add(new PartitionInfo(p.topic(), p.partition(), null, null, null));
         }
-        expect(kafkaProducer.partitionsFor(TOPIC)).andReturn(partitionsForResult).anyTimes();
     }
 
     @Test
@@ -82,16 +86,20 @@ public class ProducerTest extends EasyMockSupport {
                 new RecordMetadata(partitions[0], -1L, 0L, System.currentTimeMillis(), 0, 0, 0)
         };
 
+        // kafka's default partitioner puts "ff:fe:00:00:00:00:00:06" into partition 1 (of 2), the key must stay
+        // there in both ordered and unordered modes
         Integer[] expectedPartitions = new Integer[] {
-                null, null, null, 0, null, null, null, 1, null};
+                1, 1, 1, 1, 1, 1, 1, 1, 1};
         Assert.assertEquals(sendResults.length, expectedPartitions.length);
 
-        Capture<ProducerRecord<String, String>> sendArguments = Capture.newInstance(CaptureType.ALL);
-        setupSendCapture(sendArguments, sendResults);
+        String[] keys = new String[sendResults.length];
+        Arrays.fill(keys, SWITCH_ID);
+        Capture<ProducerRecord<String, byte[]>> sendArguments = Capture.newInstance(CaptureType.ALL);
+        setupSendCapture(sendArguments, sendResults, keys);
 
         replay(kafkaProducer);
 
-        InfoMessage payload = makePayload();
+        InfoMessage payload = makePayload(SWITCH_ID);
 
         subject.sendMessageAndTrack(TOPIC, payload);
         subject.sendMessageAndTrack(TOPIC, payload);
@@ -115,16 +123,53 @@ public class ProducerTest extends EasyMockSupport {
 
         verify(kafkaProducer);
 
-        List<ProducerRecord<String, String>> values = sendArguments.getValues();
+        List<ProducerRecord<String, byte[]>> values = sendArguments.getValues();
         for (int i = 0; i < values.size(); i++) {
-            ProducerRecord<String, String> record = values.get(i);
+            ProducerRecord<String, byte[]> record = values.get(i);
             Integer partition = expectedPartitions[i];
+            String value = new String(record.value(), StandardCharsets.UTF_8);
             Assert.assertEquals(String.format(
-                    "%d: Invalid partition argument for message \"%s\" - %s", i, record.value(), record.partition()),
+                    "%d: Invalid partition argument for message \"%s\" - %s", i, value, record.partition()),
                     partition, record.partition());
+            Assert.assertEquals(SWITCH_ID, record.key());
         }
     }
 
+    @Test
+    public void unkeyedMessages() throws Exception {
+        Capture<ProducerRecord<String, byte[]>> sendArguments = Capture.newInstance(CaptureType.ALL);
+        setupSendCapture(sendArguments, new RecordMetadata[]{
+                new RecordMetadata(partitions[0], -1L, 0L, System.currentTimeMillis(), 0, 0, 0),
+                new RecordMetadata(partitions[1], -1L, 0L, System.currentTimeMillis(), 0, 0, 0),
+                new RecordMetadata(partitions[1], -1L, 0L, System.currentTimeMillis(), 0, 0, 0)},
+                new String[]{null, SWITCH_ID, null});
+
+        replay(kafkaProducer);
+
+        InfoMessage payload = new InfoMessage(
+                new NetworkSyncBeginMarker(), System.currentTimeMillis(), getClass().getCanonicalName() + "-test");
+
+        subject.enableGuaranteedOrder(TOPIC);
+        try {
+            subject.sendMessageAndTrack(TOPIC, payload);
+            subject.sendMessageAndTrack(TOPIC, makePayload(SWITCH_ID));
+        } finally {
+            subject.disableGuaranteedOrder(TOPIC, 0L);
+        }
+        subject.sendMessageAndTrack(TOPIC, payload);
+
+        verify(kafkaProducer);
+
+        List<ProducerRecord<String, byte[]>> values = sendArguments.getValues();
+        Assert.assertEquals(Integer.valueOf(0), values.get(0).partition());
+        Assert.assertNull(values.get(0).key());
+        Assert.assertEquals(Integer.valueOf(1), values.get(1).partition());
+        Assert.assertEquals(SWITCH_ID, values.get(1).key());
+        // unkeyed messages stay in the first partition in the unordered mode too
+        Assert.assertEquals(Integer.valueOf(0), values.get(2).partition());
+        Assert.assertNull(values.get(2).key());
+    }
+
     @Test
     public void errorReporting() throws Exception {
         final ExecutionException error = new ExecutionException("Emulate kafka send error", new IOException());
@@ -132,6 +177,7 @@ public class ProducerTest extends EasyMockSupport {
         Future promise = mock(Future.class);
         expect(promise.get()).andThrow(error).anyTimes();
         replay(promise);
+        expectPartitionsFor();
         expect(kafkaProducer.send(anyObject(), anyObject(Callback.class)))
                 .andAnswer(new IAnswer<Future<RecordMetadata>>() {
                     @Override
@@ -157,6 +203,7 @@ public class ProducerTest extends EasyMockSupport {
         expect(promise.get()).andThrow(error).anyTimes();
         replay(promise);
 
+        expectPartitionsFor();
         expect(kafkaProducer.send(anyObject(), anyObject(Callback.class))).andReturn(promise);
 
         replay(kafkaProducer);
@@ -175,21 +222,35 @@ public class ProducerTest extends EasyMockSupport {
     }
 
     private InfoMessage makePayload() {
+        return makePayload("ff:fe:00:00:00:00:00:01");
+    }
+
+    private InfoMessage makePayload(String switchId) {
         return new InfoMessage(
-                new PortInfoData("ff:fe:00:00:00:00:00:01", 8, PortChangeType.UP),
+                new PortInfoData(switchId, 8, PortChangeType.UP),
                 System.currentTimeMillis(), getClass().getCanonicalName() + "-test");
     }
 
     @SuppressWarnings("unchecked")
-    private void setupSendCapture(Capture<ProducerRecord<String, String>> trap, RecordMetadata[] sendResults)
-            throws Exception {
-        for (RecordMetadata metadata : sendResults) {
+    private void setupSendCapture(Capture<ProducerRecord<String, byte[]>> trap, RecordMetadata[] sendResults,
+                                  String[] keys) throws Exception {
+        boolean partitionsKnown = false;
+        for (int i = 0; i < sendResults.length; i++) {
             Future promise = mock(Future.class);
-            expect(promise.get()).andReturn(metadata);
+            expect(promise.get()).andReturn(sendResults[i]);
             replay(promise);
 
+            // the first keyed message looks up the number of partitions, the next workers of the topic reuse it
+            if (keys[i] != null && !partitionsKnown) {
+                expectPartitionsFor();
+                partitionsKnown = true;
+            }
             expect(kafkaProducer.send(EasyMock.capture(trap), anyObject(Callback.class)))
                     .andReturn(promise);
         }
     }
+
+    private void expectPartitionsFor() {
+        expect(kafkaProducer.partitionsFor(TOPIC)).andReturn(partitionsForResult);
+    }
 }
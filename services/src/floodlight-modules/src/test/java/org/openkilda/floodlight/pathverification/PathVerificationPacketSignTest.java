@@ -56,7 +56,7 @@ public class PathVerificationPacketSignTest extends PathVerificationPacketInTest
     private FloodlightContext context;
 
     @Mock
-    private KafkaProducer<String, String> producer;
+    private KafkaProducer<String, byte[]> producer;
 
     @Before
     public void setUp() throws Exception {
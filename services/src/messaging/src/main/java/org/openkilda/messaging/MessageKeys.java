@@ -0,0 +1,141 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.flow.BaseFlow;
+import org.openkilda.messaging.command.flow.BatchInstallRequest;
+import org.openkilda.messaging.command.flow.DefaultFlowsCommandData;
+import org.openkilda.messaging.command.flow.FlowCreateRequest;
+import org.openkilda.messaging.command.flow.FlowDeleteRequest;
+import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.command.flow.FlowUpdateRequest;
+import org.openkilda.messaging.command.stats.MeterConfigStatsRequest;
+import org.openkilda.messaging.command.stats.PortStatsRequest;
+import org.openkilda.messaging.command.switches.ConnectModeRequest;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesInstallRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesSyncRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesValidateRequest;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.NetworkTopologyChange;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.MeterConfigStatsData;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.model.Flow;
+
+import java.util.List;
+
+/**
+ * Kafka record keys for messages.
+ *
+ * <p>Records with the same key land in the same partition, so their order is preserved while the topic itself is
+ * spread over many partitions and consumers. Switch related messages are keyed by the switch DPID (keeps the order
+ * of commands sent to one switch), flow related ones by the flow id. {@code null} means the message doesn't need
+ * any particular order.
+ */
+public final class MessageKeys {
+    /**
+     * Key of the requests changing the settings of all switches, they are ordered among themselves.
+     */
+    public static final String CONNECT_MODE_KEY = "connect-mode";
+
+    /**
+     * Returns kafka record key for the message.
+     */
+    public static String of(Message message) {
+        Object data = null;
+        if (message instanceof CommandMessage) {
+            data = ((CommandMessage) message).getData();
+        } else if (message instanceof InfoMessage) {
+            data = ((InfoMessage) message).getData();
+        }
+        return data == null ? null : ofData(data);
+    }
+
+    private static String ofData(Object data) {
+        // switch related
+        if (data instanceof BaseFlow) {
+            return ((BaseFlow) data).getSwitchId();
+        } else if (data instanceof DefaultFlowsCommandData) {
+            return ((DefaultFlowsCommandData) data).getSwitchId();
+        } else if (data instanceof BatchInstallRequest) {
+            return ((BatchInstallRequest) data).getSwitchId();
+        } else if (data instanceof SwitchRulesInstallRequest) {
+            return ((SwitchRulesInstallRequest) data).getSwitchId();
+        } else if (data instanceof SwitchRulesDeleteRequest) {
+            return ((SwitchRulesDeleteRequest) data).getSwitchId();
+        } else if (data instanceof SwitchRulesSyncRequest) {
+            return ((SwitchRulesSyncRequest) data).getSwitchId();
+        } else if (data instanceof SwitchRulesValidateRequest) {
+            return ((SwitchRulesValidateRequest) data).getSwitchId();
+        } else if (data instanceof DumpRulesRequest) {
+            return ((DumpRulesRequest) data).getSwitchId();
+        } else if (data instanceof PortStatsRequest) {
+            return ((PortStatsRequest) data).getSwitchId();
+        } else if (data instanceof MeterConfigStatsRequest) {
+            return ((MeterConfigStatsRequest) data).getSwitchId();
+        } else if (data instanceof DiscoverIslCommandData) {
+            return ((DiscoverIslCommandData) data).getSwitchId();
+        } else if (data instanceof SwitchInfoData) {
+            return ((SwitchInfoData) data).getSwitchId();
+        } else if (data instanceof PortInfoData) {
+            return ((PortInfoData) data).getSwitchId();
+        } else if (data instanceof NetworkTopologyChange) {
+            return ((NetworkTopologyChange) data).getSwitchId();
+        } else if (data instanceof IslInfoData) {
+            List<PathNode> path = ((IslInfoData) data).getPath();
+            return path == null || path.isEmpty() ? null : path.get(0).getSwitchId();
+        } else if (data instanceof PortStatsData) {
+            return ((PortStatsData) data).getSwitchId();
+        } else if (data instanceof FlowStatsData) {
+            return ((FlowStatsData) data).getSwitchId();
+        } else if (data instanceof MeterConfigStatsData) {
+            return ((MeterConfigStatsData) data).getSwitchId();
+        } else if (data instanceof ConnectModeRequest) {
+            return CONNECT_MODE_KEY;
+        }
+
+        // flow related
+        if (data instanceof FlowInfoData) {
+            return ((FlowInfoData) data).getFlowId();
+        } else if (data instanceof FlowCreateRequest) {
+            return flowId(((FlowCreateRequest) data).getPayload());
+        } else if (data instanceof FlowUpdateRequest) {
+            return flowId(((FlowUpdateRequest) data).getPayload());
+        } else if (data instanceof FlowDeleteRequest) {
+            return flowId(((FlowDeleteRequest) data).getPayload());
+        } else if (data instanceof FlowRerouteRequest) {
+            return flowId(((FlowRerouteRequest) data).getPayload());
+        }
+
+        return null;
+    }
+
+    private static String flowId(Flow flow) {
+        return flow == null ? null : flow.getFlowId();
+    }
+
+    private MessageKeys() {
+    }
+}
@@ -0,0 +1,84 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.BaseMessage;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonTypeIdResolver;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+
+import java.io.IOException;
+
+/**
+ * Binary codec, CBOR encoded messages with short type ids (see {@link MessageTypeIdResolver}).
+ *
+ * <p>Every payload starts with the CBOR self-describe tag, so it can be told apart from JSON without any
+ * out-of-band content type information.
+ */
+public class CborMessageCodec implements MessageCodec {
+    public static final String CONTENT_TYPE = "application/cbor";
+
+    private static final byte[] SELF_DESCRIBE_TAG = new byte[] {(byte) 0xd9, (byte) 0xd9, (byte) 0xf7};
+
+    private final ObjectMapper mapper;
+
+    public CborMessageCodec() {
+        CBORFactory factory = new CBORFactory();
+        factory.enable(CBORGenerator.Feature.WRITE_TYPE_HEADER);
+
+        mapper = new ObjectMapper(factory);
+        mapper.addMixIn(BaseMessage.class, CompactTypeIdMixIn.class);
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public boolean isEncoded(byte[] payload) {
+        if (payload.length < SELF_DESCRIBE_TAG.length) {
+            return false;
+        }
+        for (int i = 0; i < SELF_DESCRIBE_TAG.length; i++) {
+            if (payload[i] != SELF_DESCRIBE_TAG[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public byte[] encode(BaseMessage message) throws IOException {
+        return mapper.writeValueAsBytes(message);
+    }
+
+    @Override
+    public <T extends BaseMessage> T decode(byte[] payload, Class<T> type) throws IOException {
+        return mapper.readValue(payload, type);
+    }
+
+    /**
+     * Replaces class name type ids of {@link BaseMessage} hierarchy with the registered short ones.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CUSTOM, include = JsonTypeInfo.As.PROPERTY, property = "clazz")
+    @JsonTypeIdResolver(MessageTypeIdResolver.class)
+    abstract static class CompactTypeIdMixIn {
+    }
+}
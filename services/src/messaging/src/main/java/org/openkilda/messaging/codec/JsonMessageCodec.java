@@ -0,0 +1,53 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.BaseMessage;
+import org.openkilda.messaging.Utils;
+
+import java.io.IOException;
+
+/**
+ * JSON codec, produces exactly the same payload as {@link Utils#MAPPER}.
+ */
+public class JsonMessageCodec implements MessageCodec {
+    public static final String CONTENT_TYPE = "application/json";
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public boolean isEncoded(byte[] payload) {
+        for (byte value : payload) {
+            if (!Character.isWhitespace(value)) {
+                return value == '{';
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public byte[] encode(BaseMessage message) throws IOException {
+        return Utils.MAPPER.writeValueAsBytes(message);
+    }
+
+    @Override
+    public <T extends BaseMessage> T decode(byte[] payload, Class<T> type) throws IOException {
+        return Utils.MAPPER.readValue(payload, type);
+    }
+}
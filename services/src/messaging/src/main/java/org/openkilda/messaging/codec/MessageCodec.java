@@ -0,0 +1,39 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.BaseMessage;
+
+import java.io.IOException;
+
+/**
+ * Converts messages to and from their wire representation.
+ */
+public interface MessageCodec {
+    /**
+     * Returns content type of the encoded payload.
+     */
+    String getContentType();
+
+    /**
+     * Checks whether the payload was produced by this codec.
+     */
+    boolean isEncoded(byte[] payload);
+
+    byte[] encode(BaseMessage message) throws IOException;
+
+    <T extends BaseMessage> T decode(byte[] payload, Class<T> type) throws IOException;
+}
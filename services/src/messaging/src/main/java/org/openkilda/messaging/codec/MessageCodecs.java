@@ -0,0 +1,84 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.BaseMessage;
+import org.openkilda.messaging.Utils;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Registry of the supported wire formats.
+ *
+ * <p>Kafka records carry no headers (in the client version we use), so the content type is detected from the
+ * payload itself: each codec recognises its own output. This lets consumers accept JSON and binary messages on
+ * the same topic while producers are switched one by one.
+ */
+public final class MessageCodecs {
+    public static final MessageCodec JSON = new JsonMessageCodec();
+    public static final MessageCodec CBOR = new CborMessageCodec();
+
+    private static final List<MessageCodec> CODECS = ImmutableList.of(CBOR, JSON);
+
+    /**
+     * Returns codec for the content type.
+     */
+    public static MessageCodec forContentType(String contentType) {
+        for (MessageCodec codec : CODECS) {
+            if (codec.getContentType().equalsIgnoreCase(contentType)) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unsupported content type \"%s\"", contentType));
+    }
+
+    /**
+     * Returns codec that have produced the payload.
+     */
+    public static MessageCodec detect(byte[] payload) throws IOException {
+        for (MessageCodec codec : CODECS) {
+            if (codec.isEncoded(payload)) {
+                return codec;
+            }
+        }
+        throw new IOException("Unable to detect content type of the message");
+    }
+
+    /**
+     * Decodes message received as a kafka record value, either string or byte array. Already decoded messages
+     * (i.e. passed between storm bolts as objects) are returned as is.
+     */
+    public static <T extends BaseMessage> T decode(Object payload, Class<T> type) throws IOException {
+        if (type.isInstance(payload)) {
+            return type.cast(payload);
+        }
+        if (payload instanceof String) {
+            return Utils.MAPPER.readValue((String) payload, type);
+        }
+        if (payload instanceof byte[]) {
+            byte[] raw = (byte[]) payload;
+            return detect(raw).decode(raw, type);
+        }
+        throw new IOException(String.format("Unsupported message payload type %s",
+                payload == null ? null : payload.getClass().getName()));
+    }
+
+    private MessageCodecs() {
+    }
+}
@@ -0,0 +1,108 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
+import org.openkilda.messaging.command.discovery.NetworkCommandData;
+import org.openkilda.messaging.command.stats.FlowStatsRequest;
+import org.openkilda.messaging.command.stats.MeterConfigStatsRequest;
+import org.openkilda.messaging.command.stats.PortStatsRequest;
+import org.openkilda.messaging.error.ErrorData;
+import org.openkilda.messaging.error.ErrorMessage;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoExtendedData;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.MeterConfigStatsData;
+import org.openkilda.messaging.info.stats.PortStatsData;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.DatabindContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.jsontype.impl.TypeIdResolverBase;
+import com.google.common.collect.ImmutableBiMap;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Type id resolver for the binary wire format.
+ *
+ * <p>Message types that travel in bulk (stats, discovery and their envelopes) are written as short ids,
+ * everything else falls back to the fully qualified class name, just like the JSON format does. Ids are part of
+ * the wire format: never reuse or reassign them, only append new ones.
+ */
+public class MessageTypeIdResolver extends TypeIdResolverBase {
+    private static final ImmutableBiMap<Class<?>, String> ID_BY_TYPE = ImmutableBiMap.<Class<?>, String>builder()
+            .put(InfoMessage.class, "1")
+            .put(CommandMessage.class, "2")
+            .put(ErrorMessage.class, "3")
+            .put(ErrorData.class, "4")
+            .put(PortStatsData.class, "10")
+            .put(FlowStatsData.class, "11")
+            .put(MeterConfigStatsData.class, "12")
+            .put(PortStatsRequest.class, "13")
+            .put(FlowStatsRequest.class, "14")
+            .put(MeterConfigStatsRequest.class, "15")
+            .put(IslInfoData.class, "20")
+            .put(PortInfoData.class, "21")
+            .put(SwitchInfoData.class, "22")
+            .put(SwitchInfoExtendedData.class, "23")
+            .put(DiscoverIslCommandData.class, "24")
+            .put(DiscoverPathCommandData.class, "25")
+            .put(NetworkCommandData.class, "26")
+            .build();
+
+    /**
+     * Returns message types that have short ids.
+     */
+    public static Set<Class<?>> getRegisteredTypes() {
+        return ID_BY_TYPE.keySet();
+    }
+
+    @Override
+    public String idFromValue(Object value) {
+        return idFromValueAndType(value, value.getClass());
+    }
+
+    @Override
+    public String idFromValueAndType(Object value, Class<?> suggestedType) {
+        String id = ID_BY_TYPE.get(suggestedType);
+        return id != null ? id : suggestedType.getName();
+    }
+
+    @Override
+    public JavaType typeFromId(DatabindContext context, String id) throws IOException {
+        Class<?> type = ID_BY_TYPE.inverse().get(id);
+        if (type == null) {
+            try {
+                type = context.getTypeFactory().findClass(id);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException(String.format("Unknown message type id \"%s\"", id), e);
+            }
+        }
+        return context.constructType(type);
+    }
+
+    @Override
+    public JsonTypeInfo.Id getMechanism() {
+        return JsonTypeInfo.Id.CUSTOM;
+    }
+}
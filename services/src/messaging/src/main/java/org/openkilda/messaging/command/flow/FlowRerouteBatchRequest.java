@@ -0,0 +1,162 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.flow;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.info.flow.FlowOperation;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Defines the payload of a Message representing a command for path recomputation of many flows at once, e.g. all
+ * flows affected by a failed ISL. The paths are computed together on one network snapshot. Only flow ids are sent,
+ * the receiver takes the flows from its own cache.
+ */
+@JsonSerialize
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({
+        "command",
+        "flow_ids",
+        "operation",
+        "reason"})
+public class FlowRerouteBatchRequest extends CommandData {
+    /**
+     * Serialization version number constant.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The maximum number of flows in one request, larger reroutes are split into several requests. It keeps
+     * the message far below the kafka message size limit.
+     */
+    public static final int MAX_FLOWS = 1000;
+
+    /**
+     * Ids of the flows to reroute.
+     */
+    @JsonProperty("flow_ids")
+    private List<String> flowIds;
+
+    /**
+     * The flow operation type.
+     */
+    @JsonProperty("operation")
+    private FlowOperation operation;
+
+    /**
+     * Why the flows are rerouted.
+     */
+    @JsonProperty("reason")
+    private String reason;
+
+    /**
+     * Instance constructor.
+     *
+     * @param flowIds ids of the flows to reroute
+     * @param operation flow operation type
+     * @param reason why the flows are rerouted
+     * @throws IllegalArgumentException if flow ids are null or there are more than {@link #MAX_FLOWS} of them
+     */
+    @JsonCreator
+    public FlowRerouteBatchRequest(@JsonProperty("flow_ids") List<String> flowIds,
+                                   @JsonProperty("operation") FlowOperation operation,
+                                   @JsonProperty("reason") String reason) {
+        setFlowIds(flowIds);
+        this.operation = operation;
+        this.reason = reason;
+    }
+
+    /**
+     * Returns ids of the flows to reroute.
+     *
+     * @return flow ids
+     */
+    public List<String> getFlowIds() {
+        return flowIds;
+    }
+
+    /**
+     * Sets ids of the flows to reroute.
+     *
+     * @param flowIds flow ids
+     */
+    public void setFlowIds(List<String> flowIds) {
+        if (flowIds == null) {
+            throw new IllegalArgumentException("need to set flow ids");
+        }
+        if (flowIds.size() > MAX_FLOWS) {
+            throw new IllegalArgumentException(String.format(
+                    "too many flows in one request: %d, at most %d are allowed", flowIds.size(), MAX_FLOWS));
+        }
+        this.flowIds = new ArrayList<>(flowIds);
+    }
+
+    public FlowOperation getOperation() {
+        return operation;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("flows", flowIds.size())
+                .add("operation", operation)
+                .add("reason", reason)
+                .toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(flowIds, operation, reason);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        FlowRerouteBatchRequest that = (FlowRerouteBatchRequest) object;
+        return Objects.equals(flowIds, that.flowIds)
+                && Objects.equals(operation, that.operation)
+                && Objects.equals(reason, that.reason);
+    }
+}
@@ -67,6 +67,12 @@ public class IslInfoData extends PathInfoData {
     @JsonProperty("time_modify")
     private final Long timeModifyMillis;
 
+    /**
+     * Isl cost stored in the database, it is set by the topology engine and is null if unknown.
+     */
+    @JsonProperty("cost")
+    private Integer cost;
+
     /**
      * Copy constructor.
      *
@@ -81,6 +87,7 @@ public class IslInfoData extends PathInfoData {
                 that.getState(),
                 that.getTimeCreateMillis(),
                 that.getTimeModifyMillis());
+        this.cost = that.getCost();
     }
 
     /**
@@ -20,6 +20,7 @@ import static com.google.common.base.MoreObjects.toStringHelper;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.messaging.payload.flow.PathComputationStrategy;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -144,6 +145,18 @@ public class Flow implements Serializable {
     @JsonProperty("state")
     private FlowState state;
 
+    /**
+     * Path computation strategy, the default one is used if null.
+     */
+    @JsonProperty("path_computation_strategy")
+    private PathComputationStrategy pathComputationStrategy;
+
+    /**
+     * Max latency of the flow path, in the units of the ISL latency. Zero means no limit.
+     */
+    @JsonProperty("max_latency")
+    private long maxLatency;
+
     /**
      * Default constructor.
      */
@@ -172,6 +185,8 @@ public class Flow implements Serializable {
         this.meterId = flow.getMeterId();
         this.flowPath = flow.getFlowPath();
         this.state = flow.getState();
+        this.pathComputationStrategy = flow.getPathComputationStrategy();
+        this.maxLatency = flow.getMaxLatency();
     }
 
     /**
@@ -400,6 +415,8 @@ public class Flow implements Serializable {
                 .add("meter_id", meterId)
                 .add("last_updated", lastUpdated)
                 .add(Utils.FLOW_PATH, flowPath)
+                .add("path_computation_strategy", pathComputationStrategy)
+                .add("max_latency", maxLatency)
                 .toString();
     }
 }
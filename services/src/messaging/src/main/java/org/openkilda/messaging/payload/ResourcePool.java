@@ -18,8 +18,12 @@ package org.openkilda.messaging.payload;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Class represents resource allocator/deallocator.
@@ -28,15 +32,33 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  * (crimi - 2019.04.17) - Changing the underlying mechanism here to leverage "max" as the starting
  * point for where to look next.  If the counter is at max, then start at zero.
+ *
+ * <p>The ids of the range are bits of a bitset packed into 64 bit words, the summary level has a bit per word
+ * that is set when the word is full. A search for a free id starts at the next id, skips the full words by the
+ * summary and takes the id with CAS, so it doesn't lock and stays fast when the pool is nearly exhausted. Ids
+ * outside of the range can still be allocated explicitly, they are kept aside in a set.</p>
  */
 public class ResourcePool {
+    private static final int WORD_BITS = Long.SIZE;
+
+    /**
+     * Allocated ids, bit {@code id - lower}.
+     */
+    private final AtomicLongArray words;
+
     /**
-     * Resource values pool.
+     * Full words, bit {@code n} is set if the word {@code n} has no free id.
      */
-    private final Set<Integer> resources = ConcurrentHashMap.newKeySet();
-    private Integer nextId;
-    private Integer lower;
-    private Integer upper;
+    private final AtomicLongArray fullWords;
+
+    /**
+     * Explicitly allocated ids outside of the range.
+     */
+    private final Set<Integer> outOfRange = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger nextId;
+    private final int lower;
+    private final int upper;
 
     /**
      * Instance constructor.
@@ -45,9 +67,20 @@ public class ResourcePool {
      * @param maxValue maximum resource id value
      */
     public ResourcePool(final Integer minValue, final Integer maxValue) {
-        this.nextId = minValue;
         this.lower = minValue;
         this.upper = maxValue;
+        this.nextId = new AtomicInteger(minValue);
+
+        int size = upper - lower + 1;
+        int wordCount = (size + WORD_BITS - 1) / WORD_BITS;
+        words = new AtomicLongArray(wordCount);
+        fullWords = new AtomicLongArray((wordCount + WORD_BITS - 1) / WORD_BITS);
+
+        // the tail of the last word is out of the range, it is never allocated
+        int tail = wordCount * WORD_BITS - size;
+        if (tail > 0) {
+            words.set(wordCount - 1, -1L << (WORD_BITS - tail));
+        }
     }
 
     /**
@@ -56,27 +89,23 @@ public class ResourcePool {
      * @return allocated resource id
      */
     public Integer allocate() {
-        int range = upper - lower;
-        if (resources.size() <= range) {
-            // We are just going to loop through everything until we find a free one. Generally
-            // speaking this could be inefficient .. but we use "nextId" as a start, and that should
-            // have the greatest chance of being available.
-            for (int i = 0; i < range; i++) {
-                if (nextId > upper)
-                    nextId = lower;
-                int next;
-
-                // ensure only one thread executes the post-incremen
-                synchronized (nextId) {
-                    next = nextId++;
-                }
+        int start = nextId.get();
+        if (start < lower || start > upper) {
+            start = lower;
+        }
 
-                if (resources.add(next)) {
-                    return next;
-                }
-            }
+        // the summary is only a hint, so the whole bitset is checked before the pool is reported as full
+        int offset = findFree(start - lower, true);
+        if (offset < 0) {
+            offset = findFree(0, false);
         }
-        throw new ArrayIndexOutOfBoundsException("Could not allocate resource: pool is full");
+        if (offset < 0) {
+            throw new ArrayIndexOutOfBoundsException("Could not allocate resource: pool is full");
+        }
+
+        int id = lower + offset;
+        nextId.set(id + 1);
+        return id;
     }
 
     /**
@@ -89,9 +118,27 @@ public class ResourcePool {
         // This is added to ensure that if we are adding one or many IDs, we set nextId to the
         // largest of the set. This only affects the next call to allocate() without id, and all
         // it'll do is cause the search to start at this point.
-        if (id > nextId)
-            nextId = id+1;
-        return resources.add(id) ? id : null;
+        nextId.accumulateAndGet(id + 1, Math::max);
+        if (!isInRange(id)) {
+            return outOfRange.add(id) ? id : null;
+        }
+        return setBit(id - lower) ? id : null;
+    }
+
+    /**
+     * Allocates resource ids.
+     *
+     * @param ids resource ids
+     * @return the ids that were not allocated before
+     */
+    public Set<Integer> allocate(Collection<Integer> ids) {
+        Set<Integer> allocated = new HashSet<>();
+        for (Integer id : ids) {
+            if (allocate(id) != null) {
+                allocated.add(id);
+            }
+        }
+        return allocated;
     }
 
     /**
@@ -101,7 +148,26 @@ public class ResourcePool {
      * @return true if specified resource id was previously allocated
      */
     public Integer deallocate(final Integer resourceId) {
-        return resources.remove(resourceId) ? resourceId : null;
+        if (!isInRange(resourceId)) {
+            return outOfRange.remove(resourceId) ? resourceId : null;
+        }
+        return clearBit(resourceId - lower) ? resourceId : null;
+    }
+
+    /**
+     * Deallocates previously allocated resource ids.
+     *
+     * @param ids resource ids
+     * @return the ids that were allocated
+     */
+    public Set<Integer> deallocate(Collection<Integer> ids) {
+        Set<Integer> deallocated = new HashSet<>();
+        for (Integer id : ids) {
+            if (deallocate(id) != null) {
+                deallocated.add(id);
+            }
+        }
+        return deallocated;
     }
 
     /**
@@ -110,7 +176,117 @@ public class ResourcePool {
      * @return {@link ImmutableSet} of allocated resources id
      */
     public Set<Integer> dumpPool() {
-        return ImmutableSet.copyOf(resources);
+        ImmutableSet.Builder<Integer> snapshot = ImmutableSet.builder();
+        for (int index = 0; index < words.length(); index++) {
+            long word = words.get(index);
+            while (word != 0) {
+                int offset = index * WORD_BITS + Long.numberOfTrailingZeros(word);
+                if (lower + offset > upper) {
+                    break;
+                }
+                snapshot.add(lower + offset);
+                word &= word - 1;
+            }
+        }
+        return snapshot.addAll(outOfRange).build();
+    }
+
+    /**
+     * Finds and takes a free bit, looking from the offset up to the end of the range and then from its start.
+     *
+     * @param from the offset to start from
+     * @param skipFull whether to trust the summary and skip the words marked as full
+     * @return the offset of the taken bit or -1 if there is no free bit
+     */
+    private int findFree(int from, boolean skipFull) {
+        int wordCount = words.length();
+        int startWord = from / WORD_BITS;
+        for (int step = 0; step <= wordCount; step++) {
+            int index = (startWord + step) % wordCount;
+            if (skipFull && isFull(index)) {
+                continue;
+            }
+            // the first word is searched from the offset, when the search wraps around it is searched from its start
+            long mask = step == 0 ? -1L << (from % WORD_BITS) : -1L;
+            while (true) {
+                long word = words.get(index);
+                long free = ~word & mask;
+                if (free == 0) {
+                    break;
+                }
+                long bit = Long.lowestOneBit(free);
+                if (words.compareAndSet(index, word, word | bit)) {
+                    if ((word | bit) == -1L) {
+                        markFull(index);
+                    }
+                    return index * WORD_BITS + Long.numberOfTrailingZeros(bit);
+                }
+            }
+        }
+        return -1;
+    }
+
+    private boolean setBit(int offset) {
+        int index = offset / WORD_BITS;
+        long bit = 1L << (offset % WORD_BITS);
+        while (true) {
+            long word = words.get(index);
+            if ((word & bit) != 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, word, word | bit)) {
+                if ((word | bit) == -1L) {
+                    markFull(index);
+                }
+                return true;
+            }
+        }
+    }
+
+    private boolean clearBit(int offset) {
+        int index = offset / WORD_BITS;
+        long bit = 1L << (offset % WORD_BITS);
+        while (true) {
+            long word = words.get(index);
+            if ((word & bit) == 0) {
+                return false;
+            }
+            if (words.compareAndSet(index, word, word & ~bit)) {
+                updateSummary(index, false);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Marks the word as full. A concurrent deallocation may have freed a bit meanwhile, so the mark is dropped if
+     * the word is not full anymore.
+     */
+    private void markFull(int index) {
+        updateSummary(index, true);
+        if (words.get(index) != -1L) {
+            updateSummary(index, false);
+        }
+    }
+
+    private void updateSummary(int index, boolean full) {
+        int summaryIndex = index / WORD_BITS;
+        long bit = 1L << (index % WORD_BITS);
+        while (true) {
+            long summary = fullWords.get(summaryIndex);
+            long updated = full ? summary | bit : summary & ~bit;
+            if (summary == updated || fullWords.compareAndSet(summaryIndex, summary, updated)) {
+                return;
+            }
+        }
+    }
+
+    private boolean isFull(int index) {
+        return (fullWords.get(index / WORD_BITS) & (1L << (index % WORD_BITS))) != 0;
+    }
+
+    private boolean isInRange(int id) {
+        return lower <= id && id <= upper;
     }
 
     /**
@@ -119,7 +295,7 @@ public class ResourcePool {
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
-                .add("resources", resources)
+                .add("resources", dumpPool())
                 .add("nextId", nextId)
                 .add("lower", lower)
                 .add("upper", upper)
@@ -91,6 +91,18 @@ public class FlowPayload implements Serializable {
     @JsonProperty("status")
     private String status;
 
+    /**
+     * Path computation strategy.
+     */
+    @JsonProperty("path-computation-strategy")
+    private PathComputationStrategy pathComputationStrategy;
+
+    /**
+     * Max latency of the flow path, zero means no limit.
+     */
+    @JsonProperty("max-latency")
+    private long maxLatency;
+
     /**
      * Instance constructor.
      *
@@ -271,6 +283,45 @@ public class FlowPayload implements Serializable {
         this.status = status;
     }
 
+    /**
+     * Gets path computation strategy.
+     *
+     * @return path computation strategy, null means the default one
+     */
+    public PathComputationStrategy getPathComputationStrategy() {
+        return pathComputationStrategy;
+    }
+
+    /**
+     * Sets path computation strategy.
+     *
+     * @param pathComputationStrategy path computation strategy
+     */
+    public void setPathComputationStrategy(PathComputationStrategy pathComputationStrategy) {
+        this.pathComputationStrategy = pathComputationStrategy;
+    }
+
+    /**
+     * Gets max latency of the flow path.
+     *
+     * @return max latency, zero means no limit
+     */
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    /**
+     * Sets max latency of the flow path.
+     *
+     * @param maxLatency max latency, zero means no limit
+     */
+    public void setMaxLatency(long maxLatency) {
+        if (maxLatency < 0L) {
+            throw new IllegalArgumentException("need to set non negative latency");
+        }
+        this.maxLatency = maxLatency;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -283,6 +334,8 @@ public class FlowPayload implements Serializable {
                 .add("maximum-bandwidth", maximumBandwidth)
                 .add("description", description)
                 .add("last-updated", lastUpdated)
+                .add("path-computation-strategy", pathComputationStrategy)
+                .add("max-latency", maxLatency)
                 .toString();
     }
 
@@ -32,7 +32,7 @@ public final class FlowPayloadToFlowConverter {
      * @return {@link Flow} instance
      */
     public static Flow buildFlowByFlowPayload(FlowPayload flowPayload) {
-        return new Flow(
+        Flow flow = new Flow(
                 flowPayload.getId(),
                 flowPayload.getMaximumBandwidth(),
                 flowPayload.isIgnoreBandwidth(),
@@ -43,6 +43,9 @@ public final class FlowPayloadToFlowConverter {
                 flowPayload.getDestination().getSwitchDpId(),
                 flowPayload.getDestination().getPortId(),
                 flowPayload.getDestination().getVlanId());
+        flow.setPathComputationStrategy(flowPayload.getPathComputationStrategy());
+        flow.setMaxLatency(flowPayload.getMaxLatency());
+        return flow;
     }
 
     /**
@@ -52,7 +55,7 @@ public final class FlowPayloadToFlowConverter {
      * @return {@link FlowPayload} instance
      */
     public static FlowPayload buildFlowPayloadByFlow(Flow flow) {
-        return new FlowPayload(
+        FlowPayload payload = new FlowPayload(
                 flow.getFlowId(),
                 new FlowEndpointPayload(
                         flow.getSourceSwitch(),
@@ -67,6 +70,9 @@ public final class FlowPayloadToFlowConverter {
                 flow.getDescription(),
                 flow.getLastUpdated(),
                 flow.getState().getState());
+        payload.setPathComputationStrategy(flow.getPathComputationStrategy());
+        payload.setMaxLatency(flow.getMaxLatency());
+        return payload;
     }
 
     /**
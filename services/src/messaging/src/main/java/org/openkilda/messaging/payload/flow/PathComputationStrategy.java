@@ -0,0 +1,36 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.payload.flow;
+
+/**
+ * What the flow path is optimized for.
+ */
+public enum PathComputationStrategy {
+    /**
+     * Minimal sum of the ISL costs.
+     */
+    COST,
+
+    /**
+     * Minimal sum of the ISL latencies.
+     */
+    LATENCY,
+
+    /**
+     * Minimal number of ISLs.
+     */
+    HOPS
+}
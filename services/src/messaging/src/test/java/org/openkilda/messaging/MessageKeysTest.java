@@ -0,0 +1,80 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging;
+
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.flow.BatchInstallRequest;
+import org.openkilda.messaging.command.stats.PortStatsRequest;
+import org.openkilda.messaging.command.switches.ConnectModeRequest;
+import org.openkilda.messaging.command.switches.DeleteRulesAction;
+import org.openkilda.messaging.command.switches.DumpRulesRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesDeleteRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesSyncRequest;
+import org.openkilda.messaging.command.switches.SwitchRulesValidateRequest;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.NetworkSyncBeginMarker;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.messaging.info.flow.FlowOperation;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class MessageKeysTest {
+    private static final String SWITCH_ID = "ff:fe:00:00:00:00:00:01";
+
+    @Test
+    public void switchKey() {
+        Assert.assertEquals(SWITCH_ID, MessageKeys.of(new CommandMessage(
+                new PortStatsRequest(SWITCH_ID), 0L, "keys")));
+        Assert.assertEquals(SWITCH_ID, MessageKeys.of(new InfoMessage(
+                new PortInfoData(SWITCH_ID, 1, PortChangeType.UP), 0L, "keys")));
+    }
+
+    @Test
+    public void switchRulesKey() {
+        Assert.assertEquals(SWITCH_ID, MessageKeys.of(new CommandMessage(
+                new SwitchRulesDeleteRequest(SWITCH_ID, DeleteRulesAction.DROP_ALL, null), 0L, "keys")));
+        Assert.assertEquals(SWITCH_ID, MessageKeys.of(new CommandMessage(
+                new SwitchRulesSyncRequest(SWITCH_ID, Collections.emptyList()), 0L, "keys")));
+        Assert.assertEquals(SWITCH_ID, MessageKeys.of(new CommandMessage(
+                new SwitchRulesValidateRequest(SWITCH_ID), 0L, "keys")));
+        Assert.assertEquals(SWITCH_ID, MessageKeys.of(new CommandMessage(
+                new DumpRulesRequest(SWITCH_ID), 0L, "keys")));
+        Assert.assertEquals(SWITCH_ID, MessageKeys.of(new CommandMessage(
+                new BatchInstallRequest(SWITCH_ID, Collections.emptyList()), 0L, "keys")));
+    }
+
+    @Test
+    public void connectModeKey() {
+        Assert.assertEquals(MessageKeys.CONNECT_MODE_KEY, MessageKeys.of(new CommandMessage(
+                new ConnectModeRequest(ConnectModeRequest.Mode.AUTO), 0L, "keys")));
+    }
+
+    @Test
+    public void flowKey() {
+        Assert.assertEquals("flow-1", MessageKeys.of(new InfoMessage(
+                new FlowInfoData("flow-1", null, FlowOperation.STATE, "keys"), 0L, "keys")));
+    }
+
+    @Test
+    public void noKey() {
+        Assert.assertNull(MessageKeys.of(new InfoMessage(new NetworkSyncBeginMarker(), 0L, "keys")));
+    }
+}
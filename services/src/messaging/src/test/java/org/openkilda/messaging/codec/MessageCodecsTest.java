@@ -0,0 +1,72 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.HealthCheckCommandData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+public class MessageCodecsTest {
+    private final InfoMessage message = new InfoMessage(
+            new PortInfoData("ff:fe:00:00:00:00:00:01", 7, PortChangeType.UP), 1L, "codec", Destination.WFM);
+
+    @Test
+    public void binaryLoop() throws Exception {
+        byte[] encoded = MessageCodecs.CBOR.encode(message);
+
+        Assert.assertSame(MessageCodecs.CBOR, MessageCodecs.detect(encoded));
+        Assert.assertEquals(message, MessageCodecs.decode(encoded, Message.class));
+    }
+
+    @Test
+    public void binaryIsCompact() throws Exception {
+        byte[] encoded = MessageCodecs.CBOR.encode(message);
+        byte[] json = MessageCodecs.JSON.encode(message);
+
+        Assert.assertTrue(String.format("%d < %d", encoded.length, json.length), encoded.length < json.length);
+        Assert.assertFalse(new String(encoded, StandardCharsets.UTF_8).contains(InfoMessage.class.getName()));
+    }
+
+    @Test
+    public void unregisteredTypeLoop() throws Exception {
+        CommandMessage origin = new CommandMessage(
+                new HealthCheckCommandData("codec"), 1L, "codec", Destination.WFM);
+
+        CommandMessage reconstructed = (CommandMessage) MessageCodecs.decode(
+                MessageCodecs.CBOR.encode(origin), Message.class);
+        Assert.assertEquals(origin.getData(), reconstructed.getData());
+    }
+
+    @Test
+    public void jsonCompatibility() throws Exception {
+        byte[] encoded = MessageCodecs.JSON.encode(message);
+
+        Assert.assertArrayEquals(Utils.MAPPER.writeValueAsBytes(message), encoded);
+        Assert.assertSame(MessageCodecs.JSON, MessageCodecs.detect(encoded));
+        Assert.assertEquals(message, MessageCodecs.decode(Utils.MAPPER.writeValueAsString(message), Message.class));
+        Assert.assertEquals(message, MessageCodecs.decode(encoded, Message.class));
+    }
+}
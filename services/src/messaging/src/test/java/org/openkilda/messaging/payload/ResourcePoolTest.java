@@ -16,9 +16,21 @@
 package org.openkilda.messaging.payload;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 public class ResourcePoolTest {
     private static final ResourcePool pool = new ResourcePool(1, 5);
 
@@ -68,4 +80,49 @@ public class ResourcePoolTest {
         pool.allocate();
         pool.allocate();
     }
+
+    @Test
+    public void allocateNearExhaustion() {
+        ResourcePool pool = new ResourcePool(1, 1000);
+        for (int i = 0; i < 1000; i++) {
+            pool.allocate();
+        }
+        pool.deallocate(700);
+        pool.deallocate(3);
+
+        // the search wraps around to the start of the range and goes up from there
+        assertEquals(3, (int) pool.allocate());
+        assertEquals(700, (int) pool.allocate());
+        assertEquals(1000, pool.dumpPool().size());
+    }
+
+    @Test
+    public void bulkAllocateAndDeallocate() {
+        ResourcePool pool = new ResourcePool(1, 100);
+        pool.allocate(5);
+
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 200)), pool.allocate(Arrays.asList(1, 2, 5, 200)));
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 5, 200)), pool.dumpPool());
+        assertNull(pool.allocate(200));
+
+        assertEquals(new HashSet<>(Arrays.asList(2, 200)), pool.deallocate(Arrays.asList(2, 3, 200)));
+        assertEquals(new HashSet<>(Arrays.asList(1, 5)), pool.dumpPool());
+    }
+
+    @Test
+    public void concurrentAllocationGivesUniqueIds() throws Exception {
+        ResourcePool pool = new ResourcePool(1, 4096);
+        Set<Integer> allocated = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 4096; i++) {
+            executor.execute(() -> allocated.add(pool.allocate()));
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Set<Integer> expected = IntStream.rangeClosed(1, 4096).boxed().collect(Collectors.toSet());
+        assertEquals(expected, allocated);
+        assertEquals(expected, pool.dumpPool());
+        assertEquals(Collections.emptySet(), pool.allocate(Collections.singletonList(4096)));
+    }
 }
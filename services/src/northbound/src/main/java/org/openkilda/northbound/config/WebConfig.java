@@ -24,6 +24,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
@@ -40,6 +41,7 @@ import java.util.Collections;
 @EnableWebMvc
 @PropertySource({"classpath:northbound.properties"})
 public class WebConfig extends WebMvcConfigurerAdapter {
+
     /**
      * {@inheritDoc}
      */
@@ -49,6 +51,20 @@ public class WebConfig extends WebMvcConfigurerAdapter {
         registry.addInterceptor(extraAuthInterceptor());
     }
 
+    /**
+     * Executor writing streamed responses (see {@link org.openkilda.northbound.utils.NdjsonResponses}), each streamed
+     * request occupies a thread until the last item is written.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor streamingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(32);
+        executor.setQueueCapacity(64);
+        executor.setThreadNamePrefix("northbound-stream-");
+        return executor;
+    }
+
     /**
      * Request processing time counting interceptor.
      *
@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.openkilda.messaging.payload.FeatureTogglePayload;
 import org.openkilda.northbound.service.FeatureTogglesService;
+import org.openkilda.northbound.utils.DeferredResults;
 
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +32,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
 
 /**
  * REST Controller for toggle existed feature in kilda without having to re-deploy code.
@@ -60,7 +62,7 @@ public class FeatureTogglesController {
     })
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public FeatureTogglePayload getFeatureTogglesState() {
-        return featureTogglesService.getFeatureTogglesState();
+    public DeferredResult<FeatureTogglePayload> getFeatureTogglesState() {
+        return DeferredResults.of(featureTogglesService.getFeatureTogglesState());
     }
 }
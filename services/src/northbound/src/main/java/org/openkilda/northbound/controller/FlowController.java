@@ -31,7 +31,10 @@ import org.openkilda.northbound.dto.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.flows.VerificationInput;
 import org.openkilda.northbound.dto.flows.VerificationOutput;
 import org.openkilda.northbound.service.FlowService;
+import org.openkilda.northbound.utils.DeferredResults;
 import org.openkilda.northbound.utils.ExtraAuthRequired;
+import org.openkilda.northbound.utils.NdjsonResponses;
+import org.openkilda.northbound.utils.NdjsonStreamingBody;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -56,10 +59,13 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.nio.file.InvalidPathException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 
 /**
@@ -88,6 +94,9 @@ public class FlowController {
     @Autowired
     private FlowService flowService;
 
+    @Autowired
+    private NdjsonResponses ndjsonResponses;
+
     /**
      * Creates new flow.
      *
@@ -100,9 +109,9 @@ public class FlowController {
             method = RequestMethod.PUT,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
             consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FlowPayload> createFlow(@RequestBody FlowPayload flow) {
-        FlowPayload response = flowService.createFlow(flow);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<FlowPayload>> createFlow(@RequestBody FlowPayload flow) {
+        return DeferredResults.of(flowService.createFlow(flow)
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
     }
 
     /**
@@ -116,10 +125,10 @@ public class FlowController {
             value = "/flows/{flow-id}",
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowPayload> getFlow(@PathVariable(name = "flow-id") String flowId) {
+    public DeferredResult<ResponseEntity<FlowPayload>> getFlow(@PathVariable(name = "flow-id") String flowId) {
         logger.debug("Get flow: {}={}", FLOW_ID, flowId);
-        FlowPayload response = flowService.getFlow(flowId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return DeferredResults.of(flowService.getFlow(flowId)
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
     }
 
     /**
@@ -133,10 +142,10 @@ public class FlowController {
             value = "/flows/{flow-id}",
             method = RequestMethod.DELETE,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowPayload> deleteFlow(@PathVariable(name = "flow-id") String flowId) {
+    public DeferredResult<ResponseEntity<FlowPayload>> deleteFlow(@PathVariable(name = "flow-id") String flowId) {
         logger.debug("Delete flow: {}={}", FLOW_ID, flowId);
-        FlowPayload response = flowService.deleteFlow(flowId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return DeferredResults.of(flowService.deleteFlow(flowId)
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
     }
 
     /**
@@ -152,11 +161,11 @@ public class FlowController {
             method = RequestMethod.PUT,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
             consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<FlowPayload> updateFlow(
+    public DeferredResult<ResponseEntity<FlowPayload>> updateFlow(
             @PathVariable(name = "flow-id") String flowId,
             @RequestBody FlowPayload flow) {
-        FlowPayload response = flowService.updateFlow(flow);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return DeferredResults.of(flowService.updateFlow(flow)
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
     }
 
     /**
@@ -169,9 +178,25 @@ public class FlowController {
             value = "/flows",
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<List<FlowPayload>> getFlows() {
-        List<FlowPayload> response = flowService.getFlows();
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<List<FlowPayload>>> getFlows() {
+        return DeferredResults.of(flowService.getFlows()
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
+    }
+
+    /**
+     * Dumps all flows as newline delimited JSON, each flow is written as soon as it is received.
+     * Selected by "Accept: application/x-ndjson" header.
+     *
+     * @return stream of flows
+     */
+    @ApiOperation(value = "Dumps all flows, one JSON object per line", response = FlowPayload.class,
+            responseContainer = "List")
+    @RequestMapping(
+            value = "/flows",
+            method = RequestMethod.GET,
+            produces = NdjsonStreamingBody.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamFlows() {
+        return ndjsonResponses.ok(flowService.streamFlows());
     }
 
 
@@ -188,18 +213,19 @@ public class FlowController {
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ExtraAuthRequired
     @SuppressWarnings("unchecked") // the error is unchecked
-    public ResponseEntity<List<FlowPayload>> deleteFlows(
+    public DeferredResult<ResponseEntity<List<FlowPayload>>> deleteFlows(
             @RequestHeader(value = EXTRA_AUTH, defaultValue = "0") long extraAuth) {
         long currentAuth = System.currentTimeMillis();
         if (Math.abs(currentAuth - extraAuth) > 120 * 1000) {
             /*
              * The request needs to be within 120 seconds of the system clock.
              */
-            return new ResponseEntity("Invalid Auth: " + currentAuth, new HttpHeaders(), HttpStatus.UNAUTHORIZED);
+            return DeferredResults.of(CompletableFuture.completedFuture(
+                    new ResponseEntity("Invalid Auth: " + currentAuth, new HttpHeaders(), HttpStatus.UNAUTHORIZED)));
         }
 
-        List<FlowPayload> response = flowService.deleteFlows();
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+        return DeferredResults.of(flowService.deleteFlows()
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
     }
 
 
@@ -215,9 +241,10 @@ public class FlowController {
             value = "/flows/status/{flow-id}",
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowIdStatusPayload> statusFlow(@PathVariable(name = "flow-id") String flowId) {
-        FlowIdStatusPayload response = flowService.statusFlow(flowId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<FlowIdStatusPayload>> statusFlow(
+            @PathVariable(name = "flow-id") String flowId) {
+        return DeferredResults.of(flowService.statusFlow(flowId)
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
     }
 
     /**
@@ -230,9 +257,9 @@ public class FlowController {
     @RequestMapping(
             value = "/flows/path/{flow-id}", method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<FlowPathPayload> pathFlow(@PathVariable(name = "flow-id") String flowId) {
-        FlowPathPayload response = flowService.pathFlow(flowId);
-        return new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK);
+    public DeferredResult<ResponseEntity<FlowPathPayload>> pathFlow(@PathVariable(name = "flow-id") String flowId) {
+        return DeferredResults.of(flowService.pathFlow(flowId)
+                .thenApply(response -> new ResponseEntity<>(response, new HttpHeaders(), HttpStatus.OK)));
     }
 
 
@@ -250,7 +277,7 @@ public class FlowController {
             method = RequestMethod.PUT,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public BatchResults pushFlows(
+    public DeferredResult<BatchResults> pushFlows(
             @RequestBody List<FlowInfoData> externalFlows,
             @ApiParam(value = "default: false. If true, this will propagate rules to the switches.",
                     required = false)
@@ -261,7 +288,8 @@ public class FlowController {
 
         Boolean defaultPropagate = false;
         Boolean defaultVerify = false;
-        return flowService.pushFlows(externalFlows, propagate.orElse(defaultPropagate), verify.orElse(defaultVerify));
+        return DeferredResults.of(flowService.pushFlows(
+                externalFlows, propagate.orElse(defaultPropagate), verify.orElse(defaultVerify)));
     }
 
 
@@ -277,7 +305,7 @@ public class FlowController {
             method = RequestMethod.PUT,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public BatchResults unpushFlows(
+    public DeferredResult<BatchResults> unpushFlows(
             @RequestBody List<FlowInfoData> externalFlows,
             @ApiParam(value = "default: false. If true, this will propagate rules to the switches.",
                     required = false)
@@ -287,7 +315,8 @@ public class FlowController {
             @RequestParam("verify") Optional<Boolean> verify) {
         Boolean defaultPropagate = false;
         Boolean defaultVerify = false;
-        return flowService.unpushFlows(externalFlows, propagate.orElse(defaultPropagate), verify.orElse(defaultVerify));
+        return DeferredResults.of(flowService.unpushFlows(
+                externalFlows, propagate.orElse(defaultPropagate), verify.orElse(defaultVerify)));
     }
 
 
@@ -301,9 +330,9 @@ public class FlowController {
     @RequestMapping(path = "/flows/{flow_id}/reroute",
             method = RequestMethod.PATCH)
     @ResponseStatus(HttpStatus.OK)
-    public FlowPathPayload rerouteFlow(@PathVariable("flow_id") String flowId) {
+    public DeferredResult<FlowReroutePayload> rerouteFlow(@PathVariable("flow_id") String flowId) {
         logger.debug("Received reroute request for flow {}", flowId);
-        return flowService.rerouteFlow(flowId);
+        return DeferredResults.of(flowService.rerouteFlow(flowId));
     }
 
     /**
@@ -318,9 +347,9 @@ public class FlowController {
     @RequestMapping(path = "/flows/{flow_id}/sync",
             method = RequestMethod.PATCH)
     @ResponseStatus(HttpStatus.OK)
-    public FlowReroutePayload syncFlow(@PathVariable("flow_id") String flowId) {
+    public DeferredResult<FlowReroutePayload> syncFlow(@PathVariable("flow_id") String flowId) {
         logger.debug("Received sync flow request for flow {}", flowId);
-        return flowService.syncFlow(flowId);
+        return DeferredResults.of(flowService.syncFlow(flowId));
     }
 
     /**
@@ -334,35 +363,36 @@ public class FlowController {
     @RequestMapping(path = "/flows/{flow_id}/validate",
             method = RequestMethod.GET)
     @ResponseStatus(HttpStatus.OK)
-    public ResponseEntity<List<FlowValidationDto>> validateFlow(@PathVariable("flow_id") String flowId) {
+    public DeferredResult<ResponseEntity<List<FlowValidationDto>>> validateFlow(
+            @PathVariable("flow_id") String flowId) {
 
         logger.debug("Received Flow Validation request with flow {}", flowId);
-        ResponseEntity<List<FlowValidationDto>> response;
+        CompletableFuture<ResponseEntity<List<FlowValidationDto>>> response;
 
         try {
-            List<FlowValidationDto> result = flowService.validateFlow(flowId);
-            if (result == null) {
-                logger.info("VALIDATE FLOW: Flow Not Found: {}", flowId);
-                response = ResponseEntity.notFound().build();
-            } else {
-                response = ResponseEntity.ok(result);
-            }
+            response = flowService.validateFlow(flowId).thenApply(result -> {
+                if (result == null) {
+                    logger.info("VALIDATE FLOW: Flow Not Found: {}", flowId);
+                    return ResponseEntity.notFound().build();
+                }
+                return ResponseEntity.ok(result);
+            });
         } catch (InvalidPathException e) {
             logger.error("VALIDATE FLOW: Flow has no path: {}", flowId);
             logger.error(e.getMessage());
-            response = ResponseEntity.notFound().build();
+            response = CompletableFuture.completedFuture(ResponseEntity.notFound().build());
         }
-        return response;
+        return DeferredResults.of(response);
     }
 
     @ApiOperation(
             value = "Verify flow - using special network packet that is being routed in the same way as client traffic")
     @RequestMapping(path = "/flows/{flow_id}/verify", method = RequestMethod.PUT)
     @ResponseStatus(HttpStatus.OK)
-    public VerificationOutput verifyFlow(
+    public DeferredResult<VerificationOutput> verifyFlow(
             @RequestBody VerificationInput payload,
             @PathVariable("flow_id") String flowId) {
-        return flowService.verifyFlow(flowId, payload);
+        return DeferredResults.of(flowService.verifyFlow(flowId, payload));
     }
 
     /**
@@ -374,10 +404,10 @@ public class FlowController {
     @RequestMapping(path = "/flows/cachesync",
             method = RequestMethod.GET)
     @ResponseStatus(HttpStatus.OK)
-    public FlowCacheSyncResults syncFlowCache() {
+    public DeferredResult<FlowCacheSyncResults> syncFlowCache() {
 
         logger.debug("Received sync FlowCache");
-        return flowService.syncFlowCache(SynchronizeCacheAction.NONE);
+        return DeferredResults.of(flowService.syncFlowCache(SynchronizeCacheAction.NONE));
     }
 
     /**
@@ -388,9 +418,9 @@ public class FlowController {
     @ApiOperation(value = "Invalidate (purge) Flow Cache(s)", response = FlowCacheSyncResults.class)
     @DeleteMapping(path = "/flows/cache")
     @ResponseStatus(HttpStatus.OK)
-    public FlowCacheSyncResults invalidateFlowCache() {
+    public DeferredResult<FlowCacheSyncResults> invalidateFlowCache() {
         logger.debug("Received Invalidate FlowCache");
-        return flowService.syncFlowCache(SynchronizeCacheAction.INVALIDATE_CACHE);
+        return DeferredResults.of(flowService.syncFlowCache(SynchronizeCacheAction.INVALIDATE_CACHE));
     }
 
     /**
@@ -401,9 +431,9 @@ public class FlowController {
     @ApiOperation(value = "Refresh Flow Cache(s)", response = FlowCacheSyncResults.class)
     @PatchMapping(path = "/flows/cache")
     @ResponseStatus(HttpStatus.OK)
-    public FlowCacheSyncResults refreshFlowCache() {
+    public DeferredResult<FlowCacheSyncResults> refreshFlowCache() {
         logger.debug("Received Refresh FlowCache");
-        return flowService.syncFlowCache(SynchronizeCacheAction.SYNCHRONIZE_CACHE);
+        return DeferredResults.of(flowService.syncFlowCache(SynchronizeCacheAction.SYNCHRONIZE_CACHE));
     }
 
 }
@@ -20,6 +20,9 @@ import org.openkilda.northbound.dto.LinkPropsDto;
 import org.openkilda.northbound.dto.LinksDto;
 import org.openkilda.northbound.service.LinkPropsResult;
 import org.openkilda.northbound.service.LinkService;
+import org.openkilda.northbound.utils.DeferredResults;
+import org.openkilda.northbound.utils.NdjsonResponses;
+import org.openkilda.northbound.utils.NdjsonStreamingBody;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
@@ -29,6 +32,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -36,6 +40,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 
@@ -58,16 +64,31 @@ public class LinkController {
     @Autowired
     private LinkService linkService;
 
+    @Autowired
+    private NdjsonResponses ndjsonResponses;
+
     /**
      * Get all available links.
      *
      * @return list of links.
      */
     @ApiOperation(value = "Get all links", response = LinksDto.class, responseContainer = "List")
-    @GetMapping(path = "/links")
+    @GetMapping(path = "/links", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public List<LinksDto> getLinks() {
-        return linkService.getLinks();
+    public DeferredResult<List<LinksDto>> getLinks() {
+        return DeferredResults.of(linkService.getLinks());
+    }
+
+    /**
+     * Get all available links as newline delimited JSON, each link is written as soon as it is received.
+     *
+     * @return stream of links.
+     */
+    @ApiOperation(value = "Get all links, one JSON object per line", response = LinksDto.class,
+            responseContainer = "List")
+    @GetMapping(path = "/links", produces = NdjsonStreamingBody.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamLinks() {
+        return ndjsonResponses.ok(linkService.streamLinks());
     }
 
     /**
@@ -81,11 +102,12 @@ public class LinkController {
             method = RequestMethod.GET,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public List<LinkPropsDto> getLinkProps(@RequestParam(value = "src_switch", required = false) String srcSwitch,
-                                           @RequestParam(value = "src_port", required = false) Integer srcPort,
-                                           @RequestParam(value = "dst_switch", required = false) String dstSwitch,
-                                           @RequestParam(value = "dst_port", required = false) Integer dstPort) {
-        return linkService.getLinkProps(srcSwitch, srcPort, dstSwitch, dstPort);
+    public DeferredResult<List<LinkPropsDto>> getLinkProps(
+            @RequestParam(value = "src_switch", required = false) String srcSwitch,
+            @RequestParam(value = "src_port", required = false) Integer srcPort,
+            @RequestParam(value = "dst_switch", required = false) String dstSwitch,
+            @RequestParam(value = "dst_port", required = false) Integer dstPort) {
+        return DeferredResults.of(linkService.getLinkProps(srcSwitch, srcPort, dstSwitch, dstPort));
     }
 
     /**
@@ -99,9 +121,9 @@ public class LinkController {
             method = RequestMethod.PUT,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public LinkPropsResult putLinkProps(
+    public DeferredResult<LinkPropsResult> putLinkProps(
             @RequestBody List<LinkPropsDto> keysAndProps) {
-        return linkService.setLinkProps(keysAndProps);
+        return DeferredResults.of(linkService.setLinkProps(keysAndProps));
     }
 
     /**
@@ -115,8 +137,8 @@ public class LinkController {
             method = RequestMethod.DELETE,
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public LinkPropsResult delLinkProps(
+    public DeferredResult<LinkPropsResult> delLinkProps(
             @RequestBody List<LinkPropsDto> keysAndProps) {
-        return linkService.delLinkProps(keysAndProps);
+        return DeferredResults.of(linkService.delLinkProps(keysAndProps));
     }
 }
@@ -34,7 +34,10 @@ import org.openkilda.northbound.dto.SwitchDto;
 import org.openkilda.northbound.dto.switches.RulesSyncResult;
 import org.openkilda.northbound.dto.switches.RulesValidationResult;
 import org.openkilda.northbound.service.SwitchService;
+import org.openkilda.northbound.utils.DeferredResults;
 import org.openkilda.northbound.utils.ExtraAuthRequired;
+import org.openkilda.northbound.utils.NdjsonResponses;
+import org.openkilda.northbound.utils.NdjsonStreamingBody;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -50,9 +53,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST Controller for switches.
@@ -75,16 +81,31 @@ public class SwitchController {
     @Autowired
     private SwitchService switchService;
 
+    @Autowired
+    private NdjsonResponses ndjsonResponses;
+
     /**
      * Get all available links.
      *
      * @return list of links.
      */
     @ApiOperation(value = "Get all available switches", response = SwitchDto.class, responseContainer = "List")
-    @GetMapping(path = "/switches")
+    @GetMapping(path = "/switches", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public List<SwitchDto> getSwitches() {
-        return switchService.getSwitches();
+    public DeferredResult<List<SwitchDto>> getSwitches() {
+        return DeferredResults.of(switchService.getSwitches());
+    }
+
+    /**
+     * Get all available switches as newline delimited JSON, each switch is written as soon as it is received.
+     *
+     * @return stream of switches.
+     */
+    @ApiOperation(value = "Get all available switches, one JSON object per line", response = SwitchDto.class,
+            responseContainer = "List")
+    @GetMapping(path = "/switches", produces = NdjsonStreamingBody.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamSwitches() {
+        return ndjsonResponses.ok(switchService.streamSwitches());
     }
 
     /**
@@ -98,13 +119,12 @@ public class SwitchController {
     @GetMapping(value = "/switches/{switch-id}/rules",
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ResponseStatus(HttpStatus.OK)
-    public SwitchFlowEntries getSwitchRules(
+    public DeferredResult<SwitchFlowEntries> getSwitchRules(
             @PathVariable("switch-id") String switchId,
             @ApiParam(value = "Results will be filtered based on matching the cookie.",
                     required = false)
             @RequestParam("cookie") Optional<Long> cookie) {
-        SwitchFlowEntries response = switchService.getRules(switchId, cookie.orElse(0L));
-        return response;
+        return DeferredResults.of(switchService.getRules(switchId, cookie.orElse(0L)));
     }
 
 
@@ -125,7 +145,7 @@ public class SwitchController {
     @DeleteMapping(value = "/switches/{switch-id}/rules",
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ExtraAuthRequired
-    public ResponseEntity<List<Long>> deleteSwitchRules(
+    public DeferredResult<ResponseEntity<List<Long>>> deleteSwitchRules(
             @PathVariable("switch-id") String switchId,
             @ApiParam(value = "default: IGNORE_DEFAULTS. Can be one of DeleteRulesAction: " +
                     "DROP_ALL,DROP_ALL_ADD_DEFAULTS,IGNORE_DEFAULTS,OVERWRITE_DEFAULTS," +
@@ -138,7 +158,7 @@ public class SwitchController {
             @RequestParam("priority") Optional<Integer> priority,
             @RequestParam("out-port") Optional<Integer> outPort) {
 
-        List<Long> result;
+        CompletableFuture<List<Long>> result;
 
         //TODO: "priority" can't be used as a standalone criterion - because currently it's ignored in OFFlowDelete.
         if (cookie.isPresent() || inPort.isPresent() || inVlan.isPresent() /*|| priority.isPresent()*/
@@ -163,7 +183,7 @@ public class SwitchController {
 
             result = switchService.deleteRules(switchId, deleteRulesAction);
         }
-        return ResponseEntity.ok(result);
+        return DeferredResults.of(result.thenApply(ResponseEntity::ok));
     }
 
     /**
@@ -179,15 +199,15 @@ public class SwitchController {
     @PutMapping(value = "/switches/{switch-id}/rules",
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
     @ExtraAuthRequired
-    public ResponseEntity<List<Long>> installSwitchRules(
+    public DeferredResult<ResponseEntity<List<Long>>> installSwitchRules(
             @PathVariable("switch-id") String switchId,
             @ApiParam(value = "default: INSTALL_DEFAULTS. Can be one of InstallRulesAction: " +
                     " INSTALL_DROP,INSTALL_BROADCAST,INSTALL_UNICAST,INSTALL_DEFAULTS",
                     required = false)
             @RequestParam("install-action") Optional<InstallRulesAction> installAction) {
-        List<Long> response = switchService
-                .installRules(switchId, installAction.orElse(InstallRulesAction.INSTALL_DEFAULTS));
-        return ResponseEntity.ok(response);
+        return DeferredResults.of(switchService
+                .installRules(switchId, installAction.orElse(InstallRulesAction.INSTALL_DEFAULTS))
+                .thenApply(ResponseEntity::ok));
     }
 
 
@@ -206,10 +226,10 @@ public class SwitchController {
             response = ConnectModeRequest.Mode.class)
     @PutMapping(value = "/switches/toggle-connect-mode",
             produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
-    public ResponseEntity<ConnectModeRequest.Mode> toggleSwitchConnectMode(
+    public DeferredResult<ResponseEntity<ConnectModeRequest.Mode>> toggleSwitchConnectMode(
             @RequestParam("mode") ConnectModeRequest.Mode mode) {
-        ConnectModeRequest.Mode response = switchService.connectMode(mode);
-        return ResponseEntity.ok(response);
+        return DeferredResults.of(switchService.connectMode(mode)
+                .thenApply(ResponseEntity::ok));
     }
 
     /**
@@ -220,8 +240,8 @@ public class SwitchController {
     @ApiOperation(value = "Validate the rules installed on the switch", response = RulesValidationResult.class)
     @GetMapping(path = "/switches/{switch_id}/rules/validate")
     @ResponseStatus(HttpStatus.OK)
-    public RulesValidationResult validateRules(@PathVariable(name = "switch_id") String switchId) {
-        return switchService.validateRules(switchId);
+    public DeferredResult<RulesValidationResult> validateRules(@PathVariable(name = "switch_id") String switchId) {
+        return DeferredResults.of(switchService.validateRules(switchId));
     }
 
     /**
@@ -232,7 +252,7 @@ public class SwitchController {
     @ApiOperation(value = "Synchronize rules on the switch", response = RulesSyncResult.class)
     @GetMapping(path = "/switches/{switch_id}/rules/synchronize")
     @ResponseStatus(HttpStatus.OK)
-    public RulesSyncResult syncRules(@PathVariable(name = "switch_id") String switchId) {
-        return switchService.syncRules(switchId);
+    public DeferredResult<RulesSyncResult> syncRules(@PathVariable(name = "switch_id") String switchId) {
+        return DeferredResults.of(switchService.syncRules(switchId));
     }
 }
@@ -15,6 +15,8 @@
 
 package org.openkilda.northbound.messaging;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface MessageConsumer<T> {
     /**
      * Kafka message queue poll timeout.
@@ -34,6 +36,36 @@ public interface MessageConsumer<T> {
      */
     T poll(final String correlationId);
 
+    /**
+     * Returns future completed with the message having specified correlation id. The future is completed
+     * exceptionally with {@link org.openkilda.messaging.error.MessageException} if the message doesn't arrive in
+     * time.
+     *
+     * @param correlationId correlation id
+     * @return future of received message
+     */
+    default CompletableFuture<T> pollAsync(final String correlationId) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            result.complete(poll(correlationId));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@link #pollAsync(String)}, but the message is awaited for the given timeout (in milliseconds) instead
+     * of {@link #POLL_TIMEOUT}. Implementations which can't wait asynchronously use their own timeout.
+     *
+     * @param correlationId correlation id
+     * @param timeout how long to wait for the message
+     * @return future of received message
+     */
+    default CompletableFuture<T> pollAsync(final String correlationId, long timeout) {
+        return pollAsync(correlationId);
+    }
+
     /**
      * Clears message queue.
      */
@@ -0,0 +1,146 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Matches responses with the requests waiting for them by correlation id.
+ *
+ * <p>Each correlation id is represented by a future which is completed by the response receiver, so waiting side
+ * wakes up immediately. The response may arrive before anyone starts waiting for it, in that case it is kept for
+ * keep timeout until it is claimed. Waiting side gets the error produced by the timeout error factory if there is
+ * no response within wait timeout. Correlation ids of timed out requests are remembered for keep timeout, so a
+ * response arriving after its request has given up is dropped instead of being kept unclaimed.
+ */
+public class ResponseRegistry<T> {
+    private final Map<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final Map<String, ScheduledFuture<?>> timedOut = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor timer;
+    private final long waitTimeout;
+    private final long keepTimeout;
+    private final Function<String, ? extends Throwable> timeoutErrorFactory;
+
+    /**
+     * Creates the registry, timeouts are in milliseconds.
+     */
+    public ResponseRegistry(long waitTimeout, long keepTimeout,
+                            Function<String, ? extends Throwable> timeoutErrorFactory) {
+        this.waitTimeout = waitTimeout;
+        this.keepTimeout = keepTimeout;
+        this.timeoutErrorFactory = timeoutErrorFactory;
+
+        timer = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+                .setNameFormat("response-registry-timer")
+                .setDaemon(true)
+                .build());
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Returns the future that will be completed by the response with the given correlation id.
+     */
+    public CompletableFuture<T> await(String correlationId) {
+        return await(correlationId, waitTimeout);
+    }
+
+    /**
+     * Same as {@link #await(String)}, but waits for the given timeout (in milliseconds) instead of the default one.
+     */
+    public CompletableFuture<T> await(String correlationId, long timeout) {
+        Entry<T> entry = entries.computeIfAbsent(correlationId, key -> makeEntry(key, timeout, true));
+        entry.future.whenComplete((response, error) -> release(correlationId, entry));
+        return entry.future;
+    }
+
+    /**
+     * Passes the response to the waiting side.
+     *
+     * @return false if a response with the same correlation id have been already received or the request waiting
+     *         for it has timed out
+     */
+    public boolean complete(String correlationId, T response) {
+        // the timed out mark is set before the entry is removed, so a late response never creates a new entry
+        Entry<T> entry = entries.computeIfAbsent(
+                correlationId, key -> timedOut.containsKey(key) ? null : makeEntry(key, keepTimeout, false));
+        if (entry == null) {
+            ScheduledFuture<?> forget = timedOut.remove(correlationId);
+            if (forget != null) {
+                forget.cancel(false);
+            }
+            return false;
+        }
+        return entry.future.complete(response);
+    }
+
+    /**
+     * Count of requests waiting for the response and responses waiting to be claimed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Stops the timer. Pending futures will never time out after this call.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private Entry<T> makeEntry(String correlationId, long timeout, boolean awaited) {
+        Entry<T> entry = new Entry<>(awaited);
+        entry.expiration = timer.schedule(() -> expire(correlationId, entry), timeout, TimeUnit.MILLISECONDS);
+        return entry;
+    }
+
+    private void expire(String correlationId, Entry<T> entry) {
+        if (entry.awaited && !entry.future.isDone()) {
+            ScheduledFuture<?> forget = timer.schedule(
+                    () -> timedOut.remove(correlationId), keepTimeout, TimeUnit.MILLISECONDS);
+            ScheduledFuture<?> replaced = timedOut.put(correlationId, forget);
+            if (replaced != null) {
+                replaced.cancel(false);
+            }
+        }
+        entries.remove(correlationId, entry);
+        entry.future.completeExceptionally(timeoutErrorFactory.apply(correlationId));
+    }
+
+    private void release(String correlationId, Entry<T> entry) {
+        if (entries.remove(correlationId, entry)) {
+            entry.expiration.cancel(false);
+        }
+    }
+
+    private static class Entry<T> {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final boolean awaited;
+        ScheduledFuture<?> expiration;
+
+        Entry(boolean awaited) {
+            this.awaited = awaited;
+        }
+    }
+}
@@ -23,8 +23,8 @@ import static org.openkilda.messaging.error.ErrorType.OPERATION_TIMED_OUT;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.northbound.messaging.MessageConsumer;
+import org.openkilda.northbound.messaging.ResponseRegistry;
 
-import org.apache.commons.collections4.map.PassiveExpiringMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
@@ -35,10 +35,11 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 
 /**
  * Kafka message consumer.
@@ -68,13 +69,22 @@ public class KafkaMessageConsumer implements MessageConsumer<Message> {
     private String northboundTopic;
 
     /**
-     * Messages map.
+     * Requests waiting for responses.
      */
-    private Map<String, Message> messages;
+    private ResponseRegistry<Message> responses;
 
     @PostConstruct
     public void setUp() {
-        messages = new PassiveExpiringMap<>(expiredTime, TimeUnit.MINUTES, new ConcurrentHashMap<String, Message>());
+        responses = new ResponseRegistry<>(POLL_TIMEOUT, TimeUnit.MINUTES.toMillis(expiredTime), correlationId -> {
+            logger.error("{}: {}={}", TIMEOUT_ERROR_MESSAGE, CORRELATION_ID, correlationId);
+            return new MessageException(correlationId, System.currentTimeMillis(),
+                    OPERATION_TIMED_OUT, TIMEOUT_ERROR_MESSAGE, northboundTopic);
+        });
+    }
+
+    @PreDestroy
+    public void tearDown() {
+        responses.shutdown();
     }
 
     /**
@@ -96,7 +106,9 @@ public class KafkaMessageConsumer implements MessageConsumer<Message> {
 
         try (MDCCloseable closable = MDC.putCloseable(CORRELATION_ID, message.getCorrelationId())) {
             logger.debug("message received: {}", message);
-            messages.put(message.getCorrelationId(), message);
+            if (!responses.complete(message.getCorrelationId(), message)) {
+                logger.warn("Duplicate or late response received: {}", message);
+            }
         }
     }
 
@@ -106,45 +118,39 @@ public class KafkaMessageConsumer implements MessageConsumer<Message> {
     @Override
     public Message poll(final String correlationId) {
         try {
-            for (int i = POLL_TIMEOUT / POLL_PAUSE; i < POLL_TIMEOUT; i += POLL_PAUSE) {
-                if (messages.containsKey(correlationId)) {
-                    return messages.remove(correlationId);
-                }
-                Thread.sleep(POLL_PAUSE);
-            }
+            return pollAsync(correlationId).get();
         } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
             logger.error("{}: {}={}", INTERRUPTED_ERROR_MESSAGE, CORRELATION_ID, correlationId);
             throw new MessageException(correlationId, System.currentTimeMillis(),
                     INTERNAL_ERROR, INTERRUPTED_ERROR_MESSAGE, northboundTopic);
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
         }
-        logger.error("{}: {}={}", TIMEOUT_ERROR_MESSAGE, CORRELATION_ID, correlationId);
-        throw new MessageException(correlationId, System.currentTimeMillis(),
-                OPERATION_TIMED_OUT, TIMEOUT_ERROR_MESSAGE, northboundTopic);
     }
 
-    //todo(Nikita C): rewrite current poll method using async way.
-    /*
-    @Async
-    public CompletableFuture<Message> asyncPoll(final String correlationId) {
-        try {
-            for (int i = POLL_TIMEOUT / POLL_PAUSE; i < POLL_TIMEOUT; i += POLL_PAUSE) {
-                if (messages.containsKey(correlationId)) {
-                    return CompletableFuture.completedFuture(messages.remove(correlationId));
-                } else if (messages.containsKey(SYSTEM_CORRELATION_ID)) {
-                    return CompletableFuture.completedFuture(messages.remove(SYSTEM_CORRELATION_ID));
-                }
-                Thread.sleep(POLL_PAUSE);
-            }
-        } catch (InterruptedException exception) {
-            logger.error("{}: {}={}", INTERRUPTED_ERROR_MESSAGE, CORRELATION_ID, correlationId);
-            throw new MessageException(correlationId, System.currentTimeMillis(),
-                    INTERNAL_ERROR, INTERRUPTED_ERROR_MESSAGE, Topic.NORTHBOUND);
-        }
-        logger.error("{}: {}={}", TIMEOUT_ERROR_MESSAGE, CORRELATION_ID, correlationId);
-        throw new MessageException(correlationId, System.currentTimeMillis(),
-                OPERATION_TIMED_OUT, TIMEOUT_ERROR_MESSAGE, Topic.NORTHBOUND);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Message> pollAsync(final String correlationId) {
+        return responses.await(correlationId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Message> pollAsync(final String correlationId, long timeout) {
+        return responses.await(correlationId, timeout);
     }
-    */
 
     /**
      * {@inheritDoc}
@@ -21,6 +21,7 @@ import static org.openkilda.messaging.error.ErrorType.INTERNAL_ERROR;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageKeys;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.slf4j.Logger;
@@ -70,7 +71,7 @@ public class KafkaMessageProducer implements MessageProducer {
                     DATA_INVALID, errorMessage, message.toString());
         }
 
-        future = kafkaTemplate.send(topic, messageToSend);
+        future = kafkaTemplate.send(topic, MessageKeys.of(message), messageToSend);
         future.addCallback(new ListenableFutureCallback<SendResult<String, String>>() {
             @Override
             public void onSuccess(SendResult<String, String> result) {
@@ -26,8 +26,10 @@ import org.openkilda.northbound.dto.BatchResults;
 import org.openkilda.northbound.dto.flows.FlowValidationDto;
 import org.openkilda.northbound.dto.flows.VerificationInput;
 import org.openkilda.northbound.dto.flows.VerificationOutput;
+import org.openkilda.northbound.utils.ChunkStream;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * FlowService is for operations on flows, primarily against the Flow Topology.
@@ -37,64 +39,71 @@ public interface FlowService extends BasicService {
      * Creates flow.
      *
      * @param flow          flow
-     * @return created flow
+     * @return future of created flow
      */
-    FlowPayload createFlow(final FlowPayload flow);
+    CompletableFuture<FlowPayload> createFlow(final FlowPayload flow);
 
     /**
      * Deletes flow.
      *
      * @param id            flow id
-     * @return deleted flow
+     * @return future of deleted flow
      */
-    FlowPayload deleteFlow(final String id);
+    CompletableFuture<FlowPayload> deleteFlow(final String id);
 
     /**
      * Updates flow.
      *
      * @param flow          flow
-     * @return updated flow
+     * @return future of updated flow
      */
-    FlowPayload updateFlow(final FlowPayload flow);
+    CompletableFuture<FlowPayload> updateFlow(final FlowPayload flow);
 
     /**
      * Gets flow by id.
      *
      * @param id            flow id
-     * @return flow
+     * @return future of flow
      */
-    FlowPayload getFlow(final String id);
+    CompletableFuture<FlowPayload> getFlow(final String id);
 
     /**
      * Gets all the flows.
      *
-     * @return the list of all flows with specified status
+     * @return future of the list of all flows with specified status
      */
-    List<FlowPayload> getFlows();
+    CompletableFuture<List<FlowPayload>> getFlows();
+
+    /**
+     * Gets all the flows one by one, without collecting the whole dump.
+     *
+     * @return stream of all flows, the request is sent before the method returns
+     */
+    ChunkStream<FlowPayload> streamFlows();
 
     /**
      * Deletes all flows. Primarily this is a combination of getFlows and deleteFlow.
      * This should be called with care ..
      *
-     * @return the list of all deleted flows
+     * @return future of the list of all deleted flows
      */
-    List<FlowPayload> deleteFlows();
+    CompletableFuture<List<FlowPayload>> deleteFlows();
 
     /**
      * Gets flow status by id.
      *
      * @param id            flow id
-     * @return flow status
+     * @return future of flow status
      */
-    FlowIdStatusPayload statusFlow(final String id);
+    CompletableFuture<FlowIdStatusPayload> statusFlow(final String id);
 
     /**
      * Gets flow path by id.
      *
      * @param id            flow id
-     * @return Flow path
+     * @return future of flow path
      */
-    FlowPathPayload pathFlow(final String id);
+    CompletableFuture<FlowPathPayload> pathFlow(final String id);
 
     /**
      * Use this to push flows that may not be in the database / caches but they should be.
@@ -105,7 +114,8 @@ public interface FlowService extends BasicService {
      *
      * @return
      */
-    BatchResults pushFlows(final List<FlowInfoData> externalFlows, Boolean propagate, Boolean verify);
+    CompletableFuture<BatchResults> pushFlows(final List<FlowInfoData> externalFlows, Boolean propagate,
+                                            Boolean verify);
 
     /**
      * Use this to unpush flows .. ie undo a push
@@ -115,41 +125,42 @@ public interface FlowService extends BasicService {
      * @param verify if true, we'll wait up to poll seconds to confirm if rules have been applied
      * @return
      */
-    BatchResults unpushFlows(final List<FlowInfoData> externalFlows, Boolean propagate, Boolean verify);
+    CompletableFuture<BatchResults> unpushFlows(final List<FlowInfoData> externalFlows, Boolean propagate,
+                                              Boolean verify);
 
     /**
      * Performs rerouting of specific flow.
      *
      * @param flowId id of flow to be rerouted.
-     * @return updated flow path information with the result whether or not path was changed.
+     * @return future of updated flow path information with the result whether or not path was changed.
      */
-    FlowReroutePayload rerouteFlow(final String flowId);
+    CompletableFuture<FlowReroutePayload> rerouteFlow(final String flowId);
 
     /**
      * Performs synchronization (reinstalling) of specific flow.
      *
      * @param flowId id of flow to be synchronized.
-     * @return updated flow.
+     * @return future of updated flow.
      */
-    FlowReroutePayload syncFlow(final String flowId);
+    CompletableFuture<FlowReroutePayload> syncFlow(final String flowId);
 
     /**
      * Performs validation of specific flow - ie comparing what is in the database with what is
      * on the network.
      *
      * @param flowId id of the flow
-     * @return the results of the comparison, or null if the flow isn't found.
+     * @return future of the results of the comparison, completed with null if the flow isn't found.
      * @throws java.nio.file.InvalidPathException if the flow doesn't return a path and it should.
      */
-    List<FlowValidationDto> validateFlow(final String flowId);
+    CompletableFuture<List<FlowValidationDto>> validateFlow(final String flowId);
 
-    VerificationOutput verifyFlow(String flowId, VerificationInput payload);
+    CompletableFuture<VerificationOutput> verifyFlow(String flowId, VerificationInput payload);
 
     /**
      * Sync the FlowCache in the flow topology (in case it is out of sync.
      *
      * @param syncCacheAction describes how to synchronize the cache.
-     * @return details on performed updates.
+     * @return future of details on performed updates.
      */
-    FlowCacheSyncResults syncFlowCache(SynchronizeCacheAction syncCacheAction);
+    CompletableFuture<FlowCacheSyncResults> syncFlowCache(SynchronizeCacheAction syncCacheAction);
 }
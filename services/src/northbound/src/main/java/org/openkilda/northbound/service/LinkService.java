@@ -17,15 +17,22 @@ package org.openkilda.northbound.service;
 
 import org.openkilda.northbound.dto.LinkPropsDto;
 import org.openkilda.northbound.dto.LinksDto;
+import org.openkilda.northbound.utils.ChunkStream;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface LinkService extends BasicService {
 
     /**
      * Returns all links at the controller.
      */
-    List<LinksDto> getLinks();
+    CompletableFuture<List<LinksDto>> getLinks();
+
+    /**
+     * Returns all links at the controller one by one, without collecting the whole dump.
+     */
+    ChunkStream<LinksDto> streamLinks();
 
     /**
      * These results are not related to the ISL links per se .. they are based on any link
@@ -37,21 +44,22 @@ public interface LinkService extends BasicService {
      * @param dstPort destination port number.
      * @return one or more link properties from the static link_props table.
      */
-    List<LinkPropsDto> getLinkProps(String srcSwitch, Integer srcPort, String dstSwitch, Integer dstPort);
+    CompletableFuture<List<LinkPropsDto>> getLinkProps(String srcSwitch, Integer srcPort,
+                                                       String dstSwitch, Integer dstPort);
 
     /**
      * All linkPropsList link properties will be created/updated, and pushed to ISL links if they exit.
      *
      * @param linkPropsList the list of link properties to create / update
-     * @return the number of successes, failures, and any failure messages
+     * @return future of the number of successes, failures, and any failure messages
      */
-    LinkPropsResult setLinkProps(List<LinkPropsDto> linkPropsList);
+    CompletableFuture<LinkPropsResult> setLinkProps(List<LinkPropsDto> linkPropsList);
 
     /**
      * All linkPropsList link properties will be deleted, and deleted from ISL links if they exist.
      *
      * @param linkPropsList the list of link properties to delete
-     * @return the number of successes (rows affected), failures, and any failure messages
+     * @return future of the number of successes (rows affected), failures, and any failure messages
      */
-    LinkPropsResult delLinkProps(List<LinkPropsDto> linkPropsList);
+    CompletableFuture<LinkPropsResult> delLinkProps(List<LinkPropsDto> linkPropsList);
 }
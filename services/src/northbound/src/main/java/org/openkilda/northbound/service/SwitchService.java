@@ -8,21 +8,28 @@ import org.openkilda.messaging.command.switches.InstallRulesAction;
 import org.openkilda.messaging.info.rule.SwitchFlowEntries;
 import org.openkilda.northbound.dto.SwitchDto;
 import org.openkilda.northbound.dto.switches.RulesValidationResult;
+import org.openkilda.northbound.utils.ChunkStream;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface SwitchService extends BasicService {
 
-    List<SwitchDto> getSwitches();
+    CompletableFuture<List<SwitchDto>> getSwitches();
+
+    /**
+     * Returns all switches one by one, without collecting the whole dump.
+     */
+    ChunkStream<SwitchDto> streamSwitches();
 
     /**
      * Get all rules from the switch. If cookie is specified, then return just that cookie rule.
      *
      * @param switchId the switch
      * @param cookie if > 0, then filter the results based on that cookie
-     * @return the list of rules
+     * @return future of the list of rules
      */
-    SwitchFlowEntries getRules(String switchId, Long cookie);
+    CompletableFuture<SwitchFlowEntries> getRules(String switchId, Long cookie);
 
     /**
      * Get all rules from the switch. If cookie is specified, then return just that cookie rule.
@@ -30,36 +37,36 @@ public interface SwitchService extends BasicService {
      * @param switchId the switch
      * @param cookie if > 0, then filter the results based on that cookie
      * @param correlationId passed correlation id
-     * @return the list of rules
+     * @return future of the list of rules
      */
-    SwitchFlowEntries getRules(String switchId, Long cookie, String correlationId);
+    CompletableFuture<SwitchFlowEntries> getRules(String switchId, Long cookie, String correlationId);
 
     /**
      * Deletes rules from the switch. The flag (@code deleteAction) defines which rules to delete.
      *
      * @param switchId switch id
      * @param deleteAction defines which rules to delete.
-     * @return the list of cookies of removed rules.
+     * @return future of the list of cookies of removed rules.
      */
-    List<Long> deleteRules(String switchId, DeleteRulesAction deleteAction);
+    CompletableFuture<List<Long>> deleteRules(String switchId, DeleteRulesAction deleteAction);
 
     /**
      * Deletes rules from the switch.
      *
      * @param switchId switch id
      * @param criteria defines criteria for rules to delete.
-     * @return the list of cookies of removed rules.
+     * @return future of the list of cookies of removed rules.
      */
-    List<Long> deleteRules(String switchId, DeleteRulesCriteria criteria);
+    CompletableFuture<List<Long>> deleteRules(String switchId, DeleteRulesCriteria criteria);
 
     /**
      * Install default rules on the switch. The flag (@code installAction) defines what to do about the default rules.
      *
      * @param switchId switch id
      * @param installAction defines what to do about the default rules
-     * @return the list of cookies for installed rules
+     * @return future of the list of cookies for installed rules
      */
-    List<Long> installRules(String switchId, InstallRulesAction installAction);
+    CompletableFuture<List<Long>> installRules(String switchId, InstallRulesAction installAction);
 
 
     /**
@@ -67,23 +74,23 @@ public interface SwitchService extends BasicService {
      * policy for what Floodlight does.
      *
      * @param mode the mode to use. If null, then just return existing value.
-     * @return the value of connection mode after the operation
+     * @return future of the value of connection mode after the operation
      */
-    ConnectModeRequest.Mode connectMode(ConnectModeRequest.Mode mode);
+    CompletableFuture<ConnectModeRequest.Mode> connectMode(ConnectModeRequest.Mode mode);
 
     /**
      * Validate the rules installed on the switch against the flows in Neo4J.
      *
      * @param switchId switch to validate rules on.
-     * @return the validation details.
+     * @return future of the validation details.
      */
-    RulesValidationResult validateRules(String switchId);
+    CompletableFuture<RulesValidationResult> validateRules(String switchId);
 
     /**
      * Synchronize (install) missing flows that should be on the switch but exist only in Neo4J.
      *
      * @param switchId switch to synchronize rules on.
-     * @return the synchronization result.
+     * @return future of the synchronization result.
      */
-    RulesSyncResult syncRules(String switchId);
+    CompletableFuture<RulesSyncResult> syncRules(String switchId);
 }
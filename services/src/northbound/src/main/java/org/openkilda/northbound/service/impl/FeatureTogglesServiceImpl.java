@@ -34,6 +34,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public class FeatureTogglesServiceImpl implements FeatureTogglesService {
 
@@ -62,17 +64,16 @@ public class FeatureTogglesServiceImpl implements FeatureTogglesService {
     }
 
     @Override
-    public FeatureTogglePayload getFeatureTogglesState() {
+    public CompletableFuture<FeatureTogglePayload> getFeatureTogglesState() {
         String correlationId = RequestCorrelationId.getId();
         FeatureToggleStateRequest teRequest = new FeatureToggleStateRequest();
         CommandMessage requestMessage = new CommandMessage(teRequest, System.currentTimeMillis(),
                 correlationId, Destination.TOPOLOGY_ENGINE);
         messageProducer.send(topoEngTopic, requestMessage);
 
-        Message result = messageConsumer.poll(correlationId);
-        FeatureTogglesResponse response =
-                (FeatureTogglesResponse) validateInfoMessage(requestMessage, result, correlationId);
-
-        return mapper.toDto(response);
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(result -> (FeatureTogglesResponse) validateInfoMessage(
+                        requestMessage, result, correlationId))
+                .thenApply(mapper::toDto);
     }
 }
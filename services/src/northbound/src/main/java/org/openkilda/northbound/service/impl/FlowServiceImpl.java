@@ -62,6 +62,8 @@ import org.openkilda.northbound.messaging.MessageConsumer;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.service.FlowService;
 import org.openkilda.northbound.service.SwitchService;
+import org.openkilda.northbound.utils.ChunkStream;
+import org.openkilda.northbound.utils.CompletableFutures;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 import org.openkilda.northbound.utils.ResponseCollector;
 import org.openkilda.pce.provider.Auth;
@@ -80,12 +82,14 @@ import org.springframework.web.client.RestTemplate;
 
 import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 
@@ -141,7 +145,7 @@ public class FlowServiceImpl implements FlowService {
      * Kafka message consumer.
      */
     @Autowired
-    private MessageConsumer messageConsumer;
+    private MessageConsumer<Message> messageConsumer;
 
     /**
      * Kafka message producer.
@@ -180,28 +184,26 @@ public class FlowServiceImpl implements FlowService {
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload createFlow(final FlowPayload flow) {
+    public CompletableFuture<FlowPayload> createFlow(final FlowPayload flow) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Create flow: {}={}", CORRELATION_ID, correlationId);
         FlowCreateRequest data = new FlowCreateRequest(FlowPayloadToFlowConverter.buildFlowByFlowPayload(flow));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageConsumer.clear();
         messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return FlowPayloadToFlowConverter.buildFlowPayloadByFlow(response.getPayload());
+        return flowResponse(correlationId, request);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload deleteFlow(final String id) {
+    public CompletableFuture<FlowPayload> deleteFlow(final String id) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Delete flow: {}={}", CORRELATION_ID, correlationId);
         messageConsumer.clear();
         CommandMessage request = sendDeleteFlow(id, correlationId);
-        return deleteFlowResponse(correlationId, request);
+        return flowResponse(correlationId, request);
     }
 
     /**
@@ -218,13 +220,13 @@ public class FlowServiceImpl implements FlowService {
     }
 
     /**
-     * Blocking primitive .. waits for the response .. and then converts to FlowPayload.
-     * @return the deleted flow.
+     * Non-blocking primitive .. awaits for the response .. and then converts to FlowPayload.
+     * @return future of the flow from the response.
      */
-    private FlowPayload deleteFlowResponse(final String correlationId, CommandMessage request) {
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return FlowPayloadToFlowConverter.buildFlowPayloadByFlow(response.getPayload());
+    private CompletableFuture<FlowPayload> flowResponse(final String correlationId, CommandMessage request) {
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (FlowResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(response -> FlowPayloadToFlowConverter.buildFlowPayloadByFlow(response.getPayload()));
     }
 
 
@@ -232,16 +234,14 @@ public class FlowServiceImpl implements FlowService {
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload getFlow(final String id) {
+    public CompletableFuture<FlowPayload> getFlow(final String id) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Get flow: {}={}", CORRELATION_ID, correlationId);
         FlowGetRequest data = new FlowGetRequest(new FlowIdStatusPayload(id, null));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageConsumer.clear();
         messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return FlowPayloadToFlowConverter.buildFlowPayloadByFlow(response.getPayload());
+        return flowResponse(correlationId, request);
     }
 
 
@@ -249,29 +249,50 @@ public class FlowServiceImpl implements FlowService {
      * {@inheritDoc}
      */
     @Override
-    public FlowPayload updateFlow(final FlowPayload flow) {
+    public CompletableFuture<FlowPayload> updateFlow(final FlowPayload flow) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Update flow: {}={}", CORRELATION_ID, correlationId);
         FlowUpdateRequest data = new FlowUpdateRequest(FlowPayloadToFlowConverter.buildFlowByFlowPayload(flow));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageConsumer.clear();
         messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowResponse response = (FlowResponse) validateInfoMessage(request, message, correlationId);
-        return FlowPayloadToFlowConverter.buildFlowPayloadByFlow(response.getPayload());
+        return flowResponse(correlationId, request);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public List<FlowPayload> getFlows() {
+    public CompletableFuture<List<FlowPayload>> getFlows() {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Get flows request processing");
+        requestFlows(correlationId);
+
+        return flowsCollector.getResultAsync(correlationId)
+                .thenApply(this::toFlowPayloads);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ChunkStream<FlowPayload> streamFlows() {
+        final String correlationId = RequestCorrelationId.getId();
+        LOGGER.debug("Stream flows request processing");
+        requestFlows(correlationId);
+
+        return flowsCollector.stream(correlationId)
+                .map(FlowResponse::getPayload)
+                .map(FlowPayloadToFlowConverter::buildFlowPayloadByFlow);
+    }
+
+    private void requestFlows(String correlationId) {
         FlowGetRequest data = new FlowGetRequest();
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageProducer.send(topic, request);
-        List<FlowResponse> result = flowsCollector.getResult(correlationId);
+    }
+
+    private List<FlowPayload> toFlowPayloads(List<FlowResponse> result) {
         logger.debug("Received {} flows", result.size());
 
         return result.stream()
@@ -284,69 +305,68 @@ public class FlowServiceImpl implements FlowService {
      * {@inheritDoc}
      */
     @Override
-    public List<FlowPayload> deleteFlows() {
-        String correlationId = RequestCorrelationId.getId();
+    public CompletableFuture<List<FlowPayload>> deleteFlows() {
+        final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("\n\nDELETE ALL FLOWS: ENTER {}={}\n", CORRELATION_ID, correlationId);
-        ArrayList<FlowPayload> result = new ArrayList<>();
         // TODO: Need a getFlowIDs .. since that is all we need
-        List<FlowPayload> flows = this.getFlows();
-
-        messageConsumer.clear();
-
-        // Send all the requests first
-        ArrayList<CommandMessage> requests = new ArrayList<>();
-        for (int i = 0; i < flows.size(); i++) {
-            String cid = correlationId + "-" + i;
-            FlowPayload flow = flows.get(i);
-            requests.add(sendDeleteFlow(flow.getId(), cid));
-        }
-        // Now wait for the responses.
-        for (int i = 0; i < flows.size(); i++) {
-            String cid = correlationId + "-" + i;
-            result.add(deleteFlowResponse(cid, requests.get(i)));
-        }
-
-        LOGGER.debug("\n\nDELETE ALL FLOWS: EXIT {}={}\n", CORRELATION_ID, correlationId);
-        return result;
+        requestFlows(correlationId);
+        return flowsCollector.getResultAsync(correlationId)
+                .thenApply(this::toFlowPayloads)
+                .thenCompose(flows -> {
+                    // Send all the requests, the responses are awaited all together.
+                    List<CompletableFuture<FlowPayload>> result = new ArrayList<>();
+                    for (int i = 0; i < flows.size(); i++) {
+                        String cid = correlationId + "-" + i;
+                        CommandMessage request = sendDeleteFlow(flows.get(i).getId(), cid);
+                        result.add(flowResponse(cid, request));
+                    }
+                    return CompletableFutures.allOf(result);
+                })
+                .thenApply(result -> {
+                    LOGGER.debug("\n\nDELETE ALL FLOWS: EXIT {}={}\n", CORRELATION_ID, correlationId);
+                    return result;
+                });
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowIdStatusPayload statusFlow(final String id) {
+    public CompletableFuture<FlowIdStatusPayload> statusFlow(final String id) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Flow status: {}={}", CORRELATION_ID, correlationId);
         FlowStatusRequest data = new FlowStatusRequest(new FlowIdStatusPayload(id, null));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageConsumer.clear();
         messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowStatusResponse response = (FlowStatusResponse) validateInfoMessage(request, message, correlationId);
-        return response.getPayload();
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (FlowStatusResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(FlowStatusResponse::getPayload);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowPathPayload pathFlow(final String id) {
+    public CompletableFuture<FlowPathPayload> pathFlow(final String id) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Flow path: {}={}", CORRELATION_ID, correlationId);
         FlowPathRequest data = new FlowPathRequest(new FlowIdStatusPayload(id, null));
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageConsumer.clear();
         messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowPathResponse response = (FlowPathResponse) validateInfoMessage(request, message, correlationId);
-        return FlowPayloadToFlowConverter.buildFlowPathPayloadByFlowPath(id, response.getPayload());
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (FlowPathResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(response -> FlowPayloadToFlowConverter.buildFlowPathPayloadByFlowPath(
+                        id, response.getPayload()));
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public BatchResults unpushFlows(List<FlowInfoData> externalFlows, Boolean propagate, Boolean verify) {
+    public CompletableFuture<BatchResults> unpushFlows(List<FlowInfoData> externalFlows, Boolean propagate,
+                                                       Boolean verify) {
         FlowOperation op = (propagate) ? FlowOperation.UNPUSH_PROPAGATE : FlowOperation.UNPUSH;
         // TODO: ADD the VERIFY implementation
         return flowPushUnpush(externalFlows, op);
@@ -356,7 +376,8 @@ public class FlowServiceImpl implements FlowService {
      * {@inheritDoc}
      */
     @Override
-    public BatchResults pushFlows(List<FlowInfoData> externalFlows, Boolean propagate, Boolean verify) {
+    public CompletableFuture<BatchResults> pushFlows(List<FlowInfoData> externalFlows, Boolean propagate,
+                                                     Boolean verify) {
         FlowOperation op = (propagate) ? FlowOperation.PUSH_PROPAGATE : FlowOperation.PUSH;
         // TODO: ADD the VERIFY implementation
         return flowPushUnpush(externalFlows, op);
@@ -365,94 +386,86 @@ public class FlowServiceImpl implements FlowService {
     /**
      * There are only minor differences between push and unpush .. this utility function helps
      */
-    private BatchResults flowPushUnpush(List<FlowInfoData> externalFlows, FlowOperation op) {
+    private CompletableFuture<BatchResults> flowPushUnpush(List<FlowInfoData> externalFlows, FlowOperation op) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Flow {}: {}={}", op, CORRELATION_ID, correlationId);
         LOGGER.debug("Size of list: {}", externalFlows.size());
-        // First, send them all, then wait for all the responses.
-        // Send the command to both Flow Topology and to TE
+        FlowState expectedState = (op == FlowOperation.PUSH || op == FlowOperation.PUSH_PROPAGATE)
+                ? FlowState.UP
+                : FlowState.DOWN;
+        // Send the command to both Flow Topology and to TE, the responses are awaited all together.
+        // Each response is turned into the failure description, or null if the flow is in expected state.
         messageConsumer.clear();
-        ArrayList<InfoMessage> flowRequests = new ArrayList<>();    // used for error reporting, if needed
-        ArrayList<InfoMessage> teRequests = new ArrayList<>();      // used for error reporting, if needed
+        List<CompletableFuture<String>> flowFailures = new ArrayList<>();
+        List<CompletableFuture<String>> teFailures = new ArrayList<>();
         for (int i = 0; i < externalFlows.size(); i++) {
             FlowInfoData data = externalFlows.get(i);
             data.setOperation(op);  // <-- this is what determines PUSH / UNPUSH
             String flowCorrelation = correlationId + "-FLOW-" + i;
             InfoMessage flowRequest =
                     new InfoMessage(data, System.currentTimeMillis(), flowCorrelation, Destination.WFM);
-            flowRequests.add(flowRequest);
             messageProducer.send(topic, flowRequest);
+            flowFailures.add(messageConsumer.pollAsync(flowCorrelation)
+                    .thenApply(message -> checkFlowState(flowRequest, message, correlationId, expectedState,
+                            "FAILURE (FlowTopo)"))
+                    .exceptionally(e -> "EXCEPTION in Flow Topology Response: "
+                            + CompletableFutures.unwrap(e).getMessage()));
+
             String teCorrelation = correlationId + "-TE-" + i;
             InfoMessage teRequest =
                     new InfoMessage(data, System.currentTimeMillis(), teCorrelation, Destination.TOPOLOGY_ENGINE);
-            teRequests.add(teRequest);
             messageProducer.send(topoEngTopic, teRequest);
+            teFailures.add(messageConsumer.pollAsync(teCorrelation)
+                    .thenApply(message -> checkFlowState(teRequest, message, correlationId, expectedState,
+                            "FAILURE (TE)"))
+                    .exceptionally(e -> "EXCEPTION in Topology Engine Response: "
+                            + CompletableFutures.unwrap(e).getMessage()));
         }
 
-        int flowSuccess = 0;
-        int flowFailure = 0;
-        int teSuccess = 0;
-        int teFailure = 0;
-        List<String> msgs = new ArrayList<>();
-        msgs.add("Total Flows Received: " + externalFlows.size());
-
-        for (int i = 0; i < externalFlows.size(); i++) {
-            String flowCorrelation = correlationId + "-FLOW-" + i;
-            String teCorrelation = correlationId + "-TE-" + i;
-            FlowState expectedState = (op == FlowOperation.PUSH || op == FlowOperation.PUSH_PROPAGATE)
-                    ? FlowState.UP
-                    : FlowState.DOWN;
-            try {
-                Message flowMessage = (Message) messageConsumer.poll(flowCorrelation);
-                FlowStatusResponse response = (FlowStatusResponse) validateInfoMessage(
-                        flowRequests.get(i), flowMessage, correlationId);
-                FlowIdStatusPayload status = response.getPayload();
-                if (status.getStatus() == expectedState) {
-                    flowSuccess++;
-                } else {
-                    msgs.add("FAILURE (FlowTopo): Flow " + status.getId()
-                            + " NOT in " + expectedState
-                            + " state: state = " + status.getStatus());
-                    flowFailure++;
-                }
-            } catch (Exception e) {
-                msgs.add("EXCEPTION in Flow Topology Response: " + e.getMessage());
-                flowFailure++;
-            }
-            try {
-                // TODO: this code block is mostly the same as the previous: consolidate.
-                Message teMessage = (Message) messageConsumer.poll(teCorrelation);
-                FlowStatusResponse response =
-                        (FlowStatusResponse) validateInfoMessage(flowRequests.get(i), teMessage, correlationId);
-                FlowIdStatusPayload status =  response.getPayload();
-                if (status.getStatus() == expectedState) {
-                    teSuccess++;
-                } else {
-                    msgs.add("FAILURE (TE): Flow " + status.getId()
-                            + " NOT in " + expectedState
-                            + " state: state = " + status.getStatus());
-                    teFailure++;
-                }
-            } catch (Exception e) {
-                msgs.add("EXCEPTION in Topology Engine Response: " + e.getMessage());
-                teFailure++;
-            }
-        }
+        return CompletableFutures.allOf(flowFailures).thenCombine(CompletableFutures.allOf(teFailures),
+                (flowResults, teResults) -> {
+                    int success = 0;
+                    int failure = 0;
+                    List<String> msgs = new ArrayList<>();
+                    msgs.add("Total Flows Received: " + externalFlows.size());
+                    for (int i = 0; i < externalFlows.size(); i++) {
+                        for (String error : Arrays.asList(flowResults.get(i), teResults.get(i))) {
+                            if (error == null) {
+                                success++;
+                            } else {
+                                msgs.add(error);
+                                failure++;
+                            }
+                        }
+                    }
 
-        BatchResults result = new BatchResults(
-                flowFailure + teFailure,
-                flowSuccess + teSuccess,
-                msgs.stream().toArray(String[]::new));
+                    BatchResults result = new BatchResults(failure, success, msgs.stream().toArray(String[]::new));
+                    LOGGER.debug("Returned: ", result);
+                    return result;
+                });
+    }
 
-        LOGGER.debug("Returned: ", result);
-        return result;
+    /**
+     * Checks the push / unpush response.
+     * @return null if the flow is in expected state, the failure description otherwise.
+     */
+    private String checkFlowState(InfoMessage request, Message message, String correlationId,
+                                  FlowState expectedState, String failurePrefix) {
+        FlowStatusResponse response = (FlowStatusResponse) validateInfoMessage(request, message, correlationId);
+        FlowIdStatusPayload status = response.getPayload();
+        if (status.getStatus() == expectedState) {
+            return null;
+        }
+        return failurePrefix + ": Flow " + status.getId()
+                + " NOT in " + expectedState
+                + " state: state = " + status.getStatus();
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowReroutePayload rerouteFlow(String flowId) {
+    public CompletableFuture<FlowReroutePayload> rerouteFlow(String flowId) {
         final String correlationId = RequestCorrelationId.getId();
         Flow flow = new Flow();
         flow.setFlowId(flowId);
@@ -461,14 +474,17 @@ public class FlowServiceImpl implements FlowService {
         messageConsumer.clear();
         messageProducer.send(topic, command);
 
-        Message message = (Message) messageConsumer.poll(correlationId);
-        logger.debug("Got response {}", message);
-        FlowRerouteResponse response = (FlowRerouteResponse) validateInfoMessage(command, message, correlationId);
-        return FlowPayloadToFlowConverter.buildReroutePayload(flowId, response.getPayload(), response.isRerouted());
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> {
+                    logger.debug("Got response {}", message);
+                    return (FlowRerouteResponse) validateInfoMessage(command, message, correlationId);
+                })
+                .thenApply(response -> FlowPayloadToFlowConverter.buildReroutePayload(
+                        flowId, response.getPayload(), response.isRerouted()));
     }
 
     @Override
-    public FlowReroutePayload syncFlow(String flowId) {
+    public CompletableFuture<FlowReroutePayload> syncFlow(String flowId) {
         final String correlationId = RequestCorrelationId.getId();
         Flow flow = new Flow();
         flow.setFlowId(flowId);
@@ -477,10 +493,13 @@ public class FlowServiceImpl implements FlowService {
         messageConsumer.clear();
         messageProducer.send(topic, command);
 
-        Message message = (Message) messageConsumer.poll(correlationId);
-        logger.debug("Got response {}", message);
-        FlowRerouteResponse response = (FlowRerouteResponse) validateInfoMessage(command, message, correlationId);
-        return FlowPayloadToFlowConverter.buildReroutePayload(flowId, response.getPayload(), response.isRerouted());
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> {
+                    logger.debug("Got response {}", message);
+                    return (FlowRerouteResponse) validateInfoMessage(command, message, correlationId);
+                })
+                .thenApply(response -> FlowPayloadToFlowConverter.buildReroutePayload(
+                        flowId, response.getPayload(), response.isRerouted()));
     }
 
     private static final class SimpleSwitchRule {
@@ -702,7 +721,7 @@ public class FlowServiceImpl implements FlowService {
      * {@inheritDoc}
      */
     @Override
-    public List<FlowValidationDto> validateFlow(final String flowId) {
+    public CompletableFuture<List<FlowValidationDto>> validateFlow(final String flowId) {
         final String correlationId = RequestCorrelationId.getId();
         /*
          * Algorithm:
@@ -713,7 +732,7 @@ public class FlowServiceImpl implements FlowService {
 
         List<Flow> flows = pathComputer.getFlow(flowId);
         if (flows == null) {
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
 
         logger.debug("VALIDATE FLOW: Found Flows: count = {}", flows.size());
@@ -749,17 +768,27 @@ public class FlowServiceImpl implements FlowService {
          */
 
         /*)
-         * Now Walk the list, getting the switch rules, so we can process the comparisons.
+         * Now Walk the list, requesting the switch rules, so we can process the comparisons once all are received.
          */
-        final Map<String, SwitchFlowEntries> rules = new HashMap<>();
-        final Map<String, List<SimpleSwitchRule>> simpleRules = new HashMap<>();
-        int totalSwitchRules = 0;
+        final List<String> switchIds = new ArrayList<>(switches);
+        final List<CompletableFuture<SwitchFlowEntries>> switchRules = new ArrayList<>();
         int index = 1;
-        for (String switchId : switches) {
+        for (String switchId : switchIds) {
             String requestId = correlationId + "-" + index++;
-            SwitchFlowEntries sfe = switchService.getRules(switchId, IGNORE_COOKIE_FILTER, requestId);
-            rules.put(switchId, sfe);
-            simpleRules.put(switchId, SimpleSwitchRule.convertSwitchRules(rules.get(switchId)));
+            switchRules.add(switchService.getRules(switchId, IGNORE_COOKIE_FILTER, requestId));
+        }
+
+        return CompletableFutures.allOf(switchRules)
+                .thenApply(rules -> compareRules(flowId, simpleFlowRules, switchIds, rules));
+    }
+
+    private List<FlowValidationDto> compareRules(String flowId, List<List<SimpleSwitchRule>> simpleFlowRules,
+                                                 List<String> switchIds, List<SwitchFlowEntries> rules) {
+        final Map<String, List<SimpleSwitchRule>> simpleRules = new HashMap<>();
+        int totalSwitchRules = 0;
+        for (int i = 0; i < switchIds.size(); i++) {
+            SwitchFlowEntries sfe = rules.get(i);
+            simpleRules.put(switchIds.get(i), SimpleSwitchRule.convertSwitchRules(sfe));
             totalSwitchRules += (sfe != null && sfe.getFlowEntries() != null) ? sfe.getFlowEntries().size() : 0;
         }
 
@@ -795,33 +824,31 @@ public class FlowServiceImpl implements FlowService {
     }
 
     @Override
-    public VerificationOutput verifyFlow(String flowId, VerificationInput payload) {
+    public CompletableFuture<VerificationOutput> verifyFlow(String flowId, VerificationInput payload) {
         FlowVerificationRequest query = new FlowVerificationRequest(flowId, payload.getTimeoutMillis());
 
         final String correlationId = RequestCorrelationId.getId();
         CommandMessage request = new CommandMessage(query, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageProducer.send(topic, request);
 
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowVerificationResponse response = (FlowVerificationResponse) validateInfoMessage(
-                request, message, correlationId);
-
-        return flowMapper.toVerificationOutput(response);
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (FlowVerificationResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(flowMapper::toVerificationOutput);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public FlowCacheSyncResults syncFlowCache(SynchronizeCacheAction syncCacheAction) {
+    public CompletableFuture<FlowCacheSyncResults> syncFlowCache(SynchronizeCacheAction syncCacheAction) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Flow cache sync: {}={}", CORRELATION_ID, correlationId);
         FlowCacheSyncRequest data = new FlowCacheSyncRequest(syncCacheAction);
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
         messageConsumer.clear();
         messageProducer.send(topic, request);
-        Message message = (Message) messageConsumer.poll(correlationId);
-        FlowCacheSyncResponse response = (FlowCacheSyncResponse) validateInfoMessage(request, message, correlationId);
-        return response.getPayload();
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (FlowCacheSyncResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(FlowCacheSyncResponse::getPayload);
     }
 }
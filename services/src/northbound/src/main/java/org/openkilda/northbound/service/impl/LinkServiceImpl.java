@@ -15,6 +15,7 @@
 
 package org.openkilda.northbound.service.impl;
 
+import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -33,6 +34,8 @@ import org.openkilda.northbound.messaging.MessageConsumer;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.service.LinkPropsResult;
 import org.openkilda.northbound.service.LinkService;
+import org.openkilda.northbound.utils.ChunkStream;
+import org.openkilda.northbound.utils.CompletableFutures;
 import org.openkilda.northbound.utils.CorrelationIdFactory;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 import org.openkilda.northbound.utils.ResponseCollector;
@@ -45,6 +48,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -71,7 +75,7 @@ public class LinkServiceImpl implements LinkService {
     private String nbworkerTopic;
 
     @Autowired
-    private MessageConsumer messageConsumer;
+    private MessageConsumer<Message> messageConsumer;
     @Autowired
     private MessageProducer messageProducer;
 
@@ -83,91 +87,108 @@ public class LinkServiceImpl implements LinkService {
     private ResponseCollector<LinkPropsData> linksPropsCollector;
 
     @Override
-    public List<LinksDto> getLinks() {
+    public CompletableFuture<List<LinksDto>> getLinks() {
         final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get links request received");
+        requestLinks(correlationId);
+
+        return linksCollector.getResultAsync(correlationId)
+                .thenApply(links -> links.stream()
+                        .map(linkMapper::toLinkDto)
+                        .collect(Collectors.toList()));
+    }
+
+    @Override
+    public ChunkStream<LinksDto> streamLinks() {
+        final String correlationId = RequestCorrelationId.getId();
+        logger.debug("Stream links request received");
+        requestLinks(correlationId);
+
+        return linksCollector.stream(correlationId)
+                .map(linkMapper::toLinkDto);
+    }
+
+    private void requestLinks(String correlationId) {
         CommandMessage request = new CommandMessage(new GetLinksRequest(), System.currentTimeMillis(), correlationId);
         messageProducer.send(nbworkerTopic, request);
-        List<IslInfoData> links = linksCollector.getResult(correlationId);
-
-        return links.stream()
-                .map(linkMapper::toLinkDto)
-                .collect(Collectors.toList());
     }
 
     @Override
-    public List<LinkPropsDto> getLinkProps(String srcSwitch, Integer srcPort, String dstSwitch, Integer dstPort) {
+    public CompletableFuture<List<LinkPropsDto>> getLinkProps(String srcSwitch, Integer srcPort,
+                                                              String dstSwitch, Integer dstPort) {
         final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get link properties request received");
         LinkPropsGet request = new LinkPropsGet(new NetworkEndpointMask(srcSwitch, srcPort),
                 new NetworkEndpointMask(dstSwitch, dstPort));
         CommandMessage message = new CommandMessage(request, System.currentTimeMillis(), correlationId);
         messageProducer.send(nbworkerTopic, message);
-        List<LinkPropsData> links = linksPropsCollector.getResult(correlationId);
 
-        logger.debug("Found link props items: {}", links.size());
-        return links.stream()
-                .map(linkPropsMapper::toDto)
-                .collect(Collectors.toList());
+        return linksPropsCollector.getResultAsync(correlationId).thenApply(links -> {
+            logger.debug("Found link props items: {}", links.size());
+            return links.stream()
+                    .map(linkPropsMapper::toDto)
+                    .collect(Collectors.toList());
+        });
     }
 
     @Override
-    public LinkPropsResult setLinkProps(List<LinkPropsDto> linkPropsList) {
+    public CompletableFuture<LinkPropsResult> setLinkProps(List<LinkPropsDto> linkPropsList) {
         logger.debug("Link props \"SET\" request received (consists of {} records)", linkPropsList.size());
 
-        ArrayList<String> pendingRequest = new ArrayList<>(linkPropsList.size());
+        List<CompletableFuture<LinkPropsResponse>> pendingRequest = new ArrayList<>(linkPropsList.size());
         for (LinkPropsDto requestItem : linkPropsList) {
             LinkPropsPut teRequest = new LinkPropsPut(linkPropsMapper.toLinkProps(requestItem));
             String requestId = idFactory.produceChained(RequestCorrelationId.getId());
             CommandMessage message = new CommandMessage(teRequest, System.currentTimeMillis(), requestId);
             messageProducer.send(topologyEngineTopic, message);
 
-            pendingRequest.add(requestId);
+            pendingRequest.add(messageConsumer.pollAsync(requestId)
+                    .thenApply(response -> (LinkPropsResponse) ((InfoMessage) response).getData()));
         }
 
-        int successCount = 0;
-        ArrayList<String> errors = new ArrayList<>(pendingRequest.size());
-        for (String requestId : pendingRequest) {
-            InfoMessage message = (InfoMessage) messageConsumer.poll(requestId);
-            LinkPropsResponse response = (LinkPropsResponse) message.getData();
-
-            if (response.isSuccess()) {
-                successCount += 1;
-            } else {
-                errors.add(response.getError());
+        return CompletableFutures.allOf(pendingRequest).thenApply(responses -> {
+            int successCount = 0;
+            ArrayList<String> errors = new ArrayList<>(responses.size());
+            for (LinkPropsResponse response : responses) {
+                if (response.isSuccess()) {
+                    successCount += 1;
+                } else {
+                    errors.add(response.getError());
+                }
             }
-        }
 
-        return new LinkPropsResult(
-                linkPropsList.size() - successCount, successCount,
-                errors.toArray(new String[0]));
+            return new LinkPropsResult(
+                    linkPropsList.size() - successCount, successCount,
+                    errors.toArray(new String[0]));
+        });
     }
 
     @Override
-    public LinkPropsResult delLinkProps(List<LinkPropsDto> linkPropsList) {
-        ArrayList<String> pendingChains = new ArrayList<>();
+    public CompletableFuture<LinkPropsResult> delLinkProps(List<LinkPropsDto> linkPropsList) {
+        List<CompletableFuture<List<LinkPropsResponse>>> pendingChains = new ArrayList<>();
         for (LinkPropsDto requestItem : linkPropsList) {
             LinkPropsDrop teRequest = new LinkPropsDrop(linkPropsMapper.toLinkPropsMask(requestItem));
             String requestId = idFactory.produceChained(RequestCorrelationId.getId());
             CommandMessage message = new CommandMessage(teRequest, System.currentTimeMillis(), requestId);
             messageProducer.send(topologyEngineTopic, message);
 
-            pendingChains.add(requestId);
+            pendingChains.add(teLinksCollector.getResultAsync(requestId));
         }
 
-        int successCount = 0;
-        ArrayList<String> errors = new ArrayList<>();
-        for (String requestId : pendingChains) {
-            List<LinkPropsResponse> responseBatch = teLinksCollector.getResult(requestId);
-            for (LinkPropsResponse response : responseBatch) {
-                if (response.isSuccess()) {
-                    successCount += 1;
-                } else {
-                    errors.add(response.getError());
+        return CompletableFutures.allOf(pendingChains).thenApply(responseBatches -> {
+            int successCount = 0;
+            ArrayList<String> errors = new ArrayList<>();
+            for (List<LinkPropsResponse> responseBatch : responseBatches) {
+                for (LinkPropsResponse response : responseBatch) {
+                    if (response.isSuccess()) {
+                        successCount += 1;
+                    } else {
+                        errors.add(response.getError());
+                    }
                 }
             }
-        }
 
-        return new LinkPropsResult(errors.size(), successCount, errors.toArray(new String[0]));
+            return new LinkPropsResult(errors.size(), successCount, errors.toArray(new String[0]));
+        });
     }
 }
@@ -45,6 +45,7 @@ import org.openkilda.northbound.dto.switches.RulesValidationResult;
 import org.openkilda.northbound.messaging.MessageConsumer;
 import org.openkilda.northbound.messaging.MessageProducer;
 import org.openkilda.northbound.service.SwitchService;
+import org.openkilda.northbound.utils.ChunkStream;
 import org.openkilda.northbound.utils.RequestCorrelationId;
 import org.openkilda.northbound.utils.ResponseCollector;
 
@@ -57,6 +58,7 @@ import org.springframework.util.CollectionUtils;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
@@ -92,31 +94,56 @@ public class SwitchServiceImpl implements SwitchService {
      * {@inheritDoc}
      */
     @Override
-    public List<SwitchDto> getSwitches() {
+    public CompletableFuture<List<SwitchDto>> getSwitches() {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Get switch request received");
+        requestSwitches(correlationId);
+
+        return switchesCollector.getResultAsync(correlationId)
+                .thenApply(switches -> switches.stream()
+                        .map(switchMapper::toSwitchDto)
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ChunkStream<SwitchDto> streamSwitches() {
+        final String correlationId = RequestCorrelationId.getId();
+        LOGGER.debug("Stream switches request received");
+        requestSwitches(correlationId);
+
+        return switchesCollector.stream(correlationId)
+                .map(switchMapper::toSwitchDto);
+    }
+
+    private void requestSwitches(String correlationId) {
         CommandMessage request = new CommandMessage(new GetSwitchesRequest(), System.currentTimeMillis(),
                 correlationId);
         messageProducer.send(nbworkerTopic, request);
-
-        List<SwitchInfoData> switches = switchesCollector.getResult(correlationId);
-        return switches.stream()
-                .map(switchMapper::toSwitchDto)
-                .collect(Collectors.toList());
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public SwitchFlowEntries getRules(String switchId, Long cookie, String correlationId) {
+    public CompletableFuture<SwitchFlowEntries> getRules(String switchId, Long cookie, String correlationId) {
         DumpRulesRequest request = new DumpRulesRequest(switchId);
         CommandWithReplyToMessage commandMessage = new CommandWithReplyToMessage(request, System.currentTimeMillis(),
                 correlationId, Destination.CONTROLLER, northboundTopic);
         messageProducer.send(floodlightTopic, commandMessage);
-        Message message = messageConsumer.poll(correlationId);
-        SwitchFlowEntries response = (SwitchFlowEntries) validateInfoMessage(commandMessage, message, correlationId);
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (SwitchFlowEntries) validateInfoMessage(commandMessage, message, correlationId))
+                .thenApply(response -> filterRules(response, cookie));
+    }
 
+    @Override
+    public CompletableFuture<SwitchFlowEntries> getRules(String switchId, Long cookie) {
+        return getRules(switchId, cookie, RequestCorrelationId.getId());
+    }
+
+    private SwitchFlowEntries filterRules(SwitchFlowEntries response, Long cookie) {
         if (cookie > 0L) {
             List<FlowEntry> matchedFlows = new ArrayList<>();
             for (FlowEntry entry : response.getFlowEntries()) {
@@ -130,12 +157,7 @@ public class SwitchServiceImpl implements SwitchService {
     }
 
     @Override
-    public SwitchFlowEntries getRules(String switchId, Long cookie) {
-        return getRules(switchId, cookie, RequestCorrelationId.getId());
-    }
-
-    @Override
-    public List<Long> deleteRules(String switchId, DeleteRulesAction deleteAction) {
+    public CompletableFuture<List<Long>> deleteRules(String switchId, DeleteRulesAction deleteAction) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Delete switch rules request received: deleteAction={}", deleteAction);
 
@@ -144,13 +166,13 @@ public class SwitchServiceImpl implements SwitchService {
                 Destination.CONTROLLER, northboundTopic);
         messageProducer.send(floodlightTopic, request);
 
-        Message message = messageConsumer.poll(correlationId);
-        SwitchRulesResponse response = (SwitchRulesResponse) validateInfoMessage(request, message, correlationId);
-        return response.getRuleIds();
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (SwitchRulesResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(SwitchRulesResponse::getRuleIds);
     }
 
     @Override
-    public List<Long> deleteRules(String switchId, DeleteRulesCriteria criteria) {
+    public CompletableFuture<List<Long>> deleteRules(String switchId, DeleteRulesCriteria criteria) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Delete switch rules request received: criteria={}", criteria);
 
@@ -159,9 +181,9 @@ public class SwitchServiceImpl implements SwitchService {
                 Destination.CONTROLLER, northboundTopic);
         messageProducer.send(floodlightTopic, request);
 
-        Message message = messageConsumer.poll(correlationId);
-        SwitchRulesResponse response = (SwitchRulesResponse) validateInfoMessage(request, message, correlationId);
-        return response.getRuleIds();
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (SwitchRulesResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(SwitchRulesResponse::getRuleIds);
     }
 
 
@@ -169,7 +191,7 @@ public class SwitchServiceImpl implements SwitchService {
      * {@inheritDoc}
      */
     @Override
-    public List<Long> installRules(String switchId, InstallRulesAction installAction) {
+    public CompletableFuture<List<Long>> installRules(String switchId, InstallRulesAction installAction) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Install switch rules request received");
 
@@ -178,9 +200,9 @@ public class SwitchServiceImpl implements SwitchService {
                 Destination.CONTROLLER, northboundTopic);
         messageProducer.send(floodlightTopic, request);
 
-        Message message = messageConsumer.poll(correlationId);
-        SwitchRulesResponse response = (SwitchRulesResponse) validateInfoMessage(request, message, correlationId);
-        return response.getRuleIds();
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (SwitchRulesResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(SwitchRulesResponse::getRuleIds);
     }
 
 
@@ -188,7 +210,7 @@ public class SwitchServiceImpl implements SwitchService {
      * {@inheritDoc}
      */
     @Override
-    public ConnectModeRequest.Mode connectMode(ConnectModeRequest.Mode mode) {
+    public CompletableFuture<ConnectModeRequest.Mode> connectMode(ConnectModeRequest.Mode mode) {
         final String correlationId = RequestCorrelationId.getId();
         LOGGER.debug("Set/Get switch connect mode request received: mode = {}", mode);
 
@@ -197,13 +219,13 @@ public class SwitchServiceImpl implements SwitchService {
                 Destination.CONTROLLER, northboundTopic);
         messageProducer.send(floodlightTopic, request);
 
-        Message message = messageConsumer.poll(correlationId);
-        ConnectModeResponse response = (ConnectModeResponse) validateInfoMessage(request, message, correlationId);
-        return response.getMode();
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(message -> (ConnectModeResponse) validateInfoMessage(request, message, correlationId))
+                .thenApply(ConnectModeResponse::getMode);
     }
 
     @Override
-    public RulesValidationResult validateRules(String switchId) {
+    public CompletableFuture<RulesValidationResult> validateRules(String switchId) {
         final String correlationId = RequestCorrelationId.getId();
 
         CommandWithReplyToMessage validateCommandMessage = new CommandWithReplyToMessage(
@@ -211,36 +233,42 @@ public class SwitchServiceImpl implements SwitchService {
                 System.currentTimeMillis(), correlationId, Destination.TOPOLOGY_ENGINE, northboundTopic);
         messageProducer.send(topoEngTopic, validateCommandMessage);
 
-        Message validateResponseMessage = messageConsumer.poll(correlationId);
-        SyncRulesResponse validateResponse = (SyncRulesResponse) validateInfoMessage(validateCommandMessage,
-                validateResponseMessage, correlationId);
-
-        return switchMapper.toRulesValidationResult(validateResponse);
+        return messageConsumer.pollAsync(correlationId)
+                .thenApply(validateResponseMessage -> (SyncRulesResponse) validateInfoMessage(validateCommandMessage,
+                        validateResponseMessage, correlationId))
+                .thenApply(switchMapper::toRulesValidationResult);
     }
 
     @Override
-    public RulesSyncResult syncRules(String switchId) {
-        RulesValidationResult validationResult = validateRules(switchId);
+    public CompletableFuture<RulesSyncResult> syncRules(String switchId) {
+        // the continuation runs outside of the request thread, so the correlation id is taken in advance
+        final String syncCorrelationId = format("%s-sync", RequestCorrelationId.getId());
+        return validateRules(switchId)
+                .thenCompose(validationResult -> syncMissingRules(switchId, validationResult, syncCorrelationId));
+    }
+
+    private CompletableFuture<RulesSyncResult> syncMissingRules(String switchId,
+                                                                RulesValidationResult validationResult,
+                                                                String syncCorrelationId) {
         List<Long> missingRules = validationResult.getMissingRules();
 
         if (CollectionUtils.isEmpty(missingRules)) {
-            return switchMapper.toRulesSyncResult(validationResult, emptyList());
+            return CompletableFuture.completedFuture(switchMapper.toRulesSyncResult(validationResult, emptyList()));
         }
 
         LOGGER.debug("The validation result for switch {}: missing rules = {}", switchId, missingRules);
 
         // Synchronize the missing rules
-        String syncCorrelationId = format("%s-sync", RequestCorrelationId.getId());
         CommandWithReplyToMessage syncCommandMessage = new CommandWithReplyToMessage(
                 new SwitchRulesSyncRequest(switchId, missingRules),
                 System.currentTimeMillis(), syncCorrelationId, Destination.TOPOLOGY_ENGINE, northboundTopic);
         messageProducer.send(topoEngTopic, syncCommandMessage);
 
-        Message syncResponseMessage = messageConsumer.poll(syncCorrelationId);
-        SyncRulesResponse syncResponse = (SyncRulesResponse) validateInfoMessage(syncCommandMessage,
-                syncResponseMessage, syncCorrelationId);
-
-        return switchMapper.toRulesSyncResult(validationResult, syncResponse.getInstalledRules());
+        return messageConsumer.pollAsync(syncCorrelationId)
+                .thenApply(syncResponseMessage -> (SyncRulesResponse) validateInfoMessage(syncCommandMessage,
+                        syncResponseMessage, syncCorrelationId))
+                .thenApply(syncResponse -> switchMapper.toRulesSyncResult(
+                        validationResult, syncResponse.getInstalledRules()));
     }
 
 }
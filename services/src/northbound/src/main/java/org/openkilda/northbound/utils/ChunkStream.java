@@ -0,0 +1,45 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils;
+
+import java.io.IOException;
+import java.util.function.Function;
+
+/**
+ * Sequence of items received one by one (i.e. chunks of a response), nothing is kept after the item is handed over
+ * to the consumer. The next item is not requested before the consumer returns, so a slow consumer slows down
+ * the reading.
+ */
+@FunctionalInterface
+public interface ChunkStream<T> {
+
+    /**
+     * Passes every item of the stream to the consumer, blocks until the last one is consumed.
+     */
+    void forEach(ChunkConsumer<? super T> consumer) throws IOException;
+
+    /**
+     * Returns the stream converting each item with the mapper on the fly.
+     */
+    default <R> ChunkStream<R> map(Function<? super T, ? extends R> mapper) {
+        return consumer -> forEach(item -> consumer.accept(mapper.apply(item)));
+    }
+
+    @FunctionalInterface
+    interface ChunkConsumer<T> {
+        void accept(T item) throws IOException;
+    }
+}
@@ -0,0 +1,55 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.utils;
+
+import org.openkilda.northbound.messaging.MessageConsumer;
+
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adapts service layer futures to Spring MVC asynchronous request processing.
+ */
+public final class DeferredResults {
+    /**
+     * Futures of chunked responses fail on their own after {@link MessageConsumer#POLL_TIMEOUT} for the whole chain,
+     * the request is given a little more, so that error reaches the client instead of the generic async timeout.
+     */
+    private static final long TIMEOUT = MessageConsumer.POLL_TIMEOUT + TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Makes {@link DeferredResult} completed by the future. Failures are unwrapped from {@link CompletionException}
+     * so they reach controller exception handlers (i.e. {@link NorthboundExceptionHandler}) as is.
+     */
+    public static <T> DeferredResult<T> of(CompletableFuture<T> future) {
+        DeferredResult<T> result = new DeferredResult<>(TIMEOUT);
+        future.whenComplete((value, error) -> {
+            if (error == null) {
+                result.setResult(value);
+            } else {
+                result.setErrorResult(CompletableFutures.unwrap(error));
+            }
+        });
+        return result;
+    }
+
+    private DeferredResults() {
+    }
+}
@@ -0,0 +1,94 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.northbound.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Makes responses streaming {@link ChunkStream} items as newline delimited JSON, see {@link NdjsonStreamingBody}.
+ *
+ * <p>Streamed dumps are written at the client pace, so each of them gets its own timeout equal to the time received
+ * responses are kept, and is written by the streaming executor. Other asynchronous requests keep the MVC defaults.
+ */
+@Component
+@PropertySource("classpath:northbound.properties")
+public class NdjsonResponses {
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonResponses.class);
+
+    @Value("${northbound.messages.expiration.minutes}")
+    private int expiredTime;
+
+    @Autowired
+    @Qualifier("streamingExecutor")
+    private AsyncTaskExecutor streamingExecutor;
+
+    /**
+     * Makes successful response streaming the items.
+     */
+    public ResponseEntity<ResponseBodyEmitter> ok(ChunkStream<?> stream) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(TimeUnit.MINUTES.toMillis(expiredTime));
+        NdjsonStreamingBody body = new NdjsonStreamingBody(stream);
+        streamingExecutor.execute(() -> {
+            try {
+                body.writeTo(new EmitterOutputStream(emitter));
+                emitter.complete();
+            } catch (IOException | RuntimeException e) {
+                // the client has gone away or the request has timed out, nothing can be written anymore
+                logger.warn("Unable to write streamed response: {}", e.toString());
+                emitter.completeWithError(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(NdjsonStreamingBody.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    /**
+     * Passes each written block to the emitter, the emitter flushes it to the client at once. The JSON generator
+     * writes a block only when it is flushed or its buffer is full.
+     */
+    private static class EmitterOutputStream extends OutputStream {
+        private final ResponseBodyEmitter emitter;
+
+        EmitterOutputStream(ResponseBodyEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            emitter.send(Arrays.copyOfRange(b, off, off + len), NdjsonStreamingBody.APPLICATION_NDJSON);
+        }
+    }
+}
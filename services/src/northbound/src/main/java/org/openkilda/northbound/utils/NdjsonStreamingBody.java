@@ -0,0 +1,98 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+package org.openkilda.northbound.utils;
+
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.error.MessageError;
+import org.openkilda.messaging.error.MessageException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+
+/**
+ * Writes items of the {@link ChunkStream} as newline delimited JSON, one object per line. Items are serialized as
+ * soon as they are received. The output is flushed after the first item, so the client gets the response
+ * immediately, later on it is flushed only when the buffer is full. Blocking on the write stops reading of the
+ * stream, so the client sets the pace.
+ *
+ * <p>The status of the response is sent with the first line, so a failure of the stream can't change it. Instead the
+ * error is written as the last line: <code>{"error": {@link MessageError}}</code>. A response without such line is
+ * complete.
+ */
+public class NdjsonStreamingBody {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+
+    /**
+     * Field of the line reporting the stream failure.
+     */
+    public static final String ERROR_FIELD = "error";
+
+    private static final Logger logger = LoggerFactory.getLogger(NdjsonStreamingBody.class);
+
+    private static final ObjectWriter WRITER = MAPPER.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final ChunkStream<?> stream;
+
+    public NdjsonStreamingBody(ChunkStream<?> stream) {
+        this.stream = stream;
+    }
+
+    /**
+     * Writes all items of the stream and the error line if the stream fails.
+     */
+    public void writeTo(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = MAPPER.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+
+        boolean[] first = {true};
+        try {
+            try {
+                stream.forEach(item -> {
+                    WRITER.writeValue(generator, item);
+                    if (first[0]) {
+                        first[0] = false;
+                        generator.flush();
+                    }
+                });
+            } catch (MessageException e) {
+                logger.error("Unable to complete streamed response", e);
+                MessageError error = new MessageError(e.getCorrelationId(), e.getTimestamp(),
+                        e.getErrorType().toString(), e.getMessage(), e.getErrorDescription());
+                WRITER.writeValue(generator, Collections.singletonMap(ERROR_FIELD, error));
+                first[0] = false;
+            }
+            if (!first[0]) {
+                generator.writeRaw('\n');
+            }
+        } finally {
+            generator.close();
+        }
+    }
+}
@@ -25,6 +25,8 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Component
 public class ResponseCollector<T extends InfoData> {
@@ -43,21 +45,104 @@ public class ResponseCollector<T extends InfoData> {
      * @return List of messages.
      */
     public List<T> getResult(String requestId) {
-        List<T> result = new ArrayList<>();
-        ChunkedInfoMessage message;
-        String nextRequest = requestId;
-        do {
-            message = messageConsumer.poll(nextRequest);
-            nextRequest = message.getNextRequestId();
-
-            @SuppressWarnings("unchecked")
-            T response = (T) message.getData();
-            if (response != null) {
-                result.add(response);
+        try {
+            return getResultAsync(requestId).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-        } while (StringUtils.isNoneBlank(message.getNextRequestId()));
+            throw e;
+        }
+    }
 
+    /**
+     * Non-blocking version of {@link #getResult(String)}: the request for each next chunk is registered as soon as
+     * the previous one is received, no thread is waiting for the chain to complete. The whole chain must be received
+     * within {@link MessageConsumer#POLL_TIMEOUT}, each chunk is awaited only for the time left.
+     * @param requestId correlationId of the requst.
+     * @return future of the list of messages.
+     */
+    public CompletableFuture<List<T>> getResultAsync(String requestId) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        long deadline = System.currentTimeMillis() + MessageConsumer.POLL_TIMEOUT;
+        collect(requestId, new ArrayList<>(), result, deadline);
         return result;
     }
 
+    /**
+     * Streaming version of {@link #getResult(String)}: each chunk is passed to the consumer as soon as it is
+     * received and is not kept afterwards. The next chunk is awaited only when the consumer has handled the previous
+     * one, so a slow consumer leaves not yet handled chunks in the message consumer instead of accumulating them here.
+     * The request for the first chunk has to be sent before the stream is read.
+     * @param requestId correlationId of the requst.
+     * @return stream of messages.
+     */
+    public ChunkStream<T> stream(String requestId) {
+        return consumer -> {
+            String nextRequest = requestId;
+            while (nextRequest != null) {
+                ChunkedInfoMessage message = messageConsumer.poll(nextRequest);
+                @SuppressWarnings("unchecked")
+                T response = (T) message.getData();
+                if (response != null) {
+                    consumer.accept(response);
+                }
+                nextRequest = nextRequestId(message);
+            }
+        };
+    }
+
+    private void collect(String requestId, List<T> chunks, CompletableFuture<List<T>> result, long deadline) {
+        CompletableFuture<ChunkedInfoMessage> chunk = pollChunk(requestId, deadline);
+
+        // chunks received in advance are handled in place, so long chains do not grow the stack
+        while (chunk.isDone() && !chunk.isCompletedExceptionally()) {
+            String nextRequest = accept(chunk.join(), chunks);
+            if (nextRequest == null) {
+                result.complete(chunks);
+                return;
+            }
+            chunk = pollChunk(nextRequest, deadline);
+        }
+
+        chunk.whenComplete((message, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+
+            try {
+                String nextRequest = accept(message, chunks);
+                if (nextRequest == null) {
+                    result.complete(chunks);
+                } else {
+                    collect(nextRequest, chunks, result, deadline);
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    private CompletableFuture<ChunkedInfoMessage> pollChunk(String requestId, long deadline) {
+        // the chunk that is late for the deadline times out at once with the message consumer's timeout error
+        long timeLeft = Math.max(deadline - System.currentTimeMillis(), 1L);
+        return messageConsumer.pollAsync(requestId, timeLeft);
+    }
+
+    /**
+     * Adds chunk payload into the result and returns the correlation id of the next chunk (null for the last one).
+     */
+    private String accept(ChunkedInfoMessage message, List<T> chunks) {
+        @SuppressWarnings("unchecked")
+        T response = (T) message.getData();
+        if (response != null) {
+            chunks.add(response);
+        }
+        return nextRequestId(message);
+    }
+
+    private String nextRequestId(ChunkedInfoMessage message) {
+        return StringUtils.isNoneBlank(message.getNextRequestId()) ? message.getNextRequestId() : null;
+    }
 }
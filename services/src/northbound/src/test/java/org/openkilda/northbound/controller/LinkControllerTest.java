@@ -0,0 +1,90 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.openkilda.messaging.Utils.CORRELATION_ID;
+import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.northbound.controller.TestMessageMock.TEST_SWITCH_ID;
+import static org.openkilda.northbound.utils.NdjsonStreamingBody.APPLICATION_NDJSON_VALUE;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.northbound.utils.RequestCorrelationFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@WebAppConfiguration
+@ContextConfiguration(classes = TestConfig.class)
+public class LinkControllerTest extends NorthboundBaseTest {
+
+    private static final String USERNAME = "kilda";
+    private static final String PASSWORD = "kilda";
+    private static final String ROLE = "ADMIN";
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Before
+    public void setUp() throws Exception {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(new RequestCorrelationFilter())
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void streamLinks() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/links")
+                .header(CORRELATION_ID, UUID.randomUUID().toString())
+                .accept(APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(APPLICATION_NDJSON_VALUE, result.getResponse().getContentType());
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(1, lines.length);
+        JsonNode link = MAPPER.readTree(lines[0]);
+        assertEquals(IslChangeType.DISCOVERED.toString(), link.get("state").asText());
+        assertEquals(2, link.get("path").size());
+        assertEquals(TEST_SWITCH_ID, link.get("path").get(0).get("switch_id").asText());
+    }
+}
@@ -21,13 +21,18 @@ import static org.openkilda.messaging.Utils.EXTRA_AUTH;
 import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.northbound.controller.TestMessageMock.TEST_SWITCH_ID;
 import static org.openkilda.northbound.controller.TestMessageMock.TEST_SWITCH_RULE_COOKIE;
+import static org.openkilda.northbound.utils.NdjsonStreamingBody.APPLICATION_NDJSON_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_UTF8_VALUE;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -72,10 +77,13 @@ public class SwitchControllerTest extends NorthboundBaseTest {
     public void shouldDeleteSwitchRules() throws Exception {
         // given TestMessageMock as kafka topic mocks
         // when
-        MvcResult result = mockMvc.perform(delete("/switches/{switch-id}/rules", TEST_SWITCH_ID)
+        MvcResult asyncResult = mockMvc.perform(delete("/switches/{switch-id}/rules", TEST_SWITCH_ID)
                 .header(CORRELATION_ID, testCorrelationId())
                 .header(EXTRA_AUTH, System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(119))
                 .contentType(APPLICATION_JSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
                 // then
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(APPLICATION_JSON_UTF8_VALUE))
@@ -96,6 +104,26 @@ public class SwitchControllerTest extends NorthboundBaseTest {
                 .andExpect(status().isUnauthorized());
     }
 
+    @Test
+    @WithMockUser(username = USERNAME, password = PASSWORD, roles = ROLE)
+    public void streamSwitches() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/switches")
+                .header(CORRELATION_ID, testCorrelationId())
+                .accept(APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(APPLICATION_NDJSON_VALUE, result.getResponse().getContentType());
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertEquals(1, lines.length);
+        JsonNode switchDto = MAPPER.readTree(lines[0]);
+        assertEquals(TEST_SWITCH_ID, switchDto.get("switch_id").asText());
+        assertEquals("localhost", switchDto.get("hostname").asText());
+    }
+
     private static String testCorrelationId() {
         return UUID.randomUUID().toString();
     }
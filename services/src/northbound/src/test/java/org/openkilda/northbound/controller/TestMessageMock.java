@@ -36,12 +36,19 @@ import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
 import org.openkilda.messaging.info.flow.FlowPathResponse;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.FlowStatusResponse;
 import org.openkilda.messaging.info.switches.SwitchRulesResponse;
 import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.nbtopology.request.GetLinksRequest;
+import org.openkilda.messaging.nbtopology.request.GetSwitchesRequest;
 import org.openkilda.messaging.payload.flow.FlowEndpointPayload;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowPathPayload;
@@ -53,6 +60,7 @@ import org.openkilda.northbound.messaging.kafka.KafkaMessageConsumer;
 
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -75,6 +83,11 @@ public class TestMessageMock implements MessageProducer, MessageConsumer {
     static final FlowPathPayload flowPath = new FlowPathPayload(FLOW_ID, path);
     static final Flow flowModel = new Flow(FLOW_ID, 10000, false, 0L, FLOW_ID, null, FLOW_ID,
             FLOW_ID, 1, 1, 1, 1, 1, 1, null, FlowState.UP);
+    static final SwitchInfoData switchInfo = new SwitchInfoData(TEST_SWITCH_ID, SwitchState.ACTIVATED,
+            "127.0.0.1", "localhost", "test switch", "test controller");
+    static final IslInfoData islInfo = new IslInfoData(
+            Arrays.asList(new PathNode(TEST_SWITCH_ID, 1, 0), new PathNode(TEST_SWITCH_ID, 2, 1)),
+            IslChangeType.DISCOVERED);
 
     private static final FlowResponse flowResponse = new FlowResponse(flowModel);
     private static final FlowPathResponse flowPathResponse = new FlowPathResponse(path);
@@ -105,6 +118,10 @@ public class TestMessageMock implements MessageProducer, MessageConsumer {
             return new InfoMessage(flowPathResponse, 0, correlationId, Destination.NORTHBOUND);
         } else if (data instanceof SwitchRulesDeleteRequest) {
             return new InfoMessage(switchRulesResponse, 0, correlationId, Destination.NORTHBOUND);
+        } else if (data instanceof GetSwitchesRequest) {
+            return new ChunkedInfoMessage(switchInfo, 0, correlationId, null);
+        } else if (data instanceof GetLinksRequest) {
+            return new ChunkedInfoMessage(islInfo, 0, correlationId, null);
         } else {
             return null;
         }
@@ -0,0 +1,111 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.northbound.messaging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ResponseRegistryTest {
+    private ResponseRegistry<String> registry = new ResponseRegistry<>(
+            TimeUnit.SECONDS.toMillis(10), TimeUnit.SECONDS.toMillis(10), IllegalStateException::new);
+
+    @After
+    public void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    public void responseCompletesWaitingRequest() throws Exception {
+        CompletableFuture<String> future = registry.await("request");
+        assertFalse(future.isDone());
+
+        assertTrue(registry.complete("request", "response"));
+        assertEquals("response", future.get(0, TimeUnit.SECONDS));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void responseReceivedInAdvanceIsKept() throws Exception {
+        assertTrue(registry.complete("request", "response"));
+        assertEquals(1, registry.size());
+
+        assertEquals("response", registry.await("request").get(0, TimeUnit.SECONDS));
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void duplicateResponseIsRejected() {
+        assertTrue(registry.complete("request", "response"));
+        assertFalse(registry.complete("request", "duplicate"));
+    }
+
+    @Test
+    public void waitingRequestTimesOut() throws Exception {
+        registry.shutdown();
+        registry = new ResponseRegistry<>(10, TimeUnit.SECONDS.toMillis(10), IllegalStateException::new);
+
+        CompletableFuture<String> future = registry.await("request");
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Request must time out");
+        } catch (ExecutionException e) {
+            assertSame(IllegalStateException.class, e.getCause().getClass());
+            assertEquals("request", e.getCause().getMessage());
+        }
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void waitingRequestTimesOutWithOwnTimeout() throws Exception {
+        CompletableFuture<String> future = registry.await("request", 10);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Request must time out");
+        } catch (ExecutionException e) {
+            assertSame(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+
+    @Test
+    public void lateResponseIsDropped() throws Exception {
+        CompletableFuture<String> future = registry.await("request", 10);
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Request must time out");
+        } catch (ExecutionException e) {
+            // expected
+        }
+
+        assertFalse(registry.complete("request", "late"));
+        assertEquals(0, registry.size());
+
+        // the request can be repeated with the same correlation id
+        CompletableFuture<String> repeated = registry.await("request");
+        assertTrue(registry.complete("request", "response"));
+        assertEquals("response", repeated.get(0, TimeUnit.SECONDS));
+    }
+}
@@ -82,18 +82,18 @@ public class LinkServiceTest {
     }
 
     @Test
-    public void shouldGetEmptyPropsList() {
+    public void shouldGetEmptyPropsList() throws Exception {
         final String correlationId = "empty-link-props";
         Message message = new ChunkedInfoMessage(null, 0, correlationId, null);
         messageExchanger.mockResponse(message);
         RequestCorrelationId.create(correlationId);
 
-        List<LinkPropsDto> result = linkService.getLinkProps(null, 0, null, 0);
+        List<LinkPropsDto> result = linkService.getLinkProps(null, 0, null, 0).get();
         assertTrue("List of link props should be empty", result.isEmpty());
     }
 
     @Test
-    public void shouldGetPropsList() {
+    public void shouldGetPropsList() throws Exception {
         final String correlationId = "non-empty-link-props";
 
         LinkProps linkProps = new LinkProps(new NetworkEndpoint("00:00:00:00:00:00:00:01", 1),
@@ -104,7 +104,7 @@ public class LinkServiceTest {
         messageExchanger.mockResponse(message);
         RequestCorrelationId.create(correlationId);
 
-        List<LinkPropsDto> result = linkService.getLinkProps(null, 0, null, 0);
+        List<LinkPropsDto> result = linkService.getLinkProps(null, 0, null, 0).get();
         assertFalse("List of link props should be empty", result.isEmpty());
 
         LinkPropsDto dto = result.get(0);
@@ -136,7 +136,7 @@ public class LinkServiceTest {
                 requestProps);
 
         RequestCorrelationId.create(correlationId);
-        LinkPropsResult result = linkService.setLinkProps(Collections.singletonList(inputItem));
+        LinkPropsResult result = linkService.setLinkProps(Collections.singletonList(inputItem)).get();
 
         assertThat(result.getFailures(), is(0));
         assertThat(result.getSuccesses(), is(1));
@@ -170,7 +170,7 @@ public class LinkServiceTest {
                 null, System.currentTimeMillis(), requestIdBatch[1], null));
 
         RequestCorrelationId.create(correlationId);
-        LinkPropsResult result = linkService.delLinkProps(Collections.singletonList(input));
+        LinkPropsResult result = linkService.delLinkProps(Collections.singletonList(input)).get();
 
         assertThat(result.getFailures(), is(0));
         assertThat(result.getSuccesses(), is(1));
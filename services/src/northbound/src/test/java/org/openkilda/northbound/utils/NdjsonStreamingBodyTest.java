@@ -0,0 +1,82 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.northbound.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class NdjsonStreamingBodyTest {
+
+    @Test
+    public void itemPerLine() throws Exception {
+        String output = write(consumer -> {
+            consumer.accept(Collections.singletonMap("item", 1));
+            consumer.accept(Collections.singletonMap("item", 2));
+        });
+
+        assertEquals("{\"item\":1}\n{\"item\":2}\n", output);
+    }
+
+    @Test
+    public void emptyStream() throws Exception {
+        assertEquals("", write(consumer -> { }));
+    }
+
+    @Test
+    public void failureIsWrittenAsLastLine() throws Exception {
+        String output = write(consumer -> {
+            consumer.accept(Collections.singletonMap("item", 1));
+            throw new MessageException("stream-test", 0L, ErrorType.OPERATION_TIMED_OUT, "Timeout", "northbound");
+        });
+
+        String[] lines = output.split("\n");
+        assertEquals(2, lines.length);
+        assertFalse(MAPPER.readTree(lines[0]).has(NdjsonStreamingBody.ERROR_FIELD));
+
+        JsonNode error = MAPPER.readTree(lines[1]).get(NdjsonStreamingBody.ERROR_FIELD);
+        assertEquals("stream-test", error.get("correlation_id").asText());
+        assertEquals(ErrorType.OPERATION_TIMED_OUT.toString(), error.get("error-type").asText());
+    }
+
+    @Test
+    public void failureBeforeFirstItem() throws Exception {
+        String output = write(consumer -> {
+            throw new MessageException("stream-test", 0L, ErrorType.INTERNAL_ERROR, "Failed", "northbound");
+        });
+
+        String[] lines = output.split("\n");
+        assertEquals(1, lines.length);
+        assertEquals(ErrorType.INTERNAL_ERROR.toString(),
+                MAPPER.readTree(lines[0]).get(NdjsonStreamingBody.ERROR_FIELD).get("error-type").asText());
+    }
+
+    private static String write(ChunkStream<?> stream) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new NdjsonStreamingBody(stream).writeTo(output);
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,152 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.pce.algo.DijkstraShortestPath;
+import org.openkilda.pce.algo.IndexedNetwork;
+import org.openkilda.pce.algo.SimpleGetShortestPath;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the network preparation and the path search, the steps of a path computation after the network is
+ * read from the database.
+ *
+ * <p>{@link SimpleGetShortestPath} is measured next to {@link DijkstraShortestPath}, which replaced it in the
+ * {@link org.openkilda.pce.provider.NeoDriver}, so both can be tracked and compared.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathComputationBenchmark {
+    /**
+     * Same as the depth used by the NeoDriver before the switch to Dijkstra.
+     */
+    private static final int ALLOWED_DEPTH = 35;
+    private static final long SEED = 42;
+
+    @Param({"FAT_TREE", "RING", "MESH"})
+    public TopologyShape shape;
+
+    @Param({"100", "1000", "5000"})
+    public int switches;
+
+    @Param({"1", "2"})
+    public int parallelIsls;
+
+    private SyntheticTopology topology;
+
+    /**
+     * Network prepared for the path search, the searches don't modify it.
+     */
+    private AvailableNetwork network;
+    private IndexedNetwork indexedNetwork;
+    private LinkedList<SimpleIsl> forwardPath;
+
+    /**
+     * Generates the topology and prepares the network for the path search.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        topology = SyntheticTopology.generate(shape, switches, parallelIsls, SEED);
+        network = topology.buildNetwork().removeSelfLoops().reduceByCost();
+        indexedNetwork = IndexedNetwork.of(network);
+        forwardPath = new SimpleGetShortestPath(
+                network, topology.getSource(), topology.getDestination(), ALLOWED_DEPTH).getPath();
+    }
+
+    @Benchmark
+    public AvailableNetwork buildAvailableNetwork() {
+        return topology.buildNetwork();
+    }
+
+    @Benchmark
+    public AvailableNetwork reduceByCost(RawNetwork raw) {
+        return raw.network.reduceByCost();
+    }
+
+    @Benchmark
+    public AvailableNetwork removeSelfLoops(RawNetwork raw) {
+        return raw.network.removeSelfLoops();
+    }
+
+    @Benchmark
+    public IndexedNetwork indexNetwork() {
+        return IndexedNetwork.of(network);
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> forwardPath() {
+        return new SimpleGetShortestPath(
+                network, topology.getSource(), topology.getDestination(), ALLOWED_DEPTH).getPath();
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> reversePath() {
+        return new SimpleGetShortestPath(
+                network, topology.getDestination(), topology.getSource(), ALLOWED_DEPTH).getPath();
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> hintedReversePath() {
+        return new SimpleGetShortestPath(
+                network, topology.getDestination(), topology.getSource(), ALLOWED_DEPTH).getPath(forwardPath);
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> dijkstraForwardPath() {
+        return new DijkstraShortestPath(indexedNetwork, topology.getSource(), topology.getDestination()).getPath();
+    }
+
+    @Benchmark
+    public LinkedList<SimpleIsl> dijkstraHintedReversePath() {
+        return new DijkstraShortestPath(indexedNetwork, topology.getDestination(), topology.getSource())
+                .getPath(forwardPath);
+    }
+
+    /**
+     * Freshly built network for the benchmarks which modify it. The setup runs before each call, so it is left out of
+     * the measurement.
+     */
+    @State(Scope.Thread)
+    public static class RawNetwork {
+        private AvailableNetwork network;
+
+        @Setup(Level.Invocation)
+        public void setUp(PathComputationBenchmark benchmark) {
+            network = benchmark.topology.buildNetwork();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.TopologySnapshot.Link;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generated network of switches and ISLs with the endpoints of the path to search for.
+ */
+public final class SyntheticTopology {
+    private static final int MAX_COST = 10;
+    private static final int MAX_LATENCY = 1000;
+    private static final long BANDWIDTH = 10000000L;
+
+    private final List<Link> links;
+    private final int switchCount;
+    private final String source;
+    private final String destination;
+
+    private SyntheticTopology(List<Link> links, int switchCount, String source, String destination) {
+        this.links = Collections.unmodifiableList(links);
+        this.switchCount = switchCount;
+        this.source = source;
+        this.destination = destination;
+    }
+
+    /**
+     * Generates the topology. Every pair of adjacent switches is connected by the given number of ISLs in each
+     * direction, with random cost and latency.
+     *
+     * @param shape the shape of the topology
+     * @param switches the number of switches, a fat tree gets the smallest size which is not less than this
+     * @param parallelIsls the number of ISLs between adjacent switches in each direction
+     * @param seed the seed of the random values
+     * @return the topology
+     */
+    public static SyntheticTopology generate(TopologyShape shape, int switches, int parallelIsls, long seed) {
+        Random random = new Random(seed);
+        Builder builder;
+        switch (shape) {
+            case FAT_TREE:
+                builder = makeFatTree(switches);
+                break;
+            case RING:
+                builder = makeRing(switches);
+                break;
+            case MESH:
+                builder = makeMesh(switches, random);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported topology shape %s", shape));
+        }
+        return builder.build(parallelIsls, random);
+    }
+
+    public List<Link> getLinks() {
+        return links;
+    }
+
+    public int getSwitchCount() {
+        return switchCount;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     * Builds the available network the same way it is built from the database or the topology cache.
+     *
+     * @return new network with all ISLs of the topology
+     */
+    public AvailableNetwork buildNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        for (Link link : links) {
+            network.initOneEntry(link.getSrcSwitch(), link.getDstSwitch(), link.getSrcPort(), link.getDstPort(),
+                    link.getCost(), (int) link.getLatency());
+        }
+        return network;
+    }
+
+    private static Builder makeFatTree(int switches) {
+        // a k-ary fat tree has (k/2)^2 core switches and k pods of k/2 aggregation and k/2 edge switches
+        int k = 2;
+        while (5 * k * k / 4 < switches) {
+            k += 2;
+        }
+        int half = k / 2;
+        int coreCount = half * half;
+        int podSize = k;
+
+        Builder builder = new Builder(coreCount + k * podSize);
+        for (int pod = 0; pod < k; pod++) {
+            int podBase = coreCount + pod * podSize;
+            for (int agg = 0; agg < half; agg++) {
+                for (int edge = 0; edge < half; edge++) {
+                    builder.connect(podBase + half + edge, podBase + agg);
+                }
+                for (int core = 0; core < half; core++) {
+                    builder.connect(podBase + agg, agg * half + core);
+                }
+            }
+        }
+        int lastEdge = coreCount + k * podSize - 1;
+        return builder.withEndpoints(coreCount + half, lastEdge);
+    }
+
+    private static Builder makeRing(int switches) {
+        Builder builder = new Builder(switches);
+        for (int i = 0; i < switches; i++) {
+            builder.connect(i, (i + 1) % switches);
+        }
+        return builder.withEndpoints(0, switches / 2);
+    }
+
+    private static Builder makeMesh(int switches, Random random) {
+        Builder builder = new Builder(switches);
+        // a random spanning tree keeps the mesh connected, the rest of the links are random
+        for (int i = 1; i < switches; i++) {
+            builder.connect(i, random.nextInt(i));
+        }
+        int linkCount = switches * 2;
+        while (builder.getAdjacencyCount() < linkCount) {
+            builder.connect(random.nextInt(switches), random.nextInt(switches));
+        }
+        int source = random.nextInt(switches);
+        int destination = (source + 1 + random.nextInt(switches - 1)) % switches;
+        return builder.withEndpoints(source, destination);
+    }
+
+    private static String makeSwitchId(int index) {
+        return String.format("00:00:00:00:00:%02x:%02x:%02x",
+                (index >> 16) & 0xff, (index >> 8) & 0xff, index & 0xff);
+    }
+
+    /**
+     * Collects undirected adjacencies of the switches.
+     */
+    private static final class Builder {
+        private final int switchCount;
+        private final List<int[]> adjacencies = new ArrayList<>();
+        private final Set<Long> known = new HashSet<>();
+        private int source;
+        private int destination;
+
+        Builder(int switchCount) {
+            this.switchCount = switchCount;
+        }
+
+        void connect(int first, int second) {
+            if (first == second) {
+                return;
+            }
+            long key = ((long) Math.min(first, second) << 32) | Math.max(first, second);
+            if (known.add(key)) {
+                adjacencies.add(new int[]{first, second});
+            }
+        }
+
+        int getAdjacencyCount() {
+            return adjacencies.size();
+        }
+
+        Builder withEndpoints(int sourceIndex, int destinationIndex) {
+            this.source = sourceIndex;
+            this.destination = destinationIndex;
+            return this;
+        }
+
+        SyntheticTopology build(int parallelIsls, Random random) {
+            int[] nextPort = new int[switchCount];
+            List<Link> links = new ArrayList<>(adjacencies.size() * parallelIsls * 2);
+            for (int[] adjacency : adjacencies) {
+                for (int i = 0; i < parallelIsls; i++) {
+                    int firstPort = ++nextPort[adjacency[0]];
+                    int secondPort = ++nextPort[adjacency[1]];
+                    int cost = 1 + random.nextInt(MAX_COST);
+                    long latency = 1 + random.nextInt(MAX_LATENCY);
+                    links.add(makeLink(adjacency[0], firstPort, adjacency[1], secondPort, cost, latency));
+                    links.add(makeLink(adjacency[1], secondPort, adjacency[0], firstPort, cost, latency));
+                }
+            }
+            return new SyntheticTopology(links, switchCount, makeSwitchId(source), makeSwitchId(destination));
+        }
+
+        private static Link makeLink(int srcSwitch, int srcPort, int dstSwitch, int dstPort, int cost,
+                                     long latency) {
+            return Link.builder()
+                    .srcSwitch(makeSwitchId(srcSwitch)).srcPort(srcPort)
+                    .dstSwitch(makeSwitchId(dstSwitch)).dstPort(dstPort)
+                    .cost(cost)
+                    .latency(latency)
+                    .maxBandwidth(BANDWIDTH)
+                    .availableBandwidth(BANDWIDTH)
+                    .active(true)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+/**
+ * Shapes of the synthetic topologies.
+ */
+public enum TopologyShape {
+    /**
+     * K-ary fat tree: core, aggregation and edge layers, the path goes from the edge of the first pod to the edge of
+     * the last one.
+     */
+    FAT_TREE,
+
+    /**
+     * Switches connected in a ring, the path goes to the opposite side of the ring.
+     */
+    RING,
+
+    /**
+     * Random connected mesh with the average degree of 4, the path goes between two random switches.
+     */
+    MESH
+}
@@ -0,0 +1,139 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Finds the lightest path whose latency doesn't exceed the limit, e.g. "min cost with latency up to X".
+ *
+ * <p>The exact problem is NP-hard, so it is solved by the Lagrangian relaxation (LARAC): the search runs Dijkstra on
+ * the combined weight {@code weight + lambda * latency} and moves lambda between the lightest path, which is too slow,
+ * and the fastest one, which fits the limit, until the combined weight stops improving. The result always fits the
+ * limit and is usually optimal or close to it.</p>
+ */
+public class ConstrainedShortestPath {
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ConstrainedShortestPath.class);
+
+    private static final int MAX_ITERATIONS = 32;
+    private static final double EPSILON = 1e-9;
+
+    private final IndexedNetwork network;
+    private final double[] weights;
+    private final double[] latencies;
+    private final long maxLatency;
+    private final String srcDpid;
+    private final String dstDpid;
+
+    /**
+     * Instance constructor.
+     *
+     * @param network the network
+     * @param weight the metric to minimize
+     * @param maxLatency the latency limit of the path
+     * @param srcDpid start switch
+     * @param dstDpid end switch
+     */
+    public ConstrainedShortestPath(IndexedNetwork network, PathWeight weight, long maxLatency,
+                                   String srcDpid, String dstDpid) {
+        this.network = network;
+        this.weights = network.getWeights(weight);
+        this.latencies = network.getWeights(PathWeight.LATENCY);
+        this.maxLatency = maxLatency;
+        this.srcDpid = srcDpid;
+        this.dstDpid = dstDpid;
+    }
+
+    /**
+     * Finds the lightest path from start to end within the latency limit.
+     *
+     * @return An ordered list that represents the path from start to end, or an empty list
+     */
+    public LinkedList<SimpleIsl> getPath() {
+        DijkstraShortestPath byWeight = new DijkstraShortestPath(network, weights, srcDpid, dstDpid);
+        LinkedList<SimpleIsl> lightest = byWeight.getPath();
+        if (lightest.isEmpty() || sum(latencies, lightest) <= maxLatency) {
+            return lightest;
+        }
+
+        LinkedList<SimpleIsl> fastest = new DijkstraShortestPath(network, latencies, srcDpid, dstDpid).getPath();
+        if (sum(latencies, fastest) > maxLatency) {
+            logger.info("No path from {} to {} fits the latency limit {}", srcDpid, dstDpid, maxLatency);
+            return new LinkedList<>();
+        }
+
+        // lightest violates the limit, fastest fits it; narrow the gap between them
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            double lambda = (sum(weights, fastest) - sum(weights, lightest))
+                    / (sum(latencies, lightest) - sum(latencies, fastest));
+            double[] combined = combine(lambda);
+            LinkedList<SimpleIsl> candidate = new DijkstraShortestPath(network, combined, srcDpid, dstDpid).getPath();
+
+            if (sum(combined, candidate) >= sum(combined, lightest) - EPSILON) {
+                break;
+            }
+            if (sum(latencies, candidate) <= maxLatency) {
+                fastest = candidate;
+            } else {
+                lightest = candidate;
+            }
+        }
+        return fastest;
+    }
+
+    /**
+     * Same as {@link DijkstraShortestPath#getPath(List)}: the mirror of the hint wins if it fits the limit and is not
+     * heavier than the found path.
+     *
+     * @param hint The path to use as a starting point. It can be in reverse order (we'll reverse it)
+     * @return An ordered list that represents the path from start to end.
+     */
+    public LinkedList<SimpleIsl> getPath(List<SimpleIsl> hint) {
+        LinkedList<SimpleIsl> best = getPath();
+        LinkedList<SimpleIsl> confirmed = new DijkstraShortestPath(network, weights, srcDpid, dstDpid)
+                .confirmHint(hint);
+        if (confirmed != null && sum(latencies, confirmed) <= maxLatency
+                && (best.isEmpty() || sum(weights, confirmed) <= sum(weights, best))) {
+            return confirmed;
+        }
+        return best;
+    }
+
+    private double[] combine(double lambda) {
+        double[] combined = new double[weights.length];
+        for (int edge = 0; edge < combined.length; edge++) {
+            combined[edge] = weights[edge] + lambda * latencies[edge];
+        }
+        return combined;
+    }
+
+    private double sum(double[] metric, List<SimpleIsl> path) {
+        double total = 0;
+        for (SimpleIsl isl : path) {
+            total += metric[network.findEdge(isl)];
+        }
+        return total;
+    }
+}
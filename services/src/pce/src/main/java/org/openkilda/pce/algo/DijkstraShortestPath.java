@@ -0,0 +1,286 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.pce.model.SimpleIsl;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Shortest path search by the Dijkstra algorithm over the {@link IndexedNetwork}.
+ *
+ * <p>It keeps distances, hop counts and parent edges in primitive arrays and the frontier in a binary heap with
+ * decrease-key, so a search allocates O(switches) memory once and never copies partial paths. The path is restored
+ * from the parent edges when the search is over. Among the paths of the same weight the one with fewer hops wins.</p>
+ *
+ * <p>The edge weights are given by the caller, see {@link IndexedNetwork#getWeights(PathWeight)}. They must not be
+ * negative.</p>
+ *
+ * <p>It is a drop-in replacement of {@link SimpleGetShortestPath}, including the reverse path hint.</p>
+ */
+public class DijkstraShortestPath {
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DijkstraShortestPath.class);
+
+    private static final int NONE = -1;
+
+    private final IndexedNetwork network;
+    private final double[] weights;
+    private final int start;
+    private final int end;
+
+    public DijkstraShortestPath(IndexedNetwork network, String srcDpid, String dstDpid) {
+        this(network, network.getWeights(PathWeight.COST), srcDpid, dstDpid);
+    }
+
+    public DijkstraShortestPath(IndexedNetwork network, PathWeight weight, String srcDpid, String dstDpid) {
+        this(network, network.getWeights(weight), srcDpid, dstDpid);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param network the network
+     * @param weights weight of each edge of the network
+     * @param srcDpid start switch
+     * @param dstDpid end switch
+     */
+    public DijkstraShortestPath(IndexedNetwork network, double[] weights, String srcDpid, String dstDpid) {
+        this.network = network;
+        this.weights = weights;
+        this.start = network.indexOf(srcDpid);
+        this.end = network.indexOf(dstDpid);
+        if (start == NONE) {
+            logger.warn("SOURCE node doesn't exist. It isn't in the AVAILABLE network: {}", srcDpid);
+        }
+        if (end == NONE) {
+            logger.warn("DESTINATION node doesn't exist. It isn't in the AVAILABLE network: {}", dstDpid);
+        }
+    }
+
+    /**
+     * Finds the lightest path from start to end.
+     *
+     * @return An ordered list that represents the path from start to end, or an empty list
+     */
+    public LinkedList<SimpleIsl> getPath() {
+        if (start == NONE || end == NONE) {
+            return new LinkedList<>();
+        }
+
+        int size = network.getSwitchCount();
+        double[] cost = new double[size];
+        int[] hops = new int[size];
+        int[] parentEdge = new int[size];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+        Arrays.fill(parentEdge, NONE);
+
+        MinHeap heap = new MinHeap(size, cost, hops);
+        cost[start] = 0;
+        heap.push(start);
+
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            if (current == end) {
+                break;
+            }
+
+            for (int edge = network.firstEdge(current); edge < network.endEdge(current); edge++) {
+                int next = network.getTarget(edge);
+                double nextCost = cost[current] + weights[edge];
+                int nextHops = hops[current] + 1;
+                if (nextCost < cost[next] || (nextCost == cost[next] && nextHops < hops[next])) {
+                    cost[next] = nextCost;
+                    hops[next] = nextHops;
+                    parentEdge[next] = edge;
+                    heap.pushOrUpdate(next);
+                }
+            }
+        }
+
+        LinkedList<SimpleIsl> path = new LinkedList<>();
+        if (cost[end] == Double.POSITIVE_INFINITY || start == end) {
+            return path;
+        }
+        for (int node = end; node != start; node = network.getSource(parentEdge[node])) {
+            path.addFirst(network.getIsl(parentEdge[node]));
+        }
+        return path;
+    }
+
+    /**
+     * This is generally called after getPath() to find the path back. The path back could be asymmetric, but the
+     * mirror of the hint is returned if it exists and is not heavier than the best path, so flows get the
+     * symmetric path whenever possible.
+     *
+     * @param hint The path to use as a starting point. It can be in reverse order (we'll reverse it)
+     * @return An ordered list that represents the path from start to end.
+     */
+    public LinkedList<SimpleIsl> getPath(List<SimpleIsl> hint) {
+        LinkedList<SimpleIsl> best = getPath();
+        LinkedList<SimpleIsl> confirmed = confirmHint(hint);
+        if (confirmed != null && getWeight(confirmed) <= getWeight(best)) {
+            logger.debug("getPath w/ Hint: the hint path EXISTS for {}->{}",
+                    network.getSwitchId(start), network.getSwitchId(end));
+            return confirmed;
+        }
+        return best;
+    }
+
+    /**
+     * Maps the hint to the ISLs of the network, mirroring it if needed.
+     *
+     * @return the path or null if the hint doesn't lead from start to end over the existing ISLs
+     */
+    LinkedList<SimpleIsl> confirmHint(List<SimpleIsl> hint) {
+        if (hint == null || hint.isEmpty() || start == NONE || end == NONE) {
+            return null;
+        }
+
+        int from = network.indexOf(hint.get(0).src_dpid);
+        int to = network.indexOf(hint.get(hint.size() - 1).dst_dpid);
+        boolean mirror = from == end && to == start;
+        if (!mirror && !(from == start && to == end)) {
+            return null;
+        }
+
+        LinkedList<SimpleIsl> confirmed = new LinkedList<>();
+        for (SimpleIsl isl : mirror ? Lists.reverse(hint) : hint) {
+            SimpleIsl wanted = mirror
+                    ? new SimpleIsl(isl.dst_dpid, isl.src_dpid, isl.dst_port, isl.src_port, isl.cost, isl.latency)
+                    : isl;
+            int edge = network.findEdge(wanted);
+            if (edge == NONE) {
+                logger.info("getPath w/ Hint: the hint path DOES NOT EXIST, will find new path");
+                return null;
+            }
+            confirmed.add(network.getIsl(edge));
+        }
+        return confirmed;
+    }
+
+    /**
+     * Sums the weights of the path ISLs.
+     *
+     * @return the weight, or infinity for an empty path
+     */
+    double getWeight(List<SimpleIsl> path) {
+        if (path.isEmpty()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double total = 0;
+        for (SimpleIsl isl : path) {
+            total += weights[network.findEdge(isl)];
+        }
+        return total;
+    }
+
+    /**
+     * Binary min-heap of switch indexes ordered by (cost, hops), with the position index for decrease-key.
+     */
+    private static final class MinHeap {
+        private final int[] heap;
+        private final int[] position;
+        private final double[] cost;
+        private final int[] hops;
+        private int size;
+
+        MinHeap(int capacity, double[] cost, int[] hops) {
+            this.heap = new int[capacity];
+            this.position = new int[capacity];
+            this.cost = cost;
+            this.hops = hops;
+            Arrays.fill(position, NONE);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int node) {
+            heap[size] = node;
+            position[node] = size;
+            siftUp(size++);
+        }
+
+        void pushOrUpdate(int node) {
+            if (position[node] == NONE) {
+                push(node);
+            } else {
+                // the key can only decrease
+                siftUp(position[node]);
+            }
+        }
+
+        int pop() {
+            int top = heap[0];
+            position[top] = NONE;
+            size--;
+            if (size > 0) {
+                heap[0] = heap[size];
+                position[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private boolean less(int a, int b) {
+            return cost[a] < cost[b] || (cost[a] == cost[b] && hops[a] < hops[b]);
+        }
+
+        private void siftUp(int index) {
+            int node = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!less(node, heap[parent])) {
+                    break;
+                }
+                heap[index] = heap[parent];
+                position[heap[index]] = index;
+                index = parent;
+            }
+            heap[index] = node;
+            position[node] = index;
+        }
+
+        private void siftDown(int index) {
+            int node = heap[index];
+            int half = size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], node)) {
+                    break;
+                }
+                heap[index] = heap[child];
+                position[heap[index]] = index;
+                index = child;
+            }
+            heap[index] = node;
+            position[node] = index;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+import org.openkilda.pce.model.SimpleSwitch;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Compact, read-only form of the {@link AvailableNetwork} for the path search algorithms.
+ *
+ * <p>Switches are numbered 0..n-1 and the ISLs are stored in the CSR (compressed sparse row) layout: the outbound ISLs
+ * of the switch {@code i} are the edges {@code edgeOffset[i]..edgeOffset[i + 1] - 1}. The edge attributes live in
+ * primitive arrays, so a search doesn't touch any object besides the final path.</p>
+ *
+ * <p>Switches and ISLs are sorted by DPID and port, so the search results don't depend on the hash map order.</p>
+ */
+public final class IndexedNetwork {
+    private static final Comparator<SimpleIsl> ISL_ORDER = Comparator
+            .comparing((SimpleIsl isl) -> isl.dst_dpid)
+            .thenComparingInt(isl -> isl.src_port)
+            .thenComparingInt(isl -> isl.dst_port);
+
+    private final String[] switchIds;
+    private final Map<String, Integer> switchIndex;
+
+    private final int[] edgeOffset;
+    private final int[] edgeSource;
+    private final int[] edgeTarget;
+    private final int[] edgeCost;
+    private final int[] edgeLatency;
+    private final SimpleIsl[] edgeIsl;
+
+    private IndexedNetwork(String[] switchIds, Map<String, Integer> switchIndex, int[] edgeOffset, int[] edgeSource,
+                           int[] edgeTarget, int[] edgeCost, int[] edgeLatency, SimpleIsl[] edgeIsl) {
+        this.switchIds = switchIds;
+        this.switchIndex = switchIndex;
+        this.edgeOffset = edgeOffset;
+        this.edgeSource = edgeSource;
+        this.edgeTarget = edgeTarget;
+        this.edgeCost = edgeCost;
+        this.edgeLatency = edgeLatency;
+        this.edgeIsl = edgeIsl;
+    }
+
+    /**
+     * Builds the index of the network.
+     *
+     * @param network the network
+     * @return the index
+     */
+    public static IndexedNetwork of(AvailableNetwork network) {
+        Set<String> dpids = new TreeSet<>();
+        int edgeCount = 0;
+        for (SimpleSwitch sw : network.getSwitches().values()) {
+            dpids.add(sw.dpid);
+            for (Set<SimpleIsl> isls : sw.outbound.values()) {
+                for (SimpleIsl isl : isls) {
+                    dpids.add(isl.dst_dpid);
+                    edgeCount++;
+                }
+            }
+        }
+
+        String[] switchIds = dpids.toArray(new String[0]);
+        Map<String, Integer> switchIndex = new HashMap<>(switchIds.length * 2);
+        for (int i = 0; i < switchIds.length; i++) {
+            switchIndex.put(switchIds[i], i);
+        }
+
+        int[] edgeOffset = new int[switchIds.length + 1];
+        int[] edgeSource = new int[edgeCount];
+        int[] edgeTarget = new int[edgeCount];
+        int[] edgeCost = new int[edgeCount];
+        int[] edgeLatency = new int[edgeCount];
+        SimpleIsl[] edgeIsl = new SimpleIsl[edgeCount];
+
+        int edge = 0;
+        for (int i = 0; i < switchIds.length; i++) {
+            edgeOffset[i] = edge;
+            SimpleSwitch sw = network.getSimpleSwitch(switchIds[i]);
+            if (sw == null) {
+                continue;
+            }
+
+            List<SimpleIsl> outbound = new ArrayList<>();
+            for (Set<SimpleIsl> isls : sw.outbound.values()) {
+                outbound.addAll(isls);
+            }
+            outbound.sort(ISL_ORDER);
+            for (SimpleIsl isl : outbound) {
+                edgeSource[edge] = i;
+                edgeTarget[edge] = switchIndex.get(isl.dst_dpid);
+                edgeCost[edge] = isl.cost;
+                edgeLatency[edge] = isl.latency;
+                edgeIsl[edge] = isl;
+                edge++;
+            }
+        }
+        edgeOffset[switchIds.length] = edge;
+
+        return new IndexedNetwork(
+                switchIds, switchIndex, edgeOffset, edgeSource, edgeTarget, edgeCost, edgeLatency, edgeIsl);
+    }
+
+    public int getSwitchCount() {
+        return switchIds.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeTarget.length;
+    }
+
+    /**
+     * Gets the index of the switch.
+     *
+     * @param dpid switch DPID
+     * @return the index or -1 if the switch is not in the network
+     */
+    public int indexOf(String dpid) {
+        Integer index = switchIndex.get(dpid);
+        return index != null ? index : -1;
+    }
+
+    public String getSwitchId(int index) {
+        return switchIds[index];
+    }
+
+    /**
+     * First outbound edge of the switch.
+     */
+    public int firstEdge(int node) {
+        return edgeOffset[node];
+    }
+
+    /**
+     * The edge after the last outbound edge of the switch.
+     */
+    public int endEdge(int node) {
+        return edgeOffset[node + 1];
+    }
+
+    public int getSource(int edge) {
+        return edgeSource[edge];
+    }
+
+    public int getTarget(int edge) {
+        return edgeTarget[edge];
+    }
+
+    public int getCost(int edge) {
+        return edgeCost[edge];
+    }
+
+    public int getLatency(int edge) {
+        return edgeLatency[edge];
+    }
+
+    public SimpleIsl getIsl(int edge) {
+        return edgeIsl[edge];
+    }
+
+    /**
+     * Builds the per edge weights for the search.
+     *
+     * @param weight the metric
+     * @return weight of each edge
+     */
+    public double[] getWeights(PathWeight weight) {
+        double[] weights = new double[edgeTarget.length];
+        for (int edge = 0; edge < weights.length; edge++) {
+            switch (weight) {
+                case LATENCY:
+                    // unknown latency is stored as a negative value, the search can't handle negative weights
+                    weights[edge] = Math.max(0, edgeLatency[edge]);
+                    break;
+                case HOPS:
+                    weights[edge] = 1;
+                    break;
+                case COST:
+                default:
+                    weights[edge] = edgeCost[edge];
+                    break;
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * Finds the edge of the ISL.
+     *
+     * @param isl the ISL, only the endpoints are compared
+     * @return the edge or -1 if the ISL is not in the network
+     */
+    public int findEdge(SimpleIsl isl) {
+        int src = indexOf(isl.src_dpid);
+        if (src < 0) {
+            return -1;
+        }
+        for (int edge = edgeOffset[src]; edge < edgeOffset[src + 1]; edge++) {
+            if (edgeIsl[edge].equals(isl)) {
+                return edge;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,175 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import org.openkilda.pce.model.SimpleIsl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Finds the k lightest loopless paths between two switches by the Yen's algorithm.
+ *
+ * <p>Every next path deviates from one of the already found paths at some switch (the spur): it shares the root part
+ * up to the spur and continues by the lightest path which avoids the edges already used from the same root and the
+ * switches of the root. Each spur search is a {@link DijkstraShortestPath} on the same {@link IndexedNetwork} with the
+ * excluded edges weighted as infinity, so the network is indexed only once.</p>
+ */
+public class YenShortestPaths {
+    private static final double EXCLUDED = Double.POSITIVE_INFINITY;
+
+    private final IndexedNetwork network;
+    private final double[] weights;
+    private final String srcDpid;
+    private final String dstDpid;
+
+    /**
+     * Instance constructor.
+     *
+     * @param network the network
+     * @param weight the metric to minimize
+     * @param srcDpid start switch
+     * @param dstDpid end switch
+     */
+    public YenShortestPaths(IndexedNetwork network, PathWeight weight, String srcDpid, String dstDpid) {
+        this.network = network;
+        this.weights = network.getWeights(weight);
+        this.srcDpid = srcDpid;
+        this.dstDpid = dstDpid;
+    }
+
+    /**
+     * Finds the paths from start to end.
+     *
+     * @param count the maximum number of paths
+     * @return the paths ordered by weight, then by hops; empty if there is no path at all
+     */
+    public List<LinkedList<SimpleIsl>> getPaths(int count) {
+        List<int[]> found = new ArrayList<>();
+        LinkedList<SimpleIsl> first = new DijkstraShortestPath(network, weights, srcDpid, dstDpid).getPath();
+        if (count > 0 && !first.isEmpty()) {
+            found.add(toEdges(first));
+        }
+
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(Comparator
+                .comparingDouble((Candidate candidate) -> candidate.weight)
+                .thenComparingInt(candidate -> candidate.edges.length)
+                .thenComparingLong(candidate -> candidate.order));
+        Set<List<Integer>> known = new HashSet<>();
+        found.forEach(path -> known.add(asKey(path)));
+        long order = 0;
+
+        while (!found.isEmpty() && found.size() < count) {
+            int[] previous = found.get(found.size() - 1);
+            for (int spur = 0; spur < previous.length; spur++) {
+                double[] excluded = weights.clone();
+                for (int[] path : found) {
+                    if (path.length > spur && isSamePrefix(path, previous, spur)) {
+                        excluded[path[spur]] = EXCLUDED;
+                    }
+                }
+                // a path can enter a switch of the root but can't leave it, so it never gets a loop
+                for (int root = 0; root < spur; root++) {
+                    int node = network.getSource(previous[root]);
+                    for (int edge = network.firstEdge(node); edge < network.endEdge(node); edge++) {
+                        excluded[edge] = EXCLUDED;
+                    }
+                }
+
+                String spurDpid = network.getSwitchId(network.getSource(previous[spur]));
+                LinkedList<SimpleIsl> tail = new DijkstraShortestPath(network, excluded, spurDpid, dstDpid).getPath();
+                if (tail.isEmpty()) {
+                    continue;
+                }
+
+                int[] tailEdges = toEdges(tail);
+                int[] candidate = Arrays.copyOf(previous, spur + tailEdges.length);
+                System.arraycopy(tailEdges, 0, candidate, spur, tailEdges.length);
+                if (known.add(asKey(candidate))) {
+                    candidates.add(new Candidate(candidate, getWeight(candidate), order++));
+                }
+            }
+
+            Candidate next = candidates.poll();
+            if (next == null) {
+                break;
+            }
+            found.add(next.edges);
+        }
+
+        List<LinkedList<SimpleIsl>> paths = new ArrayList<>(found.size());
+        for (int[] edges : found) {
+            LinkedList<SimpleIsl> path = new LinkedList<>();
+            for (int edge : edges) {
+                path.add(network.getIsl(edge));
+            }
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    private int[] toEdges(List<SimpleIsl> path) {
+        int[] edges = new int[path.size()];
+        int i = 0;
+        for (SimpleIsl isl : path) {
+            edges[i++] = network.findEdge(isl);
+        }
+        return edges;
+    }
+
+    private static boolean isSamePrefix(int[] path, int[] other, int length) {
+        for (int i = 0; i < length; i++) {
+            if (path[i] != other[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private double getWeight(int[] edges) {
+        double total = 0;
+        for (int edge : edges) {
+            total += weights[edge];
+        }
+        return total;
+    }
+
+    private static List<Integer> asKey(int[] edges) {
+        List<Integer> key = new ArrayList<>(edges.length);
+        for (int edge : edges) {
+            key.add(edge);
+        }
+        return key;
+    }
+
+    private static final class Candidate {
+        private final int[] edges;
+        private final double weight;
+        private final long order;
+
+        Candidate(int[] edges, double weight, long order) {
+            this.edges = edges;
+            this.weight = weight;
+            this.order = order;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package org.openkilda.pce.api;
 
 import org.neo4j.driver.v1.Record;
+import org.neo4j.driver.v1.Value;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.messaging.payload.flow.PathComputationStrategy;
 import org.openkilda.pce.provider.NeoDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,8 +53,28 @@ public class FlowAdapter {
                 dbRecord.get("dst_vlan").asInt(),
                 dbRecord.get("meter_id").asInt(),
                 dbRecord.get("transit_vlan").asInt(),
-                path, FlowState.CACHED
+                path, getState(dbRecord.get("state"))
         );
+
+        // flows stored before the path computation options were introduced don't have them
+        Value strategy = dbRecord.get("path_computation_strategy");
+        if (!strategy.isNull()) {
+            flow.setPathComputationStrategy(PathComputationStrategy.valueOf(strategy.asString()));
+        }
+        Value maxLatency = dbRecord.get("max_latency");
+        if (!maxLatency.isNull()) {
+            flow.setMaxLatency(maxLatency.asLong());
+        }
+    }
+
+    /**
+     * Gets the stored state, flows stored before the state was kept in the database are {@link FlowState#CACHED}.
+     */
+    private static FlowState getState(Value state) {
+        if (state.isNull() || state.asString().isEmpty()) {
+            return FlowState.CACHED;
+        }
+        return FlowState.valueOf(state.asString());
     }
 
     public Flow getFlow() {
@@ -0,0 +1,43 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.model.ImmutablePair;
+
+/**
+ * Per-ISL bandwidth reservations of the flows. The flow cache takes the bandwidth on flow create and update, and
+ * gives it back on delete, so admission is decided before the flow is stored.
+ */
+public interface BandwidthLedger {
+    /**
+     * Reserves the bandwidth on every ISL of the path, replacing the previous reservation of the flow. Nothing is
+     * changed if any ISL doesn't have enough bandwidth available.
+     *
+     * @param flowId the flow id
+     * @param bandwidth the bandwidth of the flow, 0 if the flow ignores bandwidth
+     * @param path forward and reverse paths of the flow
+     * @return true if the bandwidth is reserved
+     */
+    boolean reserve(String flowId, long bandwidth, ImmutablePair<PathInfoData, PathInfoData> path);
+
+    /**
+     * Releases the bandwidth reserved by the flow.
+     *
+     * @param flowId the flow id
+     */
+    void release(String flowId);
+}
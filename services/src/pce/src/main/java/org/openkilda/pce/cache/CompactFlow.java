@@ -0,0 +1,261 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.messaging.payload.flow.PathComputationStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Flow pair packed into primitive fields and arrays. Switch ids are interned ints, a path node is a single long,
+ * and the optional node attributes are kept only when they are set. The strings of the reverse flow are shared
+ * with the forward one when they are equal.
+ *
+ * <p>The object is immutable, {@link #getFlow()} builds new {@link Flow} objects on each call, so the flows
+ * returned by the cache must not be changed in place, use {@link FlowCache#updateFlowState(String, FlowState)}.</p>
+ */
+final class CompactFlow implements StoredFlow {
+    /**
+     * Marks an absent optional value in the packed arrays.
+     */
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private final SwitchIdInterner switches;
+    private final Half forward;
+    private final Half reverse;
+
+    private CompactFlow(SwitchIdInterner switches, Half forward, Half reverse) {
+        this.switches = switches;
+        this.forward = forward;
+        this.reverse = reverse;
+    }
+
+    /**
+     * Packs the flow pair.
+     *
+     * @param flow the flow pair
+     * @param switches the switch ids of the cache
+     * @return the packed flow pair
+     */
+    static CompactFlow of(ImmutablePair<Flow, Flow> flow, SwitchIdInterner switches) {
+        Half forward = new Half(flow.getLeft(), switches, null);
+        Half reverse = flow.getRight() != null ? new Half(flow.getRight(), switches, forward) : null;
+        return new CompactFlow(switches, forward, reverse);
+    }
+
+    @Override
+    public ImmutablePair<Flow, Flow> getFlow() {
+        return new ImmutablePair<>(forward.toFlow(switches), reverse != null ? reverse.toFlow(switches) : null);
+    }
+
+    @Override
+    public StoredFlow withState(FlowState state) {
+        return new CompactFlow(switches, forward.withState(state), reverse != null ? reverse.withState(state) : null);
+    }
+
+    @Override
+    public FlowState getState() {
+        return forward.state;
+    }
+
+    /**
+     * One direction of the flow.
+     */
+    private static final class Half {
+        private final String flowId;
+        private final int bandwidth;
+        private final boolean ignoreBandwidth;
+        private final long cookie;
+        private final String description;
+        private final String lastUpdated;
+        private final int sourceSwitch;
+        private final int destinationSwitch;
+        private final int sourcePort;
+        private final int destinationPort;
+        private final int sourceVlan;
+        private final int destinationVlan;
+        private final int meterId;
+        private final int transitVlan;
+        private final FlowState state;
+        private final PathComputationStrategy pathComputationStrategy;
+        private final long maxLatency;
+        private final Path path;
+
+        Half(Flow flow, SwitchIdInterner switches, Half shared) {
+            flowId = share(flow.getFlowId(), shared != null ? shared.flowId : null);
+            bandwidth = flow.getBandwidth();
+            ignoreBandwidth = flow.isIgnoreBandwidth();
+            cookie = flow.getCookie();
+            description = share(flow.getDescription(), shared != null ? shared.description : null);
+            lastUpdated = share(flow.getLastUpdated(), shared != null ? shared.lastUpdated : null);
+            sourceSwitch = switches.intern(flow.getSourceSwitch());
+            destinationSwitch = switches.intern(flow.getDestinationSwitch());
+            sourcePort = flow.getSourcePort();
+            destinationPort = flow.getDestinationPort();
+            sourceVlan = flow.getSourceVlan();
+            destinationVlan = flow.getDestinationVlan();
+            meterId = flow.getMeterId();
+            transitVlan = flow.getTransitVlan();
+            state = flow.getState();
+            pathComputationStrategy = flow.getPathComputationStrategy();
+            maxLatency = flow.getMaxLatency();
+            path = flow.getFlowPath() != null ? new Path(flow.getFlowPath(), switches) : null;
+        }
+
+        private Half(Half that, FlowState state) {
+            flowId = that.flowId;
+            bandwidth = that.bandwidth;
+            ignoreBandwidth = that.ignoreBandwidth;
+            cookie = that.cookie;
+            description = that.description;
+            lastUpdated = that.lastUpdated;
+            sourceSwitch = that.sourceSwitch;
+            destinationSwitch = that.destinationSwitch;
+            sourcePort = that.sourcePort;
+            destinationPort = that.destinationPort;
+            sourceVlan = that.sourceVlan;
+            destinationVlan = that.destinationVlan;
+            meterId = that.meterId;
+            transitVlan = that.transitVlan;
+            this.state = state;
+            pathComputationStrategy = that.pathComputationStrategy;
+            maxLatency = that.maxLatency;
+            path = that.path;
+        }
+
+        Half withState(FlowState state) {
+            return new Half(this, state);
+        }
+
+        Flow toFlow(SwitchIdInterner switches) {
+            Flow flow = Flow.builder()
+                    .flowId(flowId)
+                    .bandwidth(bandwidth)
+                    .ignoreBandwidth(ignoreBandwidth)
+                    .cookie(cookie)
+                    .description(description)
+                    .lastUpdated(lastUpdated)
+                    .sourceSwitch(switches.resolve(sourceSwitch))
+                    .destinationSwitch(switches.resolve(destinationSwitch))
+                    .sourcePort(sourcePort)
+                    .destinationPort(destinationPort)
+                    .sourceVlan(sourceVlan)
+                    .destinationVlan(destinationVlan)
+                    .meterId(meterId)
+                    .transitVlan(transitVlan)
+                    .flowPath(path != null ? path.toPathInfoData(switches) : null)
+                    .state(state)
+                    .build();
+            flow.setPathComputationStrategy(pathComputationStrategy);
+            flow.setMaxLatency(maxLatency);
+            return flow;
+        }
+
+        private static String share(String value, String shared) {
+            return Objects.equals(value, shared) ? shared : value;
+        }
+    }
+
+    /**
+     * Flow path. A node is {@code switch << 32 | port}, the sequence ids are kept only if they differ from the
+     * node positions, the segment latencies and cookies only if any of them is set.
+     */
+    private static final class Path {
+        private final long latency;
+        private final long timestamp;
+        private final Long createdInCache;
+        private final Long updatedInCache;
+        private final long[] nodes;
+        private final int[] seqIds;
+        private final long[] segmentLatencies;
+        private final long[] cookies;
+
+        Path(PathInfoData path, SwitchIdInterner switches) {
+            latency = path.getLatency();
+            timestamp = path.getTimestamp();
+            createdInCache = path.getCreatedInCache();
+            updatedInCache = path.getUpdatedInCache();
+
+            List<PathNode> source = path.getPath();
+            if (source == null) {
+                nodes = null;
+                seqIds = null;
+                segmentLatencies = null;
+                cookies = null;
+                return;
+            }
+
+            int size = source.size();
+            nodes = new long[size];
+            int[] seq = new int[size];
+            long[] segments = new long[size];
+            long[] nodeCookies = new long[size];
+            boolean hasSeqIds = false;
+            boolean hasSegments = false;
+            boolean hasCookies = false;
+            for (int i = 0; i < size; i++) {
+                PathNode node = source.get(i);
+                nodes[i] = (long) switches.intern(node.getSwitchId()) << 32 | (node.getPortNo() & 0xFFFFFFFFL);
+                seq[i] = node.getSeqId();
+                hasSeqIds |= seq[i] != i;
+                segments[i] = pack(node.getSegLatency());
+                hasSegments |= segments[i] != ABSENT;
+                nodeCookies[i] = pack(node.getCookie());
+                hasCookies |= nodeCookies[i] != ABSENT;
+            }
+            seqIds = hasSeqIds ? seq : null;
+            segmentLatencies = hasSegments ? segments : null;
+            cookies = hasCookies ? nodeCookies : null;
+        }
+
+        PathInfoData toPathInfoData(SwitchIdInterner switches) {
+            List<PathNode> path = null;
+            if (nodes != null) {
+                path = new ArrayList<>(nodes.length);
+                for (int i = 0; i < nodes.length; i++) {
+                    path.add(new PathNode(
+                            switches.resolve((int) (nodes[i] >> 32)),
+                            (int) nodes[i],
+                            seqIds != null ? seqIds[i] : i,
+                            cookies != null ? unpack(cookies[i]) : null,
+                            segmentLatencies != null ? unpack(segmentLatencies[i]) : null));
+                }
+            }
+
+            PathInfoData result = new PathInfoData(latency, path);
+            result.setTimestamp(timestamp);
+            result.setCreatedInCache(createdInCache);
+            result.setUpdatedInCache(updatedInCache);
+            return result;
+        }
+
+        private static long pack(Long value) {
+            return value != null ? value : ABSENT;
+        }
+
+        private static Long unpack(long value) {
+            return value != ABSENT ? value : null;
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.pce.Utils;
+import org.openkilda.pce.model.FlowSyncDigest;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.MoreObjects;
@@ -48,6 +49,11 @@ public class FlowCache extends Cache {
      */
     private static final Logger logger = LoggerFactory.getLogger(FlowCache.class);
 
+    /**
+     * The number of flows from which a scan of the flow pool is split between the fork-join pool threads.
+     */
+    private static final long PARALLELISM_THRESHOLD = 10000;
+
     /**
      * {@link ResourceCache} instance.
      */
@@ -57,7 +63,67 @@ public class FlowCache extends Cache {
     /**
      * Flow pool.
      */
-    private final Map<String, ImmutablePair<Flow, Flow>> flowPool = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StoredFlow> flowPool = new ConcurrentHashMap<>();
+
+    /**
+     * Switch ids of the compact flows, null if the flows are kept as they are.
+     */
+    private final SwitchIdInterner switchIds;
+
+    /**
+     * Flow ids by switch, path node and endpoint. Changed together with the flow pool under the index lock.
+     */
+    private final FlowIndex flowIndex = new FlowIndex();
+
+    /**
+     * ISL bandwidth reservations of the flows, null if bandwidth is not tracked.
+     */
+    private final BandwidthLedger bandwidthLedger;
+
+    /**
+     * Gets the changes of the flow pool, null if nobody listens.
+     */
+    private volatile FlowCacheListener listener;
+
+    /**
+     * Instance constructor, the cache doesn't check ISL bandwidth.
+     */
+    public FlowCache() {
+        this(null, false);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param bandwidthLedger ISL bandwidth reservations, flows are created and updated only if their paths have
+     *                        the bandwidth
+     */
+    public FlowCache(BandwidthLedger bandwidthLedger) {
+        this(bandwidthLedger, false);
+    }
+
+    /**
+     * Instance constructor.
+     *
+     * @param bandwidthLedger ISL bandwidth reservations, null if the cache doesn't check ISL bandwidth
+     * @param compact if true, the flows are packed with interned switch ids and the {@link Flow} objects are built
+     *                on each read, so they must not be changed in place
+     */
+    public FlowCache(BandwidthLedger bandwidthLedger, boolean compact) {
+        this.bandwidthLedger = bandwidthLedger;
+        this.switchIds = compact ? new SwitchIdInterner() : null;
+    }
+
+    /**
+     * Sets the listener of the flow pool changes, the flows already in the pool are not reported.
+     *
+     * @param listener the listener, null to stop reporting the changes
+     */
+    public void setListener(FlowCacheListener listener) {
+        synchronized (flowIndex) {
+            this.listener = listener;
+        }
+    }
 
     /**
      * Fills cache.
@@ -73,7 +139,13 @@ public class FlowCache extends Cache {
      * Clears the inner network and pools.
      */
     public void clear() {
-        flowPool.clear();
+        synchronized (flowIndex) {
+            flowPool.clear();
+            flowIndex.clear();
+            if (listener != null) {
+                listener.flowsCleared();
+            }
+        }
         resourceCache.clear();
     }
 
@@ -84,17 +156,19 @@ public class FlowCache extends Cache {
      * @return previous flow
      */
     public ImmutablePair<Flow, Flow> putFlow(ImmutablePair<Flow, Flow> flow) {
-        return flowPool.put(flow.getLeft().getFlowId(), flow);
+        return storeFlow(flow.getLeft().getFlowId(), flow);
     }
 
     /**
-     * Removes flow directly from the cache.
+     * Removes flow directly from the cache, the ISL bandwidth of the flow is released.
      *
      * @param flowId flow id
      * @return removed flow
      */
     public ImmutablePair<Flow, Flow> removeFlow(String flowId) {
-        return flowPool.remove(flowId);
+        ImmutablePair<Flow, Flow> flow = evictFlow(flowId);
+        releaseBandwidth(flowId);
+        return flow;
     }
 
     /**
@@ -126,7 +200,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<ImmutablePair<Flow, Flow>> getActiveFlowsWithAffectedPath(String switchId) {
-        return flowPool.values().stream().filter(flow ->
+        return getIndexedFlows(flowIndex.getFlowsBySwitch(switchId)).filter(flow ->
                 flow.getLeft().getFlowPath().getPath().stream()
                         .anyMatch(node -> node.getSwitchId().equals(switchId))
                         || flow.getRight().getFlowPath().getPath().stream()
@@ -143,7 +217,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<ImmutablePair<Flow, Flow>> getActiveFlowsWithAffectedPath(IslInfoData islData) {
-        return flowPool.values().stream()
+        return getIndexedFlows(getFlowsByPathNode(islData.getPath().get(0)))
                 .filter(flow -> flow.getLeft().getFlowPath().getPath().contains(islData.getPath().get(0))
                         || flow.getRight().getFlowPath().getPath().contains(islData.getPath().get(0)))
                 .filter(flow -> flow.getLeft().getState().isActiveOrCached())
@@ -158,7 +232,7 @@ public class FlowCache extends Cache {
      */
     public Set<ImmutablePair<Flow, Flow>> getActiveFlowsWithAffectedPath(PortInfoData portData) {
         PathNode node = new PathNode(portData.getSwitchId(), portData.getPortNo(), 0);
-        return flowPool.values().stream()
+        return getIndexedFlows(getFlowsByPathNode(node))
                 .filter(flow -> flow.getLeft().getFlowPath().getPath().contains(node)
                         || flow.getRight().getFlowPath().getPath().contains(node))
                 .filter(flow -> flow.getLeft().getState().isActiveOrCached())
@@ -172,7 +246,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<ImmutablePair<Flow, Flow>> getFlowsWithAffectedPath(String switchId) {
-        return flowPool.values().stream().filter(flow ->
+        return getIndexedFlows(flowIndex.getFlowsBySwitch(switchId)).filter(flow ->
                 flow.getLeft().getFlowPath().getPath().stream()
                         .anyMatch(node -> node.getSwitchId().equals(switchId))
                         || flow.getRight().getFlowPath().getPath().stream()
@@ -188,7 +262,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<ImmutablePair<Flow, Flow>> getFlowsWithAffectedPath(IslInfoData islData) {
-        return flowPool.values().stream()
+        return getIndexedFlows(getFlowsByPathNode(islData.getPath().get(0)))
                 .filter(flow -> flow.getLeft().getFlowPath().getPath().contains(islData.getPath().get(0))
                         || flow.getRight().getFlowPath().getPath().contains(islData.getPath().get(0)))
                 .collect(Collectors.toSet());
@@ -202,7 +276,7 @@ public class FlowCache extends Cache {
      */
     public Set<ImmutablePair<Flow, Flow>> getFlowsWithAffectedPath(PortInfoData portData) {
         PathNode node = new PathNode(portData.getSwitchId(), portData.getPortNo(), 0);
-        return flowPool.values().stream().filter(flow ->
+        return getIndexedFlows(getFlowsByPathNode(node)).filter(flow ->
                 flow.getLeft().getFlowPath().getPath().contains(node)
                         || flow.getRight().getFlowPath().getPath().contains(node))
                 .collect(Collectors.toSet());
@@ -217,12 +291,12 @@ public class FlowCache extends Cache {
     public Map<String, String> getFlowsWithAffectedEndpoint(String switchId) {
         Map<String, String> response = new HashMap<>();
 
-        for (ImmutablePair<Flow, Flow> flow : flowPool.values()) {
+        getIndexedFlows(flowIndex.getFlowsByEndpointSwitch(switchId)).forEach(flow -> {
             String endpoint = getFlowLinkedEndpoint(flow, switchId);
             if (endpoint != null) {
                 response.put(flow.getLeft().getFlowId(), endpoint);
             }
-        }
+        });
 
         return response;
     }
@@ -246,7 +320,7 @@ public class FlowCache extends Cache {
     public ImmutablePair<Flow, Flow> getFlow(String flowId) {
         logger.debug("Get {} flow", flowId);
 
-        ImmutablePair<Flow, Flow> flow = flowPool.get(flowId);
+        StoredFlow flow = flowPool.get(flowId);
         if (flow == null) {
             // TODO: Is this really an exception? Should we just return null or empty?
             //      Feels like the caller should address this, and anticipate empty.
@@ -254,7 +328,34 @@ public class FlowCache extends Cache {
                     String.format("Flow %s not found", flowId));
         }
 
-        return flow;
+        return flow.getFlow();
+    }
+
+    /**
+     * Changes the state of both directions of the flow.
+     *
+     * @param flowId flow id
+     * @param state the new state
+     * @return the flow with the new state
+     */
+    public ImmutablePair<Flow, Flow> updateFlowState(String flowId, FlowState state) {
+        logger.debug("Set {} flow state to {}", flowId, state);
+
+        synchronized (flowIndex) {
+            StoredFlow flow = flowPool.get(flowId);
+            if (flow == null) {
+                throw new CacheException(ErrorType.NOT_FOUND, "Can not update flow state",
+                        String.format("Flow %s not found", flowId));
+            }
+
+            StoredFlow updated = flow.withState(state);
+            flowPool.put(flowId, updated);
+            ImmutablePair<Flow, Flow> updatedFlow = updated.getFlow();
+            if (listener != null) {
+                listener.flowStored(updatedFlow);
+            }
+            return updatedFlow;
+        }
     }
 
 
@@ -273,16 +374,22 @@ public class FlowCache extends Cache {
     public ImmutablePair<Flow, Flow> createFlow(Flow flow, ImmutablePair<PathInfoData, PathInfoData> path) {
         String flowId = flow.getFlowId();
         logger.debug("Create {} flow with {} parameters", flowId, flow);
-        ImmutablePair<Flow, Flow> newFlow = buildFlow(flow, path, resourceCache);
 
-        ImmutablePair<Flow, Flow> oldFlow = flowPool.get(flowId);
-        if (oldFlow != null) {
+        if (flowPool.containsKey(flowId)) {
             throw new CacheException(ErrorType.ALREADY_EXISTS, "Can not create flow",
                     String.format("Flow %s already exists", flowId));
         }
+        reserveBandwidth(flow, path, ErrorType.CREATION_FAILURE, "Can not create flow");
+        ImmutablePair<Flow, Flow> newFlow;
+        try {
+            newFlow = buildFlow(flow, path, resourceCache);
+        } catch (RuntimeException e) {
+            releaseBandwidth(flowId);
+            throw e;
+        }
 
         resourceCache.allocateFlow(newFlow);
-        flowPool.put(flowId, newFlow);
+        storeFlow(flowId, newFlow);
 
         return newFlow;
     }
@@ -298,16 +405,22 @@ public class FlowCache extends Cache {
                                                 ImmutablePair<PathInfoData, PathInfoData> path) {
         String flowId = flow.left.getFlowId();
         logger.debug("Create {} flow with {} parameters", flowId, flow);
-        ImmutablePair<Flow, Flow> newFlow = buildFlow(flow, path, resourceCache);
 
-        ImmutablePair<Flow, Flow> oldFlow = flowPool.get(flowId);
-        if (oldFlow != null) {
+        if (flowPool.containsKey(flowId)) {
             throw new CacheException(ErrorType.ALREADY_EXISTS, "Can not create flow",
                     String.format("Flow %s already exists", flowId));
         }
+        reserveBandwidth(flow.getLeft(), path, ErrorType.CREATION_FAILURE, "Can not create flow");
+        ImmutablePair<Flow, Flow> newFlow;
+        try {
+            newFlow = buildFlow(flow, path, resourceCache);
+        } catch (RuntimeException e) {
+            releaseBandwidth(flowId);
+            throw e;
+        }
 
         resourceCache.allocateFlow(newFlow);
-        flowPool.put(flowId, newFlow);
+        storeFlow(flowId, newFlow);
 
         return newFlow;
     }
@@ -321,13 +434,14 @@ public class FlowCache extends Cache {
     public ImmutablePair<Flow, Flow> deleteFlow(String flowId) {
         logger.debug("Delete {} flow", flowId);
 
-        ImmutablePair<Flow, Flow> flow = flowPool.remove(flowId);
+        ImmutablePair<Flow, Flow> flow = evictFlow(flowId);
         if (flow == null) {
             throw new CacheException(ErrorType.NOT_FOUND, "Can not delete flow",
                     String.format("Flow %s not found", flowId));
         }
 
         resourceCache.deallocateFlow(flow);
+        releaseBandwidth(flowId);
 
         return flow;
     }
@@ -342,17 +456,26 @@ public class FlowCache extends Cache {
     public ImmutablePair<Flow, Flow> updateFlow(Flow flow, ImmutablePair<PathInfoData, PathInfoData> path) {
         String flowId = flow.getFlowId();
         logger.debug("Update {} flow with {} parameters", flowId, flow);
-        ImmutablePair<Flow, Flow> newFlow = buildFlow(flow, path, resourceCache);
 
-        ImmutablePair<Flow, Flow> odlFlow = flowPool.remove(flowId);
-        if (odlFlow == null) {
+        if (!flowPool.containsKey(flowId)) {
             throw new CacheException(ErrorType.NOT_FOUND, "Can not update flow",
                     String.format("Flow %s not found", flowId));
         }
+        ImmutablePair<Flow, Flow> currentFlow = flowPool.get(flowId).getFlow();
+        reserveBandwidth(flow, path, ErrorType.UPDATE_FAILURE, "Can not update flow");
+        ImmutablePair<Flow, Flow> newFlow;
+        try {
+            newFlow = buildFlow(flow, path, resourceCache);
+        } catch (RuntimeException e) {
+            restoreBandwidth(currentFlow);
+            throw e;
+        }
+
+        ImmutablePair<Flow, Flow> odlFlow = evictFlow(flowId);
         resourceCache.deallocateFlow(odlFlow);
 
         resourceCache.allocateFlow(newFlow);
-        flowPool.put(flowId, newFlow);
+        storeFlow(flowId, newFlow);
 
         return newFlow;
     }
@@ -368,21 +491,119 @@ public class FlowCache extends Cache {
                                                 ImmutablePair<PathInfoData, PathInfoData> path) {
         String flowId = flow.getLeft().getFlowId();
         logger.debug("Update {} flow with {} parameters", flowId, flow);
-        ImmutablePair<Flow, Flow> newFlow = buildFlow(flow, path, resourceCache);
 
-        ImmutablePair<Flow, Flow> odlFlow = flowPool.remove(flowId);
-        if (odlFlow == null) {
+        if (!flowPool.containsKey(flowId)) {
             throw new CacheException(ErrorType.NOT_FOUND, "Can not update flow",
                     String.format("Flow %s not found", flowId));
         }
+        ImmutablePair<Flow, Flow> currentFlow = flowPool.get(flowId).getFlow();
+        reserveBandwidth(flow.getLeft(), path, ErrorType.UPDATE_FAILURE, "Can not update flow");
+        ImmutablePair<Flow, Flow> newFlow;
+        try {
+            newFlow = buildFlow(flow, path, resourceCache);
+        } catch (RuntimeException e) {
+            restoreBandwidth(currentFlow);
+            throw e;
+        }
+
+        ImmutablePair<Flow, Flow> odlFlow = evictFlow(flowId);
         resourceCache.deallocateFlow(odlFlow);
 
         resourceCache.allocateFlow(newFlow);
-        flowPool.put(flowId, newFlow);
+        storeFlow(flowId, newFlow);
 
         return newFlow;
     }
 
+    /**
+     * Puts the flow to the pool and the indexes, replacing the previous flow with the same id.
+     */
+    private ImmutablePair<Flow, Flow> storeFlow(String flowId, ImmutablePair<Flow, Flow> flow) {
+        StoredFlow stored = switchIds != null ? CompactFlow.of(flow, switchIds) : new StoredFlow.Plain(flow);
+        synchronized (flowIndex) {
+            StoredFlow previous = flowPool.put(flowId, stored);
+            ImmutablePair<Flow, Flow> previousFlow = previous != null ? previous.getFlow() : null;
+            if (previousFlow != null) {
+                flowIndex.remove(previousFlow);
+            }
+            flowIndex.add(flow);
+            if (listener != null) {
+                listener.flowStored(flow);
+            }
+            return previousFlow;
+        }
+    }
+
+    /**
+     * Removes the flow from the pool and the indexes.
+     */
+    private ImmutablePair<Flow, Flow> evictFlow(String flowId) {
+        synchronized (flowIndex) {
+            StoredFlow stored = flowPool.remove(flowId);
+            if (stored == null) {
+                return null;
+            }
+            ImmutablePair<Flow, Flow> flow = stored.getFlow();
+            flowIndex.remove(flow);
+            if (listener != null) {
+                listener.flowRemoved(flowId);
+            }
+            return flow;
+        }
+    }
+
+    /**
+     * Resolves the flow ids found in the index. The index only narrows the search, the callers still check the
+     * flows, so a flow changed after the lookup is not returned by mistake.
+     */
+    private Stream<ImmutablePair<Flow, Flow>> getIndexedFlows(Set<String> flowIds) {
+        return flowIds.stream()
+                .map(flowPool::get)
+                .filter(Objects::nonNull)
+                .map(StoredFlow::getFlow);
+    }
+
+    private Set<String> getFlowsByPathNode(PathNode node) {
+        return flowIndex.getFlowsByPathNode(node.getSwitchId(), node.getPortNo());
+    }
+
+    /**
+     * Takes the flow bandwidth on the ISLs of the path, the previous path of the flow gives its bandwidth back.
+     */
+    private void reserveBandwidth(Flow flow, ImmutablePair<PathInfoData, PathInfoData> path, ErrorType errorType,
+                                  String errorMessage) {
+        if (bandwidthLedger == null) {
+            return;
+        }
+        long bandwidth = flow.isIgnoreBandwidth() ? 0 : flow.getBandwidth();
+        if (!bandwidthLedger.reserve(flow.getFlowId(), bandwidth, path)) {
+            throw new CacheException(errorType, errorMessage,
+                    String.format("Not enough bandwidth for flow %s on its path", flow.getFlowId()));
+        }
+    }
+
+    /**
+     * Takes the bandwidth of the current path of the flow back, after its update failed.
+     */
+    private void restoreBandwidth(ImmutablePair<Flow, Flow> flow) {
+        if (bandwidthLedger == null) {
+            return;
+        }
+        Flow forward = flow.getLeft();
+        long bandwidth = forward.isIgnoreBandwidth() ? 0 : forward.getBandwidth();
+        ImmutablePair<PathInfoData, PathInfoData> path = new ImmutablePair<>(
+                forward.getFlowPath(), flow.getRight().getFlowPath());
+        if (!bandwidthLedger.reserve(forward.getFlowId(), bandwidth, path)) {
+            logger.warn("Could not restore bandwidth reservation of flow {}", forward.getFlowId());
+        }
+    }
+
+    private void releaseBandwidth(String flowId) {
+        if (bandwidthLedger != null) {
+            bandwidthLedger.release(flowId);
+        }
+    }
+
     /**
      * Gets all flows.
      *
@@ -390,7 +611,46 @@ public class FlowCache extends Cache {
      */
     public Set<ImmutablePair<Flow, Flow>> dumpFlows() {
         logger.debug("Get all flows");
-        return new HashSet<>(flowPool.values());
+        return flowPool.values().stream()
+                .map(StoredFlow::getFlow)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Gets the flows in the state. All flows are checked, a large pool is scanned in parallel by its partitions and
+     * only the matching flows are built.
+     *
+     * @param state the flow state
+     * @return the flows whose forward flow is in the state
+     */
+    public Set<ImmutablePair<Flow, Flow>> getFlowsWithState(FlowState state) {
+        logger.debug("Get flows in {} state", state);
+
+        Set<ImmutablePair<Flow, Flow>> flows = ConcurrentHashMap.newKeySet();
+        flowPool.forEachValue(PARALLELISM_THRESHOLD, stored -> {
+            if (stored.getState() == state) {
+                flows.add(stored.getFlow());
+            }
+        });
+        return flows;
+    }
+
+    /**
+     * Gets the digest of the cached flows for the flow cache sync.
+     *
+     * @param bucketCount the number of the digest buckets
+     * @return the digest of all cached half-flows
+     */
+    public FlowSyncDigest getSyncDigest(int bucketCount) {
+        FlowSyncDigest digest = new FlowSyncDigest(bucketCount);
+        for (StoredFlow stored : flowPool.values()) {
+            ImmutablePair<Flow, Flow> flow = stored.getFlow();
+            digest.add(flow.getLeft());
+            if (flow.getRight() != null) {
+                digest.add(flow.getRight());
+            }
+        }
+        return digest;
     }
 
     /**
@@ -476,6 +736,8 @@ public class FlowCache extends Cache {
         setBandwidthAndMeter(forwardBuilder, flow.getLeft().getBandwidth(), false,
                 () -> cache.allocateMeterId(flow.getLeft().getSourceSwitch(), flow.getLeft().getMeterId()));
         Flow forward = forwardBuilder.build();
+        forward.setPathComputationStrategy(flow.getLeft().getPathComputationStrategy());
+        forward.setMaxLatency(flow.getLeft().getMaxLatency());
 
         Flow.FlowBuilder reverseBuilder = Flow.builder()
                 .flowId(flow.getRight().getFlowId())
@@ -494,7 +756,8 @@ public class FlowCache extends Cache {
         setBandwidthAndMeter(reverseBuilder, flow.getRight().getBandwidth(), false,
                 () -> cache.allocateMeterId(flow.getRight().getSourceSwitch(), flow.getRight().getMeterId()));
         Flow reverse = reverseBuilder.build();
-
+        reverse.setPathComputationStrategy(flow.getRight().getPathComputationStrategy());
+        reverse.setMaxLatency(flow.getRight().getMaxLatency());
 
         return new ImmutablePair<>(forward, reverse);
     }
@@ -523,6 +786,11 @@ public class FlowCache extends Cache {
             reverseVlan = cache.allocateVlanId();
         }
 
+        // the meters of both directions are taken at once, unmetered flows get none
+        ImmutablePair<Integer, Integer> meters = flow.getBandwidth() > 0
+                ? cache.allocateMeterIds(flow.getSourceSwitch(), flow.getDestinationSwitch())
+                : null;
+
         Flow.FlowBuilder forwardBuilder = Flow.builder()
                 .flowId(flow.getFlowId())
                 .cookie(cookie | ResourceCache.FORWARD_FLOW_COOKIE_MASK)
@@ -538,8 +806,10 @@ public class FlowCache extends Cache {
                 .flowPath(path.getLeft())
                 .state(FlowState.ALLOCATED);
         setBandwidthAndMeter(forwardBuilder, flow.getBandwidth(), flow.isIgnoreBandwidth(),
-                () -> cache.allocateMeterId(flow.getSourceSwitch()));
+                () -> meters.getLeft());
         Flow forward = forwardBuilder.build();
+        forward.setPathComputationStrategy(flow.getPathComputationStrategy());
+        forward.setMaxLatency(flow.getMaxLatency());
 
         Flow.FlowBuilder reverseBuilder = Flow.builder()
                 .flowId(flow.getFlowId())
@@ -556,8 +826,10 @@ public class FlowCache extends Cache {
                 .flowPath(path.getRight())
                 .state(FlowState.ALLOCATED);
         setBandwidthAndMeter(reverseBuilder, flow.getBandwidth(), flow.isIgnoreBandwidth(),
-                () -> cache.allocateMeterId(flow.getDestinationSwitch()));
+                () -> meters.getRight());
         Flow reverse = reverseBuilder.build();
+        reverse.setPathComputationStrategy(flow.getPathComputationStrategy());
+        reverse.setMaxLatency(flow.getMaxLatency());
 
         return new ImmutablePair<>(forward, reverse);
     }
@@ -620,7 +892,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<Flow> getFlowsForEndpoint(String switchId, int port) {
-        return flowPool.values().stream()
+        return getIndexedFlows(flowIndex.getFlowsByEndpoint(switchId, port))
                 .flatMap(pair -> Stream.of(pair.getLeft(), pair.getRight()))
                 .filter(flow -> flow.getSourceSwitch().equals(switchId) && flow.getSourcePort() == port
                         || flow.getDestinationSwitch().equals(switchId) && flow.getDestinationPort() == port)
@@ -640,7 +912,7 @@ public class FlowCache extends Cache {
      * @return set of flows
      */
     public Set<Flow> getFlowsForEndpoint(String switchId, int port, int vlan) {
-        return flowPool.values().stream()
+        return getIndexedFlows(flowIndex.getFlowsByEndpoint(switchId, port, vlan))
                 .flatMap(pair -> Stream.of(pair.getLeft(), pair.getRight()))
                 .filter(flow -> flow.getSourceSwitch().equals(switchId) && flow.getSourcePort() == port
                         && (flow.getSourceVlan() == vlan || flow.getSourceVlan() == 0)
@@ -654,7 +926,7 @@ public class FlowCache extends Cache {
      * Gets flow pairs which have source or destination is on the switch.
      */
     public Set<ImmutablePair<Flow, Flow>> getIngressAndEgressFlows(String switchId) {
-        return flowPool.values().stream()
+        return getIndexedFlows(flowIndex.getFlowsByEndpointSwitch(switchId))
                 .filter(flowPair -> Objects.nonNull(getFlowLinkedEndpoint(flowPair, switchId)))
                 .collect(Collectors.toSet());
     }
@@ -679,7 +951,7 @@ public class FlowCache extends Cache {
     public String toString() {
         return MoreObjects.toStringHelper(this)
                 .add("resources", resourceCache)
-                .add("flows", flowPool)
+                .add("flows", dumpFlows())
                 .toString();
     }
 }
@@ -0,0 +1,45 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+
+/**
+ * Gets the changes of the {@link FlowCache} pool, e.g. to persist them. The calls are made in the order the pool is
+ * changed, while the pool is locked, so they should be short.
+ */
+public interface FlowCacheListener {
+    /**
+     * The flow is put to the pool, replacing the previous flow with the same id.
+     *
+     * @param flow forward and reverse flows
+     */
+    void flowStored(ImmutablePair<Flow, Flow> flow);
+
+    /**
+     * The flow is removed from the pool.
+     *
+     * @param flowId the flow id
+     */
+    void flowRemoved(String flowId);
+
+    /**
+     * All flows are removed from the pool.
+     */
+    void flowsCleared();
+}
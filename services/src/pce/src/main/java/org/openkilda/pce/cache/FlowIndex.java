@@ -0,0 +1,181 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Secondary indexes of the {@link FlowCache}, they map switches, path nodes and endpoints to the ids of the flows.
+ *
+ * <p>A lookup returns a copy of the flow ids, so the cost of an affected flow query depends on the number of the
+ * matching flows, not on the number of the cached flows. The caller keeps the index in sync with its flow pool.</p>
+ */
+final class FlowIndex {
+    /**
+     * Key = switch id, value = flows with the switch in the path of any direction or as the one switch flow endpoint.
+     */
+    private final Map<String, Set<String>> bySwitch = new HashMap<>();
+
+    /**
+     * Key = {@link #makeKey(String, int)} of a path node, value = flows going through the switch port. The source
+     * node of an ISL identifies it, so this also is the ISL index.
+     */
+    private final Map<String, Set<String>> byPathNode = new HashMap<>();
+
+    /**
+     * Key = switch id, value = flows with an endpoint on the switch.
+     */
+    private final Map<String, Set<String>> byEndpointSwitch = new HashMap<>();
+
+    /**
+     * Key = {@link #makeKey(String, int)} of an endpoint, value = flows by the endpoint vlan.
+     */
+    private final Map<String, Map<Integer, Set<String>>> byEndpoint = new HashMap<>();
+
+    /**
+     * Adds the flow to the indexes.
+     *
+     * @param flow the flow
+     */
+    synchronized void add(ImmutablePair<Flow, Flow> flow) {
+        String flowId = flow.getLeft().getFlowId();
+        for (Flow half : new Flow[] {flow.getLeft(), flow.getRight()}) {
+            for (PathNode node : getPath(half)) {
+                put(bySwitch, node.getSwitchId(), flowId);
+                put(byPathNode, makeKey(node.getSwitchId(), node.getPortNo()), flowId);
+            }
+            if (half.isOneSwitchFlow()) {
+                put(bySwitch, half.getSourceSwitch(), flowId);
+            }
+            put(byEndpointSwitch, half.getSourceSwitch(), flowId);
+            put(byEndpointSwitch, half.getDestinationSwitch(), flowId);
+            put(byEndpoint.computeIfAbsent(makeKey(half.getSourceSwitch(), half.getSourcePort()),
+                    key -> new HashMap<>()), half.getSourceVlan(), flowId);
+            put(byEndpoint.computeIfAbsent(makeKey(half.getDestinationSwitch(), half.getDestinationPort()),
+                    key -> new HashMap<>()), half.getDestinationVlan(), flowId);
+        }
+    }
+
+    /**
+     * Removes the flow from the indexes.
+     *
+     * @param flow the flow, exactly as it was added
+     */
+    synchronized void remove(ImmutablePair<Flow, Flow> flow) {
+        String flowId = flow.getLeft().getFlowId();
+        for (Flow half : new Flow[] {flow.getLeft(), flow.getRight()}) {
+            for (PathNode node : getPath(half)) {
+                drop(bySwitch, node.getSwitchId(), flowId);
+                drop(byPathNode, makeKey(node.getSwitchId(), node.getPortNo()), flowId);
+            }
+            drop(bySwitch, half.getSourceSwitch(), flowId);
+            drop(byEndpointSwitch, half.getSourceSwitch(), flowId);
+            drop(byEndpointSwitch, half.getDestinationSwitch(), flowId);
+            dropEndpoint(makeKey(half.getSourceSwitch(), half.getSourcePort()), half.getSourceVlan(), flowId);
+            dropEndpoint(makeKey(half.getDestinationSwitch(), half.getDestinationPort()), half.getDestinationVlan(),
+                    flowId);
+        }
+    }
+
+    synchronized void clear() {
+        bySwitch.clear();
+        byPathNode.clear();
+        byEndpointSwitch.clear();
+        byEndpoint.clear();
+    }
+
+    synchronized Set<String> getFlowsBySwitch(String switchId) {
+        return copy(bySwitch.get(switchId));
+    }
+
+    synchronized Set<String> getFlowsByPathNode(String switchId, int port) {
+        return copy(byPathNode.get(makeKey(switchId, port)));
+    }
+
+    synchronized Set<String> getFlowsByEndpointSwitch(String switchId) {
+        return copy(byEndpointSwitch.get(switchId));
+    }
+
+    /**
+     * Gets flows with an endpoint on the switch port, any vlan.
+     */
+    synchronized Set<String> getFlowsByEndpoint(String switchId, int port) {
+        Set<String> result = new HashSet<>();
+        byEndpoint.getOrDefault(makeKey(switchId, port), Collections.emptyMap()).values().forEach(result::addAll);
+        return result;
+    }
+
+    /**
+     * Gets flows with an endpoint on the switch port with the vlan or with no vlan.
+     */
+    synchronized Set<String> getFlowsByEndpoint(String switchId, int port, int vlan) {
+        Map<Integer, Set<String>> byVlan = byEndpoint.getOrDefault(makeKey(switchId, port), Collections.emptyMap());
+        Set<String> result = copy(byVlan.get(vlan));
+        result.addAll(byVlan.getOrDefault(0, Collections.emptySet()));
+        return result;
+    }
+
+    private static Collection<PathNode> getPath(Flow flow) {
+        PathInfoData path = flow.getFlowPath();
+        if (path == null || path.getPath() == null) {
+            return Collections.emptyList();
+        }
+        return path.getPath();
+    }
+
+    private static <K> void put(Map<K, Set<String>> index, K key, String flowId) {
+        index.computeIfAbsent(key, k -> new HashSet<>()).add(flowId);
+    }
+
+    private static <K> void drop(Map<K, Set<String>> index, K key, String flowId) {
+        Set<String> flows = index.get(key);
+        if (flows != null) {
+            flows.remove(flowId);
+            if (flows.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private void dropEndpoint(String endpoint, int vlan, String flowId) {
+        Map<Integer, Set<String>> byVlan = byEndpoint.get(endpoint);
+        if (byVlan != null) {
+            drop(byVlan, vlan, flowId);
+            if (byVlan.isEmpty()) {
+                byEndpoint.remove(endpoint);
+            }
+        }
+    }
+
+    private static Set<String> copy(Set<String> flows) {
+        return flows == null ? new HashSet<>() : new HashSet<>(flows);
+    }
+
+    private static String makeKey(String switchId, int port) {
+        return switchId + "_" + port;
+    }
+}
@@ -29,11 +29,11 @@ import com.google.common.graph.NetworkBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 public class NetworkCache extends Cache {
     /**
@@ -60,6 +60,21 @@ public class NetworkCache extends Cache {
      */
     private final Map<String, IslInfoData> islPool = new ConcurrentHashMap<>();
 
+    /**
+     * All switches and ISLs, the dumps are read-only views of them.
+     */
+    private final Set<SwitchInfoData> switches = ConcurrentHashMap.newKeySet();
+    private final Set<IslInfoData> isls = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Switches by state and by controller, ISLs by source and by destination switch id. The sets are kept once
+     * created, so the views given away stay live.
+     */
+    private final Map<SwitchState, Set<SwitchInfoData>> switchesByState = new ConcurrentHashMap<>();
+    private final Map<String, Set<SwitchInfoData>> switchesByController = new ConcurrentHashMap<>();
+    private final Map<String, Set<IslInfoData>> islsBySource = new ConcurrentHashMap<>();
+    private final Map<String, Set<IslInfoData>> islsByDestination = new ConcurrentHashMap<>();
+
     /**
      * Fills cache.
      *
@@ -84,9 +99,9 @@ public class NetworkCache extends Cache {
     public Set<IslInfoData> getIslsBySource(String switchId) {
         logger.debug("Get all isls by source switch {}", switchId);
 
-        SwitchInfoData startNode = getSwitch(switchId);
+        getSwitch(switchId);
 
-        return network.outEdges(startNode);
+        return view(islsBySource, switchId);
     }
 
     /**
@@ -99,9 +114,9 @@ public class NetworkCache extends Cache {
     public Set<IslInfoData> getIslsByDestination(String switchId) {
         logger.debug("Get all isls by destination switch {}", switchId);
 
-        SwitchInfoData endNode = getSwitch(switchId);
+        getSwitch(switchId);
 
-        return network.inEdges(endNode);
+        return view(islsByDestination, switchId);
     }
 
     /**
@@ -123,28 +138,24 @@ public class NetworkCache extends Cache {
      * Gets all {@link SwitchInfoData} instances in specified {@link SwitchState} state.
      *
      * @param state {@link SwitchState} state
-     * @return {@link Set} of {@link SwitchInfoData} instances
+     * @return read-only {@link Set} view of {@link SwitchInfoData} instances
      */
     public Set<SwitchInfoData> getStateSwitches(SwitchState state) {
         logger.debug("Get all switches in {} state", state);
 
-        return network.nodes().stream()
-                .filter(sw -> sw.getState() == state)
-                .collect(Collectors.toSet());
+        return view(switchesByState, state);
     }
 
     /**
      * Gets all {@link SwitchInfoData} instances with specified controller ip address.
      *
      * @param controller controller ip address
-     * @return {@link Set} of {@link SwitchInfoData} instances
+     * @return read-only {@link Set} view of {@link SwitchInfoData} instances
      */
     public Set<SwitchInfoData> getControllerSwitches(String controller) {
         logger.debug("Get all switches connected to {} controller", controller);
 
-        return network.nodes().stream()
-                .filter(sw -> sw.getController().equals(controller))
-                .collect(Collectors.toSet());
+        return view(switchesByController, controller);
     }
 
     /**
@@ -168,9 +179,15 @@ public class NetworkCache extends Cache {
     public void clear() {
         islPool.values().forEach(network::removeEdge);
         islPool.clear();
+        isls.clear();
+        islsBySource.values().forEach(Set::clear);
+        islsByDestination.values().forEach(Set::clear);
 
         switchPool.values().forEach(network::removeNode);
         switchPool.clear();
+        switches.clear();
+        switchesByState.values().forEach(Set::clear);
+        switchesByController.values().forEach(Set::clear);
     }
 
     /**
@@ -214,6 +231,7 @@ public class NetworkCache extends Cache {
 
         network.addNode(newSwitch);
         switchPool.put(switchId, newSwitch);
+        indexSwitch(newSwitch);
 
         return newSwitch;
     }
@@ -238,9 +256,17 @@ public class NetworkCache extends Cache {
         newSwitch.copyTimeTag(oldSwitch);
         newSwitch.setUpdatedInCacheNow();
 
+        // removing the node removes its ISLs from the network, they are added back to the new node
+        Set<IslInfoData> incidentIsls = new HashSet<>(network.incidentEdges(oldSwitch));
         network.removeNode(oldSwitch);
         network.addNode(newSwitch);
+        unindexSwitch(oldSwitch);
         switchPool.put(switchId, newSwitch);
+        indexSwitch(newSwitch);
+        for (IslInfoData isl : incidentIsls) {
+            EndpointPair<SwitchInfoData> nodes = getIslSwitches(isl);
+            network.addEdge(nodes.source(), nodes.target(), isl);
+        }
 
         return newSwitch;
     }
@@ -282,7 +308,14 @@ public class NetworkCache extends Cache {
                     String.format("SimpleSwitch %s not found", switchId));
         }
 
+        // the ISLs of the switch go away from the network with its node, so they go away from the pool too
+        for (IslInfoData isl : new HashSet<>(network.incidentEdges(node))) {
+            if (islPool.remove(isl.getId(), isl)) {
+                unindexIsl(isl);
+            }
+        }
         network.removeNode(node);
+        unindexSwitch(node);
 
         return node;
     }
@@ -290,12 +323,12 @@ public class NetworkCache extends Cache {
     /**
      * Gets all {@link SwitchInfoData} instances.
      *
-     * @return {@link Set} of {@link SwitchInfoData} instances
+     * @return read-only {@link Set} view of {@link SwitchInfoData} instances
      */
     public Set<SwitchInfoData> dumpSwitches() {
         logger.debug("Get all switches");
 
-        return new HashSet<>(network.nodes());
+        return Collections.unmodifiableSet(switches);
     }
 
     /**
@@ -361,7 +394,12 @@ public class NetworkCache extends Cache {
         EndpointPair<SwitchInfoData> nodes = getIslSwitches(isl);
         network.addEdge(nodes.source(), nodes.target(), isl);
 
-        return islPool.put(islId, isl);
+        IslInfoData oldIsl = islPool.put(islId, isl);
+        if (oldIsl != null) {
+            unindexIsl(oldIsl);
+        }
+        indexIsl(isl);
+        return oldIsl;
     }
 
     /**
@@ -377,6 +415,7 @@ public class NetworkCache extends Cache {
 
         IslInfoData oldIsl = islPool.get(islId);
         network.removeEdge(oldIsl);
+        unindexIsl(oldIsl);
 
         isl.copyTimeTag(oldIsl);
         isl.setUpdatedInCacheNow();
@@ -384,6 +423,7 @@ public class NetworkCache extends Cache {
         EndpointPair<SwitchInfoData> nodes = getIslSwitches(isl);
         network.addEdge(nodes.source(), nodes.target(), isl);
 
+        indexIsl(isl);
         return islPool.put(islId, isl);
     }
 
@@ -425,6 +465,7 @@ public class NetworkCache extends Cache {
         }
 
         network.removeEdge(isl);
+        unindexIsl(isl);
 
         return isl;
     }
@@ -432,12 +473,12 @@ public class NetworkCache extends Cache {
     /**
      * Gets all {@link IslInfoData} instances.
      *
-     * @return {@link Set} of {@link IslInfoData} instances
+     * @return read-only {@link Set} view of {@link IslInfoData} instances
      */
     public Set<IslInfoData> dumpIsls() {
         logger.debug("Get all isls");
 
-        return new HashSet<>(network.edges());
+        return Collections.unmodifiableSet(isls);
     }
 
     /**
@@ -489,6 +530,51 @@ public class NetworkCache extends Cache {
         return EndpointPair.ordered(startNode, endNode);
     }
 
+    private void indexSwitch(SwitchInfoData sw) {
+        switches.add(sw);
+        if (sw.getState() != null) {
+            switchesByState.computeIfAbsent(sw.getState(), state -> ConcurrentHashMap.newKeySet()).add(sw);
+        }
+        if (sw.getController() != null) {
+            switchesByController.computeIfAbsent(sw.getController(), controller -> ConcurrentHashMap.newKeySet())
+                    .add(sw);
+        }
+    }
+
+    private void unindexSwitch(SwitchInfoData sw) {
+        switches.remove(sw);
+        if (sw.getState() != null) {
+            switchesByState.getOrDefault(sw.getState(), Collections.emptySet()).remove(sw);
+        }
+        if (sw.getController() != null) {
+            switchesByController.getOrDefault(sw.getController(), Collections.emptySet()).remove(sw);
+        }
+    }
+
+    private void indexIsl(IslInfoData isl) {
+        isls.add(isl);
+        islsBySource.computeIfAbsent(isl.getPath().get(0).getSwitchId(), switchId -> ConcurrentHashMap.newKeySet())
+                .add(isl);
+        islsByDestination.computeIfAbsent(isl.getPath().get(1).getSwitchId(), switchId -> ConcurrentHashMap.newKeySet())
+                .add(isl);
+    }
+
+    private void unindexIsl(IslInfoData isl) {
+        isls.remove(isl);
+        islsBySource.getOrDefault(isl.getPath().get(0).getSwitchId(), Collections.emptySet()).remove(isl);
+        islsByDestination.getOrDefault(isl.getPath().get(1).getSwitchId(), Collections.emptySet()).remove(isl);
+    }
+
+    /**
+     * Gets the read-only view of the index set, the set is created if there is none yet, so the view stays live.
+     */
+    private static <K, V> Set<V> view(Map<K, Set<V>> index, K key) {
+        if (key == null) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()));
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this)
@@ -0,0 +1,195 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.provider.PathComputer.Strategy;
+
+import com.google.common.base.MoreObjects;
+import lombok.Value;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded LRU cache of computed paths. Flows between the same switches with the same strategy, latency limit and
+ * bandwidth get the same path, as long as the topology generation stays the same.
+ *
+ * <p>A path is cached with the generation of the {@link TopologyCache} it was computed on, a newer generation drops
+ * all entries. The generation changes when bandwidth is released, so a path chosen while a better one was saturated
+ * is not kept. It doesn't change on bandwidth reservations, so every hit is checked by the caller that the path
+ * still has the bandwidth, see {@link #get(Flow, Strategy, long, Predicate)}.</p>
+ */
+public class PathCache extends Cache {
+    private final int capacity;
+    private final Map<Key, ImmutablePair<PathInfoData, PathInfoData>> paths;
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Instance constructor.
+     *
+     * @param capacity the maximum number of cached paths
+     */
+    public PathCache(int capacity) {
+        this.capacity = capacity;
+        this.paths = new LinkedHashMap<Key, ImmutablePair<PathInfoData, PathInfoData>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ImmutablePair<PathInfoData, PathInfoData>> eldest) {
+                if (size() > PathCache.this.capacity) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cached path.
+     *
+     * @param flow the flow
+     * @param strategy path computation strategy
+     * @param topologyGeneration current topology generation
+     * @param isUsable checks the cached path against current state of the network, e.g. available bandwidth
+     * @return copy of the path or null if there is no usable path in the cache
+     */
+    public synchronized ImmutablePair<PathInfoData, PathInfoData> get(
+            Flow flow, Strategy strategy, long topologyGeneration,
+            Predicate<ImmutablePair<PathInfoData, PathInfoData>> isUsable) {
+        switchGeneration(topologyGeneration);
+
+        ImmutablePair<PathInfoData, PathInfoData> path = paths.get(Key.of(flow, strategy));
+        if (path == null || !isUsable.test(path)) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(path);
+    }
+
+    /**
+     * Puts the path into the cache.
+     *
+     * @param flow the flow
+     * @param strategy path computation strategy
+     * @param topologyGeneration topology generation the path was computed on
+     * @param path the path
+     */
+    public synchronized void put(Flow flow, Strategy strategy, long topologyGeneration,
+                                 ImmutablePair<PathInfoData, PathInfoData> path) {
+        switchGeneration(topologyGeneration);
+        if (topologyGeneration == generation) {
+            paths.put(Key.of(flow, strategy), copy(path));
+        }
+    }
+
+    /**
+     * Drops all cached paths.
+     */
+    public synchronized void invalidate() {
+        paths.clear();
+    }
+
+    public synchronized int size() {
+        return paths.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Gets the cache statistics.
+     *
+     * @return hits, misses, evictions and size of the cache
+     */
+    public synchronized Map<String, Long> getStatistics() {
+        Map<String, Long> statistics = new HashMap<>();
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        statistics.put("evictions", evictions);
+        statistics.put("size", (long) paths.size());
+        return statistics;
+    }
+
+    private void switchGeneration(long topologyGeneration) {
+        if (topologyGeneration > generation) {
+            paths.clear();
+            generation = topologyGeneration;
+        }
+    }
+
+    private static ImmutablePair<PathInfoData, PathInfoData> copy(ImmutablePair<PathInfoData, PathInfoData> path) {
+        return new ImmutablePair<>(copy(path.getLeft()), copy(path.getRight()));
+    }
+
+    private static PathInfoData copy(PathInfoData path) {
+        List<PathNode> nodes = path.getPath().stream()
+                .map(PathNode::new)
+                .collect(Collectors.toList());
+        return new PathInfoData(path.getLatency(), nodes);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("capacity", capacity)
+                .add("generation", generation)
+                .add("size", paths.size())
+                .add("hits", hits)
+                .add("misses", misses)
+                .add("evictions", evictions)
+                .toString();
+    }
+
+    @Value
+    private static class Key {
+        private String srcSwitch;
+        private String dstSwitch;
+        private Strategy strategy;
+        private long maxLatency;
+        private boolean ignoreBandwidth;
+        private long bandwidth;
+
+        static Key of(Flow flow, Strategy strategy) {
+            long bandwidth = flow.isIgnoreBandwidth() ? 0 : flow.getBandwidth();
+            return new Key(flow.getSourceSwitch(), flow.getDestinationSwitch(), strategy, flow.getMaxLatency(),
+                    flow.isIgnoreBandwidth(), bandwidth);
+        }
+    }
+}
@@ -28,6 +28,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -111,8 +112,8 @@ public class ResourceCache extends Cache {
      * Clears allocated resources.
      */
     public void clear() {
-        cookiePool.dumpPool().forEach(cookiePool::deallocate);
-        vlanPool.dumpPool().forEach(vlanPool::deallocate);
+        cookiePool.deallocate(cookiePool.dumpPool());
+        vlanPool.deallocate(vlanPool.dumpPool());
         meterPool.clear();
     }
 
@@ -190,8 +191,8 @@ public class ResourceCache extends Cache {
      * @param switchId switch id
      * @return allocated meter id value
      */
-    public synchronized Integer allocateMeterId(String switchId) {
-        return meterPool.computeIfAbsent(switchId, k -> new ResourcePool(MIN_METER_ID, MAX_METER_ID)).allocate();
+    public Integer allocateMeterId(String switchId) {
+        return withMeterPool(switchId, ResourcePool::allocate);
     }
 
     /**
@@ -201,17 +202,32 @@ public class ResourceCache extends Cache {
      * @param meterId  meter id value
      * @return allocated meter id value
      */
-    public synchronized Integer allocateMeterId(String switchId, Integer meterId) {
+    public Integer allocateMeterId(String switchId, Integer meterId) {
         if (meterId == 0) {
-            return meterPool.computeIfAbsent(switchId, k -> new ResourcePool(MIN_METER_ID, MAX_METER_ID))
-                    .allocate();
+            return withMeterPool(switchId, ResourcePool::allocate);
         } else {
-            meterPool.computeIfAbsent(switchId, k -> new ResourcePool(MIN_METER_ID, MAX_METER_ID))
-                    .allocate(meterId);
+            withMeterPool(switchId, pool -> pool.allocate(meterId));
             return meterId;
         }
     }
 
+    /**
+     * Allocates the meters of both directions of a flow, all or nothing.
+     *
+     * @param forwardSwitchId source switch of the forward flow
+     * @param reverseSwitchId source switch of the reverse flow
+     * @return allocated meter ids, forward and reverse
+     */
+    public ImmutablePair<Integer, Integer> allocateMeterIds(String forwardSwitchId, String reverseSwitchId) {
+        Integer forward = withMeterPool(forwardSwitchId, ResourcePool::allocate);
+        try {
+            return new ImmutablePair<>(forward, withMeterPool(reverseSwitchId, ResourcePool::allocate));
+        } catch (ArrayIndexOutOfBoundsException e) {
+            deallocateMeterId(forwardSwitchId, forward);
+            throw e;
+        }
+    }
+
     /**
      * Deallocates meter id.
      *
@@ -219,9 +235,13 @@ public class ResourceCache extends Cache {
      * @param meterId meter id value
      * @return deallocated meter id value or null if value was not allocated earlier
      */
-    public synchronized Integer deallocateMeterId(String switchId, Integer meterId) {
-        ResourcePool switchMeterPool = meterPool.get(switchId);
-        return switchMeterPool != null ? switchMeterPool.deallocate(meterId) : null;
+    public Integer deallocateMeterId(String switchId, Integer meterId) {
+        Integer[] deallocated = new Integer[1];
+        meterPool.computeIfPresent(switchId, (id, pool) -> {
+            deallocated[0] = pool.deallocate(meterId);
+            return pool;
+        });
+        return deallocated[0];
     }
 
     /**
@@ -230,11 +250,26 @@ public class ResourceCache extends Cache {
      * @param switchId switch id
      * @return deallocated meter id values
      */
-    public synchronized Set<Integer> deallocateMeterId(String switchId) {
+    public Set<Integer> deallocateMeterId(String switchId) {
         ResourcePool switchMeterPool = meterPool.remove(switchId);
         return switchMeterPool != null ? switchMeterPool.dumpPool() : null;
     }
 
+    /**
+     * Runs the action on the meter pool of the switch, the pool is created if needed. The pool of the switch is locked
+     * during the action, so it can't be removed with {@link #deallocateMeterId(String)} in the meantime and lose the
+     * allocated meter. Meters of different switches are still allocated concurrently.
+     */
+    private Integer withMeterPool(String switchId, Function<ResourcePool, Integer> action) {
+        Integer[] result = new Integer[1];
+        meterPool.compute(switchId, (id, pool) -> {
+            ResourcePool switchPool = pool != null ? pool : new ResourcePool(MIN_METER_ID, MAX_METER_ID);
+            result[0] = action.apply(switchPool);
+            return switchPool;
+        });
+        return result[0];
+    }
+
     /**
      * Gets all allocated cookie values.
      *
@@ -0,0 +1,81 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowState;
+
+/**
+ * Flow pair as it is kept in the {@link FlowCache} pool.
+ */
+interface StoredFlow {
+    /**
+     * Gets the flow pair.
+     *
+     * @return forward and reverse flows
+     */
+    ImmutablePair<Flow, Flow> getFlow();
+
+    /**
+     * Changes the state of both flows.
+     *
+     * @param state the new state
+     * @return the flow pair to keep in the pool
+     */
+    StoredFlow withState(FlowState state);
+
+    /**
+     * Gets the state of the forward flow without building the flow objects.
+     *
+     * @return the flow state
+     */
+    FlowState getState();
+
+    /**
+     * Keeps the flow objects as they are.
+     */
+    final class Plain implements StoredFlow {
+        private final ImmutablePair<Flow, Flow> flow;
+
+        Plain(ImmutablePair<Flow, Flow> flow) {
+            this.flow = flow;
+        }
+
+        @Override
+        public ImmutablePair<Flow, Flow> getFlow() {
+            return flow;
+        }
+
+        /**
+         * The flows are changed in place, the callers holding them see the new state, as they always did.
+         */
+        @Override
+        public StoredFlow withState(FlowState state) {
+            flow.getLeft().setState(state);
+            if (flow.getRight() != null) {
+                flow.getRight().setState(state);
+            }
+            return this;
+        }
+
+        @Override
+        public FlowState getState() {
+            return flow.getLeft().getState();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.cache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps switch ids to small ints, so the compact flows keep an int per path node instead of a string.
+ *
+ * <p>Ids are never released, the number of switches is small compared to the number of flows.</p>
+ */
+final class SwitchIdInterner {
+    /**
+     * The code of the absent (null) switch id.
+     */
+    static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] names = new String[64];
+    private int size;
+
+    /**
+     * Gets the code of the switch id, a new code is assigned to an unknown switch.
+     *
+     * @param switchId the switch id, may be null
+     * @return the code
+     */
+    int intern(String switchId) {
+        if (switchId == null) {
+            return NONE;
+        }
+        Integer code = codes.get(switchId);
+        return code != null ? code : register(switchId);
+    }
+
+    /**
+     * Gets the switch id by its code.
+     *
+     * @param code the code returned by {@link #intern(String)}
+     * @return the switch id
+     */
+    String resolve(int code) {
+        return code == NONE ? null : names[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+
+    private synchronized int register(String switchId) {
+        Integer code = codes.get(switchId);
+        if (code != null) {
+            return code;
+        }
+
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = switchId;
+        // the array is published before the code, so a reader that has the code always finds the name
+        names = current;
+        codes.put(switchId, size);
+        return size++;
+    }
+}
@@ -0,0 +1,421 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.model.TopologySnapshot;
+import org.openkilda.pce.model.TopologySnapshot.Link;
+
+import com.google.common.base.MoreObjects;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Long-lived topology snapshot of the PCE. It is loaded once from the database and then kept up to date by the
+ * switch, ISL and port events, so path computations don't have to read the whole graph from Neo4j.
+ *
+ * <p>Writers are serialized, readers get an immutable {@link TopologySnapshot} without any locking.</p>
+ *
+ * <p>It is also the bandwidth ledger of the flow cache: a reservation is checked and applied atomically, so two flows
+ * can't take the last bandwidth of the same ISL.</p>
+ */
+public class TopologyCache extends Cache implements BandwidthLedger {
+    /**
+     * Logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TopologyCache.class);
+
+    /**
+     * Current snapshot, null until the cache is loaded.
+     */
+    private final AtomicReference<TopologySnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Bandwidth reserved by flows. Key = flow id, value = bandwidth by ISL id.
+     */
+    private final Map<String, Map<String, Long>> allocations = new HashMap<>();
+
+    /**
+     * Topology generation, it changes when switches or ISLs go up or down, or the bandwidth is released, but not on
+     * bandwidth reservations.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Checks whether the cache was loaded.
+     *
+     * @return true if the snapshot is available
+     */
+    public boolean isLoaded() {
+        return snapshot.get() != null;
+    }
+
+    /**
+     * Gets current snapshot.
+     *
+     * @return current snapshot or null if the cache is not loaded yet
+     */
+    public TopologySnapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Gets version of current snapshot.
+     *
+     * @return version of the snapshot, or -1 if the cache is not loaded
+     */
+    public long getVersion() {
+        TopologySnapshot current = snapshot.get();
+        return current != null ? current.getVersion() : -1;
+    }
+
+    /**
+     * Gets topology generation. Paths computed within the same generation go over the same switches and ISLs, though
+     * the available bandwidth may be less.
+     *
+     * @return the generation
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Replaces the whole snapshot, e.g. with the data read from the database.
+     *
+     * @param initial new snapshot
+     */
+    public void load(TopologySnapshot initial) {
+        load(initial, Collections.emptyList());
+    }
+
+    /**
+     * Replaces the whole snapshot with the data read from the database. The bandwidth of the given flows is already
+     * accounted in the snapshot, so they are registered as reservations without changing the ISLs.
+     *
+     * @param initial new snapshot
+     * @param accountedFlows flows stored in the database together with the snapshot
+     */
+    public synchronized void load(TopologySnapshot initial, Collection<ImmutablePair<Flow, Flow>> accountedFlows) {
+        logger.info("Topology cache loaded: {}", initial);
+        allocations.clear();
+        for (ImmutablePair<Flow, Flow> flow : accountedFlows) {
+            allocations.put(flow.getLeft().getFlowId(), makeReservation(flow));
+        }
+
+        TopologySnapshot current = snapshot.get();
+        if (current != null && current.getVersion() >= initial.getVersion()) {
+            // keep versions monotonic, so a reload is never mistaken for an older view
+            initial = initial.withVersion(current.getVersion() + 1);
+        }
+        snapshot.set(initial);
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Drops the snapshot, so it will be reloaded on next use.
+     */
+    public synchronized void invalidate() {
+        logger.info("Topology cache invalidated");
+        snapshot.set(null);
+        allocations.clear();
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Applies switch event.
+     *
+     * @param sw switch info
+     */
+    public synchronized void handleSwitchEvent(SwitchInfoData sw) {
+        TopologySnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+
+        boolean wasActive = current.isSwitchActive(sw.getSwitchId());
+        switch (sw.getState()) {
+            case ADDED:
+            case ACTIVATED:
+                snapshot.set(current.withSwitch(sw.getSwitchId(), true));
+                if (!wasActive) {
+                    generation.incrementAndGet();
+                }
+                break;
+            case REMOVED:
+            case DEACTIVATED:
+                snapshot.set(current.withSwitch(sw.getSwitchId(), false));
+                if (wasActive) {
+                    generation.incrementAndGet();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Applies ISL event. The topology engine adds the ISL cost it stored in the database to the event, and sends it
+     * with OTHER_UPDATE when only the cost changes. The bandwidth used by flows is not part of the event, so it is kept
+     * from the previously known state of the ISL, as well as the cost if the event doesn't carry it.
+     *
+     * @param isl isl info
+     */
+    public synchronized void handleIslEvent(IslInfoData isl) {
+        TopologySnapshot current = snapshot.get();
+        if (current == null || isl.isSelfLooped()) {
+            return;
+        }
+
+        Link existing = current.getLink(isl.getId());
+        switch (isl.getState()) {
+            case DISCOVERED:
+                PathNode src = isl.getPath().get(0);
+                PathNode dst = isl.getPath().get(1);
+                long used = existing != null ? existing.getUsedBandwidth() : 0;
+                int cost = getIslCost(isl, existing);
+                Link discovered = Link.builder()
+                        .srcSwitch(src.getSwitchId())
+                        .srcPort(src.getPortNo())
+                        .dstSwitch(dst.getSwitchId())
+                        .dstPort(dst.getPortNo())
+                        .cost(cost)
+                        .latency(isl.getLatency())
+                        .maxBandwidth(isl.getAvailableBandwidth())
+                        .availableBandwidth(isl.getAvailableBandwidth() - used)
+                        .active(true)
+                        .build();
+                snapshot.set(current.withLinks(Collections.singletonList(discovered)));
+                // discovery repeats periodically, only a new or restored ISL or a new cost changes the generation
+                if (existing == null || !existing.isActive() || existing.getCost() != cost) {
+                    generation.incrementAndGet();
+                }
+                break;
+            case OTHER_UPDATE:
+                if (existing != null && isl.getCost() != null && existing.getCost() != isl.getCost()) {
+                    snapshot.set(current.withLinks(
+                            Collections.singletonList(existing.toBuilder().cost(isl.getCost()).build())));
+                    generation.incrementAndGet();
+                }
+                break;
+            case FAILED:
+            case MOVED:
+                if (existing != null) {
+                    snapshot.set(current.withLinks(
+                            Collections.singletonList(existing.toBuilder().active(false).build())));
+                    if (existing.isActive()) {
+                        generation.incrementAndGet();
+                    }
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Applies port event. ISLs that start or end on the port which went down become inactive.
+     *
+     * @param port port info
+     */
+    public synchronized void handlePortEvent(PortInfoData port) {
+        TopologySnapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+
+        switch (port.getState()) {
+            case DOWN:
+            case DELETE:
+                List<Link> affected = new ArrayList<>();
+                for (Link link : current.getLinks()) {
+                    boolean isSource = link.getSrcSwitch().equals(port.getSwitchId())
+                            && link.getSrcPort() == port.getPortNo();
+                    boolean isDestination = link.getDstSwitch().equals(port.getSwitchId())
+                            && link.getDstPort() == port.getPortNo();
+                    if (link.isActive() && (isSource || isDestination)) {
+                        affected.add(link.toBuilder().active(false).build());
+                    }
+                }
+                if (!affected.isEmpty()) {
+                    snapshot.set(current.withLinks(affected));
+                    generation.incrementAndGet();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Reserves ISL bandwidth for the flow path. The call is idempotent: if the flow already holds a reservation, only
+     * the difference between the old and the new path is applied.
+     *
+     * @param flow flow
+     */
+    public synchronized void allocateFlow(ImmutablePair<Flow, Flow> flow) {
+        if (flow == null || flow.getLeft() == null) {
+            return;
+        }
+        String flowId = flow.getLeft().getFlowId();
+        Map<String, Long> reservation = makeReservation(flow);
+        Map<String, Long> previous = allocations.put(flowId, reservation);
+        if (!reservation.equals(previous)) {
+            releaseReservation(previous);
+            applyReservation(reservation, -1);
+        }
+    }
+
+    /**
+     * Releases ISL bandwidth reserved by the flow.
+     *
+     * @param flowId flow id
+     */
+    public synchronized void deallocateFlow(String flowId) {
+        releaseReservation(allocations.remove(flowId));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Only the bandwidth added to the previous reservation of the flow is checked, so a flow keeps its ISLs even if
+     * they are oversubscribed. ISLs unknown to the snapshot, or all ISLs if the cache is not loaded, are admitted.</p>
+     */
+    @Override
+    public synchronized boolean reserve(String flowId, long bandwidth, ImmutablePair<PathInfoData, PathInfoData> path) {
+        Map<String, Long> reservation = new HashMap<>();
+        if (bandwidth > 0) {
+            addReservation(reservation, path.getLeft(), bandwidth);
+            addReservation(reservation, path.getRight(), bandwidth);
+        }
+        Map<String, Long> previous = allocations.getOrDefault(flowId, Collections.emptyMap());
+
+        TopologySnapshot current = snapshot.get();
+        if (current != null) {
+            for (Map.Entry<String, Long> entry : reservation.entrySet()) {
+                Link link = current.getLink(entry.getKey());
+                long required = entry.getValue() - previous.getOrDefault(entry.getKey(), 0L);
+                if (link != null && required > 0 && link.getAvailableBandwidth() < required) {
+                    logger.info("Not enough bandwidth for flow {} on ISL {}: required {}, available {}",
+                            flowId, entry.getKey(), required, link.getAvailableBandwidth());
+                    return false;
+                }
+            }
+        }
+
+        allocations.put(flowId, reservation);
+        if (!reservation.equals(previous)) {
+            releaseReservation(previous);
+            applyReservation(reservation, -1);
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void release(String flowId) {
+        deallocateFlow(flowId);
+    }
+
+    private Map<String, Long> makeReservation(ImmutablePair<Flow, Flow> flow) {
+        Map<String, Long> reservation = new HashMap<>();
+        for (Flow direction : new Flow[]{flow.getLeft(), flow.getRight()}) {
+            if (direction == null || direction.isIgnoreBandwidth()) {
+                continue;
+            }
+            addReservation(reservation, direction.getFlowPath(), direction.getBandwidth());
+        }
+        return reservation;
+    }
+
+    private void addReservation(Map<String, Long> reservation, PathInfoData path, long bandwidth) {
+        if (path == null) {
+            return;
+        }
+        List<PathNode> nodes = path.getPath();
+        for (int i = 0; i + 1 < nodes.size(); i += 2) {
+            String linkId = Link.makeId(nodes.get(i).getSwitchId(), nodes.get(i).getPortNo());
+            reservation.merge(linkId, bandwidth, Long::sum);
+        }
+    }
+
+    /**
+     * Gives the reserved bandwidth back to the ISLs. A path that didn't fit before may fit now, so the generation
+     * changes and the paths computed before are not reused.
+     */
+    private void releaseReservation(Map<String, Long> reservation) {
+        if (reservation != null && !reservation.isEmpty()) {
+            applyReservation(reservation, 1);
+            generation.incrementAndGet();
+        }
+    }
+
+    private void applyReservation(Map<String, Long> reservation, int sign) {
+        TopologySnapshot current = snapshot.get();
+        if (current == null || reservation == null || reservation.isEmpty()) {
+            return;
+        }
+
+        List<Link> changed = new ArrayList<>(reservation.size());
+        for (Map.Entry<String, Long> entry : reservation.entrySet()) {
+            Link link = current.getLink(entry.getKey());
+            if (link == null) {
+                logger.debug("Bandwidth reservation on unknown ISL {}", entry.getKey());
+                continue;
+            }
+            changed.add(link.toBuilder()
+                    .availableBandwidth(link.getAvailableBandwidth() + sign * entry.getValue())
+                    .build());
+        }
+        if (!changed.isEmpty()) {
+            snapshot.set(current.withLinks(changed));
+        }
+    }
+
+    private int getIslCost(IslInfoData isl, Link existing) {
+        if (isl.getCost() != null) {
+            return isl.getCost();
+        }
+        return existing != null ? existing.getCost() : 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("snapshot", snapshot.get())
+                .add("generation", generation.get())
+                .toString();
+    }
+}
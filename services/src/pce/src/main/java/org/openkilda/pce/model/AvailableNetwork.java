@@ -14,6 +14,8 @@
  */
 package org.openkilda.pce.model;
 
+import org.openkilda.messaging.info.event.PathNode;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -146,6 +148,44 @@ public class AvailableNetwork {
         return this;
     }
 
+    /**
+     * Removes the ISLs of the path in both directions, so the next path found doesn't share links with it.
+     *
+     * @param path the nodes of the path, two per ISL
+     * @param transitSwitches if true, the transit switches of the path are removed as well
+     * @return this
+     */
+    public AvailableNetwork removePath(List<PathNode> path, boolean transitSwitches) {
+        for (int i = 0; i + 1 < path.size(); i += 2) {
+            PathNode src = path.get(i);
+            PathNode dst = path.get(i + 1);
+            removeIsl(new SimpleIsl(src.getSwitchId(), dst.getSwitchId(), src.getPortNo(), dst.getPortNo(), 0, 0));
+            removeIsl(new SimpleIsl(dst.getSwitchId(), src.getSwitchId(), dst.getPortNo(), src.getPortNo(), 0, 0));
+        }
+        if (transitSwitches) {
+            // the odd nodes but the last one are the switches the path goes through
+            for (int i = 1; i + 1 < path.size(); i += 2) {
+                removeSwitch(path.get(i).getSwitchId());
+            }
+        }
+        return this;
+    }
+
+    private void removeIsl(SimpleIsl isl) {
+        SimpleSwitch sw = switches.get(isl.src_dpid);
+        Set<SimpleIsl> isls = sw != null ? sw.outbound.get(isl.dst_dpid) : null;
+        if (isls != null && isls.remove(isl) && isls.isEmpty()) {
+            sw.outbound.remove(isl.dst_dpid);
+        }
+    }
+
+    private void removeSwitch(String dpid) {
+        switches.remove(dpid);
+        for (SimpleSwitch sw : switches.values()) {
+            sw.outbound.remove(dpid);
+        }
+    }
+
     /**
      * Eliminate any self loops (ie src and dst switch is the same.
      *
@@ -0,0 +1,184 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.model;
+
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.model.Flow;
+
+import com.google.common.base.MoreObjects;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * Digest of a set of half-flows for the flow cache sync. Flows are put into buckets by cookie, a bucket keeps the
+ * number of its flows and the sum of their digests, the root combines the buckets. Two sets are compared by the
+ * root first and then bucket by bucket, so only the flows of the divergent buckets have to be fetched.
+ *
+ * <p>The flow digest is the CRC32 of the fields compared by the sync, including the path and the state. The topology
+ * engine stores the same value in the sync_digest property of the flow relationship.</p>
+ */
+public final class FlowSyncDigest {
+    /**
+     * Digest of a flow stored without the sync_digest property, its bucket never matches.
+     */
+    public static final long UNKNOWN = -1;
+
+    private final int bucketCount;
+
+    /**
+     * Key = bucket, value = number of flows and sum of their digests.
+     */
+    private final Map<Long, long[]> buckets = new TreeMap<>();
+
+    public FlowSyncDigest(int bucketCount) {
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * Calculates the flow digest. The path is a list of {@code switch_id:port_no} joined with ',', the state is the
+     * name of the enum, both are empty if not set.
+     *
+     * @param flow the half-flow
+     * @return CRC32 of the fields, joined with '|'
+     */
+    public static long digest(Flow flow) {
+        StringJoiner path = new StringJoiner(",");
+        if (flow.getFlowPath() != null && flow.getFlowPath().getPath() != null) {
+            for (PathNode node : flow.getFlowPath().getPath()) {
+                path.add(node.getSwitchId() + ":" + node.getPortNo());
+            }
+        }
+        String key = String.join("|", flow.getFlowId(), Long.toString(flow.getCookie()),
+                Integer.toString(flow.getMeterId()), Integer.toString(flow.getTransitVlan()),
+                flow.getSourceSwitch(), Integer.toString(flow.getSourcePort()), Integer.toString(flow.getSourceVlan()),
+                flow.getDestinationSwitch(), Integer.toString(flow.getDestinationPort()),
+                Integer.toString(flow.getDestinationVlan()), Integer.toString(flow.getBandwidth()),
+                flow.getState() != null ? flow.getState().name() : "", path.toString());
+
+        CRC32 crc = new CRC32();
+        crc.update(key.getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+
+    /**
+     * Gets the bucket of the cookie. This is the value of {@code cookie % bucketCount} in Cypher, the direction
+     * flags of the cookie are multiples of the bucket count, so both halves of a flow are in the same bucket.
+     */
+    public static long bucket(long cookie, int bucketCount) {
+        return cookie % bucketCount;
+    }
+
+    public long bucket(long cookie) {
+        return bucket(cookie, bucketCount);
+    }
+
+    /**
+     * Adds the half-flow.
+     *
+     * @param flow the half-flow
+     * @return this digest
+     */
+    public FlowSyncDigest add(Flow flow) {
+        return add(flow.getCookie(), digest(flow));
+    }
+
+    /**
+     * Adds the half-flow by its digest.
+     *
+     * @param cookie the cookie of the half-flow
+     * @param digest the digest of the half-flow
+     * @return this digest
+     */
+    public FlowSyncDigest add(long cookie, long digest) {
+        return addBucket(bucket(cookie), 1, digest);
+    }
+
+    /**
+     * Adds the aggregate of a bucket.
+     *
+     * @param bucket the bucket
+     * @param flows the number of half-flows
+     * @param digestSum the sum of their digests
+     * @return this digest
+     */
+    public FlowSyncDigest addBucket(long bucket, long flows, long digestSum) {
+        long[] value = buckets.computeIfAbsent(bucket, key -> new long[2]);
+        value[0] += flows;
+        value[1] += digestSum;
+        return this;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Combines the buckets into a single value.
+     */
+    public long getRoot() {
+        long root = bucketCount;
+        for (Map.Entry<Long, long[]> entry : buckets.entrySet()) {
+            root = root * 31 + entry.getKey();
+            root = root * 31 + entry.getValue()[0];
+            root = root * 31 + entry.getValue()[1];
+        }
+        return root;
+    }
+
+    /**
+     * Finds the buckets that differ.
+     *
+     * @param other the digest to compare with, must have the same bucket count
+     * @return the buckets present in one digest only or having different flows
+     */
+    public Set<Long> diff(FlowSyncDigest other) {
+        if (bucketCount != other.bucketCount) {
+            throw new IllegalArgumentException(String.format(
+                    "Can't compare digests with %d and %d buckets", bucketCount, other.bucketCount));
+        }
+        if (getRoot() == other.getRoot() && buckets.size() == other.buckets.size()) {
+            return Collections.emptySet();
+        }
+
+        Set<Long> divergent = new HashSet<>();
+        Set<Long> keys = new HashSet<>(buckets.keySet());
+        keys.addAll(other.buckets.keySet());
+        for (Long key : keys) {
+            long[] mine = buckets.get(key);
+            long[] theirs = other.buckets.get(key);
+            if (mine == null || theirs == null || mine[0] != theirs[0] || mine[1] != theirs[1]) {
+                divergent.add(key);
+            }
+        }
+        return divergent;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("buckets", buckets.size())
+                .add("root", getRoot())
+                .toString();
+    }
+}
@@ -0,0 +1,298 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.model;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+
+import com.google.common.base.MoreObjects;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, versioned view of the whole network (active and inactive switches and ISLs) as seen by the PCE.
+ *
+ * <p>Any modification returns a new snapshot with the next version, so a path computation that holds a reference
+ * keeps reading a consistent graph while topology events are being applied.</p>
+ */
+public final class TopologySnapshot {
+    /**
+     * Snapshot with no switches and no ISLs.
+     */
+    public static final TopologySnapshot EMPTY = of(0, Collections.emptyMap(), Collections.emptyList());
+
+    /**
+     * Number of ISL segments, must be a power of two. A change copies only the segments of the changed ISLs.
+     */
+    private static final int LINK_SEGMENTS = 64;
+
+    private final long version;
+
+    /**
+     * Switch activity. Key = DPID, value = true if the switch is active.
+     */
+    private final Map<String, Boolean> switches;
+
+    /**
+     * ISLs split by {@link #segmentOf(String)}, segments are immutable and shared between snapshots.
+     * Key = {@link Link#makeId(String, int)} of the source endpoint, same as IslInfoData id.
+     */
+    private final List<Map<String, Link>> linkSegments;
+
+    private final int linkCount;
+
+    private final Collection<Link> links = new AbstractCollection<Link>() {
+        @Override
+        public Iterator<Link> iterator() {
+            return linkSegments.stream()
+                    .flatMap(segment -> segment.values().stream())
+                    .iterator();
+        }
+
+        @Override
+        public int size() {
+            return linkCount;
+        }
+    };
+
+    private TopologySnapshot(long version, Map<String, Boolean> switches, List<Map<String, Link>> linkSegments,
+                             int linkCount) {
+        this.version = version;
+        this.switches = switches;
+        this.linkSegments = linkSegments;
+        this.linkCount = linkCount;
+    }
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param version snapshot version
+     * @param switches switch activity by DPID
+     * @param links all known ISLs
+     * @return the snapshot
+     */
+    public static TopologySnapshot of(long version, Map<String, Boolean> switches, Collection<Link> links) {
+        List<Map<String, Link>> segments = new ArrayList<>(LINK_SEGMENTS);
+        for (int i = 0; i < LINK_SEGMENTS; i++) {
+            segments.add(Collections.emptyMap());
+        }
+        TopologySnapshot empty = new TopologySnapshot(
+                version, Collections.unmodifiableMap(new HashMap<>(switches)), segments, 0);
+        return empty.putLinks(version, links);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Map<String, Boolean> getSwitches() {
+        return switches;
+    }
+
+    public Collection<Link> getLinks() {
+        return links;
+    }
+
+    /**
+     * Gets ISL by its id.
+     *
+     * @param linkId id of the ISL, see {@link Link#makeId(String, int)}
+     * @return the ISL or null if it is unknown
+     */
+    public Link getLink(String linkId) {
+        return linkSegments.get(segmentOf(linkId)).get(linkId);
+    }
+
+    public boolean isSwitchActive(String switchId) {
+        return switches.getOrDefault(switchId, false);
+    }
+
+    /**
+     * Returns a copy of this snapshot with another version.
+     *
+     * @param newVersion the version
+     * @return new snapshot
+     */
+    public TopologySnapshot withVersion(long newVersion) {
+        return new TopologySnapshot(newVersion, switches, linkSegments, linkCount);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the switch state changed.
+     *
+     * @param switchId switch DPID
+     * @param active new switch activity
+     * @return new snapshot
+     */
+    public TopologySnapshot withSwitch(String switchId, boolean active) {
+        Map<String, Boolean> updated = new HashMap<>(switches);
+        updated.put(switchId, active);
+        return new TopologySnapshot(version + 1, Collections.unmodifiableMap(updated), linkSegments, linkCount);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the ISLs added or replaced.
+     *
+     * @param changed ISLs to put into the snapshot
+     * @return new snapshot
+     */
+    public TopologySnapshot withLinks(Collection<Link> changed) {
+        return putLinks(version + 1, changed);
+    }
+
+    private TopologySnapshot putLinks(long newVersion, Collection<Link> changed) {
+        List<Map<String, Link>> segments = new ArrayList<>(linkSegments);
+        Map<Integer, Map<String, Link>> copies = new HashMap<>();
+        int count = linkCount;
+        for (Link link : changed) {
+            int index = segmentOf(link.getId());
+            Map<String, Link> segment = copies.computeIfAbsent(index, i -> new HashMap<>(linkSegments.get(i)));
+            if (segment.put(link.getId(), link) == null) {
+                count++;
+            }
+        }
+        for (Map.Entry<Integer, Map<String, Link>> entry : copies.entrySet()) {
+            segments.set(entry.getKey(), Collections.unmodifiableMap(entry.getValue()));
+        }
+        return new TopologySnapshot(newVersion, switches, Collections.unmodifiableList(segments), count);
+    }
+
+    private static int segmentOf(String linkId) {
+        int hash = linkId.hashCode();
+        return (hash ^ (hash >>> 16)) & (LINK_SEGMENTS - 1);
+    }
+
+    /**
+     * Returns a copy of this snapshot with the bandwidth taken from the ISLs of the path. Unknown ISLs are skipped.
+     *
+     * @param path flow path, pairs of the ISL source and destination nodes
+     * @param bandwidth the bandwidth to take, negative value gives the bandwidth back
+     * @return new snapshot
+     */
+    public TopologySnapshot withPathBandwidth(PathInfoData path, long bandwidth) {
+        if (path == null || bandwidth == 0) {
+            return this;
+        }
+
+        Map<String, Link> updated = new HashMap<>();
+        List<PathNode> nodes = path.getPath();
+        for (int i = 0; i + 1 < nodes.size(); i += 2) {
+            String linkId = Link.makeId(nodes.get(i).getSwitchId(), nodes.get(i).getPortNo());
+            Link link = updated.getOrDefault(linkId, getLink(linkId));
+            if (link != null) {
+                updated.put(linkId, link.toBuilder()
+                        .availableBandwidth(link.getAvailableBandwidth() - bandwidth)
+                        .build());
+            }
+        }
+        return withLinks(updated.values());
+    }
+
+    /**
+     * Checks that every ISL of the path is active and has the bandwidth available.
+     *
+     * @param path flow path, pairs of the ISL source and destination nodes
+     * @param bandwidth the required bandwidth
+     * @return true if the path can carry the bandwidth
+     */
+    public boolean hasBandwidth(PathInfoData path, long bandwidth) {
+        List<PathNode> nodes = path.getPath();
+        for (int i = 0; i + 1 < nodes.size(); i += 2) {
+            Link link = getLink(Link.makeId(nodes.get(i).getSwitchId(), nodes.get(i).getPortNo()));
+            if (link == null || !link.isActive() || link.getAvailableBandwidth() < bandwidth) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Builds the network of active switches and ISLs that have at least the required bandwidth available. This is
+     * the in-memory equivalent of the available network query of the NeoDriver.
+     *
+     * @param ignoreBandwidth if true, don't filter ISLs by available bandwidth
+     * @param requiredBandwidth the bandwidth the ISLs must have available
+     * @return the available network
+     */
+    public AvailableNetwork getAvailableNetwork(boolean ignoreBandwidth, long requiredBandwidth) {
+        AvailableNetwork network = new AvailableNetwork();
+        for (Link link : links) {
+            if (!link.isActive() || !isSwitchActive(link.getSrcSwitch()) || !isSwitchActive(link.getDstSwitch())) {
+                continue;
+            }
+            if (!ignoreBandwidth && link.getAvailableBandwidth() < requiredBandwidth) {
+                continue;
+            }
+            network.initOneEntry(link.getSrcSwitch(), link.getDstSwitch(), link.getSrcPort(), link.getDstPort(),
+                    link.getCost(), (int) link.getLatency());
+        }
+        return network;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("version", version)
+                .add("switches", switches.size())
+                .add("links", linkCount)
+                .toString();
+    }
+
+    /**
+     * Directed ISL between two switch ports.
+     */
+    @Value
+    @Builder(toBuilder = true)
+    public static class Link {
+        private String srcSwitch;
+        private int srcPort;
+        private String dstSwitch;
+        private int dstPort;
+        private int cost;
+        private long latency;
+        private long maxBandwidth;
+        private long availableBandwidth;
+        private boolean active;
+
+        public String getId() {
+            return makeId(srcSwitch, srcPort);
+        }
+
+        public long getUsedBandwidth() {
+            return maxBandwidth - availableBandwidth;
+        }
+
+        /**
+         * Builds ISL id from the source endpoint. The format matches the IslInfoData id.
+         *
+         * @param switchId source switch
+         * @param port source port
+         * @return ISL id
+         */
+        public static String makeId(String switchId, int port) {
+            return String.format("%s_%d", switchId, port);
+        }
+    }
+}
@@ -21,10 +21,17 @@ import org.openkilda.messaging.info.event.*;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
 import org.openkilda.pce.RecoverableException;
-import org.openkilda.pce.algo.SimpleGetShortestPath;
+import org.openkilda.pce.algo.ConstrainedShortestPath;
+import org.openkilda.pce.algo.DijkstraShortestPath;
+import org.openkilda.pce.algo.IndexedNetwork;
+import org.openkilda.pce.algo.PathWeight;
 import org.openkilda.pce.api.FlowAdapter;
+import org.openkilda.pce.cache.PathCache;
+import org.openkilda.pce.cache.TopologyCache;
 import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.FlowSyncDigest;
 import org.openkilda.pce.model.SimpleIsl;
+import org.openkilda.pce.model.TopologySnapshot;
 
 import org.neo4j.driver.v1.exceptions.ClientException;
 import org.neo4j.driver.v1.exceptions.TransientException;
@@ -32,6 +39,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 public class NeoDriver implements PathComputer {
     /**
@@ -44,11 +52,40 @@ public class NeoDriver implements PathComputer {
      */
     private final Driver driver;
 
+    /**
+     * In-memory topology, if null the available network is read from the database on each path request.
+     */
+    private final TopologyCache topologyCache;
+
+    /**
+     * Computed paths, used only together with the topology cache.
+     */
+    private final PathCache pathCache;
+
     /**
      * @param driver NEO4j driver(connect)
      */
     public NeoDriver(Driver driver) {
+        this(driver, null);
+    }
+
+    /**
+     * @param driver NEO4j driver(connect)
+     * @param topologyCache topology cache to compute paths on, it is loaded from the database on first use
+     */
+    public NeoDriver(Driver driver, TopologyCache topologyCache) {
+        this(driver, topologyCache, null);
+    }
+
+    /**
+     * @param driver NEO4j driver(connect)
+     * @param topologyCache topology cache to compute paths on, it is loaded from the database on first use
+     * @param pathCache cache of computed paths, it is invalidated by the topology cache generation
+     */
+    public NeoDriver(Driver driver, TopologyCache topologyCache, PathCache pathCache) {
         this.driver = driver;
+        this.topologyCache = topologyCache;
+        this.pathCache = pathCache;
     }
 
     /**
@@ -58,65 +95,277 @@ public class NeoDriver implements PathComputer {
     public ImmutablePair<PathInfoData, PathInfoData> getPath(Flow flow, Strategy strategy)
             throws UnroutablePathException, RecoverableException {
 
-        long latency = 0L;
-        List<PathNode> forwardNodes = new LinkedList<>();
-        List<PathNode> reverseNodes = new LinkedList<>();
+        if (flow.isOneSwitchFlow()) {
+            logger.info("No path computation for one-switch flow");
+            return makeOneSwitchPath();
+        }
 
-        if (! flow.isOneSwitchFlow()) {
-            try {
-                Pair<LinkedList<SimpleIsl>,LinkedList<SimpleIsl>> biPath = getPathFromNetwork(flow, strategy);
-                if (biPath.getLeft().size() == 0 || biPath.getRight().size() == 0)
-                    throw new UnroutablePathException(flow);
-
-                int seqId = 0;
-                LinkedList<SimpleIsl> forwardIsl = biPath.getLeft();
-                for (SimpleIsl isl : forwardIsl) {
-                    latency += isl.latency;
-                    forwardNodes.add(new PathNode(isl.src_dpid, isl.src_port, seqId++, (long)isl.latency));
-                    forwardNodes.add(new PathNode(isl.dst_dpid, isl.dst_port, seqId++, 0L));
+        try {
+            if (topologyCache != null && pathCache != null) {
+                return getCachedPath(flow, strategy);
+            }
+            return makePath(flow, getPathFromNetwork(flow, strategy, buildAvailableNetwork(flow)));
+        // FIXME(surabujin): Need to catch and trace exact exception thrown in recoverable places.
+        } catch (TransientException e) {
+            throw new RecoverableException("TransientError from neo4j", e);
+        } catch (ClientException e) {
+            throw new RecoverableException("ClientException from neo4j", e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The network is read once. Flows are placed in order of decreasing bandwidth, as the big ones are the hardest
+     * to fit, and every found path takes its bandwidth from the snapshot, so the next flows see what is left.</p>
+     *
+     * <p>Flows have no priority of their own, the reserved bandwidth stands in for it: the flows ignoring bandwidth go
+     * last and the ties are broken by the flow id, so the same batch is always placed the same way. The reroute queue
+     * of the cache topology orders flows by the same rule.</p>
+     */
+    @Override
+    public Map<String, ImmutablePair<PathInfoData, PathInfoData>> getPaths(Collection<Flow> flows, Strategy strategy)
+            throws RecoverableException {
+        List<Flow> ordered = new ArrayList<>(flows);
+        ordered.sort(Comparator.comparing(Flow::isIgnoreBandwidth)
+                .thenComparing(Comparator.comparingInt(Flow::getBandwidth).reversed())
+                .thenComparing(Flow::getFlowId, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Map<String, ImmutablePair<PathInfoData, PathInfoData>> paths = new HashMap<>();
+        try {
+            TopologySnapshot snapshot = loadTopologySnapshot();
+            logger.info("Computing paths for {} flows on topology snapshot {}", ordered.size(), snapshot);
+
+            for (Flow flow : ordered) {
+                if (flow.isOneSwitchFlow()) {
+                    paths.put(flow.getFlowId(), makeOneSwitchPath());
+                    continue;
                 }
 
-                seqId = 0;
-                LinkedList<SimpleIsl> reverseIsl = biPath.getRight();
-                for (SimpleIsl isl : reverseIsl) {
-                    reverseNodes.add(new PathNode(isl.src_dpid, isl.src_port, seqId++, (long)isl.latency));
-                    reverseNodes.add(new PathNode(isl.dst_dpid, isl.dst_port, seqId++, 0L));
+                AvailableNetwork network = snapshot.getAvailableNetwork(flow.isIgnoreBandwidth(), flow.getBandwidth());
+                try {
+                    ImmutablePair<PathInfoData, PathInfoData> path = makePath(
+                            flow, getPathFromNetwork(flow, Strategy.of(flow, strategy), network));
+                    paths.put(flow.getFlowId(), path);
+
+                    if (!flow.isIgnoreBandwidth()) {
+                        snapshot = snapshot.withPathBandwidth(path.getLeft(), flow.getBandwidth())
+                                .withPathBandwidth(path.getRight(), flow.getBandwidth());
+                    }
+                } catch (UnroutablePathException e) {
+                    logger.warn("No path found for flow {} in the batch", flow.getFlowId());
                 }
-            // FIXME(surabujin): Need to catch and trace exact exception thrown in recoverable places.
-            } catch (TransientException e) {
-                throw new RecoverableException("TransientError from neo4j", e);
-            } catch (ClientException e) {
-                throw new RecoverableException("ClientException from neo4j", e);
             }
-        } else {
-            logger.info("No path computation for one-switch flow");
+        // FIXME(surabujin): Need to catch and trace exact exception thrown in recoverable places.
+        } catch (TransientException e) {
+            throw new RecoverableException("TransientError from neo4j", e);
+        } catch (ClientException e) {
+            throw new RecoverableException("ClientException from neo4j", e);
+        }
+        return paths;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ImmutablePair<PathInfoData, PathInfoData>> getDisjointPaths(
+            Flow flow, Strategy strategy, boolean switchDisjoint) throws RecoverableException {
+        if (flow.isOneSwitchFlow()) {
+            return Collections.singletonList(makeOneSwitchPath());
+        }
+
+        ImmutablePair<PathInfoData, PathInfoData> primary;
+        try {
+            primary = getPath(flow, strategy);
+        } catch (UnroutablePathException e) {
+            return Collections.emptyList();
+        }
+
+        try {
+            // the backup is searched the same way as the primary, on the network left without the primary links
+            AvailableNetwork network = buildAvailableNetwork(flow)
+                    .removePath(primary.getLeft().getPath(), switchDisjoint)
+                    .removePath(primary.getRight().getPath(), switchDisjoint);
+            return Arrays.asList(primary, makePath(flow, getPathFromNetwork(flow, strategy, network)));
+        } catch (UnroutablePathException e) {
+            logger.info("No backup path for flow {}", flow.getFlowId());
+            return Collections.singletonList(primary);
+        // FIXME(surabujin): Need to catch and trace exact exception thrown in recoverable places.
+        } catch (TransientException e) {
+            throw new RecoverableException("TransientError from neo4j", e);
+        } catch (ClientException e) {
+            throw new RecoverableException("ClientException from neo4j", e);
+        }
+    }
+
+    private ImmutablePair<PathInfoData, PathInfoData> makePath(
+            Flow flow, Pair<LinkedList<SimpleIsl>, LinkedList<SimpleIsl>> biPath) throws UnroutablePathException {
+        if (biPath.getLeft().size() == 0 || biPath.getRight().size() == 0) {
+            throw new UnroutablePathException(flow);
+        }
+
+        long latency = 0L;
+        List<PathNode> forwardNodes = new LinkedList<>();
+        List<PathNode> reverseNodes = new LinkedList<>();
+
+        int seqId = 0;
+        LinkedList<SimpleIsl> forwardIsl = biPath.getLeft();
+        for (SimpleIsl isl : forwardIsl) {
+            latency += isl.latency;
+            forwardNodes.add(new PathNode(isl.src_dpid, isl.src_port, seqId++, (long)isl.latency));
+            forwardNodes.add(new PathNode(isl.dst_dpid, isl.dst_port, seqId++, 0L));
+        }
+
+        seqId = 0;
+        LinkedList<SimpleIsl> reverseIsl = biPath.getRight();
+        for (SimpleIsl isl : reverseIsl) {
+            reverseNodes.add(new PathNode(isl.src_dpid, isl.src_port, seqId++, (long)isl.latency));
+            reverseNodes.add(new PathNode(isl.dst_dpid, isl.dst_port, seqId++, 0L));
         }
 
         return new ImmutablePair<>(new PathInfoData(latency, forwardNodes), new PathInfoData(latency, reverseNodes));
     }
 
+    private ImmutablePair<PathInfoData, PathInfoData> makeOneSwitchPath() {
+        return new ImmutablePair<>(new PathInfoData(0L, new LinkedList<>()),
+                new PathInfoData(0L, new LinkedList<>()));
+    }
+
     /**
      * Create the query based on what the strategy is.
      */
-    private Pair<LinkedList<SimpleIsl>,LinkedList<SimpleIsl>> getPathFromNetwork(Flow flow, Strategy strategy){
+    private Pair<LinkedList<SimpleIsl>,LinkedList<SimpleIsl>> getPathFromNetwork(
+            Flow flow, Strategy strategy, AvailableNetwork network) {
+
+        PathWeight weight = toPathWeight(strategy);
+        IndexedNetwork indexedNetwork = toIndexedNetwork(network);
+
+        LinkedList<SimpleIsl> fPath;
+        LinkedList<SimpleIsl> rPath;
+        // the hint makes the reverse path symmetric to the forward one, if it is not worse
+        if (flow.getMaxLatency() > 0) {
+            fPath = new ConstrainedShortestPath(indexedNetwork, weight, flow.getMaxLatency(),
+                    flow.getSourceSwitch(), flow.getDestinationSwitch()).getPath();
+            rPath = new ConstrainedShortestPath(indexedNetwork, weight, flow.getMaxLatency(),
+                    flow.getDestinationSwitch(), flow.getSourceSwitch()).getPath(fPath);
+        } else {
+            fPath = new DijkstraShortestPath(
+                    indexedNetwork, weight, flow.getSourceSwitch(), flow.getDestinationSwitch()).getPath();
+            rPath = new DijkstraShortestPath(
+                    indexedNetwork, weight, flow.getDestinationSwitch(), flow.getSourceSwitch()).getPath(fPath);
+        }
+        return Pair.of(fPath, rPath);
+    }
 
+    private PathWeight toPathWeight(Strategy strategy) {
         switch (strategy) {
+            case LATENCY:
+                return PathWeight.LATENCY;
+            case HOPS:
+                return PathWeight.HOPS;
             default:
-                AvailableNetwork network = getAvailableNetwork(flow.isIgnoreBandwidth(), flow.getBandwidth());
-                network.removeSelfLoops().reduceByCost();
-                SimpleGetShortestPath forward = new SimpleGetShortestPath(network, flow.getSourceSwitch(), flow.getDestinationSwitch(), 35);
-                SimpleGetShortestPath reverse = new SimpleGetShortestPath(network, flow.getDestinationSwitch(), flow.getSourceSwitch(), 35);
-
-                LinkedList<SimpleIsl> fPath = forward.getPath();
-                LinkedList<SimpleIsl> rPath = reverse.getPath(fPath);
-                //(crimi) - getPath with hint works .. you can use the next line to troubleshoot if
-                // concerned about how hit is working
-                //LinkedList<SimpleIsl> rPath = reverse.getPath();
-                Pair<LinkedList<SimpleIsl>,LinkedList<SimpleIsl>> biPath = Pair.of(fPath,rPath);
-                return biPath;
+                return PathWeight.COST;
+        }
+    }
+
+    private IndexedNetwork toIndexedNetwork(AvailableNetwork network) {
+        network.removeSelfLoops().reduceByCost();
+        return IndexedNetwork.of(network);
+    }
+
+    /**
+     * Gets the path from the path cache, or computes it on the topology cache and puts it into the path cache. A cached
+     * path is used only if it still has the flow bandwidth available.
+     */
+    private ImmutablePair<PathInfoData, PathInfoData> getCachedPath(Flow flow, Strategy strategy)
+            throws UnroutablePathException {
+        long generation = topologyCache.getGeneration();
+        TopologySnapshot snapshot = loadTopologySnapshot();
+        ImmutablePair<PathInfoData, PathInfoData> path = pathCache.get(flow, strategy, generation,
+                cached -> flow.isIgnoreBandwidth()
+                        || (snapshot.hasBandwidth(cached.getLeft(), flow.getBandwidth())
+                        && snapshot.hasBandwidth(cached.getRight(), flow.getBandwidth())));
+        if (path != null) {
+            logger.debug("Path for flow {} found in the path cache {}", flow.getFlowId(), pathCache);
+            return path;
+        }
+
+        logger.debug("Computing path for flow {} on topology snapshot {}", flow.getFlowId(), snapshot);
+        AvailableNetwork network = snapshot.getAvailableNetwork(flow.isIgnoreBandwidth(), flow.getBandwidth());
+        path = makePath(flow, getPathFromNetwork(flow, strategy, network));
+        pathCache.put(flow, strategy, generation, path);
+        return path;
+    }
+
+    /**
+     * Gets the network from the topology cache, or from the database if there is no cache.
+     */
+    private AvailableNetwork buildAvailableNetwork(Flow flow) {
+        if (topologyCache == null) {
+            return getAvailableNetwork(flow.isIgnoreBandwidth(), flow.getBandwidth());
         }
+
+        TopologySnapshot snapshot = loadTopologySnapshot();
+        logger.debug("Computing path for flow {} on topology snapshot {}", flow.getFlowId(), snapshot);
+        return snapshot.getAvailableNetwork(flow.isIgnoreBandwidth(), flow.getBandwidth());
     }
 
+    /**
+     * Gets the snapshot of the topology cache, or reads it from the database if there is no cache.
+     */
+    private TopologySnapshot loadTopologySnapshot() {
+        if (topologyCache == null) {
+            return getTopologySnapshot();
+        }
+
+        TopologySnapshot snapshot = topologyCache.getSnapshot();
+        if (snapshot == null) {
+            topologyCache.load(getTopologySnapshot());
+            snapshot = topologyCache.getSnapshot();
+        }
+        return snapshot;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TopologySnapshot getTopologySnapshot() {
+        String switchQuery = "MATCH (sw:switch) WHERE sw.name IS NOT NULL RETURN sw.name as name, sw.state as state";
+        String islQuery = "MATCH (src:switch)-[isl:isl]->(dst:switch)" +
+                " WHERE src.name IS NOT NULL AND dst.name IS NOT NULL" +
+                " RETURN src.name as src_name, dst.name as dst_name " +
+                ", isl.src_port as src_port " +
+                ", isl.dst_port as dst_port " +
+                ", isl.cost as cost " +
+                ", isl.latency as latency " +
+                ", isl.max_bandwidth as max_bandwidth " +
+                ", isl.available_bandwidth as available_bandwidth " +
+                ", isl.status as status";
+
+        Map<String, Boolean> switches = new HashMap<>();
+        List<TopologySnapshot.Link> links = new ArrayList<>();
+
+        logger.debug("Executing getTopologySnapshot Query: {}", switchQuery);
+        streamQuery(switchQuery, Collections.emptyMap(),
+                record -> switches.put(record.get("name").asString(), "active".equals(record.get("state").asString())));
+
+        logger.debug("Executing getTopologySnapshot Query: {}", islQuery);
+        streamQuery(islQuery, Collections.emptyMap(), record -> links.add(TopologySnapshot.Link.builder()
+                .srcSwitch(record.get("src_name").asString())
+                .srcPort(safeAsInt(record.get("src_port")))
+                .dstSwitch(record.get("dst_name").asString())
+                .dstPort(safeAsInt(record.get("dst_port")))
+                .cost(safeAsInt(record.get("cost")))
+                .latency(safeAsInt(record.get("latency")))
+                .maxBandwidth(safeAsInt(record.get("max_bandwidth")))
+                .availableBandwidth(safeAsInt(record.get("available_bandwidth")))
+                .active("active".equals(record.get("status").asString()))
+                .build()));
+
+        return TopologySnapshot.of(0, switches, links);
+    }
 
     /**
      * {@inheritDoc}
@@ -124,25 +373,66 @@ public class NeoDriver implements PathComputer {
     @Override
     public List<FlowInfo> getFlowInfo(){
         List<FlowInfo> flows = new ArrayList<>();
+        forEachFlowInfo(flows::add);
+        return flows;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachFlowInfo(Consumer<FlowInfo> consumer) {
+        streamFlowInfo("", Collections.emptyMap(), consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FlowInfo> getFlowInfo(Collection<Long> buckets, int bucketCount) {
+        List<FlowInfo> flows = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("buckets", new ArrayList<>(buckets));
+        parameters.put("bucket_count", bucketCount);
+        streamFlowInfo("WHERE f.cookie % $bucket_count IN $buckets ", parameters, flows::add);
+        return flows;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The buckets are aggregated by the database, only the bucket digests are transferred.</p>
+     */
+    @Override
+    public FlowSyncDigest getFlowSyncDigest(int bucketCount) {
+        String q = "MATCH (:switch)-[f:flow]->(:switch) " +
+                "RETURN f.cookie % $bucket_count as bucket, " +
+                " count(f) as flows, " +
+                " sum(coalesce(f.sync_digest, " + FlowSyncDigest.UNKNOWN + ")) as digest";
+
+        logger.debug("Executing getFlowSyncDigest Query: {}", q);
+        FlowSyncDigest digest = new FlowSyncDigest(bucketCount);
+        streamQuery(q, Values.parameters("bucket_count", bucketCount).asMap(), record -> digest.addBucket(
+                record.get("bucket").asLong(), record.get("flows").asLong(), record.get("digest").asLong()));
+        return digest;
+    }
+
+    private void streamFlowInfo(String whereClause, Map<String, Object> parameters, Consumer<FlowInfo> consumer) {
         String subject = "MATCH (:switch)-[f:flow]->(:switch) " +
+                whereClause +
                 "RETURN f.flowid as flow_id, " +
                 " f.cookie as cookie, " +
                 " f.meter_id as meter_id, " +
                 " f.transit_vlan as transit_vlan, " +
                 " f.src_switch as src_switch";
 
-        Session session = driver.session();
-        StatementResult result = session.run(subject);
-        for (Record record : result.list()) {
-            flows.add(new FlowInfo()
-                    .setFlowId(record.get("flow_id").asString())
-                    .setSrcSwitchId(record.get("src_switch").asString())
-                    .setCookie(record.get("cookie").asLong())
-                    .setMeterId(safeAsInt(record.get("meter_id")))
-                    .setTransitVlanId(safeAsInt(record.get("transit_vlan")))
-            );
-        }
-        return flows;
+        logger.debug("Executing getFlowInfo Query: {}", subject);
+        streamQuery(subject, parameters, record -> consumer.accept(new FlowInfo()
+                .setFlowId(record.get("flow_id").asString())
+                .setSrcSwitchId(record.get("src_switch").asString())
+                .setCookie(record.get("cookie").asLong())
+                .setMeterId(safeAsInt(record.get("meter_id")))
+                .setTransitVlanId(safeAsInt(record.get("transit_vlan")))));
     }
 
     /**
@@ -156,18 +446,38 @@ public class NeoDriver implements PathComputer {
 
     @Override
     public List<Flow> getFlows(String flowId) {
-        String where = "WHERE f.flowid='" + flowId + "' ";
-        return _getFlows(where);
+        List<Flow> results = new ArrayList<>();
+        streamFlows("WHERE f.flowid = $flow_id ", Values.parameters("flow_id", flowId).asMap(), results::add);
+        return results;
     }
 
     @Override
     public List<Flow> getAllFlows() {
-        String noWhere = " ";
-        return _getFlows(noWhere);
+        List<Flow> results = new ArrayList<>();
+        forEachFlow(results::add);
+        return results;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachFlow(Consumer<Flow> consumer) {
+        streamFlows(" ", Collections.emptyMap(), consumer);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void forEachFlow(Collection<Long> buckets, int bucketCount, Consumer<Flow> consumer) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("buckets", new ArrayList<>(buckets));
+        parameters.put("bucket_count", bucketCount);
+        streamFlows("WHERE f.cookie % $bucket_count IN $buckets ", parameters, consumer);
+    }
 
-    private List<Flow> _getFlows(String whereClause) {
+    private void streamFlows(String whereClause, Map<String, Object> parameters, Consumer<Flow> consumer) {
         String q =
                 "MATCH (:switch)-[f:flow]->(:switch) " +
                         whereClause +
@@ -185,19 +495,15 @@ public class NeoDriver implements PathComputer {
                         "f.dst_vlan as dst_vlan, " +
                         "f.flowpath as path, " +
                         "f.meter_id as meter_id, " +
-                        "f.transit_vlan as transit_vlan";
+                        "f.transit_vlan as transit_vlan, " +
+                        "f.path_computation_strategy as path_computation_strategy, " +
+                        "f.max_latency as max_latency, " +
+                        "f.state as state " +
+                        // both halves of a flow come together, so the caller can pair them as they arrive
+                        "ORDER BY f.flowid";
 
         logger.debug("Executing getFlows Query: {}", q);
-
-        try (Session session = driver.session()) {
-            StatementResult queryResults = session.run(q);
-            List<Flow> results = new ArrayList<>();
-            for (Record record : queryResults.list()) {
-                FlowAdapter adapter = new FlowAdapter(record);
-                results.add(adapter.getFlow());
-            }
-            return results;
-        }
+        streamQuery(q, parameters, record -> consumer.accept(new FlowAdapter(record).getFlow()));
     }
 
     @Override
@@ -214,10 +520,8 @@ public class NeoDriver implements PathComputer {
                         "order by sw.name";
 
         logger.debug("Executing getSwitches Query: {}", q);
-        Session session = driver.session();
-        StatementResult queryResults = session.run(q);
-        List<SwitchInfoData> results = new LinkedList<>();
-        for (Record record : queryResults.list()) {
+        List<SwitchInfoData> results = new ArrayList<>();
+        streamQuery(q, Collections.emptyMap(), record -> {
             SwitchInfoData sw = new SwitchInfoData();
             sw.setAddress(record.get("address").asString());
             sw.setController(record.get("controller").asString());
@@ -230,7 +534,7 @@ public class NeoDriver implements PathComputer {
 
             sw.setSwitchId(record.get("name").asString());
             results.add(sw);
-        }
+        });
         return results;
     }
 
@@ -252,7 +556,7 @@ public class NeoDriver implements PathComputer {
                 " WHERE src.state = 'active' AND dst.state = 'active' AND isl.status = 'active' " +
                 "   AND src.name IS NOT NULL AND dst.name IS NOT NULL";
         if (!ignore_bandwidth)
-                q += "   AND isl.available_bandwidth >= " + available_bandwidth;
+                q += "   AND isl.available_bandwidth >= $available_bandwidth";
         q += " RETURN src.name as src_name, dst.name as dst_name " +
                 ", isl.src_port as src_port " +
                 ", isl.dst_port as dst_port " +
@@ -262,21 +566,34 @@ public class NeoDriver implements PathComputer {
 
         logger.debug("Executing getAvailableNetwork Query: {}", q);
         AvailableNetwork network = new AvailableNetwork();
-        Session session = driver.session();
-        StatementResult queryResults = session.run(q);
-        for (Record record : queryResults.list()) {
-            network.initOneEntry(
-                    record.get("src_name").asString(),
-                    record.get("dst_name").asString(),
-                    safeAsInt(record.get("src_port")),
-                    safeAsInt(record.get("dst_port")),
-                    safeAsInt(record.get("cost")),
-                    safeAsInt(record.get("latency"))
-                    );
-        }
+        streamQuery(q, Values.parameters("available_bandwidth", available_bandwidth).asMap(),
+                record -> network.initOneEntry(
+                        record.get("src_name").asString(),
+                        record.get("dst_name").asString(),
+                        safeAsInt(record.get("src_port")),
+                        safeAsInt(record.get("dst_port")),
+                        safeAsInt(record.get("cost")),
+                        safeAsInt(record.get("latency"))));
         return network;
     }
 
+    /**
+     * Runs the query and passes the records to the consumer as they are received, the result is never materialised.
+     * The session is closed when the result is consumed or the consumer fails.
+     *
+     * @param query the query
+     * @param parameters the query parameters
+     * @param consumer gets each record of the result
+     */
+    private void streamQuery(String query, Map<String, Object> parameters, Consumer<Record> consumer) {
+        try (Session session = driver.session()) {
+            StatementResult result = session.run(query, parameters);
+            while (result.hasNext()) {
+                consumer.accept(result.next());
+            }
+        }
+    }
+
     /**
      * @param val the value to parse
      * @return 0 if val is null or not parseable, the int otherwise
@@ -312,10 +629,8 @@ public class NeoDriver implements PathComputer {
                         "order by isl.src_switch";
 
         logger.debug("Executing getSwitches Query: {}", q);
-        Session session = driver.session();
-        StatementResult queryResults = session.run(q);
-        List<IslInfoData> results = new LinkedList<>();
-        for (Record record : queryResults.list()) {
+        List<IslInfoData> results = new ArrayList<>();
+        streamQuery(q, Collections.emptyMap(), record -> {
             // max_bandwidth not used in IslInfoData
             List<PathNode> pathNodes = new ArrayList<>();
             PathNode src = new PathNode();
@@ -342,7 +657,7 @@ public class NeoDriver implements PathComputer {
             isl.setTimestamp(System.currentTimeMillis());
 
             results.add(isl);
-        }
+        });
         return results;
     }
 
@@ -20,12 +20,20 @@ import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathInfoData;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.PathComputationStrategy;
 import org.openkilda.pce.RecoverableException;
 import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.FlowSyncDigest;
+import org.openkilda.pce.model.TopologySnapshot;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * PathComputation interface represent operations on flow path.
@@ -37,7 +45,29 @@ public interface PathComputer extends Serializable {
      * In reality, to provide flexibility, this should most likely be one or more strings.
      */
     enum Strategy {
-        HOPS, COST, LATENCY, EXTERNAL
+        HOPS, COST, LATENCY, EXTERNAL;
+
+        /**
+         * Gets the strategy requested by the flow.
+         *
+         * @param flow {@link Flow} instance
+         * @return the strategy, {@link #COST} if the flow doesn't request any
+         */
+        public static Strategy of(Flow flow) {
+            return of(flow, COST);
+        }
+
+        /**
+         * Gets the strategy requested by the flow.
+         *
+         * @param flow {@link Flow} instance
+         * @param fallback the strategy to use if the flow doesn't request any
+         * @return the strategy
+         */
+        public static Strategy of(Flow flow, Strategy fallback) {
+            PathComputationStrategy requested = flow.getPathComputationStrategy();
+            return requested != null ? valueOf(requested.name()) : fallback;
+        }
     }
 
     /**
@@ -58,6 +88,45 @@ public interface PathComputer extends Serializable {
      */
     ImmutablePair<PathInfoData, PathInfoData> getPath(Flow flow, Strategy strategy) throws UnroutablePathException, RecoverableException;
 
+    /**
+     * Gets paths for many flows at once, e.g. for the flows affected by a failed ISL. The default implementation
+     * computes them one by one.
+     *
+     * @param flows {@link Flow} instances
+     * @param strategy path computation strategy for flows which don't request their own one
+     * @return paths by flow id, flows without a path are not in the map
+     */
+    default Map<String, ImmutablePair<PathInfoData, PathInfoData>> getPaths(Collection<Flow> flows, Strategy strategy)
+            throws RecoverableException {
+        Map<String, ImmutablePair<PathInfoData, PathInfoData>> paths = new HashMap<>();
+        for (Flow flow : flows) {
+            try {
+                paths.put(flow.getFlowId(), getPath(flow, Strategy.of(flow, strategy)));
+            } catch (UnroutablePathException e) {
+                // the flow has no path, the caller finds it missing in the result
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Gets the primary path and the backup path which doesn't share links (or transit switches) with the primary,
+     * for the flow to fail over without a new computation. The default implementation returns the primary only.
+     *
+     * @param flow {@link Flow} instances
+     * @param strategy path computation strategy
+     * @param switchDisjoint if true, the paths must not share transit switches, otherwise only links
+     * @return the primary and the backup path; only the primary if there is no backup; empty if there is no path
+     */
+    default List<ImmutablePair<PathInfoData, PathInfoData>> getDisjointPaths(
+            Flow flow, Strategy strategy, boolean switchDisjoint) throws RecoverableException {
+        try {
+            return Collections.singletonList(getPath(flow, strategy));
+        } catch (UnroutablePathException e) {
+            return Collections.emptyList();
+        }
+    }
+
     /**
      * Interact with the PathComputer to get the FlowInfo for all flows.
      *
@@ -77,6 +146,70 @@ public interface PathComputer extends Serializable {
         return new ArrayList<>();
     }
 
+    /**
+     * Reads flows one by one, so all flows are never held in memory at once. Both halves of a flow come one after
+     * another.
+     *
+     * @param consumer gets each flow object stored in neo4j
+     */
+    default void forEachFlow(Consumer<Flow> consumer) {
+        getAllFlows().forEach(consumer);
+    }
+
+    /**
+     * Reads the flows of the digest buckets one by one. Both halves of a flow are in the same bucket and come one
+     * after another.
+     *
+     * @param buckets the buckets, see {@link FlowSyncDigest#bucket(long, int)}
+     * @param bucketCount the number of the digest buckets
+     * @param consumer gets each flow object of the buckets
+     */
+    default void forEachFlow(Collection<Long> buckets, int bucketCount, Consumer<Flow> consumer) {
+        forEachFlow(flow -> {
+            if (buckets.contains(FlowSyncDigest.bucket(flow.getCookie(), bucketCount))) {
+                consumer.accept(flow);
+            }
+        });
+    }
+
+    /**
+     * Reads the "key" flow info one by one, so the info of all flows is never held in memory at once.
+     *
+     * @param consumer gets the flow info of each flow
+     */
+    default void forEachFlowInfo(Consumer<FlowInfo> consumer) {
+        getFlowInfo().forEach(consumer);
+    }
+
+    /**
+     * Gets the digest of the stored flows for the flow cache sync.
+     *
+     * @param bucketCount the number of the digest buckets
+     * @return the digest
+     */
+    default FlowSyncDigest getFlowSyncDigest(int bucketCount) {
+        FlowSyncDigest digest = new FlowSyncDigest(bucketCount);
+        forEachFlow(digest::add);
+        return digest;
+    }
+
+    /**
+     * Gets the "key" flow info of the flows in the digest buckets.
+     *
+     * @param buckets the buckets, see {@link FlowSyncDigest#bucket(long, int)}
+     * @param bucketCount the number of the digest buckets
+     * @return the flow info of the flows in the buckets
+     */
+    default List<FlowInfo> getFlowInfo(Collection<Long> buckets, int bucketCount) {
+        List<FlowInfo> result = new ArrayList<>();
+        forEachFlowInfo(info -> {
+            if (buckets.contains(FlowSyncDigest.bucket(info.getCookie(), bucketCount))) {
+                result.add(info);
+            }
+        });
+        return result;
+    }
+
     /**
      * Read a single flow from Neo4j and convert to our common representation
      * org.openkilda.messaging.model.Flow.
@@ -107,4 +240,13 @@ public interface PathComputer extends Serializable {
     default AvailableNetwork getAvailableNetwork(boolean ignore_bandwidth, int available_bandwidth) {
         return null;
     }
+
+    /**
+     * Reads the whole network, including inactive switches and ISLs, to initialize the topology cache.
+     *
+     * @return topology snapshot
+     */
+    default TopologySnapshot getTopologySnapshot() {
+        return null;
+    }
 }
@@ -0,0 +1,107 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.junit.Test;
+
+import java.util.LinkedList;
+import java.util.List;
+
+public class ConstrainedShortestPathTest {
+
+    /**
+     * A -> B -> D: cost 20, latency 100.
+     * A -> C -> D: cost 30, latency 20.
+     * A -> D: cost 50, latency 5.
+     */
+    private IndexedNetwork buildNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectional(network, "A", "B", 1, 1, 10, 50);
+        addBidirectional(network, "B", "D", 2, 1, 10, 50);
+        addBidirectional(network, "A", "C", 2, 1, 15, 10);
+        addBidirectional(network, "C", "D", 2, 2, 15, 10);
+        addBidirectional(network, "A", "D", 3, 3, 50, 5);
+        return IndexedNetwork.of(network);
+    }
+
+    private void addBidirectional(AvailableNetwork network, String src, String dst, int srcPort, int dstPort,
+                                  int cost, int latency) {
+        network.initOneEntry(src, dst, srcPort, dstPort, cost, latency);
+        network.initOneEntry(dst, src, dstPort, srcPort, cost, latency);
+    }
+
+    private long cost(List<SimpleIsl> path) {
+        return path.stream().mapToLong(isl -> isl.cost).sum();
+    }
+
+    private long latency(List<SimpleIsl> path) {
+        return path.stream().mapToLong(isl -> isl.latency).sum();
+    }
+
+    @Test
+    public void shouldMinimizeEachWeight() {
+        IndexedNetwork network = buildNetwork();
+
+        assertEquals(20, cost(new DijkstraShortestPath(network, PathWeight.COST, "A", "D").getPath()));
+        assertEquals(5, latency(new DijkstraShortestPath(network, PathWeight.LATENCY, "A", "D").getPath()));
+        assertEquals(1, new DijkstraShortestPath(network, PathWeight.HOPS, "A", "D").getPath().size());
+    }
+
+    @Test
+    public void shouldKeepCheapestPathWhenItFits() {
+        LinkedList<SimpleIsl> path = new ConstrainedShortestPath(buildNetwork(), PathWeight.COST, 200, "A", "D")
+                .getPath();
+
+        assertEquals(20, cost(path));
+        assertEquals(100, latency(path));
+    }
+
+    @Test
+    public void shouldFindCheapestPathWithinLatency() {
+        LinkedList<SimpleIsl> path = new ConstrainedShortestPath(buildNetwork(), PathWeight.COST, 50, "A", "D")
+                .getPath();
+
+        assertEquals(30, cost(path));
+        assertEquals(20, latency(path));
+    }
+
+    @Test
+    public void shouldReturnEmptyPathWhenLatencyCannotBeMet() {
+        LinkedList<SimpleIsl> path = new ConstrainedShortestPath(buildNetwork(), PathWeight.COST, 3, "A", "D")
+                .getPath();
+
+        assertTrue(path.isEmpty());
+    }
+
+    @Test
+    public void shouldUseMirroredHintWithinLatency() {
+        IndexedNetwork network = buildNetwork();
+        LinkedList<SimpleIsl> forward = new ConstrainedShortestPath(network, PathWeight.COST, 50, "A", "D").getPath();
+
+        LinkedList<SimpleIsl> reverse = new ConstrainedShortestPath(network, PathWeight.COST, 50, "D", "A")
+                .getPath(forward);
+
+        assertEquals(2, reverse.size());
+        assertEquals("C", reverse.getFirst().dst_dpid);
+        assertEquals(20, latency(reverse));
+    }
+}
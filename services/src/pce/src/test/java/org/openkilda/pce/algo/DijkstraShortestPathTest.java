@@ -0,0 +1,128 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+public class DijkstraShortestPathTest {
+
+    /**
+     * A -> B -> D costs 20, A -> C -> D costs 20 as well, A -> D directly costs 50.
+     */
+    private AvailableNetwork buildDiamond() {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectional(network, "A", "B", 1, 1, 10);
+        addBidirectional(network, "B", "D", 2, 2, 10);
+        addBidirectional(network, "A", "C", 3, 1, 10);
+        addBidirectional(network, "C", "D", 2, 3, 10);
+        addBidirectional(network, "A", "D", 4, 4, 50);
+        return network;
+    }
+
+    private void addBidirectional(AvailableNetwork network, String src, String dst, int srcPort, int dstPort,
+                                  int cost) {
+        network.initOneEntry(src, dst, srcPort, dstPort, cost, 1);
+        network.initOneEntry(dst, src, dstPort, srcPort, cost, 1);
+    }
+
+    private long cost(List<SimpleIsl> path) {
+        return path.stream().mapToLong(isl -> isl.cost).sum();
+    }
+
+    @Test
+    public void shouldFindCheapestPath() {
+        IndexedNetwork network = IndexedNetwork.of(buildDiamond());
+
+        LinkedList<SimpleIsl> path = new DijkstraShortestPath(network, "A", "D").getPath();
+
+        assertEquals(2, path.size());
+        assertEquals("A", path.getFirst().src_dpid);
+        assertEquals("D", path.getLast().dst_dpid);
+        assertEquals(20, cost(path));
+    }
+
+    @Test
+    public void shouldPreferFewerHopsOnEqualCost() {
+        AvailableNetwork network = buildDiamond();
+        network.initOneEntry("A", "E", 5, 1, 5, 1);
+        network.initOneEntry("E", "F", 2, 1, 5, 1);
+        network.initOneEntry("F", "D", 2, 5, 10, 1);
+
+        LinkedList<SimpleIsl> path = new DijkstraShortestPath(IndexedNetwork.of(network), "A", "D").getPath();
+
+        assertEquals(2, path.size());
+        assertEquals(20, cost(path));
+    }
+
+    @Test
+    public void shouldReturnEmptyPathForUnreachableSwitch() {
+        AvailableNetwork network = buildDiamond();
+        network.initOneEntry("X", "Y", 1, 1, 10, 1);
+
+        assertTrue(new DijkstraShortestPath(IndexedNetwork.of(network), "A", "Y").getPath().isEmpty());
+        assertTrue(new DijkstraShortestPath(IndexedNetwork.of(network), "A", "unknown").getPath().isEmpty());
+    }
+
+    @Test
+    public void shouldPreferSymmetricReversePath() {
+        IndexedNetwork network = IndexedNetwork.of(buildDiamond());
+        // forward path over C, the search on its own would go back over B, which costs the same
+        List<SimpleIsl> forward = Arrays.asList(
+                new SimpleIsl("A", "C", 3, 1, 10, 1),
+                new SimpleIsl("C", "D", 2, 3, 10, 1));
+
+        LinkedList<SimpleIsl> reverse = new DijkstraShortestPath(network, "D", "A").getPath(forward);
+
+        assertEquals(2, reverse.size());
+        assertEquals("C", reverse.getFirst().dst_dpid);
+        assertEquals(3, reverse.getFirst().src_port);
+    }
+
+    @Test
+    public void shouldIgnoreMoreExpensiveHint() {
+        IndexedNetwork network = IndexedNetwork.of(buildDiamond());
+        List<SimpleIsl> forward = Arrays.asList(new SimpleIsl("A", "D", 4, 4, 50, 1));
+
+        LinkedList<SimpleIsl> reverse = new DijkstraShortestPath(network, "D", "A").getPath(forward);
+
+        assertEquals(20, cost(reverse));
+    }
+
+    @Test
+    public void shouldFindPathOfTheSameCostAsSimpleGetShortestPath() {
+        AvailableNetwork network = new SimpleGetShortestPathTest().buildNetwork1();
+        network.removeSelfLoops().reduceByCost();
+        String src = "00:00:70:72:cf:d2:47:a6";
+        String dst = "00:00:b0:d2:f5:00:5a:b8";
+
+        LinkedList<SimpleIsl> expected = new SimpleGetShortestPath(network, src, dst, 35).getPath();
+        LinkedList<SimpleIsl> actual = new DijkstraShortestPath(IndexedNetwork.of(network), src, dst).getPath();
+
+        assertEquals(cost(expected), cost(actual));
+        assertEquals(src, actual.getFirst().src_dpid);
+        assertEquals(dst, actual.getLast().dst_dpid);
+    }
+}
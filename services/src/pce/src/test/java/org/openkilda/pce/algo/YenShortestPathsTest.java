@@ -0,0 +1,95 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.algo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.SimpleIsl;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class YenShortestPathsTest {
+
+    /**
+     * The directed network from the Yen's paper example: C->D 3, C->E 2, D->F 4, E->D 1, E->F 2, E->G 3, F->G 2,
+     * F->H 1, G->H 2.
+     */
+    private IndexedNetwork buildNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        network.initOneEntry("C", "D", 1, 1, 3, 1);
+        network.initOneEntry("C", "E", 2, 1, 2, 1);
+        network.initOneEntry("D", "F", 2, 1, 4, 1);
+        network.initOneEntry("E", "D", 2, 3, 1, 1);
+        network.initOneEntry("E", "F", 3, 2, 2, 1);
+        network.initOneEntry("E", "G", 4, 1, 3, 1);
+        network.initOneEntry("F", "G", 3, 2, 2, 1);
+        network.initOneEntry("F", "H", 4, 1, 1, 1);
+        network.initOneEntry("G", "H", 3, 2, 2, 1);
+        return IndexedNetwork.of(network);
+    }
+
+    private long cost(List<SimpleIsl> path) {
+        return path.stream().mapToLong(isl -> isl.cost).sum();
+    }
+
+    private String route(List<SimpleIsl> path) {
+        return path.get(0).src_dpid + path.stream().map(isl -> isl.dst_dpid).collect(Collectors.joining());
+    }
+
+    @Test
+    public void shouldFindPathsInOrderOfWeight() {
+        List<LinkedList<SimpleIsl>> paths = new YenShortestPaths(buildNetwork(), PathWeight.COST, "C", "H")
+                .getPaths(5);
+
+        assertEquals(5, paths.size());
+        assertEquals("CEFH", route(paths.get(0)));
+        assertEquals("CEGH", route(paths.get(1)));
+        assertEquals(Arrays.asList(5L, 7L, 8L, 8L, 8L),
+                paths.stream().map(this::cost).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldFindDistinctLooplessPaths() {
+        List<LinkedList<SimpleIsl>> paths = new YenShortestPaths(buildNetwork(), PathWeight.COST, "C", "H")
+                .getPaths(100);
+
+        Set<String> routes = new HashSet<>();
+        for (LinkedList<SimpleIsl> path : paths) {
+            String route = route(path);
+            assertTrue(routes.add(route));
+            assertEquals(route.length(), route.chars().distinct().count());
+            assertEquals("C", path.getFirst().src_dpid);
+            assertEquals("H", path.getLast().dst_dpid);
+        }
+        // CDFH, CDFGH, CEDFH, CEDFGH, CEFH, CEFGH, CEGH
+        assertEquals(7, paths.size());
+    }
+
+    @Test
+    public void shouldReturnNothingWhenUnreachable() {
+        assertTrue(new YenShortestPaths(buildNetwork(), PathWeight.COST, "H", "C").getPaths(3).isEmpty());
+        assertTrue(new YenShortestPaths(buildNetwork(), PathWeight.COST, "C", "H").getPaths(0).isEmpty());
+    }
+}
@@ -25,6 +25,7 @@ import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.pce.NetworkTopologyConstants;
 import org.openkilda.pce.provider.PathComputer;
 import org.openkilda.pce.provider.PathComputerMock;
@@ -302,6 +303,58 @@ public class FlowCacheTest {
         assertEquals(new HashSet<>(Arrays.asList(first, second)), affected);
     }
 
+    @Test
+    public void getFlowsWithAffectedPathAfterDeleteAndUpdate() throws Exception {
+        final ImmutablePair<Flow, Flow> first =
+                flowCache.createFlow(firstFlow, computer.getPath(firstFlow, defaultStrategy));
+        flowCache.createFlow(secondFlow, computer.getPath(secondFlow, defaultStrategy));
+
+        flowCache.deleteFlow(secondFlow.getFlowId());
+        assertEquals(Collections.singleton(first),
+                flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.sw5.getSwitchId()));
+        assertEquals(Collections.emptySet(),
+                flowCache.getFlowsForEndpoint(secondFlow.getSourceSwitch(), secondFlow.getSourcePort()));
+
+        // the flow is moved to an empty path, nothing must be left in the indexes from the old one
+        flowCache.updateFlow(firstFlow, new ImmutablePair<>(
+                new PathInfoData(0L, new ArrayList<>()), new PathInfoData(0L, new ArrayList<>())));
+        assertEquals(Collections.emptySet(),
+                flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.sw5.getSwitchId()));
+        assertEquals(Collections.emptySet(), flowCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl12));
+        assertEquals(1, flowCache.getFlowsForEndpoint(firstFlow.getSourceSwitch(), firstFlow.getSourcePort(),
+                firstFlow.getSourceVlan()).size());
+    }
+
+    @Test
+    public void compactFlowCache() throws Exception {
+        FlowCache compactCache = new FlowCache(null, true);
+        ImmutablePair<PathInfoData, PathInfoData> path = computer.getPath(firstFlow, defaultStrategy);
+        final ImmutablePair<Flow, Flow> created = compactCache.createFlow(firstFlow, path);
+
+        ImmutablePair<Flow, Flow> cached = compactCache.getFlow(firstFlow.getFlowId());
+        assertEquals(created, cached);
+        assertEquals(path, compactCache.getFlowPath(firstFlow.getFlowId()));
+        assertEquals(created.getLeft().getCookie(), cached.getLeft().getCookie());
+        assertEquals(created.getRight().getMeterId(), cached.getRight().getMeterId());
+        assertEquals(created.getRight().getTransitVlan(), cached.getRight().getTransitVlan());
+        assertEquals(Collections.singleton(cached),
+                compactCache.getFlowsWithAffectedPath(NetworkTopologyConstants.isl12));
+
+        compactCache.updateFlowState(firstFlow.getFlowId(), FlowState.UP);
+        assertEquals(FlowState.UP, compactCache.getFlow(firstFlow.getFlowId()).getLeft().getState());
+        assertEquals(FlowState.UP, compactCache.getFlow(firstFlow.getFlowId()).getRight().getState());
+    }
+
+    @Test
+    public void getFlowsWithState() throws Exception {
+        flowCache.createFlow(firstFlow, computer.getPath(firstFlow, defaultStrategy));
+        flowCache.createFlow(secondFlow, computer.getPath(secondFlow, defaultStrategy));
+        ImmutablePair<Flow, Flow> down = flowCache.updateFlowState(secondFlow.getFlowId(), FlowState.DOWN);
+
+        assertEquals(Collections.singleton(down), flowCache.getFlowsWithState(FlowState.DOWN));
+        assertEquals(Collections.emptySet(), flowCache.getFlowsWithState(FlowState.UP));
+    }
+
     @Test
     public void getFlowsForUpState() throws Exception {
         Map<String, String> affected;
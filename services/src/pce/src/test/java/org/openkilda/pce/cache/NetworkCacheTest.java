@@ -231,4 +231,35 @@ public class NetworkCacheTest {
                 NetworkTopologyConstants.isl32, NetworkTopologyConstants.isl42)),
                 networkCache.getIslsByDestination(NetworkTopologyConstants.sw2.getSwitchId()));
     }
+
+    @Test
+    public void indexesFollowSwitchUpdate() throws Exception {
+        createOrUpdateIsl();
+        Set<SwitchInfoData> addedSwitches = networkCache.getStateSwitches(SwitchState.ADDED);
+        assertEquals(new HashSet<>(Arrays.asList(NetworkTopologyConstants.sw3)), addedSwitches);
+
+        SwitchInfoData sw3deactivated = new SwitchInfoData(NetworkTopologyConstants.sw3.getSwitchId(),
+                SwitchState.DEACTIVATED, "", "", "", "remote");
+        networkCache.updateSwitch(sw3deactivated);
+
+        assertEquals(Collections.emptySet(), addedSwitches);
+        assertEquals(new HashSet<>(Arrays.asList(sw3deactivated)),
+                networkCache.getStateSwitches(SwitchState.DEACTIVATED));
+        assertEquals(new HashSet<>(Arrays.asList(sw3deactivated)), networkCache.getControllerSwitches("remote"));
+        assertEquals(new HashSet<>(Arrays.asList(NetworkTopologyConstants.isl32)),
+                networkCache.getIslsBySource(sw3deactivated.getSwitchId()));
+        assertEquals(new HashSet<>(Arrays.asList(NetworkTopologyConstants.isl23, NetworkTopologyConstants.isl32)),
+                networkCache.getIslsBySwitch(sw3deactivated.getSwitchId()));
+    }
+
+    @Test
+    public void deleteSwitchDeletesItsIsls() throws Exception {
+        createOrUpdateIsl();
+        networkCache.deleteSwitch(NetworkTopologyConstants.sw3.getSwitchId());
+
+        assertEquals(new HashSet<>(Arrays.asList(NetworkTopologyConstants.isl12, NetworkTopologyConstants.isl21)),
+                networkCache.dumpIsls());
+        assertEquals(new HashSet<>(Arrays.asList(NetworkTopologyConstants.isl21)),
+                networkCache.getIslsBySource(NetworkTopologyConstants.sw2.getSwitchId()));
+    }
 }
@@ -0,0 +1,102 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.provider.PathComputer.Strategy;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class PathCacheTest {
+    private final PathCache pathCache = new PathCache(2);
+
+    @Test
+    public void shouldReturnCachedPathForFlowOfSameBandwidth() {
+        pathCache.put(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, makePath());
+
+        assertNotNull(pathCache.get(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, path -> true));
+        assertNull(pathCache.get(makeFlow("sw1", "sw2", 500), Strategy.COST, 1, path -> true));
+        assertNull(pathCache.get(makeFlow("sw1", "sw2", 300), Strategy.LATENCY, 1, path -> true));
+        assertEquals(1, pathCache.getHits());
+        assertEquals(2, pathCache.getMisses());
+    }
+
+    @Test
+    public void shouldDropPathsOfOlderGeneration() {
+        pathCache.put(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, makePath());
+
+        assertNull(pathCache.get(makeFlow("sw1", "sw2", 300), Strategy.COST, 2, path -> true));
+        assertEquals(0, pathCache.size());
+
+        // a path computed on an older topology is not stored
+        pathCache.put(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, makePath());
+        assertEquals(0, pathCache.size());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedPath() {
+        pathCache.put(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, makePath());
+        pathCache.put(makeFlow("sw1", "sw3", 300), Strategy.COST, 1, makePath());
+        pathCache.get(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, path -> true);
+
+        pathCache.put(makeFlow("sw1", "sw4", 300), Strategy.COST, 1, makePath());
+
+        assertEquals(2, pathCache.size());
+        assertEquals(1, pathCache.getEvictions());
+        assertNotNull(pathCache.get(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, path -> true));
+        assertNull(pathCache.get(makeFlow("sw1", "sw3", 300), Strategy.COST, 1, path -> true));
+    }
+
+    @Test
+    public void shouldCountRejectedPathAsMiss() {
+        pathCache.put(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, makePath());
+
+        assertNull(pathCache.get(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, path -> false));
+        assertEquals(0, pathCache.getHits());
+        assertEquals(1, pathCache.getMisses());
+    }
+
+    @Test
+    public void shouldReturnCopyOfCachedPath() {
+        ImmutablePair<PathInfoData, PathInfoData> stored = makePath();
+        pathCache.put(makeFlow("sw1", "sw2", 300), Strategy.COST, 1, stored);
+
+        ImmutablePair<PathInfoData, PathInfoData> cached = pathCache.get(
+                makeFlow("sw1", "sw2", 300), Strategy.COST, 1, path -> true);
+        assertEquals(stored, cached);
+        assertNotSame(stored.getLeft().getPath().get(0), cached.getLeft().getPath().get(0));
+    }
+
+    private Flow makeFlow(String srcSwitch, String dstSwitch, int bandwidth) {
+        return new Flow("flow", bandwidth, false, "flow", srcSwitch, 10, 100, dstSwitch, 10, 100);
+    }
+
+    private ImmutablePair<PathInfoData, PathInfoData> makePath() {
+        return new ImmutablePair<>(
+                new PathInfoData(0L, Arrays.asList(new PathNode("sw1", 1, 0), new PathNode("sw2", 2, 1))),
+                new PathInfoData(0L, Arrays.asList(new PathNode("sw2", 2, 0), new PathNode("sw1", 1, 1))));
+    }
+}
@@ -133,6 +133,24 @@ public class ResourceCacheTest {
         assertEquals(0, resourceCache.getAllMeterIds(SWITCH_ID).size());
     }
 
+    @Test
+    public void meterIdsOfFlowPairAreAllocatedTogether() throws Exception {
+        ImmutablePair<Integer, Integer> meters = resourceCache.allocateMeterIds(SWITCH_ID, SWITCH_ID_2);
+        assertEquals(ResourceCache.MIN_METER_ID, (int) meters.getLeft());
+        assertEquals(ResourceCache.MIN_METER_ID, (int) meters.getRight());
+
+        for (int i = ResourceCache.MIN_METER_ID + 1; i <= ResourceCache.MAX_METER_ID; i++) {
+            resourceCache.allocateMeterId(SWITCH_ID_2);
+        }
+        try {
+            resourceCache.allocateMeterIds(SWITCH_ID, SWITCH_ID_2);
+            throw new AssertionError("The meter pool of the reverse switch must be full");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // the forward meter is given back
+            assertEquals(1, resourceCache.getAllMeterIds(SWITCH_ID).size());
+        }
+    }
+
     @Test(expected = ArrayIndexOutOfBoundsException.class)
     public void vlanPoolFullTest() {
         resourceCache.allocateVlanId();
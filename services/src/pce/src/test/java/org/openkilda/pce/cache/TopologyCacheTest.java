@@ -0,0 +1,313 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.openkilda.messaging.error.CacheException;
+import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.event.SwitchState;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.model.AvailableNetwork;
+import org.openkilda.pce.model.TopologySnapshot;
+import org.openkilda.pce.model.TopologySnapshot.Link;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TopologyCacheTest {
+    private final TopologyCache topologyCache = new TopologyCache();
+
+    @Before
+    public void setUp() {
+        Map<String, Boolean> switches = new HashMap<>();
+        switches.put("sw1", true);
+        switches.put("sw2", true);
+        topologyCache.load(TopologySnapshot.of(0, switches, Arrays.asList(
+                makeLink("sw1", 1, "sw2", 2, 1000),
+                makeLink("sw2", 2, "sw1", 1, 1000))));
+    }
+
+    @Test
+    public void shouldBumpVersionOnEachChange() {
+        long version = topologyCache.getVersion();
+
+        topologyCache.handleSwitchEvent(new SwitchInfoData("sw3", SwitchState.ACTIVATED, null, null, null, null));
+
+        assertEquals(version + 1, topologyCache.getVersion());
+        assertTrue(topologyCache.getSnapshot().isSwitchActive("sw3"));
+    }
+
+    @Test
+    public void shouldBumpGenerationOnTopologyChangesOnly() {
+        long generation = topologyCache.getGeneration();
+
+        topologyCache.allocateFlow(makeFlow("flow", 300));
+        topologyCache.handleIslEvent(new IslInfoData(10, Arrays.asList(
+                new PathNode("sw1", 1, 0), new PathNode("sw2", 2, 1)), 1000, IslChangeType.DISCOVERED, 1000));
+        assertEquals(generation, topologyCache.getGeneration());
+
+        topologyCache.handlePortEvent(new PortInfoData("sw2", 2, PortChangeType.DOWN));
+        assertEquals(generation + 1, topologyCache.getGeneration());
+    }
+
+    @Test
+    public void shouldBumpGenerationOnBandwidthRelease() {
+        topologyCache.allocateFlow(makeFlow("flow", 300));
+        long generation = topologyCache.getGeneration();
+
+        // a path chosen while the ISLs were saturated must not outlive the saturation
+        topologyCache.release("flow");
+        assertEquals(generation + 1, topologyCache.getGeneration());
+
+        topologyCache.release("flow");
+        assertEquals(generation + 1, topologyCache.getGeneration());
+    }
+
+    @Test
+    public void shouldExcludeLinksOfDeactivatedSwitch() {
+        topologyCache.handleSwitchEvent(new SwitchInfoData("sw2", SwitchState.DEACTIVATED, null, null, null, null));
+
+        AvailableNetwork network = topologyCache.getSnapshot().getAvailableNetwork(true, 0);
+        assertEquals(Integer.valueOf(0), network.getCounts().get("ISLS"));
+    }
+
+    @Test
+    public void shouldDeactivateLinksOnPortDown() {
+        topologyCache.handlePortEvent(new PortInfoData("sw2", 2, PortChangeType.DOWN));
+
+        TopologySnapshot snapshot = topologyCache.getSnapshot();
+        assertFalse(snapshot.getLink(Link.makeId("sw1", 1)).isActive());
+        assertFalse(snapshot.getLink(Link.makeId("sw2", 2)).isActive());
+    }
+
+    @Test
+    public void shouldKeepUsedBandwidthOnIslRediscovery() {
+        topologyCache.allocateFlow(makeFlow("flow", 300));
+
+        topologyCache.handleIslEvent(new IslInfoData(10, Arrays.asList(
+                new PathNode("sw1", 1, 0), new PathNode("sw2", 2, 1)), 10000, IslChangeType.DISCOVERED, 2000));
+
+        Link link = topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1));
+        assertEquals(2000, link.getMaxBandwidth());
+        assertEquals(1700, link.getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldTakeCostFromIslEvent() {
+        long generation = topologyCache.getGeneration();
+
+        IslInfoData isl = new IslInfoData(10, Arrays.asList(
+                new PathNode("sw1", 1, 0), new PathNode("sw2", 2, 1)), 1000, IslChangeType.DISCOVERED, 1000);
+        isl.setCost(300);
+        topologyCache.handleIslEvent(isl);
+
+        assertEquals(300, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getCost());
+        assertEquals(generation + 1, topologyCache.getGeneration());
+
+        // the cost is kept if the event doesn't carry it
+        isl.setCost(null);
+        topologyCache.handleIslEvent(isl);
+
+        assertEquals(300, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getCost());
+        assertEquals(generation + 1, topologyCache.getGeneration());
+    }
+
+    @Test
+    public void shouldApplyCostUpdate() {
+        long generation = topologyCache.getGeneration();
+
+        IslInfoData isl = new IslInfoData(Arrays.asList(
+                new PathNode("sw2", 2, 0), new PathNode("sw1", 1, 1)), IslChangeType.OTHER_UPDATE);
+        isl.setCost(500);
+        topologyCache.handleIslEvent(isl);
+
+        Link link = topologyCache.getSnapshot().getLink(Link.makeId("sw2", 2));
+        assertEquals(500, link.getCost());
+        assertEquals(1000, link.getAvailableBandwidth());
+        assertTrue(link.isActive());
+        assertEquals(generation + 1, topologyCache.getGeneration());
+    }
+
+    @Test
+    public void shouldKeepPreviousSnapshotUnchanged() {
+        TopologySnapshot before = topologyCache.getSnapshot();
+
+        topologyCache.allocateFlow(makeFlow("flow", 300));
+        topologyCache.handleIslEvent(new IslInfoData(10, Arrays.asList(
+                new PathNode("sw3", 1, 0), new PathNode("sw1", 5, 1)), 1000, IslChangeType.DISCOVERED, 1000));
+
+        TopologySnapshot after = topologyCache.getSnapshot();
+        assertEquals(1000, before.getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+        assertEquals(700, after.getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+        assertEquals(2, before.getLinks().size());
+        assertEquals(3, after.getLinks().size());
+        assertNull(before.getLink(Link.makeId("sw3", 1)));
+    }
+
+    @Test
+    public void shouldReserveAndReleaseFlowBandwidth() {
+        ImmutablePair<Flow, Flow> flow = makeFlow("flow", 300);
+
+        topologyCache.allocateFlow(flow);
+        // repeated reservation of the same flow must not consume the bandwidth twice
+        topologyCache.allocateFlow(flow);
+
+        TopologySnapshot snapshot = topologyCache.getSnapshot();
+        assertEquals(700, snapshot.getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+        assertEquals(700, snapshot.getLink(Link.makeId("sw2", 2)).getAvailableBandwidth());
+        assertEquals(Integer.valueOf(0), snapshot.getAvailableNetwork(false, 800).getCounts().get("ISLS"));
+
+        topologyCache.deallocateFlow("flow");
+
+        snapshot = topologyCache.getSnapshot();
+        assertEquals(1000, snapshot.getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+        assertEquals(1000, snapshot.getLink(Link.makeId("sw2", 2)).getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldNotReserveBandwidthOfAccountedFlows() {
+        ImmutablePair<Flow, Flow> flow = makeFlow("flow", 300);
+        topologyCache.load(topologyCache.getSnapshot(), Collections.singletonList(flow));
+
+        topologyCache.allocateFlow(flow);
+        assertEquals(1000, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+
+        topologyCache.deallocateFlow("flow");
+        assertEquals(1300, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldAdmitReservationsWithinAvailableBandwidth() {
+        ImmutablePair<PathInfoData, PathInfoData> path = makeFlowPath();
+
+        assertTrue(topologyCache.reserve("first", 600, path));
+        assertFalse(topologyCache.reserve("second", 600, path));
+        // the flow doesn't compete with its own reservation
+        assertTrue(topologyCache.reserve("first", 900, path));
+        assertEquals(100, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+
+        topologyCache.release("first");
+        assertTrue(topologyCache.reserve("second", 600, path));
+    }
+
+    @Test
+    public void shouldRejectFlowsOverAvailableBandwidthInFlowCache() {
+        FlowCache flowCache = new FlowCache(topologyCache);
+        flowCache.createFlow(new Flow("first", 600, false, "first", "sw1", 10, 100, "sw2", 10, 100), makeFlowPath());
+
+        try {
+            flowCache.createFlow(new Flow("second", 600, false, "second", "sw1", 11, 100, "sw2", 11, 100),
+                    makeFlowPath());
+            fail("The flow must not be admitted");
+        } catch (CacheException e) {
+            assertEquals(ErrorType.CREATION_FAILURE, e.getErrorType());
+        }
+        assertFalse(flowCache.cacheContainsFlow("second"));
+
+        flowCache.deleteFlow("first");
+        assertEquals(1000, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldReleaseBandwidthIfFlowCanNotBeBuilt() {
+        FlowCache flowCache = new FlowCache(topologyCache);
+        exhaustMeters(flowCache, "sw1");
+
+        try {
+            flowCache.createFlow(new Flow("flow", 600, false, "flow", "sw1", 10, 100, "sw2", 10, 100),
+                    makeFlowPath());
+            fail("The flow must not be built without meters");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // the meter pool is exhausted
+        }
+        assertFalse(flowCache.cacheContainsFlow("flow"));
+        assertEquals(1000, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldRestoreBandwidthIfFlowUpdateCanNotBeBuilt() {
+        FlowCache flowCache = new FlowCache(topologyCache);
+        flowCache.createFlow(new Flow("flow", 300, false, "flow", "sw1", 10, 100, "sw2", 10, 100), makeFlowPath());
+        exhaustMeters(flowCache, "sw1");
+
+        try {
+            flowCache.updateFlow(new Flow("flow", 600, false, "flow", "sw1", 10, 100, "sw2", 10, 100),
+                    makeFlowPath());
+            fail("The flow must not be built without meters");
+        } catch (ArrayIndexOutOfBoundsException e) {
+            // the meter pool is exhausted
+        }
+        assertEquals(300, flowCache.getFlow("flow").getLeft().getBandwidth());
+        assertEquals(700, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+    }
+
+    @Test
+    public void shouldReleaseBandwidthOfRemovedFlow() {
+        FlowCache flowCache = new FlowCache(topologyCache);
+        flowCache.createFlow(new Flow("flow", 600, false, "flow", "sw1", 10, 100, "sw2", 10, 100), makeFlowPath());
+        assertEquals(400, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+
+        flowCache.removeFlow("flow");
+        assertEquals(1000, topologyCache.getSnapshot().getLink(Link.makeId("sw1", 1)).getAvailableBandwidth());
+    }
+
+    private void exhaustMeters(FlowCache flowCache, String switchId) {
+        for (int meterId = ResourceCache.MIN_METER_ID; meterId <= ResourceCache.MAX_METER_ID; meterId++) {
+            flowCache.resourceCache.allocateMeterId(switchId, meterId);
+        }
+    }
+
+    private ImmutablePair<PathInfoData, PathInfoData> makeFlowPath() {
+        return new ImmutablePair<>(
+                new PathInfoData(0L, Arrays.asList(new PathNode("sw1", 1, 0), new PathNode("sw2", 2, 1))),
+                new PathInfoData(0L, Arrays.asList(new PathNode("sw2", 2, 0), new PathNode("sw1", 1, 1))));
+    }
+
+    private Link makeLink(String srcSwitch, int srcPort, String dstSwitch, int dstPort, long bandwidth) {
+        return Link.builder()
+                .srcSwitch(srcSwitch).srcPort(srcPort)
+                .dstSwitch(dstSwitch).dstPort(dstPort)
+                .maxBandwidth(bandwidth).availableBandwidth(bandwidth)
+                .active(true)
+                .build();
+    }
+
+    private ImmutablePair<Flow, Flow> makeFlow(String flowId, int bandwidth) {
+        Flow forward = new Flow(flowId, bandwidth, false, flowId, "sw1", 10, 100, "sw2", 10, 100);
+        forward.setFlowPath(new PathInfoData(0L, Arrays.asList(new PathNode("sw1", 1, 0), new PathNode("sw2", 2, 1))));
+        Flow reverse = new Flow(flowId, bandwidth, false, flowId, "sw2", 10, 100, "sw1", 10, 100);
+        reverse.setFlowPath(new PathInfoData(0L, Arrays.asList(new PathNode("sw2", 2, 0), new PathNode("sw1", 1, 1))));
+        return new ImmutablePair<>(forward, reverse);
+    }
+}
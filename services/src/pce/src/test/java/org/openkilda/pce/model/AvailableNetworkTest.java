@@ -0,0 +1,87 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.event.PathNode;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class AvailableNetworkTest {
+
+    private void addBidirectional(AvailableNetwork network, String src, String dst, int srcPort, int dstPort) {
+        network.initOneEntry(src, dst, srcPort, dstPort, 10, 1);
+        network.initOneEntry(dst, src, dstPort, srcPort, 10, 1);
+    }
+
+    private AvailableNetwork makeDiamond() {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectional(network, "A", "B", 1, 1);
+        addBidirectional(network, "B", "D", 2, 1);
+        addBidirectional(network, "A", "C", 2, 1);
+        addBidirectional(network, "C", "D", 2, 2);
+        return network;
+    }
+
+    private List<PathNode> makeForwardPathOverB() {
+        return Arrays.asList(
+                new PathNode("A", 1, 0), new PathNode("B", 1, 1),
+                new PathNode("B", 2, 2), new PathNode("D", 1, 3));
+    }
+
+    @Test
+    public void shouldRemovePathLinksInBothDirections() {
+        AvailableNetwork network = makeDiamond().removePath(makeForwardPathOverB(), false);
+
+        assertFalse(network.getSimpleSwitch("A").outbound.containsKey("B"));
+        assertFalse(network.getSimpleSwitch("B").outbound.containsKey("A"));
+        assertFalse(network.getSimpleSwitch("B").outbound.containsKey("D"));
+        assertFalse(network.getSimpleSwitch("D").outbound.containsKey("B"));
+        assertTrue(network.getSimpleSwitch("A").outbound.containsKey("C"));
+        assertTrue(network.getSimpleSwitch("D").outbound.containsKey("C"));
+    }
+
+    @Test
+    public void shouldKeepParallelLinks() {
+        AvailableNetwork network = makeDiamond();
+        addBidirectional(network, "A", "B", 3, 3);
+
+        network.removePath(makeForwardPathOverB(), false);
+
+        assertEquals(1, network.getSimpleSwitch("A").outbound.get("B").size());
+        assertEquals(1, network.getSimpleSwitch("B").outbound.get("A").size());
+    }
+
+    @Test
+    public void shouldRemoveTransitSwitchesOnly() {
+        AvailableNetwork network = makeDiamond();
+        addBidirectional(network, "B", "C", 3, 3);
+
+        network.removePath(makeForwardPathOverB(), true);
+
+        assertNull(network.getSimpleSwitch("B"));
+        assertFalse(network.getSimpleSwitch("C").outbound.containsKey("B"));
+        assertTrue(network.getSimpleSwitch("A").outbound.containsKey("C"));
+        assertTrue(network.getSimpleSwitch("D").outbound.containsKey("C"));
+    }
+}
@@ -0,0 +1,94 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.payload.flow.FlowState;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+public class FlowSyncDigestTest {
+    private static final int BUCKETS = 256;
+    private static final long FORWARD_COOKIE = 0x4000000000000001L;
+    private static final long REVERSE_COOKIE = 0x2000000000000001L;
+
+    @Test
+    public void digestMatchesTopologyEngine() {
+        // the value calculated by flow_utils.flow_sync_digest of the topology engine
+        assertEquals(2711057766L, FlowSyncDigest.digest(makeFlow(FlowState.UP, 3, 4)));
+    }
+
+    @Test
+    public void flowsDifferingByPathHaveDifferentDigests() {
+        assertNotEquals(FlowSyncDigest.digest(makeFlow(FlowState.UP, 3, 4)),
+                FlowSyncDigest.digest(makeFlow(FlowState.UP, 5, 6)));
+    }
+
+    @Test
+    public void flowsDifferingByStateHaveDifferentDigests() {
+        assertNotEquals(FlowSyncDigest.digest(makeFlow(FlowState.UP, 3, 4)),
+                FlowSyncDigest.digest(makeFlow(FlowState.DOWN, 3, 4)));
+    }
+
+    @Test
+    public void halvesOfFlowShareBucket() {
+        assertEquals(FlowSyncDigest.bucket(FORWARD_COOKIE, BUCKETS), FlowSyncDigest.bucket(REVERSE_COOKIE, BUCKETS));
+    }
+
+    @Test
+    public void sameFlowsHaveNoDivergentBuckets() {
+        FlowSyncDigest cache = new FlowSyncDigest(BUCKETS)
+                .add(FORWARD_COOKIE, 10)
+                .add(REVERSE_COOKIE, 20)
+                .add(5, 30);
+        FlowSyncDigest database = new FlowSyncDigest(BUCKETS)
+                .addBucket(1, 2, 30)
+                .addBucket(5, 1, 30);
+
+        assertEquals(cache.getRoot(), database.getRoot());
+        assertEquals(Collections.emptySet(), cache.diff(database));
+    }
+
+    @Test
+    public void changedAndMissingFlowsGiveTheirBuckets() {
+        FlowSyncDigest cache = new FlowSyncDigest(BUCKETS)
+                .add(FORWARD_COOKIE, 10)
+                .add(REVERSE_COOKIE, 20)
+                .add(5, 30);
+        FlowSyncDigest database = new FlowSyncDigest(BUCKETS)
+                .addBucket(1, 2, 31)
+                .addBucket(7, 1, 30);
+
+        assertEquals(new HashSet<>(Arrays.asList(1L, 5L, 7L)), cache.diff(database));
+    }
+
+    private Flow makeFlow(FlowState state, int srcPathPort, int dstPathPort) {
+        PathInfoData path = new PathInfoData(0L, Arrays.asList(
+                new PathNode("00:01", srcPathPort, 0), new PathNode("00:02", dstPathPort, 1)));
+        return new Flow("f1", 1000, false, FORWARD_COOKIE, "", "", "00:01", "00:02", 1, 2, 100, 200, 11, 2,
+                path, state);
+    }
+}
@@ -22,6 +22,7 @@ import org.openkilda.messaging.info.event.SwitchState;
 import org.openkilda.messaging.model.Flow;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 
 public class NeoDriverTest {
@@ -87,6 +88,41 @@ public class NeoDriverTest {
     }
 
 
+    @Test
+    public void getFlowsByIdWithQuote() {
+        try ( Transaction tx = graphDb.beginTx() ) {
+            Node node1, node2;
+            node1 = graphDb.createNode(Label.label("switch"));
+            node1.setProperty("name", "00:03");
+            node2 = graphDb.createNode(Label.label("switch"));
+            node2.setProperty("name", "00:04");
+            Relationship rel1 = node1.createRelationshipTo(node2, RelationshipType.withName("flow"));
+            rel1.setProperty("flowid","f'2");
+            rel1.setProperty("cookie", 4);
+            rel1.setProperty("src_switch","00:03");
+            rel1.setProperty("dst_switch","00:04");
+            rel1.setProperty("src_port",1);
+            rel1.setProperty("dst_port",2);
+            rel1.setProperty("src_vlan",5);
+            rel1.setProperty("dst_vlan",5);
+            rel1.setProperty("path","\"{\"path\": [], \"latency_ns\": 0, \"timestamp\": 1522528031909}\"");
+            rel1.setProperty("bandwidth",200);
+            rel1.setProperty("ignore_bandwidth", false);
+            rel1.setProperty("description","description");
+            rel1.setProperty("last_updated","last_updated");
+            tx.success();
+        }
+
+        List<Flow> flows = target.getFlows("f'2");
+        Assert.assertEquals(1, flows.size());
+        Assert.assertEquals(4, flows.get(0).getCookie());
+
+        List<Flow> streamed = new ArrayList<>();
+        target.forEachFlow(streamed::add);
+        Assert.assertTrue(streamed.stream().anyMatch(flow -> "f'2".equals(flow.getFlowId())));
+    }
+
+
     @Test
     public void getAllIsl() {
         try ( Transaction tx = graphDb.beginTx() ) {
@@ -6,6 +6,7 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.neo4j.driver.v1.*;
 import org.neo4j.graphdb.*;
@@ -486,6 +487,24 @@ public class PathComputerTest {
         Assert.assertEquals(start, right.get(right.size()-1).getSwitchId());
     }
 
-
+    @Test
+    public void getPathsShouldShareBandwidthInBatch() throws RecoverableException {
+        // both paths have 1000 available, so the two flows don't fit into the cheaper one together
+        createDiamond("active", "active", 10, 20, "14:", 1);
+        Flow first = new Flow("first", 600, false, "first", "14:01", 1, 0, "14:04", 2, 0);
+        Flow second = new Flow("second", 500, false, "second", "14:01", 3, 0, "14:04", 4, 0);
+        Flow unbound = new Flow("unbound", 800, true, "unbound", "14:01", 5, 0, "14:04", 6, 0);
+
+        Map<String, ImmutablePair<PathInfoData, PathInfoData>> paths =
+                nd.getPaths(Arrays.asList(unbound, second, first), PathComputer.Strategy.COST);
+
+        Assert.assertEquals(3, paths.size());
+        // the biggest flow is placed first and takes the cheaper path
+        Assert.assertEquals("14:02", paths.get("first").left.getPath().get(1).getSwitchId());
+        Assert.assertEquals("14:03", paths.get("second").left.getPath().get(1).getSwitchId());
+        Assert.assertEquals("14:03", paths.get("second").right.getPath().get(1).getSwitchId());
+        // flows which ignore bandwidth are not limited by the others
+        Assert.assertEquals("14:02", paths.get("unbound").left.getPath().get(1).getSwitchId());
+    }
 
 }
@@ -20,6 +20,7 @@ import copy
 import calendar
 import time
 import collections
+import zlib
 
 import message_utils
 import logging
@@ -68,6 +69,24 @@ def is_same_direction(first, second):
             or (is_reverse_cookie(first) and is_reverse_cookie(second)))
 
 
+def flow_sync_digest(flow):
+    """
+    CRC32 of the flow fields compared by the flow cache sync. The same value is calculated by the WFM
+    (org.openkilda.pce.model.FlowSyncDigest), so the cache and the DB can be compared bucket by bucket.
+
+    :param flow: the half-flow, its flowpath is a dict
+    """
+    flowpath = flow.get('flowpath') or {}
+    path = u','.join(u'{}:{}'.format(node['switch_id'], int(node['port_no']))
+                     for node in flowpath.get('path') or [])
+    key = u'{}|{}|{}|{}|{}|{}|{}|{}|{}|{}|{}|{}|{}'.format(
+        flow['flowid'], int(flow['cookie']), int(flow.get('meter_id') or 0), int(flow.get('transit_vlan') or 0),
+        flow['src_switch'], int(flow.get('src_port') or 0), int(flow.get('src_vlan') or 0),
+        flow['dst_switch'], int(flow.get('dst_port') or 0), int(flow.get('dst_vlan') or 0),
+        int(flow.get('bandwidth') or 0), flow.get('state') or u'', path)
+    return zlib.crc32(key.encode('utf-8')) & 0xffffffff
+
+
 def choose_output_action(input_vlan_id, output_vlan_id):
     if not int(input_vlan_id):
         return "PUSH" if int(output_vlan_id) else "NONE"
@@ -184,9 +203,18 @@ def merge_flow_relationship(flow_data, tx=None):
         " f.transit_vlan = {transit_vlan}, "
         " f.description = '{description}', "
         " f.last_updated = '{last_updated}', "
+        " f.path_computation_strategy = {path_computation_strategy}, "
+        " f.max_latency = {max_latency}, "
+        " f.state = '{state}', "
+        " f.sync_digest = {sync_digest}, "
         " f.flowpath = '{flowpath}' "
     )
     flow_data['flowpath'].pop('clazz', None) # don't store the clazz info, if it is there.
+    flow_data['sync_digest'] = flow_sync_digest(flow_data)
+    strategy = flow_data.get('path_computation_strategy')
+    flow_data['path_computation_strategy'] = "'{}'".format(strategy) if strategy else 'null'
+    flow_data['max_latency'] = flow_data.get('max_latency') or 0
+    flow_data['state'] = flow_data.get('state') or ''
     flow_data['last_updated'] = calendar.timegm(time.gmtime())
     flow_data['flowpath'] = json.dumps(flow_data['flowpath'])
     if tx:
@@ -195,6 +223,26 @@ def merge_flow_relationship(flow_data, tx=None):
         graph.run(query.format(**flow_data))
 
 
+def update_flow_state(flow, tx=None):
+    """
+    Stores the state of the half-flow. The state is a part of the sync digest, so the digest is stored again.
+    """
+    query = (
+        "MATCH (:switch)-[f:flow {{flowid: '{flowid}', cookie: {cookie}}}]->(:switch) "
+        "SET f.state = '{state}', f.sync_digest = {sync_digest}"
+    )
+    params = {
+        'flowid': flow['flowid'],
+        'cookie': int(flow['cookie']),
+        'state': flow.get('state') or '',
+        'sync_digest': flow_sync_digest(flow)
+    }
+    if tx:
+        tx.run(query.format(**params))
+    else:
+        graph.run(query.format(**params))
+
+
 def merge_flow_segments(_flow, tx=None):
     """
     This function creates each segment relationship in a flow, and then it calls the function to
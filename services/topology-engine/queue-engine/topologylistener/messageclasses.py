@@ -411,6 +411,11 @@ class MessageItem(model.JsonSerializable):
         #
         flow_utils.update_isl_bandwidth(src_sw, src_pt, dst_sw, dst_pt)
 
+        # the path computation keeps the ISL cost in its topology cache, no
+        # cost is the same as zero for it
+        with graph.begin() as tx:
+            self.payload['cost'] = isl_utils.get_cost(tx, isl) or 0
+
         logger.info('ISL %s have been created/updated', isl)
 
         return True
@@ -609,6 +614,8 @@ class MessageItem(model.JsonSerializable):
             return allow
         if op == "UPDATE" and features_status[FEATURE_UPDATE_FLOW]:
             return allow
+        if op == "STATE":
+            return allow
 
         return not allow
 
@@ -674,6 +681,14 @@ class MessageItem(model.JsonSerializable):
                 tx.commit()
                 tx = None
 
+            elif OP == "STATE":
+                # the state is a part of the sync digest of the flow
+                tx = graph.begin()
+                flow_utils.update_flow_state(forward, tx)
+                flow_utils.update_flow_state(reverse, tx)
+                tx.commit()
+                tx = None
+
             else:
                 logger.warn('Flow operation is not supported: '
                             'operation=%s, timestamp=%s, correlation_id=%s,',
@@ -831,6 +846,8 @@ class MessageItem(model.JsonSerializable):
 
             actual_link_props = link_props_utils.read(tx, link_props)
 
+        self.send_isl_cost_update(link_props)
+
         payload = message_utils.make_link_props_response(
             self.payload, actual_link_props)
         message_utils.send_link_props_response(payload, self.correlation_id)
@@ -843,12 +860,38 @@ class MessageItem(model.JsonSerializable):
                 isl = model.InterSwitchLink.new_from_link_props(link_props)
                 isl_utils.del_props(tx, isl, link_props.props)
 
+        self.send_isl_cost_update(*removed_records)
+
         response_batch = [
             message_utils.make_link_props_response(self.payload, x)
             for x in removed_records]
         message_utils.send_link_props_chunked_response(
             response_batch, self.correlation_id)
 
+    def send_isl_cost_update(self, *batch):
+        """
+        Sends the cost of the ISLs changed by link props to the cache topic,
+        so the path computation doesn't use the stale one.
+        """
+        with graph.begin() as tx:
+            for link_props in batch:
+                if 'cost' not in link_props.props:
+                    continue
+                isl = model.InterSwitchLink.new_from_link_props(link_props)
+                try:
+                    cost = isl_utils.get_cost(tx, isl) or 0
+                except exc.DBRecordNotFound:
+                    continue
+
+                payload = {
+                    'clazz': MT_ISL,
+                    'state': 'OTHER_UPDATE',
+                    'path': [
+                        {'switch_id': x.dpid, 'port_no': x.port, 'seq_id': i}
+                        for i, x in enumerate((isl.source, isl.dest))],
+                    'cost': cost}
+                message_utils.send_cache_message(payload, self.correlation_id)
+
     def _unpack_link_props(self, key='link_props'):
         try:
             link_props = model.LinkProps.new_from_java(
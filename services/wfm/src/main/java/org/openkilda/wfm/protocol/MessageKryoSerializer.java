@@ -0,0 +1,69 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.protocol;
+
+import org.openkilda.messaging.BaseMessage;
+import org.openkilda.messaging.codec.MessageCodecs;
+import org.openkilda.messaging.codec.MessageTypeIdResolver;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.KryoException;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.apache.storm.Config;
+
+import java.io.IOException;
+
+/**
+ * Storm (kryo) serializer for messages passed between bolts as objects. Uses the binary message codec, so the
+ * messaging model classes don't need to be kryo friendly.
+ */
+public class MessageKryoSerializer extends Serializer<BaseMessage> {
+    /**
+     * Registers the serializer for the message types that have short ids. The message envelopes are among them, so
+     * every message passed between bolts goes through the binary codec, payloads without a short id are written with
+     * their class name.
+     */
+    public static void register(Config config) {
+        for (Class<?> type : MessageTypeIdResolver.getRegisteredTypes()) {
+            config.registerSerialization(type, MessageKryoSerializer.class);
+        }
+    }
+
+    @Override
+    public void write(Kryo kryo, Output output, BaseMessage message) {
+        byte[] payload;
+        try {
+            payload = MessageCodecs.CBOR.encode(message);
+        } catch (IOException e) {
+            throw new KryoException(e);
+        }
+
+        output.writeInt(payload.length, true);
+        output.writeBytes(payload);
+    }
+
+    @Override
+    public BaseMessage read(Kryo kryo, Input input, Class<BaseMessage> type) {
+        byte[] payload = input.readBytes(input.readInt(true));
+        try {
+            return MessageCodecs.CBOR.decode(payload, type);
+        } catch (IOException e) {
+            throw new KryoException(e);
+        }
+    }
+}
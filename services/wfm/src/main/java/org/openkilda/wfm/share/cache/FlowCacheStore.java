@@ -0,0 +1,367 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.cache;
+
+import static java.lang.String.format;
+import static org.openkilda.messaging.Utils.MAPPER;
+
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.cache.FlowCache;
+import org.openkilda.pce.cache.FlowCacheListener;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.apache.storm.Config;
+import org.apache.storm.task.TopologyContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local copy of a {@link FlowCache}, so a restarted worker gets its flows from the local disk instead of reading all
+ * of them from the database.
+ *
+ * <p>The changes of the cache are appended to a {@link MappedLog} segment. From time to time a new segment is started
+ * and the flows are written to a snapshot by a background thread, the segments older than the snapshot are removed
+ * afterwards, so the log is never much longer than the snapshot.</p>
+ */
+public class FlowCacheStore implements FlowCacheListener, Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(FlowCacheStore.class);
+
+    private static final String LOG_FILE_PREFIX = "flows.";
+    private static final String LOG_FILE_SUFFIX = ".log";
+    private static final String SNAPSHOT_FILE = "flows.snapshot";
+    private static final String SNAPSHOT_TEMP_FILE = "flows.snapshot.tmp";
+
+    private static final int REGION_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The log is compacted once it has more records than the snapshot, but not before it has this many.
+     */
+    private static final long MIN_COMPACTION_RECORDS = 10000;
+
+    /**
+     * How long the close waits for the snapshot being written.
+     */
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private static final byte STORE = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    private static final TypeReference<ImmutablePair<Flow, Flow>> FLOW_TYPE =
+            new TypeReference<ImmutablePair<Flow, Flow>>() {};
+
+    private final Path directory;
+    private final ExecutorService compactor;
+    private MappedLog log;
+    private long segment;
+    private long snapshotRecords;
+
+    /**
+     * Set while a snapshot is being written.
+     */
+    private boolean compacting;
+
+    /**
+     * Set if a change is not written to the log, the next compaction writes all flows again.
+     */
+    private boolean broken;
+
+    /**
+     * Instance constructor.
+     *
+     * @param directory the directory of the store files, created if it doesn't exist
+     * @throws IOException if the log can't be opened
+     */
+    public FlowCacheStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+
+        List<Long> segments = listSegments();
+        this.segment = segments.isEmpty() ? 0 : segments.get(segments.size() - 1);
+        this.log = new MappedLog(segmentFile(segment), REGION_SIZE);
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, format("flow-cache-store-%s", directory.getFileName()));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the store of the bolt task in the local directory of the worker.
+     *
+     * @param stormConf the storm configuration
+     * @param context the topology context of the bolt task
+     * @return the store, null if the worker has no local directory or the store can't be opened
+     */
+    public static FlowCacheStore open(Map stormConf, TopologyContext context) {
+        Object localDir = stormConf.get(Config.STORM_LOCAL_DIR);
+        if (localDir == null) {
+            return null;
+        }
+
+        Path directory = Paths.get(localDir.toString(), "flow-cache",
+                String.valueOf(stormConf.get(Config.TOPOLOGY_NAME)),
+                String.format("%s-%d", context.getThisComponentId(), context.getThisTaskIndex()));
+        try {
+            return new FlowCacheStore(directory);
+        } catch (IOException e) {
+            logger.error("Unable to open the flow cache store in {}", directory, e);
+            return null;
+        }
+    }
+
+    /**
+     * Puts the stored flows to the cache. The flows are only as fresh as the last change written before the worker
+     * stopped, so the cache has to be synced with the database afterwards.
+     *
+     * @param flowCache the cache
+     * @return the number of the flows put to the cache
+     * @throws IOException if the store can't be read
+     */
+    public synchronized int restore(FlowCache flowCache) throws IOException {
+        Map<String, ImmutablePair<Flow, Flow>> flows = new LinkedHashMap<>();
+        try {
+            Path snapshot = directory.resolve(SNAPSHOT_FILE);
+            if (Files.exists(snapshot)) {
+                snapshotRecords = MappedLog.read(snapshot, REGION_SIZE, record -> apply(flows, record));
+            }
+            // the segments left by an unfinished compaction come before the current one
+            for (long older : listSegments()) {
+                if (older < segment) {
+                    MappedLog.read(segmentFile(older), REGION_SIZE, record -> apply(flows, record));
+                }
+            }
+            log.replay(record -> apply(flows, record));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        flows.values().forEach(flowCache::pushFlow);
+        return flows.size();
+    }
+
+    /**
+     * Checks if the log should be compacted.
+     *
+     * @return true if the log should be compacted and no compaction is running
+     */
+    public synchronized boolean isCompactionDue() {
+        return !compacting
+                && (broken || log.getRecordCount() > Math.max(MIN_COMPACTION_RECORDS, snapshotRecords));
+    }
+
+    /**
+     * Starts a new log segment and writes the flows to a new snapshot in the background, the older segments are
+     * removed once the snapshot is in place. Nothing is done if a snapshot is being written already.
+     *
+     * @param flows all flows of the cache, they are copied, so the cache may be changed right away
+     * @throws IOException if the new log segment can't be opened
+     */
+    public synchronized void compact(Collection<ImmutablePair<Flow, Flow>> flows) throws IOException {
+        if (compacting) {
+            return;
+        }
+
+        List<ImmutablePair<Flow, Flow>> snapshot = new ArrayList<>(flows);
+        long lastSegment = segment;
+        log.close();
+        log = new MappedLog(segmentFile(segment + 1), REGION_SIZE);
+        segment += 1;
+
+        // the snapshot has all flows, so the changes skipped so far are not needed any more
+        broken = false;
+        compacting = true;
+        compactor.execute(() -> writeSnapshot(snapshot, lastSegment));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void flowStored(ImmutablePair<Flow, Flow> flow) {
+        try {
+            append(encode(STORE, MAPPER.writeValueAsBytes(flow)));
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void flowRemoved(String flowId) {
+        append(encode(REMOVE, flowId.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void flowsCleared() {
+        append(new byte[]{CLEAR});
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            if (!compactor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("The flow cache snapshot is not written in {} seconds", CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (this) {
+            log.close();
+        }
+    }
+
+    /**
+     * Writes the snapshot and removes the log segments it covers. A crash before the segments are removed replays
+     * them over the new snapshot, which gives the same flows.
+     */
+    private void writeSnapshot(List<ImmutablePair<Flow, Flow>> flows, long lastSegment) {
+        try {
+            Path temp = directory.resolve(SNAPSHOT_TEMP_FILE);
+            Files.deleteIfExists(temp);
+            try (MappedLog snapshot = new MappedLog(temp, REGION_SIZE)) {
+                for (ImmutablePair<Flow, Flow> flow : flows) {
+                    snapshot.append(encode(STORE, MAPPER.writeValueAsBytes(flow)));
+                }
+            }
+            Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            for (long older : listSegments()) {
+                if (older <= lastSegment) {
+                    Files.deleteIfExists(segmentFile(older));
+                }
+            }
+
+            synchronized (this) {
+                snapshotRecords = flows.size();
+                compacting = false;
+            }
+            logger.debug("Flow cache store compacted to {} flows", flows.size());
+        } catch (IOException | RuntimeException e) {
+            logger.error("Unable to write the flow cache snapshot, it is written again on the next compaction", e);
+            synchronized (this) {
+                broken = true;
+                compacting = false;
+            }
+        }
+    }
+
+    private Path segmentFile(long index) {
+        return directory.resolve(LOG_FILE_PREFIX + index + LOG_FILE_SUFFIX);
+    }
+
+    /**
+     * Lists the log segments in the directory.
+     *
+     * @return the indexes of the segments in ascending order
+     */
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+                LOG_FILE_PREFIX + "*" + LOG_FILE_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    segments.add(Long.parseLong(name.substring(LOG_FILE_PREFIX.length(),
+                            name.length() - LOG_FILE_SUFFIX.length())));
+                } catch (NumberFormatException e) {
+                    logger.warn("Skip unknown file {} of the flow cache store", file);
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    private void append(byte[] record) {
+        if (broken) {
+            return;
+        }
+        try {
+            log.append(record);
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        logger.error("Unable to write the flow cache store, it is written again on the next compaction", e);
+        broken = true;
+    }
+
+    private static byte[] encode(byte operation, byte[] content) {
+        byte[] record = new byte[content.length + 1];
+        record[0] = operation;
+        System.arraycopy(content, 0, record, 1, content.length);
+        return record;
+    }
+
+    private static void apply(Map<String, ImmutablePair<Flow, Flow>> flows, byte[] record) {
+        switch (record[0]) {
+            case STORE:
+                try {
+                    ImmutablePair<Flow, Flow> flow = MAPPER.readValue(Arrays.copyOfRange(record, 1, record.length),
+                            FLOW_TYPE);
+                    flows.put(flow.getLeft().getFlowId(), flow);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                break;
+            case REMOVE:
+                flows.remove(new String(record, 1, record.length - 1, StandardCharsets.UTF_8));
+                break;
+            case CLEAR:
+                flows.clear();
+                break;
+            default:
+                throw new UncheckedIOException(new IOException(
+                        String.format("Unknown flow cache store record %d", record[0])));
+        }
+    }
+}
@@ -0,0 +1,220 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.cache;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of records written through a memory-mapped region of the file. The pages of the region belong to
+ * the OS page cache, so the records written before a crash of the worker process are not lost.
+ *
+ * <p>Each record is its length, the CRC32 of its content and the content. The file is extended region by region and
+ * the tail of the last region is zeroes, so the log ends at the first record which is empty or doesn't match its
+ * checksum. A record cut by a crash is dropped this way.</p>
+ */
+public class MappedLog implements Closeable {
+    private static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    private final FileChannel channel;
+    private final int regionSize;
+
+    /**
+     * The region the records are written to, starts at {@link #regionStart} of the file.
+     */
+    private MappedByteBuffer region;
+    private long regionStart;
+
+    /**
+     * The end of the records, the next record is written here.
+     */
+    private long end;
+    private long records;
+
+    /**
+     * Opens the log, the records already in the file are kept and the next ones are appended after them.
+     *
+     * @param file the log file, created if it doesn't exist
+     * @param regionSize the size of the region mapped at a time
+     * @throws IOException if the file can't be opened or mapped
+     */
+    public MappedLog(Path file, int regionSize) throws IOException {
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.regionSize = regionSize;
+        this.end = replay(record -> records += 1);
+        map(end, 0);
+    }
+
+    /**
+     * Appends the record.
+     *
+     * @param record the content of the record, not empty
+     * @throws IOException if the file can't be mapped
+     */
+    public synchronized void append(byte[] record) throws IOException {
+        if (record.length == 0) {
+            throw new IllegalArgumentException("Empty log record");
+        }
+
+        long size = HEADER_SIZE + record.length;
+        if (end + size > regionStart + region.capacity()) {
+            map(end, size);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(record);
+
+        // the length goes last, so a reader never sees the length of a record which isn't written yet
+        int offset = (int) (end - regionStart);
+        region.putInt(offset + Integer.BYTES, (int) crc.getValue());
+        region.position(offset + HEADER_SIZE);
+        region.put(record);
+        region.putInt(offset, record.length);
+
+        end += size;
+        records += 1;
+    }
+
+    /**
+     * Reads the records from the beginning of the log.
+     *
+     * @param consumer gets the content of each record
+     * @return the end of the last record
+     * @throws IOException if the file can't be mapped
+     */
+    public synchronized long replay(Consumer<byte[]> consumer) throws IOException {
+        return replay(channel, regionSize, consumer);
+    }
+
+    /**
+     * Reads the records of the log file without opening it for writing.
+     *
+     * @param file the log file
+     * @param regionSize the size of the region mapped at a time
+     * @param consumer gets the content of each record
+     * @return the number of the records
+     * @throws IOException if the file can't be read
+     */
+    public static long read(Path file, int regionSize, Consumer<byte[]> consumer) throws IOException {
+        long[] count = {0};
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            replay(channel, regionSize, record -> {
+                count[0] += 1;
+                consumer.accept(record);
+            });
+        }
+        return count[0];
+    }
+
+    private static long replay(FileChannel channel, int regionSize, Consumer<byte[]> consumer) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        MappedByteBuffer window = null;
+        long windowStart = 0;
+
+        while (position + HEADER_SIZE <= size) {
+            if (window == null || position + HEADER_SIZE > windowStart + window.capacity()) {
+                windowStart = position;
+                window = channel.map(MapMode.READ_ONLY, windowStart, Math.min(size - windowStart, regionSize));
+            }
+
+            int offset = (int) (position - windowStart);
+            int length = window.getInt(offset);
+            if (length <= 0 || position + HEADER_SIZE + length > size) {
+                break;
+            }
+            if (position + HEADER_SIZE + length > windowStart + window.capacity()) {
+                windowStart = position;
+                window = channel.map(MapMode.READ_ONLY, windowStart, HEADER_SIZE + length);
+                offset = 0;
+            }
+
+            byte[] record = new byte[length];
+            window.position(offset + HEADER_SIZE);
+            window.get(record);
+
+            CRC32 crc = new CRC32();
+            crc.update(record);
+            if (window.getInt(offset + Integer.BYTES) != (int) crc.getValue()) {
+                break;
+            }
+
+            consumer.accept(record);
+            position += HEADER_SIZE + length;
+        }
+
+        return position;
+    }
+
+    /**
+     * Gets the number of the records in the log.
+     *
+     * @return the number of the records
+     */
+    public synchronized long getRecordCount() {
+        return records;
+    }
+
+    /**
+     * Removes all records.
+     *
+     * @throws IOException if the file can't be truncated or mapped
+     */
+    public synchronized void reset() throws IOException {
+        region = null;
+        channel.truncate(0);
+        end = 0;
+        records = 0;
+        map(0, 0);
+    }
+
+    /**
+     * Writes the records to the disk.
+     */
+    public synchronized void force() {
+        region.force();
+    }
+
+    /**
+     * Closes the log, the file is cut at the end of the last record.
+     *
+     * @throws IOException if the file can't be truncated or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        region = null;
+        try {
+            channel.truncate(end);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void map(long start, long minSize) throws IOException {
+        regionStart = start;
+        region = channel.map(MapMode.READ_WRITE, start, Math.max(regionSize, minSize));
+    }
+}
@@ -52,6 +52,10 @@ public class FlowCollector {
         flowId = flow.getFlowId();
     }
 
+    public boolean isComplete() {
+        return forward != null && reverse != null;
+    }
+
     public Flow anyDefined() {
         if (forward != null) {
             return forward;
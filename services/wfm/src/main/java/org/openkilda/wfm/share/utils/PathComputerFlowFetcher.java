@@ -18,53 +18,104 @@ package org.openkilda.wfm.share.utils;
 
 import org.openkilda.messaging.model.BidirectionalFlow;
 import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.pce.cache.FlowCache;
+import org.openkilda.pce.model.FlowSyncDigest;
 import org.openkilda.pce.provider.PathComputer;
 
-import lombok.Getter;
-import org.neo4j.cypher.InvalidArgumentException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class PathComputerFlowFetcher {
     private static final Logger log = LoggerFactory.getLogger(PathComputerFlowFetcher.class);
 
-    @Getter
-    private final Collection<BidirectionalFlow> flows = new ArrayList<>();
+    private final PathComputer pathComputer;
 
     public PathComputerFlowFetcher(PathComputer pathComputer) {
-        for (FlowCollector collector : fetchFlows(pathComputer)) {
-            try {
-                flows.add(collector.make());
-            } catch (InvalidArgumentException e) {
-                log.error(
-                        "Invalid flow pairing {}: {}",
-                        collector.anyDefined().getFlowId(),
-                        e.toString());
-            }
+        this.pathComputer = pathComputer;
+    }
 
-        }
+    /**
+     * Reads all flows at once. Prefer {@link #forEachFlow(Consumer)} when the flows are not needed together.
+     */
+    public Collection<BidirectionalFlow> getFlows() {
+        List<BidirectionalFlow> flows = new ArrayList<>();
+        forEachFlow(flows::add);
+        return flows;
+    }
+
+    /**
+     * Streams the flows, each one is passed to the consumer as soon as both halves are read. The halves of a flow
+     * come one after another from the path computer, so only a couple of half-flows are held in memory at a time.
+     *
+     * @param consumer gets each complete flow
+     */
+    public void forEachFlow(Consumer<BidirectionalFlow> consumer) {
+        pairFlows(pathComputer::forEachFlow, consumer);
+    }
+
+    /**
+     * Streams the flows of the digest buckets, see {@link #forEachFlow(Consumer)}.
+     *
+     * @param buckets the buckets, see {@link FlowSyncDigest#bucket(long, int)}
+     * @param bucketCount the number of the digest buckets
+     * @param consumer gets each complete flow
+     */
+    public void forEachFlow(Collection<Long> buckets, int bucketCount, Consumer<BidirectionalFlow> consumer) {
+        pairFlows(halfConsumer -> pathComputer.forEachFlow(buckets, bucketCount, halfConsumer), consumer);
     }
 
-    private Collection<FlowCollector> fetchFlows(PathComputer pathComputer) {
-        Map<String, FlowCollector> flowPairsMap = new HashMap<>();
-        for (Flow flow : pathComputer.getAllFlows()) {
-            if (!flowPairsMap.containsKey(flow.getFlowId())) {
-                flowPairsMap.put(flow.getFlowId(), new FlowCollector());
+    /**
+     * Brings the flows of the cache in line with the path computer. Only the digest buckets which differ are read
+     * again, so a cache restored from a local copy is synced without reading all flows.
+     *
+     * @param flowCache the flow cache
+     * @param bucketCount the number of the digest buckets
+     * @return the number of the buckets read again
+     */
+    public int syncFlowCache(FlowCache flowCache, int bucketCount) {
+        FlowSyncDigest databaseDigest = pathComputer.getFlowSyncDigest(bucketCount);
+        Set<Long> divergentBuckets = flowCache.getSyncDigest(bucketCount).diff(databaseDigest);
+        if (divergentBuckets.isEmpty()) {
+            return 0;
+        }
+
+        for (ImmutablePair<Flow, Flow> flow : flowCache.dumpFlows()) {
+            if (divergentBuckets.contains(FlowSyncDigest.bucket(flow.getLeft().getCookie(), bucketCount))) {
+                flowCache.deleteFlow(flow.getLeft().getFlowId());
             }
+        }
+        forEachFlow(divergentBuckets, bucketCount, bidirectionalFlow -> flowCache.pushFlow(
+                new ImmutablePair<>(bidirectionalFlow.getForward(), bidirectionalFlow.getReverse())));
+        return divergentBuckets.size();
+    }
 
-            FlowCollector pair = flowPairsMap.get(flow.getFlowId());
+    private void pairFlows(Consumer<Consumer<Flow>> source, Consumer<BidirectionalFlow> consumer) {
+        Map<String, FlowCollector> pending = new LinkedHashMap<>();
+        source.accept(flow -> {
+            FlowCollector pair = pending.computeIfAbsent(flow.getFlowId(), flowId -> new FlowCollector());
             try {
                 pair.add(flow);
             } catch (IllegalArgumentException e) {
                 log.error("Invalid half-flow {}: {}", flow.getFlowId(), e.toString());
             }
-        }
 
-        return flowPairsMap.values();
+            if (pair.isComplete()) {
+                pending.remove(flow.getFlowId());
+                consumer.accept(pair.make());
+            }
+        });
+
+        for (FlowCollector collector : pending.values()) {
+            log.error("Invalid flow pairing {}: only one half-flow is found", collector.anyDefined().getFlowId());
+        }
     }
 }
@@ -28,11 +28,15 @@ import org.openkilda.wfm.error.ConfigurationException;
 import org.openkilda.wfm.error.NameCollisionException;
 import org.openkilda.wfm.error.StreamNameCollisionException;
 import org.openkilda.wfm.kafka.CustomNamedSubscription;
+import org.openkilda.wfm.protocol.MessageKryoSerializer;
 import org.openkilda.wfm.topology.utils.HealthCheckBolt;
 import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
+import org.openkilda.wfm.topology.utils.MessageRecordTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.Deserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.storm.Config;
 import org.apache.storm.LocalCluster;
@@ -66,6 +70,11 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
 
     public static final String MESSAGE_FIELD = "message";
     public static final Fields fieldMessage = new Fields(MESSAGE_FIELD);
+    /**
+     * Kafka record key, see {@link org.openkilda.messaging.MessageKeys}. Picked up by {@link #createKafkaBolt}.
+     */
+    public static final String KEY_FIELD = "key";
+    public static final Fields fieldsKeyMessage = new Fields(KEY_FIELD, MESSAGE_FIELD);
 
     protected final String topologyName;
 
@@ -169,6 +178,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
 
     protected Config makeStormConfig() {
         Config stormConfig = new Config();
+        MessageKryoSerializer.register(stormConfig);
 
         stormConfig.setNumWorkers(topologyConfig.getWorkers());
         if (topologyConfig.getUseLocalCluster()) {
@@ -219,6 +229,22 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         return new KafkaSpout<>(config);
     }
 
+    /**
+     * Creates Kafka spout that emits decoded {@link org.openkilda.messaging.Message} objects instead of raw
+     * values. Accepts both JSON and binary encoded records.
+     *
+     * @param topic Kafka topic
+     * @return {@link KafkaSpout}
+     */
+    protected KafkaSpout<String, byte[]> createKafkaMessageSpout(String topic, String spoutId) {
+        KafkaSpoutConfig<String, byte[]> config = makeKafkaSpoutConfigBuilder(
+                spoutId, topic, ByteArrayDeserializer.class)
+                .setRecordTranslator(new MessageRecordTranslator<>())
+                .build();
+
+        return new KafkaSpout<>(config);
+    }
+
     /**
      * Creates Kafka bolt.
      *
@@ -229,7 +255,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         return new KafkaBolt<String, String>()
                 .withProducerProperties(getKafkaProducerProperties())
                 .withTopicSelector(new DefaultTopicSelector(topic))
-                .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
+                .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>(KEY_FIELD, MESSAGE_FIELD));
     }
 
     protected void createCtrlBranch(TopologyBuilder builder, List<CtrlBoltRef> targets)
@@ -279,8 +305,13 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
     }
 
     protected KafkaSpoutConfig.Builder<String, String> makeKafkaSpoutConfigBuilder(String spoutId, String topic) {
+        return makeKafkaSpoutConfigBuilder(spoutId, topic, StringDeserializer.class);
+    }
+
+    private <V> KafkaSpoutConfig.Builder<String, V> makeKafkaSpoutConfigBuilder(
+            String spoutId, String topic, Class<? extends Deserializer<V>> valueDeserializer) {
         return new KafkaSpoutConfig.Builder<>(
-                kafkaConfig.getHosts(), StringDeserializer.class, StringDeserializer.class,
+                kafkaConfig.getHosts(), StringDeserializer.class, valueDeserializer,
                 new CustomNamedSubscription(topic))
 
                 .setGroupId(makeKafkaGroupName(spoutId))
@@ -15,7 +15,6 @@
 
 package org.openkilda.wfm.topology.cache;
 
-import static java.lang.String.format;
 import static org.openkilda.messaging.Utils.MAPPER;
 
 import org.openkilda.messaging.BaseMessage;
@@ -23,7 +22,8 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandMessage;
-import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.codec.MessageCodecs;
+import org.openkilda.messaging.command.flow.FlowRerouteBatchRequest;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
 import org.openkilda.messaging.ctrl.state.CacheBoltState;
 import org.openkilda.messaging.ctrl.state.FlowDump;
@@ -39,7 +39,6 @@ import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
-import org.openkilda.messaging.model.BidirectionalFlow;
 import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.model.ImmutablePair;
 import org.openkilda.messaging.payload.flow.FlowState;
@@ -51,14 +50,19 @@ import org.openkilda.pce.provider.NeoDriver;
 import org.openkilda.pce.provider.PathComputer;
 import org.openkilda.wfm.ctrl.CtrlAction;
 import org.openkilda.wfm.ctrl.ICtrlBolt;
+import org.openkilda.wfm.share.cache.FlowCacheStore;
 import org.openkilda.wfm.share.utils.PathComputerFlowFetcher;
 import org.openkilda.wfm.topology.AbstractTopology;
+import org.openkilda.wfm.topology.cache.service.RerouteQueue;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.storm.Config;
+import org.apache.storm.Constants;
 import org.apache.storm.state.InMemoryKeyValueState;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -71,8 +75,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -95,6 +103,21 @@ public class CacheBolt
      */
     private static final String FLOW_CACHE = "flow";
 
+    /**
+     * The number of the digest buckets the restored flow cache is synced by.
+     */
+    private static final int SYNC_DIGEST_BUCKETS = 256;
+
+    /**
+     * The maximum number of flows sent for reroute per tick, the rest of a large reroute waits in the queue.
+     */
+    private static final int REROUTES_PER_TICK = 500;
+
+    /**
+     * Tick frequency in seconds.
+     */
+    private static final int TICK_FREQUENCY = 1;
+
     /**
      * The logger.
      */
@@ -110,6 +133,11 @@ public class CacheBolt
      */
     private FlowCache flowCache;
 
+    /**
+     * Local copy of the flow cache, null if the worker can't keep it.
+     */
+    private FlowCacheStore flowCacheStore;
+
     /**
      * Network cache cache.
      */
@@ -123,6 +151,16 @@ public class CacheBolt
      */
     private final Map<String, Set<String>> reroutedFlows = new ConcurrentHashMap<>();
 
+    /**
+     * Flows waiting to be sent for reroute.
+     */
+    private RerouteQueue rerouteQueue;
+
+    /**
+     * The event tuples the queued reroutes are anchored to, a tuple is acked when all its flows are sent.
+     */
+    private Map<RerouteQueue.Reason, List<Tuple>> rerouteAnchors;
+
     private TopologyContext context;
     private OutputCollector outputCollector;
 
@@ -143,18 +181,25 @@ public class CacheBolt
             this.state.put(NETWORK_CACHE, networkCache);
         }
 
-        flowCache = (FlowCache) state.get(FLOW_CACHE);
-        if (flowCache == null) {
-            flowCache = new FlowCache();
-            this.state.put(FLOW_CACHE, flowCache);
-        }
-
         reroutedFlows.clear();
+        rerouteQueue.clear();
+        // the events are replayed by the spout, so their flows are queued again
+        rerouteAnchors.values().forEach(anchors -> anchors.forEach(outputCollector::fail));
+        rerouteAnchors.clear();
 
         logger.info("Request initial network state");
 
         final PathComputer pathComputer = new NeoDriver(pathComputerAuth.getDriver());
-        initFlowCache(pathComputer);
+
+        flowCache = (FlowCache) state.get(FLOW_CACHE);
+        if (flowCache == null) {
+            flowCache = new FlowCache(null, true);
+            this.state.put(FLOW_CACHE, flowCache);
+            restoreFlowCache(pathComputer);
+        } else {
+            initFlowCache(pathComputer);
+        }
+
         initNetwork(pathComputer);
     }
 
@@ -165,6 +210,29 @@ public class CacheBolt
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
         this.context = topologyContext;
         this.outputCollector = outputCollector;
+        this.flowCacheStore = FlowCacheStore.open(map, topologyContext);
+        this.rerouteQueue = new RerouteQueue();
+        this.rerouteAnchors = new HashMap<>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        Config conf = new Config();
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, TICK_FREQUENCY);
+        return conf;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cleanup() {
+        if (flowCacheStore != null) {
+            closeFlowCacheStore();
+        }
     }
 
     /**
@@ -172,12 +240,17 @@ public class CacheBolt
      */
     @Override
     public void execute(Tuple tuple) {
+        if (isTickTuple(tuple)) {
+            emitQueuedReroutes();
+            outputCollector.ack(tuple);
+            return;
+        }
         if (CtrlAction.boltHandlerEntrance(this, tuple)) {
             return;
         }
         logger.trace("State before: {}", state);
 
-        String json = tuple.getString(0);
+        Object request = tuple.getValue(0);
         String source = tuple.getSourceComponent();
 
         /*
@@ -188,7 +261,8 @@ public class CacheBolt
          */
         // TODO: Eliminate the inefficiency introduced through the hack
         try {
-            BaseMessage bm = MAPPER.readValue(json, BaseMessage.class);
+            // the spout passes decoded messages, the raw value is only left for the records it could not decode
+            BaseMessage bm = MessageCodecs.decode(request, BaseMessage.class);
             if (bm instanceof InfoMessage) {
                 InfoMessage message = (InfoMessage) bm;
                 InfoData data = message.getData();
@@ -213,10 +287,10 @@ public class CacheBolt
                     NetworkTopologyChange topologyChange = (NetworkTopologyChange) data;
                     handleNetworkTopologyChange(topologyChange, tuple, message.getCorrelationId());
                 } else {
-                    logger.warn("Skip undefined info data type {}", json);
+                    logger.warn("Skip undefined info data type {}", request);
                 }
             } else {
-                logger.warn("Skip undefined message type {}", json);
+                logger.warn("Skip undefined message type {}", request);
             }
 
         } catch (CacheException exception) {
@@ -226,7 +300,15 @@ public class CacheBolt
         } catch (Exception e) {
             logger.error(String.format("Unhandled exception in %s", getClass().getName()), e);
         } finally {
-            outputCollector.ack(tuple);
+            if (isWaitingForReroute(tuple)) {
+                emitQueuedReroutes();
+            } else {
+                outputCollector.ack(tuple);
+            }
+        }
+
+        if (flowCacheStore != null && flowCacheStore.isCompactionDue()) {
+            compactFlowCacheStore();
         }
 
         logger.trace("State after: {}", state);
@@ -393,26 +475,79 @@ public class CacheBolt
 
     private void emitRerouteCommands(Set<ImmutablePair<Flow, Flow>> flows, Tuple tuple,
             String correlationId, FlowOperation operation, String reason) {
+        if (flows.isEmpty()) {
+            return;
+        }
+
+        RerouteQueue.Reason rerouteReason = new RerouteQueue.Reason(operation, reason, correlationId);
         for (ImmutablePair<Flow, Flow> flow : flows) {
-            try {
-                flow.getLeft().setState(FlowState.DOWN);
-                flow.getRight().setState(FlowState.DOWN);
-                FlowRerouteRequest request = new FlowRerouteRequest(flow.getLeft(), operation);
+            Flow rerouted = flowCache.updateFlowState(flow.getLeft().getFlowId(), FlowState.DOWN).getLeft();
+            rerouteQueue.add(rerouted, rerouteReason);
+        }
+        rerouteAnchors.computeIfAbsent(rerouteReason, key -> new ArrayList<>()).add(tuple);
+        logger.warn("{} flows are queued for reroute with correlationId {}, reason {}",
+                flows.size(), correlationId, reason);
+    }
+
+    private boolean isWaitingForReroute(Tuple tuple) {
+        return rerouteAnchors.values().stream().anyMatch(anchors -> anchors.contains(tuple));
+    }
+
+    /**
+     * Sends the most important of the queued flows for reroute, the rest go on the next ticks. The event tuples
+     * whose flows are all sent get acked.
+     */
+    private void emitQueuedReroutes() {
+        if (rerouteAnchors.isEmpty()) {
+            return;
+        }
 
-                String msgCorrelationId = format("%s-%s", correlationId, flow.getLeft().getFlowId());
+        // one message per reroute reason, so the flows of an event are computed together on one network snapshot
+        Map<RerouteQueue.Reason, List<String>> batches = new LinkedHashMap<>();
+        for (RerouteQueue.Entry entry : rerouteQueue.poll(REROUTES_PER_TICK)) {
+            if (flowCache.cacheContainsFlow(entry.getFlowId())) {
+                batches.computeIfAbsent(entry.getReason(), reason -> new ArrayList<>())
+                        .add(entry.getFlowId());
+            }
+        }
 
-                Values values = new Values(Utils.MAPPER.writeValueAsString(new CommandMessage(
-                        request, System.currentTimeMillis(), msgCorrelationId, Destination.WFM)));
-                outputCollector.emit(StreamType.WFM_DUMP.toString(), tuple, values);
+        for (Map.Entry<RerouteQueue.Reason, List<String>> batch : batches.entrySet()) {
+            for (List<String> rerouted : Lists.partition(batch.getValue(), FlowRerouteBatchRequest.MAX_FLOWS)) {
+                emitRerouteBatch(batch.getKey(), rerouted, rerouteAnchors.get(batch.getKey()));
+            }
+        }
 
-                logger.warn("Flow {} reroute command message sent with correlationId {}, reason {}",
-                        flow.getLeft().getFlowId(), msgCorrelationId, reason);
-            } catch (JsonProcessingException exception) {
-                logger.error("Could not format flow reroute request by flow={}", flow, exception);
+        // a reason may also lose its flows when they are queued again by a later event
+        Iterator<Map.Entry<RerouteQueue.Reason, List<Tuple>>> anchors = rerouteAnchors.entrySet().iterator();
+        while (anchors.hasNext()) {
+            Map.Entry<RerouteQueue.Reason, List<Tuple>> entry = anchors.next();
+            if (!rerouteQueue.contains(entry.getKey())) {
+                entry.getValue().forEach(outputCollector::ack);
+                anchors.remove();
             }
         }
     }
 
+    private void emitRerouteBatch(RerouteQueue.Reason reason, List<String> rerouted, List<Tuple> anchors) {
+        try {
+            FlowRerouteBatchRequest request = new FlowRerouteBatchRequest(
+                    rerouted, reason.getOperation(), reason.getDescription());
+            Values values = new Values(Utils.MAPPER.writeValueAsString(new CommandMessage(
+                    request, System.currentTimeMillis(), reason.getCorrelationId(), Destination.WFM)));
+            outputCollector.emit(StreamType.WFM_DUMP.toString(), anchors, values);
+
+            logger.warn("Reroute command message for {} flows sent with correlationId {}, reason {}, {} left",
+                    rerouted.size(), reason.getCorrelationId(), reason.getDescription(), rerouteQueue.size());
+        } catch (JsonProcessingException exception) {
+            logger.error("Could not format reroute request for {} flows", rerouted.size(), exception);
+        }
+    }
+
+    private boolean isTickTuple(Tuple tuple) {
+        return Constants.SYSTEM_COMPONENT_ID.equals(tuple.getSourceComponent())
+                && Constants.SYSTEM_TICK_STREAM_ID.equals(tuple.getSourceStreamId());
+    }
+
     private void onSwitchUp(SwitchInfoData sw) throws IOException {
         logger.info("Switch {} is {}", sw.getSwitchId(), sw.getState().getType());
         if (networkCache.cacheContainsSwitch(sw.getSwitchId())) {
@@ -473,6 +608,8 @@ public class CacheBolt
 
             case STATE:
                 flowCache.putFlow(flowData.getPayload());
+                // the topology engine keeps the state for the flow sync digest
+                emitFlowMessage(flowData, tuple, flowData.getCorrelationId());
                 logger.debug("Flow state changed: {}, correlationId: {}", flowData, correlationId);
                 break;
 
@@ -536,9 +673,7 @@ public class CacheBolt
     }
 
     private Set<ImmutablePair<Flow, Flow>> getFlowsForRerouting(NetworkTopologyChange rerouteData) {
-        Set<ImmutablePair<Flow, Flow>> inactiveFlows = flowCache.dumpFlows().stream()
-                .filter(flow -> FlowState.DOWN.equals(flow.getLeft().getState()))
-                .collect(Collectors.toSet());
+        Set<ImmutablePair<Flow, Flow>> inactiveFlows = flowCache.getFlowsWithState(FlowState.DOWN);
 
         Set<ImmutablePair<Flow, Flow>> transitFlows = getTransitFlowsPreviouslyInstalled(rerouteData.getSwitchId());
         return Sets.union(inactiveFlows, transitFlows);
@@ -596,13 +731,58 @@ public class CacheBolt
     private void initFlowCache(PathComputer pathComputer) {
         logger.info("Flow Cache: Initializing");
         PathComputerFlowFetcher flowFetcher = new PathComputerFlowFetcher(pathComputer);
+        flowFetcher.forEachFlow(bidirectionalFlow -> flowCache.pushFlow(
+                new ImmutablePair<>(bidirectionalFlow.getForward(), bidirectionalFlow.getReverse())));
+        logger.info("Flow Cache: Initialized");
+    }
+
+    /**
+     * Fills the new flow cache from the local store, then reads from the database only the digest buckets which
+     * differ. All flows are read from the database if there is no local copy.
+     */
+    private void restoreFlowCache(PathComputer pathComputer) {
+        if (flowCacheStore == null) {
+            initFlowCache(pathComputer);
+            return;
+        }
 
-        for (BidirectionalFlow bidirectionalFlow : flowFetcher.getFlows()) {
-            ImmutablePair<Flow, Flow> flowPair = new ImmutablePair<>(
-                    bidirectionalFlow.getForward(), bidirectionalFlow.getReverse());
-            flowCache.pushFlow(flowPair);
+        int restored = 0;
+        try {
+            restored = flowCacheStore.restore(flowCache);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Unable to restore the flow cache from the local store", e);
+            flowCache.clear();
         }
-        logger.info("Flow Cache: Initialized");
+
+        if (restored > 0) {
+            flowCache.setListener(flowCacheStore);
+            int buckets = new PathComputerFlowFetcher(pathComputer).syncFlowCache(flowCache, SYNC_DIGEST_BUCKETS);
+            logger.info("Flow Cache: restored from the local store, {} flows, {} digest buckets read again",
+                    restored, buckets);
+        } else {
+            initFlowCache(pathComputer);
+            compactFlowCacheStore();
+            flowCache.setListener(flowCacheStore);
+        }
+    }
+
+    private void compactFlowCacheStore() {
+        try {
+            flowCacheStore.compact(flowCache.dumpFlows());
+        } catch (IOException e) {
+            logger.error("Unable to compact the flow cache store, the flow cache is not kept locally any more", e);
+            flowCache.setListener(null);
+            closeFlowCacheStore();
+        }
+    }
+
+    private void closeFlowCacheStore() {
+        try {
+            flowCacheStore.close();
+        } catch (IOException e) {
+            logger.error("Unable to close the flow cache store", e);
+        }
+        flowCacheStore = null;
     }
 
     @Override
@@ -67,7 +67,7 @@ public class CacheTopology extends AbstractTopology<CacheTopologyConfig> {
         /*
          * Receives cache from storage.
          */
-        KafkaSpout kafkaSpout = createKafkaSpout(topologyConfig.getKafkaTopoCacheTopic(), SPOUT_ID_COMMON);
+        KafkaSpout kafkaSpout = createKafkaMessageSpout(topologyConfig.getKafkaTopoCacheTopic(), SPOUT_ID_COMMON);
         builder.setSpout(SPOUT_ID_COMMON, kafkaSpout, parallelism);
 
 // (carmine) - as part of 0.8 refactor, merged inputs to one topic, so this isn't neccessary
@@ -0,0 +1,129 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.cache.service;
+
+import org.openkilda.messaging.info.flow.FlowOperation;
+import org.openkilda.messaging.model.Flow;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Flows waiting for a reroute, the flows with more bandwidth go first. The reroutes of a large topology event are
+ * taken from the queue in portions, so the most important flows are restored first and the flow topology doesn't
+ * get all path computations at once.
+ */
+public class RerouteQueue {
+    private static final Comparator<Entry> PRIORITY = Comparator.comparingLong(Entry::getBandwidth).reversed()
+            .thenComparing(Entry::getFlowId);
+
+    private final NavigableSet<Entry> queue = new TreeSet<>(PRIORITY);
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final Map<Reason, Integer> waiting = new HashMap<>();
+
+    /**
+     * Puts the flow to the queue, a flow already waiting gets the new reason.
+     *
+     * @param flow the flow
+     * @param reason why the flow is rerouted
+     */
+    public void add(Flow flow, Reason reason) {
+        Entry entry = new Entry(flow.getFlowId(), flow.isIgnoreBandwidth() ? 0 : flow.getBandwidth(), reason);
+        Entry previous = entries.put(entry.getFlowId(), entry);
+        if (previous != null) {
+            queue.remove(previous);
+            release(previous.getReason());
+        }
+        queue.add(entry);
+        waiting.merge(reason, 1, Integer::sum);
+    }
+
+    /**
+     * Takes the most important flows from the queue.
+     *
+     * @param count the maximum number of the flows
+     * @return the flows in the order of their priority
+     */
+    public List<Entry> poll(int count) {
+        List<Entry> result = new ArrayList<>(Math.min(count, queue.size()));
+        while (result.size() < count && !queue.isEmpty()) {
+            Entry entry = queue.pollFirst();
+            entries.remove(entry.getFlowId());
+            release(entry.getReason());
+            result.add(entry);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether any flow of the reason still waits in the queue.
+     *
+     * @param reason the reroute reason
+     * @return true if some flows of the reason are not taken yet
+     */
+    public boolean contains(Reason reason) {
+        return waiting.containsKey(reason);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public void clear() {
+        queue.clear();
+        entries.clear();
+        waiting.clear();
+    }
+
+    private void release(Reason reason) {
+        waiting.computeIfPresent(reason, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * The reroute request the flows are queued by, e.g. a topology event.
+     */
+    @Value
+    public static class Reason {
+        private FlowOperation operation;
+        private String description;
+        private String correlationId;
+    }
+
+    /**
+     * The flow waiting for a reroute.
+     */
+    @Value
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static class Entry {
+        private String flowId;
+        private long bandwidth;
+        private Reason reason;
+    }
+}
@@ -16,13 +16,13 @@
 package org.openkilda.wfm.topology.event;
 
 import static java.lang.String.format;
-import static org.openkilda.messaging.Utils.MAPPER;
 import static org.openkilda.messaging.Utils.PAYLOAD;
 
 import org.openkilda.messaging.BaseMessage;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.HeartBeat;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
@@ -293,15 +293,16 @@ public class OFELinkBolt
         //            return;
         //        }
 
-        String json = tuple.getString(0);
+        // the spout decodes the records, JSON strings come from the tests and the older spouts
+        Object payload = tuple.getValue(0);
 
         BaseMessage message;
         try {
-            message = MAPPER.readValue(json, BaseMessage.class);
+            message = MessageCodecs.decode(payload, BaseMessage.class);
             watchDog.reset();
         } catch (IOException e) {
             collector.ack(tuple);
-            logger.error("Unknown Message type={}", json);
+            logger.error("Unknown Message type={}", payload);
             return;
         }
 
@@ -441,8 +442,19 @@ public class OFELinkBolt
      * Pass the original message along, to the Topology Engine topic.
      */
     private void passToTopologyEngine(Tuple tuple) {
-        String json = tuple.getString(0);
-        collector.emit(TOPO_ENG_STREAM, tuple, new Values(PAYLOAD, json));
+        Object payload = tuple.getValue(0);
+        if (payload instanceof String) {
+            collector.emit(TOPO_ENG_STREAM, tuple, new Values(PAYLOAD, payload));
+            return;
+        }
+
+        // the topology engine reads JSON only
+        try {
+            String json = Utils.MAPPER.writeValueAsString(MessageCodecs.decode(payload, BaseMessage.class));
+            collector.emit(TOPO_ENG_STREAM, tuple, new Values(PAYLOAD, json));
+        } catch (IOException e) {
+            logger.error("Error during json processing", e);
+        }
     }
 
     private void passToTopologyEngine(Tuple tuple, InfoMessage message) {
@@ -86,7 +86,7 @@ public class OFEventWFMTopology extends AbstractTopology<OFEventWfmTopologyConfi
         TopologyBuilder builder = new TopologyBuilder();
         List<CtrlBoltRef> ctrlTargets = new ArrayList<>();
 
-        builder.setSpout(DISCO_SPOUT_ID, createKafkaSpout(kafkaTopoDiscoTopic, DISCO_SPOUT_ID));
+        builder.setSpout(DISCO_SPOUT_ID, createKafkaMessageSpout(kafkaTopoDiscoTopic, DISCO_SPOUT_ID));
 
         IStatefulBolt bolt = new OFELinkBolt(topologyConfig);
 
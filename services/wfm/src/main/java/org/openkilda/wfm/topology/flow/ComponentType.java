@@ -89,6 +89,16 @@ public enum ComponentType {
      */
     TRANSACTION_BOLT,
 
+    /**
+     * Topology event kafka spout. Receives switch, ISL, port and flow events from the cache topic.
+     */
+    TOPOLOGY_EVENT_KAFKA_SPOUT,
+
+    /**
+     * Topology event bolt. Passes topology events to all CRUD bolts.
+     */
+    TOPOLOGY_EVENT_BOLT,
+
     /**
      * Error bolt. Processes errors.
      */
@@ -29,6 +29,7 @@ import org.openkilda.wfm.topology.flow.bolts.NorthboundReplyBolt;
 import org.openkilda.wfm.topology.flow.bolts.SpeakerBolt;
 import org.openkilda.wfm.topology.flow.bolts.SplitterBolt;
 import org.openkilda.wfm.topology.flow.bolts.TopologyEngineBolt;
+import org.openkilda.wfm.topology.flow.bolts.TopologyEventBolt;
 import org.openkilda.wfm.topology.flow.bolts.TransactionBolt;
 import org.openkilda.wfm.topology.flow.bolts.VerificationBolt;
 import org.openkilda.wfm.topology.flow.bolts.VerificationJointBolt;
@@ -37,7 +38,6 @@ import org.apache.storm.generated.ComponentObject;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.bolt.KafkaBolt;
 import org.apache.storm.kafka.spout.KafkaSpout;
-import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.topology.BoltDeclarer;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
@@ -102,11 +102,10 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
          * Spout receives all Northbound requests.
          */
 
-        KafkaSpoutConfig<String, String> kafkaSpoutConfig = makeKafkaSpoutConfigBuilder(
-                ComponentType.NORTHBOUND_KAFKA_SPOUT.toString(), topologyConfig.getKafkaFlowTopic()).build();
         // (crimi) - commenting out LcmKafkaSpout here due to dying worker
         //kafkaSpout = new LcmKafkaSpout<>(kafkaSpoutConfig);
-        KafkaSpout<String, String> kafkaSpout = new KafkaSpout<>(kafkaSpoutConfig);
+        KafkaSpout kafkaSpout = createKafkaMessageSpout(
+                topologyConfig.getKafkaFlowTopic(), ComponentType.NORTHBOUND_KAFKA_SPOUT.toString());
         builder.setSpout(ComponentType.NORTHBOUND_KAFKA_SPOUT.toString(), kafkaSpout, parallelism);
 
         /*
@@ -117,6 +116,19 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
         builder.setBolt(ComponentType.SPLITTER_BOLT.toString(), splitterBolt, parallelism)
                 .shuffleGrouping(ComponentType.NORTHBOUND_KAFKA_SPOUT.toString());
 
+        /*
+         * Spout receives switch, ISL, port and flow events, they keep the topology snapshot of the PCE up to date.
+         * The events of a switch or an ISL must be applied in the order they were produced, so the spout and
+         * the bolt run as single tasks: storm keeps the order of tuples between a pair of tasks.
+         */
+        KafkaSpout topologyEventKafkaSpout = createKafkaMessageSpout(
+                topologyConfig.getKafkaTopoCacheTopic(), ComponentType.TOPOLOGY_EVENT_KAFKA_SPOUT.toString());
+        builder.setSpout(ComponentType.TOPOLOGY_EVENT_KAFKA_SPOUT.toString(), topologyEventKafkaSpout, 1);
+
+        TopologyEventBolt topologyEventBolt = new TopologyEventBolt();
+        builder.setBolt(ComponentType.TOPOLOGY_EVENT_BOLT.toString(), topologyEventBolt, 1)
+                .globalGrouping(ComponentType.TOPOLOGY_EVENT_KAFKA_SPOUT.toString());
+
         /*
          * Bolt handles flow CRUD operations.
          * It groups requests by flow-id.
@@ -134,6 +146,10 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.UNPUSH.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.PATH.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.REROUTE.toString(), fieldFlowId)
+                .fieldsGrouping(
+                        ComponentType.SPLITTER_BOLT.toString(), StreamType.REROUTE_BATCH.toString(), fieldFlowId)
+                // the flows of a batch are spread over the CRUD bolts, each of them has to compute its share
+                .allGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.REROUTE_FLUSH.toString())
                 .fieldsGrouping(ComponentType.SPLITTER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
                 // TODO: this CACHE_SYNC shouldn't be fields-grouping - there is no field - it should be all - but
                 // tackle during multi instance testing
@@ -142,7 +158,9 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
                 .fieldsGrouping(ComponentType.TRANSACTION_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
                 .fieldsGrouping(ComponentType.SPEAKER_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
                 .fieldsGrouping(
-                        ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId);
+                        ComponentType.TOPOLOGY_ENGINE_BOLT.toString(), StreamType.STATUS.toString(), fieldFlowId)
+                // every CRUD bolt keeps its own topology snapshot, so all of them need all events
+                .allGrouping(ComponentType.TOPOLOGY_EVENT_BOLT.toString(), StreamType.TOPOLOGY_EVENT.toString());
         //        .shuffleGrouping(
         //                ComponentType.LCM_FLOW_SYNC_BOLT.toString(), LcmFlowCacheSyncBolt.STREAM_ID_SYNC_FLOW_CACHE);
         ctrlTargets.add(new CtrlBoltRef(ComponentType.CRUD_BOLT.toString(), crudBolt, boltSetup));
@@ -162,7 +180,7 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
          * Spout receives Topology Engine response
          */
         // FIXME(surabujin): can be replaced with NORTHBOUND_KAFKA_SPOUT (same topic)
-        KafkaSpout topologyKafkaSpout = createKafkaSpout(
+        KafkaSpout topologyKafkaSpout = createKafkaMessageSpout(
                 topologyConfig.getKafkaFlowTopic(), ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString());
         builder.setSpout(ComponentType.TOPOLOGY_ENGINE_KAFKA_SPOUT.toString(), topologyKafkaSpout, parallelism);
 
@@ -187,7 +205,7 @@ public class FlowTopology extends AbstractTopology<FlowTopologyConfig> {
          * Spout receives Speaker responses
          */
         // FIXME(surabujin): can be replaced with NORTHBOUND_KAFKA_SPOUT (same topic)
-        KafkaSpout speakerKafkaSpout = createKafkaSpout(
+        KafkaSpout speakerKafkaSpout = createKafkaMessageSpout(
                 topologyConfig.getKafkaFlowTopic(), ComponentType.SPEAKER_KAFKA_SPOUT.toString());
         builder.setSpout(ComponentType.SPEAKER_KAFKA_SPOUT.toString(), speakerKafkaSpout, parallelism);
 
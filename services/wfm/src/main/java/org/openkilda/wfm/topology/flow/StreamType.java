@@ -54,6 +54,16 @@ public enum StreamType {
      */
     REROUTE,
 
+    /**
+     * Reroute of a flow which is a part of a batch, it waits for {@link #REROUTE_FLUSH}.
+     */
+    REROUTE_BATCH,
+
+    /**
+     * End of a reroute batch, paths of the collected flows are computed together.
+     */
+    REROUTE_FLUSH,
+
     /**
      * Get flow path topology stream.
      */
@@ -71,6 +81,11 @@ public enum StreamType {
 
     VERIFICATION,
 
+    /**
+     * Switch, ISL, port and flow events for the topology snapshot.
+     */
+    TOPOLOGY_EVENT,
+
     /**
      * Flow command response.
      */
@@ -22,6 +22,7 @@ import static org.openkilda.messaging.info.flow.FlowOperation.UPDATE;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageKeys;
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowCacheSyncRequest;
@@ -39,9 +40,13 @@ import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.info.ChunkedInfoMessage;
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.discovery.NetworkInfoData;
+import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
 import org.openkilda.messaging.info.flow.FlowCacheSyncResponse;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
@@ -57,7 +62,11 @@ import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.messaging.payload.flow.FlowState;
 import org.openkilda.pce.RecoverableException;
 import org.openkilda.pce.cache.FlowCache;
+import org.openkilda.pce.cache.PathCache;
 import org.openkilda.pce.cache.ResourceCache;
+import org.openkilda.pce.cache.TopologyCache;
+import org.openkilda.pce.model.FlowSyncDigest;
+import org.openkilda.pce.model.TopologySnapshot;
 import org.openkilda.pce.provider.Auth;
 import org.openkilda.pce.provider.FlowInfo;
 import org.openkilda.pce.provider.PathComputer;
@@ -66,17 +75,22 @@ import org.openkilda.pce.provider.PathComputerAuth;
 import org.openkilda.pce.provider.UnroutablePathException;
 import org.openkilda.wfm.ctrl.CtrlAction;
 import org.openkilda.wfm.ctrl.ICtrlBolt;
+import org.openkilda.wfm.share.cache.FlowCacheStore;
 import org.openkilda.wfm.share.utils.FlowCollector;
 import org.openkilda.wfm.share.utils.PathComputerFlowFetcher;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.flow.ComponentType;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
+import org.openkilda.wfm.topology.flow.service.FlowTupleSequencer;
 import org.openkilda.wfm.topology.flow.validation.FlowValidationException;
 import org.openkilda.wfm.topology.flow.validation.FlowValidator;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.annotations.VisibleForTesting;
+import org.apache.storm.Config;
+import org.apache.storm.Constants;
+import org.apache.storm.metric.api.IMetric;
 import org.apache.storm.state.InMemoryKeyValueState;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
@@ -90,14 +104,24 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nullable;
@@ -124,6 +148,41 @@ public class CrudBolt
      */
     private static final String FLOW_CACHE = "flow";
 
+    /**
+     * Maximum number of cached paths.
+     */
+    private static final int PATH_CACHE_CAPACITY = 10000;
+
+    /**
+     * Path cache statistics reporting interval, in seconds.
+     */
+    private static final int PATH_CACHE_METRIC_INTERVAL = 60;
+
+    /**
+     * Number of the digest buckets compared by the flow cache sync, a power of two.
+     */
+    private static final int SYNC_DIGEST_BUCKETS = 256;
+
+    /**
+     * Number of threads computing paths.
+     */
+    private static final int PATH_COMPUTATION_THREADS = 4;
+
+    /**
+     * Maximum number of path computations waiting for a thread, the rest are computed on the bolt thread.
+     */
+    private static final int PATH_COMPUTATION_QUEUE_SIZE = 1000;
+
+    /**
+     * Maximum number of tuples waiting for their flow, the rest are failed and replayed by the spout.
+     */
+    private static final int DEFERRED_TUPLES_CAPACITY = 10000;
+
+    /**
+     * Tick frequency in seconds, expired tuples are failed on ticks.
+     */
+    private static final int TICK_FREQUENCY = 1;
+
     /**
      * Path computation instance.
      */
@@ -143,8 +202,53 @@ public class CrudBolt
      */
     private FlowCache flowCache;
 
+    /**
+     * Local copy of the flow cache, null if the worker can't keep it.
+     */
+    private FlowCacheStore flowCacheStore;
+
+    /**
+     * Topology snapshot the paths are computed on.
+     */
+    private TopologyCache topologyCache;
+
+    /**
+     * Paths computed on the topology cache.
+     */
+    private PathCache pathCache;
+
     private FlowValidator flowValidator;
 
+    /**
+     * Path computation workers, they don't touch the state of the bolt.
+     */
+    private ThreadPoolExecutor pathWorkers;
+
+    /**
+     * Path computations done by the workers, they are applied under the execution lock.
+     */
+    private Queue<Runnable> completedComputations;
+
+    /**
+     * Serializes the tuples handled by the bolt thread and the path computation results applied by the workers.
+     */
+    private ReentrantLock executionLock;
+
+    /**
+     * Tuples waiting for their flow to become free, and reroutes waiting for the end of their batch.
+     */
+    private FlowTupleSequencer<Tuple> sequencer;
+
+    /**
+     * Paths disjoint with the current path of the flow, found on its last reroute. Key = flow id.
+     */
+    private Map<String, ImmutablePair<PathInfoData, PathInfoData>> backupPaths;
+
+    /**
+     * Set when the tuple being handled is passed to the path computation workers.
+     */
+    private boolean detached;
+
     /**
      * Instance constructor.
      *
@@ -158,17 +262,29 @@ public class CrudBolt
      * {@inheritDoc}
      */
     @Override
-    public void initState(InMemoryKeyValueState<String, FlowCache> state) {
+    public synchronized void initState(InMemoryKeyValueState<String, FlowCache> state) {
+        executionLock.lock();
+        try {
+            loadState(state);
+        } finally {
+            executionLock.unlock();
+        }
+    }
+
+    private void loadState(InMemoryKeyValueState<String, FlowCache> state) {
         this.caches = state;
 
         // TODO - do we have to use InMemoryKeyValue, or is there some other InMemory option?
         //  The reason for the qestion .. we are only putting in one object.
         flowCache = state.get(FLOW_CACHE);
         if (flowCache == null) {
-            flowCache = new FlowCache();
+            flowCache = new FlowCache(topologyCache, true);
             this.caches.put(FLOW_CACHE, flowCache);
+            restoreFlowCache();
+        } else {
+            initFlowCache();
         }
-        initFlowCache();
+        initTopologyCache();
 
         flowValidator = new FlowValidator(flowCache);
     }
@@ -178,12 +294,12 @@ public class CrudBolt
      */
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
-        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), AbstractTopology.fieldMessage);
-        outputFieldsDeclarer.declareStream(StreamType.UPDATE.toString(), AbstractTopology.fieldMessage);
-        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), AbstractTopology.fieldMessage);
-        outputFieldsDeclarer.declareStream(StreamType.STATUS.toString(), AbstractTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), AbstractTopology.fieldsKeyMessage);
+        outputFieldsDeclarer.declareStream(StreamType.UPDATE.toString(), AbstractTopology.fieldsKeyMessage);
+        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), AbstractTopology.fieldsKeyMessage);
+        outputFieldsDeclarer.declareStream(StreamType.STATUS.toString(), AbstractTopology.fieldsKeyMessage);
         outputFieldsDeclarer.declareStream(StreamType.RESPONSE.toString(), AbstractTopology.fieldMessage);
-        outputFieldsDeclarer.declareStream(StreamType.CACHE_SYNC.toString(), AbstractTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.CACHE_SYNC.toString(), AbstractTopology.fieldsKeyMessage);
         outputFieldsDeclarer.declareStream(StreamType.VERIFICATION.toString(), STREAM_FIELDS_VERIFICATION);
         outputFieldsDeclarer.declareStream(StreamType.ERROR.toString(), FlowTopology.fieldsMessageErrorType);
         // FIXME(dbogun): use proper tuple format
@@ -198,135 +314,127 @@ public class CrudBolt
         this.context = topologyContext;
         this.outputCollector = outputCollector;
 
-        pathComputer = pathComputerAuth.getPathComputer();
+        topologyCache = new TopologyCache();
+        pathCache = new PathCache(PATH_CACHE_CAPACITY);
+        pathComputer = pathComputerAuth.getPathComputer(topologyCache, pathCache);
+        topologyContext.registerMetric("path_cache", (IMetric) pathCache::getStatistics, PATH_CACHE_METRIC_INTERVAL);
+        flowCacheStore = FlowCacheStore.open(map, topologyContext);
+
+        // a tuple must not wait longer than the spout does, otherwise it is handled twice
+        long messageTimeout = ((Number) map.getOrDefault(Config.TOPOLOGY_MESSAGE_TIMEOUT_SECS, 30)).longValue();
+        sequencer = new FlowTupleSequencer<>(DEFERRED_TUPLES_CAPACITY, TimeUnit.SECONDS.toMillis(messageTimeout) / 2);
+        completedComputations = new ConcurrentLinkedQueue<>();
+        executionLock = new ReentrantLock();
+        backupPaths = new HashMap<>();
+        pathWorkers = new ThreadPoolExecutor(PATH_COMPUTATION_THREADS, PATH_COMPUTATION_THREADS,
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(PATH_COMPUTATION_QUEUE_SIZE),
+                runnable -> {
+                    Thread thread = new Thread(runnable, format("crud-%d-path", topologyContext.getThisTaskId()));
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
     /**
      * {@inheritDoc}
+     *
+     * <p>Tuples of a flow are handled in the order they come: while a path is being computed for the flow, or the flow
+     * waits for the end of a reroute batch, its next tuples are put aside and replayed afterwards. Tuples waiting too
+     * long are failed, so the spout replays them.</p>
      */
     @Override
     public void execute(Tuple tuple) {
+        executionLock.lock();
+        try {
+            handleInput(tuple);
+        } finally {
+            executionLock.unlock();
+        }
+        // the workers leave their results to the bolt thread while it holds the lock
+        applyCompletedComputations();
+    }
 
+    private void handleInput(Tuple tuple) {
+        if (isTickTuple(tuple)) {
+            failExpiredTuples();
+            outputCollector.ack(tuple);
+            return;
+        }
         if (CtrlAction.boltHandlerEntrance(this, tuple)) {
             return;
         }
 
+        String flowId = getFlowId(tuple);
+        boolean rerouteBatch = StreamType.REROUTE_BATCH.toString().equals(tuple.getSourceStreamId());
+        if (flowId != null && sequencer.isBusy(flowId, rerouteBatch)) {
+            if (sequencer.defer(flowId, tuple, System.currentTimeMillis())) {
+                logger.debug("Flow {} is busy, tuple is deferred: {}", flowId, tuple);
+            } else {
+                logger.warn("Too many deferred tuples, failing the tuple of flow {}: {}", flowId, tuple);
+                outputCollector.fail(tuple);
+            }
+            return;
+        }
+
+        handleTuple(tuple, this::dispatch);
+
+        if (StreamType.REROUTE_FLUSH.toString().equals(tuple.getSourceStreamId())) {
+            // flows of the batch that didn't go to the workers are free now
+            replayDeferredTuples(sequencer.getDeferredFlows());
+        }
+
+        if (flowCacheStore != null && flowCacheStore.isCompactionDue()) {
+            compactFlowCacheStore();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        Config conf = new Config();
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, TICK_FREQUENCY);
+        return conf;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cleanup() {
+        if (pathWorkers != null) {
+            pathWorkers.shutdownNow();
+        }
+        if (flowCacheStore != null) {
+            closeFlowCacheStore();
+        }
+    }
+
+    /**
+     * Runs the handler, reports its failure and acks the tuple, unless the handler passed the tuple to the path
+     * computation workers.
+     */
+    private void handleTuple(Tuple tuple, TupleHandler handler) {
         ComponentType componentId = ComponentType.valueOf(tuple.getSourceComponent());
         String correlationId = Utils.DEFAULT_CORRELATION_ID;
 
         StreamType streamId = null;
         String flowId = null;
-        if (!componentId.equals(ComponentType.LCM_FLOW_SYNC_BOLT)) {
+        if (componentId.equals(ComponentType.TOPOLOGY_EVENT_BOLT)) {
+            streamId = StreamType.valueOf(tuple.getSourceStreamId());
+        } else if (!componentId.equals(ComponentType.LCM_FLOW_SYNC_BOLT)) {
             streamId = StreamType.valueOf(tuple.getSourceStreamId());
             flowId = tuple.getStringByField(Utils.FLOW_ID);
         }
+        if (componentId.equals(ComponentType.SPLITTER_BOLT)) {
+            correlationId = ((Message) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD)).getCorrelationId();
+        }
 
         boolean isRecoverable = false;
+        detached = false;
         try {
-            logger.debug("Request tuple={}", tuple);
-
-            switch (componentId) {
-                case SPLITTER_BOLT:
-                    Message msg = (Message) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
-                    correlationId = msg.getCorrelationId();
-
-                    CommandMessage cmsg = (msg instanceof CommandMessage) ? (CommandMessage) msg : null;
-                    InfoMessage imsg = (msg instanceof InfoMessage) ? (InfoMessage) msg : null;
-
-                    logger.info("Flow request: {}={}, {}={}, component={}, stream={}",
-                            Utils.CORRELATION_ID, correlationId, Utils.FLOW_ID, flowId, componentId, streamId);
-
-                    switch (streamId) {
-                        case CREATE:
-                            handleCreateRequest(cmsg, tuple);
-                            break;
-                        case UPDATE:
-                            handleUpdateRequest(cmsg, tuple);
-                            break;
-                        case DELETE:
-                            handleDeleteRequest(flowId, cmsg, tuple);
-                            break;
-                        case PUSH:
-                            handlePushRequest(flowId, imsg, tuple);
-                            break;
-                        case UNPUSH:
-                            handleUnpushRequest(flowId, imsg, tuple);
-                            break;
-                        case PATH:
-                            handlePathRequest(flowId, cmsg, tuple);
-                            break;
-                        case REROUTE:
-                            handleRerouteRequest(cmsg, tuple);
-                            break;
-                        case STATUS:
-                            handleStatusRequest(flowId, cmsg, tuple);
-                            break;
-                        case CACHE_SYNC:
-                            handleCacheSyncRequest(cmsg, tuple);
-                            break;
-                        case VERIFICATION:
-                            handleVerificationRequest(tuple, flowId, cmsg);
-                            break;
-                        case READ:
-                            if (flowId != null) {
-                                handleReadRequest(flowId, cmsg, tuple);
-                            } else {
-                                handleDumpRequest(cmsg, tuple);
-                            }
-                            break;
-                        default:
-
-                            logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
-                            break;
-                    }
-                    break;
-
-                case SPEAKER_BOLT:
-                case TRANSACTION_BOLT:
-
-                    FlowState newStatus = (FlowState) tuple.getValueByField(FlowTopology.STATUS_FIELD);
-
-                    logger.info("Flow {} status {}: component={}, stream={}", flowId, newStatus, componentId, streamId);
-
-                    switch (streamId) {
-                        case STATUS:
-                            //TODO: SpeakerBolt & TransactionBolt don't supply a tuple with correlationId
-                            handleStateRequest(flowId, newStatus, tuple, correlationId);
-                            break;
-                        default:
-                            logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
-                            break;
-                    }
-                    break;
-
-                case TOPOLOGY_ENGINE_BOLT:
-
-                    ErrorMessage errorMessage = (ErrorMessage) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
-
-                    logger.info("Flow {} error: component={}, stream={}", flowId, componentId, streamId);
-
-                    switch (streamId) {
-                        case STATUS:
-                            handleErrorRequest(flowId, errorMessage, tuple);
-                            break;
-                        default:
-                            logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
-                            break;
-                    }
-                    break;
-
-                case LCM_FLOW_SYNC_BOLT:
-                    logger.debug("Got network dump from TE");
-
-                    NetworkInfoData networkDump = (NetworkInfoData) tuple.getValueByField(
-                            LcmFlowCacheSyncBolt.FIELD_ID_NETWORK_DUMP);
-                    handleFlowSync(networkDump);
-                    break;
-
-                default:
-                    logger.debug("Unexpected component: {}", componentId);
-                    break;
-            }
+            handler.handle(tuple);
         } catch (RecoverableException e) {
             // FIXME(surabujin): implement retry limit
             logger.error(
@@ -351,15 +459,299 @@ public class CrudBolt
             logger.error(String.format("Unhandled exception in %s", getClass().getName()), e);
 
         } finally {
-            outputCollector.ack(tuple);
+            // the tuple handed over to the path computation workers is acked once its path is applied
+            if (!detached) {
+                outputCollector.ack(tuple);
 
-            logger.debug("Command message ack: component={}, stream={}, tuple={}",
-                    tuple.getSourceComponent(), tuple.getSourceStreamId(), tuple);
+                logger.debug("Command message ack: component={}, stream={}, tuple={}",
+                        tuple.getSourceComponent(), tuple.getSourceStreamId(), tuple);
 
-            if (isRecoverable) {
-                outputCollector.fail(tuple);
-            } else {
-                outputCollector.ack(tuple);
+                if (isRecoverable) {
+                    outputCollector.fail(tuple);
+                } else {
+                    outputCollector.ack(tuple);
+                }
+            }
+        }
+    }
+
+
+    private void dispatch(Tuple tuple) throws Exception {
+        ComponentType componentId = ComponentType.valueOf(tuple.getSourceComponent());
+        String correlationId = Utils.DEFAULT_CORRELATION_ID;
+
+        StreamType streamId = null;
+        String flowId = null;
+        if (componentId.equals(ComponentType.TOPOLOGY_EVENT_BOLT)) {
+            streamId = StreamType.valueOf(tuple.getSourceStreamId());
+        } else if (!componentId.equals(ComponentType.LCM_FLOW_SYNC_BOLT)) {
+            streamId = StreamType.valueOf(tuple.getSourceStreamId());
+            flowId = tuple.getStringByField(Utils.FLOW_ID);
+        }
+
+        logger.debug("Request tuple={}", tuple);
+
+        switch (componentId) {
+            case SPLITTER_BOLT:
+                Message msg = (Message) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
+                correlationId = msg.getCorrelationId();
+
+                CommandMessage cmsg = (msg instanceof CommandMessage) ? (CommandMessage) msg : null;
+                InfoMessage imsg = (msg instanceof InfoMessage) ? (InfoMessage) msg : null;
+
+                logger.info("Flow request: {}={}, {}={}, component={}, stream={}",
+                        Utils.CORRELATION_ID, correlationId, Utils.FLOW_ID, flowId, componentId, streamId);
+
+                switch (streamId) {
+                    case CREATE:
+                        handleCreateRequest(cmsg, tuple);
+                        break;
+                    case UPDATE:
+                        handleUpdateRequest(cmsg, tuple);
+                        break;
+                    case DELETE:
+                        handleDeleteRequest(flowId, cmsg, tuple);
+                        break;
+                    case PUSH:
+                        handlePushRequest(flowId, imsg, tuple);
+                        break;
+                    case UNPUSH:
+                        handleUnpushRequest(flowId, imsg, tuple);
+                        break;
+                    case PATH:
+                        handlePathRequest(flowId, cmsg, tuple);
+                        break;
+                    case REROUTE:
+                        handleRerouteRequest(cmsg, tuple);
+                        break;
+                    case REROUTE_BATCH:
+                        // the tuple is acked on the end of the batch, or failed if the end doesn't come in time
+                        Tuple replaced = sequencer.addPending(flowId, tuple, System.currentTimeMillis());
+                        if (replaced != null) {
+                            outputCollector.ack(replaced);
+                        }
+                        detached = true;
+                        break;
+                    case REROUTE_FLUSH:
+                        List<Tuple> batch = sequencer.drainPending();
+                        try {
+                            handleRerouteBatch(batch, tuple);
+                        } finally {
+                            batch.forEach(outputCollector::ack);
+                        }
+                        break;
+                    case STATUS:
+                        handleStatusRequest(flowId, cmsg, tuple);
+                        break;
+                    case CACHE_SYNC:
+                        handleCacheSyncRequest(cmsg, tuple);
+                        break;
+                    case VERIFICATION:
+                        handleVerificationRequest(tuple, flowId, cmsg);
+                        break;
+                    case READ:
+                        if (flowId != null) {
+                            handleReadRequest(flowId, cmsg, tuple);
+                        } else {
+                            handleDumpRequest(cmsg, tuple);
+                        }
+                        break;
+                    default:
+
+                        logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
+                        break;
+                }
+                break;
+
+            case SPEAKER_BOLT:
+            case TRANSACTION_BOLT:
+
+                FlowState newStatus = (FlowState) tuple.getValueByField(FlowTopology.STATUS_FIELD);
+
+                logger.info("Flow {} status {}: component={}, stream={}", flowId, newStatus, componentId, streamId);
+
+                switch (streamId) {
+                    case STATUS:
+                        //TODO: SpeakerBolt & TransactionBolt don't supply a tuple with correlationId
+                        handleStateRequest(flowId, newStatus, tuple, correlationId);
+                        break;
+                    default:
+                        logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
+                        break;
+                }
+                break;
+
+            case TOPOLOGY_ENGINE_BOLT:
+
+                ErrorMessage errorMessage = (ErrorMessage) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD);
+
+                logger.info("Flow {} error: component={}, stream={}", flowId, componentId, streamId);
+
+                switch (streamId) {
+                    case STATUS:
+                        handleErrorRequest(flowId, errorMessage, tuple);
+                        break;
+                    default:
+                        logger.debug("Unexpected stream: component={}, stream={}", componentId, streamId);
+                        break;
+                }
+                break;
+
+            case LCM_FLOW_SYNC_BOLT:
+                logger.debug("Got network dump from TE");
+
+                NetworkInfoData networkDump = (NetworkInfoData) tuple.getValueByField(
+                        LcmFlowCacheSyncBolt.FIELD_ID_NETWORK_DUMP);
+                handleFlowSync(networkDump);
+                break;
+
+            case TOPOLOGY_EVENT_BOLT:
+                handleTopologyEvent((InfoData) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD));
+                break;
+
+            default:
+                logger.debug("Unexpected component: {}", componentId);
+                break;
+        }
+    }
+
+    /**
+     * Handles the tuple that waited for the flow. A reroute that missed its batch is done on its own.
+     */
+    private void dispatchDeferred(Tuple tuple) throws Exception {
+        if (StreamType.REROUTE_BATCH.toString().equals(tuple.getSourceStreamId())) {
+            handleRerouteRequest((CommandMessage) tuple.getValueByField(AbstractTopology.MESSAGE_FIELD), tuple);
+        } else {
+            dispatch(tuple);
+        }
+    }
+
+    private String getFlowId(Tuple tuple) {
+        ComponentType componentId = ComponentType.valueOf(tuple.getSourceComponent());
+        if (componentId.equals(ComponentType.TOPOLOGY_EVENT_BOLT)
+                || componentId.equals(ComponentType.LCM_FLOW_SYNC_BOLT)) {
+            return null;
+        }
+        return tuple.getStringByField(Utils.FLOW_ID);
+    }
+
+    private boolean isTickTuple(Tuple tuple) {
+        return Constants.SYSTEM_COMPONENT_ID.equals(tuple.getSourceComponent())
+                && Constants.SYSTEM_TICK_STREAM_ID.equals(tuple.getSourceStreamId());
+    }
+
+    /**
+     * Computes the path on the worker pool. The flows are busy until the handler gets the result, then their deferred
+     * tuples are replayed. The worker applies the result as soon as the path is computed, unless the bolt thread is
+     * busy with a tuple, then the bolt thread applies it right after the tuple. If the workers are overloaded, the path
+     * is computed inline.
+     *
+     * @param tuple the tuple that needs the path, it is acked after the handler
+     * @param flowIds the flows the path is computed for
+     * @param computation the path computation, it must not touch the state of the bolt
+     * @param handler gets the result of the computation, calling it returns the path or throws the failure
+     */
+    private <T> void computeAsync(Tuple tuple, Collection<String> flowIds, Callable<T> computation,
+                                  ComputationHandler<T> handler) throws Exception {
+        sequencer.acquire(flowIds);
+        try {
+            pathWorkers.execute(() -> {
+                Callable<T> result = runComputation(computation);
+                completedComputations.add(() -> completeAsync(tuple, flowIds, result, handler));
+                applyCompletedComputations();
+            });
+            detached = true;
+        } catch (RejectedExecutionException e) {
+            logger.warn("Path computation queue is full, computing the path inline");
+            sequencer.release(flowIds);
+            handler.handle(runComputation(computation));
+        }
+    }
+
+    /**
+     * Applies the completed path computations, unless another thread holds the execution lock. The holder checks the
+     * queue again after releasing the lock, so no result is left behind. The output collector is thread safe, so the
+     * results are emitted from any thread.
+     */
+    private void applyCompletedComputations() {
+        while (!completedComputations.isEmpty() && executionLock.tryLock()) {
+            try {
+                Runnable completion;
+                while ((completion = completedComputations.poll()) != null) {
+                    completion.run();
+                }
+            } finally {
+                executionLock.unlock();
+            }
+        }
+    }
+
+    private <T> void completeAsync(Tuple tuple, Collection<String> flowIds, Callable<T> result,
+                                   ComputationHandler<T> handler) {
+        handleTuple(tuple, completedTuple -> handler.handle(result));
+
+        sequencer.release(flowIds);
+        replayDeferredTuples(flowIds);
+    }
+
+    private void replayDeferredTuples(Collection<String> flowIds) {
+        for (String flowId : flowIds) {
+            Tuple deferred;
+            while ((deferred = sequencer.pollDeferred(flowId)) != null) {
+                handleTuple(deferred, this::dispatchDeferred);
+            }
+        }
+    }
+
+    /**
+     * Fails the tuples waiting for their flow or for the end of their reroute batch too long, the spout replays them.
+     */
+    private void failExpiredTuples() {
+        List<Tuple> expired = sequencer.expire(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+        logger.warn("{} tuples waited too long for their flow, failing them", expired.size());
+        expired.forEach(outputCollector::fail);
+        // flows with an expired reroute are not pending anymore
+        replayDeferredTuples(sequencer.getDeferredFlows());
+    }
+
+    private static <T> Callable<T> runComputation(Callable<T> computation) {
+        try {
+            T value = computation.call();
+            return () -> value;
+        } catch (Exception e) {
+            return () -> {
+                throw e;
+            };
+        }
+    }
+
+    private void handleTopologyEvent(InfoData data) {
+        logger.debug("Topology event: {}", data);
+
+        if (data instanceof SwitchInfoData) {
+            topologyCache.handleSwitchEvent((SwitchInfoData) data);
+        } else if (data instanceof IslInfoData) {
+            topologyCache.handleIslEvent((IslInfoData) data);
+        } else if (data instanceof PortInfoData) {
+            topologyCache.handlePortEvent((PortInfoData) data);
+        } else if (data instanceof FlowInfoData) {
+            FlowInfoData flowData = (FlowInfoData) data;
+            switch (flowData.getOperation()) {
+                case DELETE:
+                case UNPUSH:
+                case UNPUSH_PROPAGATE:
+                    topologyCache.deallocateFlow(flowData.getFlowId());
+                    break;
+                default:
+                    if (flowData.getPayload() != null) {
+                        topologyCache.allocateFlow(flowData.getPayload());
+                    } else {
+                        topologyCache.deallocateFlow(flowData.getFlowId());
+                    }
+                    break;
             }
         }
     }
@@ -367,7 +759,8 @@ public class CrudBolt
     private void handleCacheSyncRequest(CommandMessage message, Tuple tuple) {
         logger.debug("CACHE SYNCE: {}", message);
 
-        // NB: This is going to be a "bulky" operation - get all flows from DB, and synchronize with the cache.
+        // The cache and the DB are compared by digest buckets first, only the flows of the divergent buckets are
+        // fetched from the DB and compared field by field.
 
         List<String> droppedFlows = new ArrayList<>();
         List<String> addedFlows = new ArrayList<>();
@@ -375,7 +768,13 @@ public class CrudBolt
         List<String> modifiedFlowIds = new ArrayList<>();
         List<String> unchangedFlows = new ArrayList<>();
 
-        List<FlowInfo> flowInfos = pathComputer.getFlowInfo();
+        FlowSyncDigest cacheDigest = flowCache.getSyncDigest(SYNC_DIGEST_BUCKETS);
+        Set<Long> divergentBuckets = cacheDigest.diff(pathComputer.getFlowSyncDigest(SYNC_DIGEST_BUCKETS));
+        logger.info("Flow cache sync: {} of {} digest buckets differ", divergentBuckets.size(), SYNC_DIGEST_BUCKETS);
+
+        List<FlowInfo> flowInfos = divergentBuckets.isEmpty()
+                ? Collections.emptyList()
+                : pathComputer.getFlowInfo(divergentBuckets, SYNC_DIGEST_BUCKETS);
 
         // Instead of determining left/right .. store based on flowid_& cookie
         HashMap<String, FlowInfo> flowToInfo = new HashMap<>();
@@ -429,8 +828,13 @@ public class CrudBolt
             }
         }
 
-        // Now we see if the cache holds things not in the DB
+        // Now we see if the cache holds things not in the DB, the flows of the matching buckets are in sync
         for (ImmutablePair<Flow, Flow> flow : flowCache.dumpFlows()) {
+            if (!divergentBuckets.contains(cacheDigest.bucket(flow.left.getCookie()))) {
+                unchangedFlows.add(flow.left.getFlowId());
+                continue;
+            }
+
             String key = flow.left.getFlowId() + flow.left.getCookie();
             // compare the left .. if it is in, then check the right .. o/w remove it (no need to check right
             if (!flowToInfo.containsKey(key)) {
@@ -449,6 +853,7 @@ public class CrudBolt
         } else if (request.getSynchronizeCache() == SynchronizeCacheAction.INVALIDATE_CACHE) {
             invalidateCache(addedFlows, modifiedFlowIds, droppedFlows, tuple, message.getCorrelationId());
         }
+        initTopologyCache();
 
         FlowCacheSyncResults results = new FlowCacheSyncResults(
                 droppedFlows.toArray(new String[0]), addedFlows.toArray(new String[0]),
@@ -540,26 +945,34 @@ public class CrudBolt
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), subCorrelationId);
 
         try {
-            Values topology = new Values(MAPPER.writeValueAsString(infoMessage));
-            outputCollector.emit(StreamType.CACHE_SYNC.toString(), tuple, topology);
+            emitCacheUpdate(StreamType.CACHE_SYNC, tuple, infoMessage);
         } catch (JsonProcessingException e) {
             logger.error("Unable to serialize the message: {}", infoMessage);
         }
     }
 
+    /**
+     * Cache updates are keyed by flow id, so updates of one flow are consumed in order.
+     */
+    private void emitCacheUpdate(StreamType stream, Tuple tuple, InfoMessage message)
+            throws JsonProcessingException {
+        Values values = new Values(MessageKeys.of(message), MAPPER.writeValueAsString(message));
+        outputCollector.emit(stream.toString(), tuple, values);
+    }
+
     private void handlePushRequest(String flowId, InfoMessage message, Tuple tuple) throws IOException {
         logger.info("PUSH flow: {} :: {}", flowId, message);
         FlowInfoData fid = (FlowInfoData) message.getData();
         ImmutablePair<Flow, Flow> flow = fid.getPayload();
 
         flowCache.pushFlow(flow);
+        topologyCache.allocateFlow(flow);
 
         // Update Cache
         FlowInfoData data = new FlowInfoData(flow.getLeft().getFlowId(), flow, FlowOperation.PUSH,
                 message.getCorrelationId());
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), message.getCorrelationId());
-        Values topology = new Values(MAPPER.writeValueAsString(infoMessage));
-        outputCollector.emit(StreamType.CREATE.toString(), tuple, topology);
+        emitCacheUpdate(StreamType.CREATE, tuple, infoMessage);
 
         Values northbound = new Values(new InfoMessage(new FlowStatusResponse(
                 new FlowIdStatusPayload(flowId, FlowState.UP)), message.getTimestamp(),
@@ -573,12 +986,12 @@ public class CrudBolt
 
 
         ImmutablePair<Flow, Flow> flow = flowCache.deleteFlow(flowId);
+        backupPaths.remove(flowId);
 
         // Update Cache
         FlowInfoData data = new FlowInfoData(flowId, flow, FlowOperation.UNPUSH, message.getCorrelationId());
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), message.getCorrelationId());
-        Values topology = new Values(MAPPER.writeValueAsString(infoMessage));
-        outputCollector.emit(StreamType.DELETE.toString(), tuple, topology);
+        emitCacheUpdate(StreamType.DELETE, tuple, infoMessage);
 
 
         Values northbound = new Values(new InfoMessage(new FlowStatusResponse(
@@ -590,37 +1003,43 @@ public class CrudBolt
 
     private void handleDeleteRequest(String flowId, CommandMessage message, Tuple tuple) throws IOException {
         ImmutablePair<Flow, Flow> flow = flowCache.deleteFlow(flowId);
+        backupPaths.remove(flowId);
 
         logger.info("Deleted flow: {}", flowId);
 
         FlowInfoData data = new FlowInfoData(flowId, flow, DELETE, message.getCorrelationId());
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), message.getCorrelationId());
-        Values topology = new Values(MAPPER.writeValueAsString(infoMessage));
-        outputCollector.emit(StreamType.DELETE.toString(), tuple, topology);
+        emitCacheUpdate(StreamType.DELETE, tuple, infoMessage);
 
         Values northbound = new Values(new InfoMessage(new FlowResponse(buildFlowResponse(flow)),
                 message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND));
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
     }
 
-    private void handleCreateRequest(CommandMessage message, Tuple tuple) throws IOException, RecoverableException {
+    private void handleCreateRequest(CommandMessage message, Tuple tuple) throws Exception {
         Flow requestedFlow = ((FlowCreateRequest) message.getData()).getPayload();
+        validateCreateRequest(requestedFlow, message);
 
+        Strategy strategy = Strategy.of(requestedFlow);
+        Flow target = new Flow(requestedFlow);
+        computeAsync(tuple, Collections.singleton(requestedFlow.getFlowId()),
+                () -> pathComputer.getPath(target, strategy),
+                result -> createFlow(requestedFlow, result, message, tuple));
+    }
+
+    private void createFlow(Flow requestedFlow, Callable<ImmutablePair<PathInfoData, PathInfoData>> result,
+                            CommandMessage message, Tuple tuple) throws Exception {
         ImmutablePair<PathInfoData, PathInfoData> path;
         try {
-            flowValidator.validate(requestedFlow);
-
-            path = pathComputer.getPath(requestedFlow, Strategy.COST);
+            path = result.call();
             logger.info("Creating flow {}. Found path: {}, correlationId: {}", requestedFlow.getFlowId(), path,
                     message.getCorrelationId());
-
-        } catch (FlowValidationException e) {
-            throw new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
-                    ErrorType.CREATION_FAILURE, "Could not create flow", e.getMessage());
         } catch (UnroutablePathException e) {
             throw new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
                     ErrorType.CREATION_FAILURE, "Could not create flow", "Path was not found");
         }
+        // other flows could take the ports while the path was computed
+        validateCreateRequest(requestedFlow, message);
 
         ImmutablePair<Flow, Flow> flow = flowCache.createFlow(requestedFlow, path);
         logger.info("Created flow: {}, correlationId: {}", flow, message.getCorrelationId());
@@ -628,15 +1047,23 @@ public class CrudBolt
         FlowInfoData data = new FlowInfoData(requestedFlow.getFlowId(), flow, FlowOperation.CREATE,
                 message.getCorrelationId());
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), message.getCorrelationId());
-        Values topology = new Values(MAPPER.writeValueAsString(infoMessage));
-        outputCollector.emit(StreamType.CREATE.toString(), tuple, topology);
+        emitCacheUpdate(StreamType.CREATE, tuple, infoMessage);
 
         Values northbound = new Values(new InfoMessage(new FlowResponse(buildFlowResponse(flow)),
                 message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND));
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
     }
 
-    private void handleRerouteRequest(CommandMessage message, Tuple tuple) throws IOException, RecoverableException {
+    private void validateCreateRequest(Flow requestedFlow, CommandMessage message) {
+        try {
+            flowValidator.validate(requestedFlow);
+        } catch (FlowValidationException e) {
+            throw new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
+                    ErrorType.CREATION_FAILURE, "Could not create flow", e.getMessage());
+        }
+    }
+
+    private void handleRerouteRequest(CommandMessage message, Tuple tuple) throws Exception {
         FlowRerouteRequest request = (FlowRerouteRequest) message.getData();
         Flow requestedFlow = request.getPayload();
         final String flowId = requestedFlow.getFlowId();
@@ -648,67 +1075,38 @@ public class CrudBolt
 
             case UPDATE:
                 flow = flowCache.getFlow(flowId);
+                logger.warn("Origin flow {} path: {} correlationId {}", flowId, flow.getLeft().getFlowPath(),
+                        correlationId);
 
-                try {
-                    logger.warn("Origin flow {} path: {} correlationId {}", flowId, flow.getLeft().getFlowPath(),
-                            correlationId);
-                    ImmutablePair<PathInfoData, PathInfoData> path =
-                            pathComputer.getPath(flow.getLeft(), Strategy.COST);
-                    logger.warn("Potential New Path for flow {} with LEFT path: {}, RIGHT path: {} correlationId {}",
-                            flowId, path.getLeft(), path.getRight(), correlationId);
-                    boolean isFoundNewPath = (
-                            !path.getLeft().equals(flow.getLeft().getFlowPath())
-                                       || !path.getRight().equals(flow.getRight().getFlowPath())
-                                       || !isFlowActive(flow));
-                    //no need to emit changes if path wasn't changed and flow is active.
-                    //force means to update flow even if path is not changed.
-                    if (isFoundNewPath || request.isForce()) {
-                        flow.getLeft().setState(FlowState.DOWN);
-                        flow.getRight().setState(FlowState.DOWN);
-
-                        flow = flowCache.updateFlow(flow.getLeft(), path);
-                        logger.warn("Rerouted flow with new path: {}, correlationId {}", flow, correlationId);
-
-                        FlowInfoData data = new FlowInfoData(flowId, flow, UPDATE,
-                                message.getCorrelationId());
-                        InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(),
-                                message.getCorrelationId());
-                        Values topology = new Values(MAPPER.writeValueAsString(infoMessage));
-                        outputCollector.emit(StreamType.UPDATE.toString(), tuple, topology);
-                    } else {
-                        logger.warn("Reroute {} is unsuccessful: can't find new path. CorrelationId: {}",
-                                flowId, correlationId);
-                    }
-
-                    logger.debug("Sending response to NB. Correlation id {}", correlationId);
-                    FlowRerouteResponse response = new FlowRerouteResponse(flow.left.getFlowPath(), isFoundNewPath);
-                    Values values = new Values(new InfoMessage(response, message.getTimestamp(),
-                            message.getCorrelationId(), Destination.NORTHBOUND));
-                    outputCollector.emit(StreamType.RESPONSE.toString(), tuple, values);
-                } catch (UnroutablePathException e) {
-                    logger.warn("There is no path available for the flow {}, correlationId: {}", flowId,
-                            correlationId);
-                    flow.getLeft().setState(FlowState.DOWN);
-                    flow.getRight().setState(FlowState.DOWN);
-                    throw new MessageException(correlationId, System.currentTimeMillis(),
-                            ErrorType.UPDATE_FAILURE, "Could not reroute flow", "Path was not found");
+                ImmutablePair<PathInfoData, PathInfoData> backup = takeBackupPath(flow);
+                if (backup != null) {
+                    logger.info("Flow {} fails over to its backup path, correlationId {}", flowId, correlationId);
+                    rerouteFlow(flow, backup, message, tuple);
+                    break;
                 }
+
+                // the backup found along with the new path lets the next failure skip the computation
+                Flow target = new Flow(flow.getLeft());
+                computeAsync(tuple, Collections.singleton(flowId),
+                        () -> pathComputer.getDisjointPaths(target, Strategy.of(target), false),
+                        result -> {
+                            List<ImmutablePair<PathInfoData, PathInfoData>> paths = result.call();
+                            if (paths.size() > 1) {
+                                backupPaths.put(flowId, paths.get(1));
+                            } else {
+                                backupPaths.remove(flowId);
+                            }
+                            rerouteFlow(flowCache.getFlow(flowId), paths.isEmpty() ? null : paths.get(0),
+                                    message, tuple);
+                        });
                 break;
 
             case CREATE:
-                flow = flowCache.getFlow(flowId);
-                logger.warn("State flow: {}={}, correlationId: {}", flow.getLeft().getFlowId(), FlowState.UP,
-                        message.getCorrelationId());
-                flow.getLeft().setState(FlowState.UP);
-                flow.getRight().setState(FlowState.UP);
+                handleStateRequest(flowId, FlowState.UP, tuple, message.getCorrelationId());
                 break;
 
             case DELETE:
-                flow = flowCache.getFlow(flowId);
-                logger.warn("State flow: {}={}, correlationId: {}", flow.getLeft().getFlowId(), FlowState.DOWN,
-                        message.getCorrelationId());
-                flow.getLeft().setState(FlowState.DOWN);
-                flow.getRight().setState(FlowState.DOWN);
+                handleStateRequest(flowId, FlowState.DOWN, tuple, message.getCorrelationId());
                 break;
 
             default:
@@ -717,24 +1115,179 @@ public class CrudBolt
         }
     }
 
-    private void handleUpdateRequest(CommandMessage message, Tuple tuple) throws IOException, RecoverableException {
+    /**
+     * Takes the backup path of the flow, if the current path is broken and the backup can carry the flow. The backup
+     * stays kept for the flow unless it is taken.
+     *
+     * @param flow the flow to reroute
+     * @return the backup path or null if the path has to be computed
+     */
+    private ImmutablePair<PathInfoData, PathInfoData> takeBackupPath(ImmutablePair<Flow, Flow> flow) {
+        ImmutablePair<PathInfoData, PathInfoData> backup = backupPaths.get(flow.getLeft().getFlowId());
+        if (backup == null) {
+            return null;
+        }
+        TopologySnapshot snapshot = topologyCache.getSnapshot();
+        // the bandwidth of the current path is reserved already, so only the ISL state is checked
+        if (snapshot.hasBandwidth(flow.getLeft().getFlowPath(), 0)
+                && snapshot.hasBandwidth(flow.getRight().getFlowPath(), 0)) {
+            return null;
+        }
+        long bandwidth = flow.getLeft().isIgnoreBandwidth() ? 0 : flow.getLeft().getBandwidth();
+        if (snapshot.hasBandwidth(backup.getLeft(), bandwidth) && snapshot.hasBandwidth(backup.getRight(), bandwidth)) {
+            backupPaths.remove(flow.getLeft().getFlowId());
+            return backup;
+        }
+        return null;
+    }
+
+    /**
+     * Applies the new path found for the flow on reroute.
+     *
+     * @param flow the flow to reroute
+     * @param path the new path, or null if there is no path for the flow
+     * @param message the reroute request
+     * @param tuple the tuple to anchor the emitted messages to
+     */
+    private void rerouteFlow(ImmutablePair<Flow, Flow> flow, @Nullable ImmutablePair<PathInfoData, PathInfoData> path,
+                             CommandMessage message, Tuple tuple) throws IOException {
+        FlowRerouteRequest request = (FlowRerouteRequest) message.getData();
+        final String flowId = flow.getLeft().getFlowId();
+        String correlationId = message.getCorrelationId();
+
+        if (path == null) {
+            logger.warn("There is no path available for the flow {}, correlationId: {}", flowId,
+                    correlationId);
+            handleStateRequest(flowId, FlowState.DOWN, tuple, correlationId);
+            throw new MessageException(correlationId, System.currentTimeMillis(),
+                    ErrorType.UPDATE_FAILURE, "Could not reroute flow", "Path was not found");
+        }
+
+        logger.warn("Potential New Path for flow {} with LEFT path: {}, RIGHT path: {} correlationId {}",
+                flowId, path.getLeft(), path.getRight(), correlationId);
+        boolean isFoundNewPath = (
+                !path.getLeft().equals(flow.getLeft().getFlowPath())
+                        || !path.getRight().equals(flow.getRight().getFlowPath())
+                        || !isFlowActive(flow));
+        //no need to emit changes if path wasn't changed and flow is active.
+        //force means to update flow even if path is not changed.
+        if (isFoundNewPath || request.isForce()) {
+            flow = flowCache.updateFlowState(flowId, FlowState.DOWN);
+
+            flow = flowCache.updateFlow(flow.getLeft(), path);
+            logger.warn("Rerouted flow with new path: {}, correlationId {}", flow, correlationId);
+
+            FlowInfoData data = new FlowInfoData(flowId, flow, UPDATE,
+                    message.getCorrelationId());
+            InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(),
+                    message.getCorrelationId());
+            emitCacheUpdate(StreamType.UPDATE, tuple, infoMessage);
+        } else {
+            logger.warn("Reroute {} is unsuccessful: can't find new path. CorrelationId: {}",
+                    flowId, correlationId);
+        }
+
+        logger.debug("Sending response to NB. Correlation id {}", correlationId);
+        FlowRerouteResponse response = new FlowRerouteResponse(flow.left.getFlowPath(), isFoundNewPath);
+        Values values = new Values(new InfoMessage(response, message.getTimestamp(),
+                message.getCorrelationId(), Destination.NORTHBOUND));
+        outputCollector.emit(StreamType.RESPONSE.toString(), tuple, values);
+    }
+
+    /**
+     * Reroutes the flows collected from a batch. Their paths are computed together, so the flows don't compete for
+     * the same bandwidth and the network is read once. A failure of one flow doesn't stop the others.
+     *
+     * @param reroutes the reroute tuples of the batch
+     * @param tuple the end of the batch, emitted messages are anchored to it
+     */
+    private void handleRerouteBatch(List<Tuple> reroutes, Tuple tuple) throws Exception {
+        if (reroutes.isEmpty()) {
+            return;
+        }
+        List<CommandMessage> batch = new ArrayList<>(reroutes.size());
+        for (Tuple reroute : reroutes) {
+            batch.add((CommandMessage) reroute.getValueByField(AbstractTopology.MESSAGE_FIELD));
+        }
+
+        Map<String, Flow> rerouted = new HashMap<>();
+        for (CommandMessage message : batch) {
+            FlowRerouteRequest request = (FlowRerouteRequest) message.getData();
+            try {
+                if (request.getOperation() == FlowOperation.UPDATE) {
+                    String flowId = request.getPayload().getFlowId();
+                    rerouted.put(flowId, new Flow(flowCache.getFlow(flowId).getLeft()));
+                } else {
+                    handleRerouteRequest(message, tuple);
+                }
+            } catch (CacheException exception) {
+                emitRerouteError(exception, message, tuple);
+            }
+        }
+        if (rerouted.isEmpty()) {
+            return;
+        }
+
+        List<Flow> flows = new ArrayList<>(rerouted.values());
+        computeAsync(tuple, new ArrayList<>(rerouted.keySet()),
+                () -> pathComputer.getPaths(flows, Strategy.COST),
+                result -> applyRerouteBatch(batch, rerouted.keySet(), result.call(), tuple));
+    }
+
+    private void applyRerouteBatch(List<CommandMessage> batch, Set<String> rerouted,
+                                   Map<String, ImmutablePair<PathInfoData, PathInfoData>> paths, Tuple tuple)
+            throws IOException {
+        logger.info("Reroute batch: found paths for {} of {} flows", paths.size(), rerouted.size());
+
+        for (CommandMessage message : batch) {
+            String flowId = ((FlowRerouteRequest) message.getData()).getPayload().getFlowId();
+            if (!rerouted.contains(flowId)) {
+                continue;
+            }
+            backupPaths.remove(flowId);
+            try {
+                rerouteFlow(flowCache.getFlow(flowId), paths.get(flowId), message, tuple);
+            } catch (CacheException exception) {
+                emitRerouteError(exception, message, tuple);
+            }
+        }
+    }
+
+    private void emitRerouteError(CacheException exception, CommandMessage message, Tuple tuple) {
+        String logMessage = format("%s: %s", exception.getErrorMessage(), exception.getErrorDescription());
+        logger.error("{}, {}={}", logMessage, Utils.CORRELATION_ID, message.getCorrelationId(), exception);
+
+        ErrorMessage errorMessage = buildErrorMessage(message.getCorrelationId(), exception.getErrorType(),
+                logMessage, ComponentType.CRUD_BOLT.toString().toLowerCase());
+        outputCollector.emit(StreamType.ERROR.toString(), tuple, new Values(errorMessage, exception.getErrorType()));
+    }
+
+    private void handleUpdateRequest(CommandMessage message, Tuple tuple) throws Exception {
         Flow requestedFlow = ((FlowUpdateRequest) message.getData()).getPayload();
+        validateUpdateRequest(requestedFlow, message);
+
+        Strategy strategy = Strategy.of(requestedFlow);
+        Flow target = new Flow(requestedFlow);
+        computeAsync(tuple, Collections.singleton(requestedFlow.getFlowId()),
+                () -> pathComputer.getPath(target, strategy),
+                result -> updateFlow(requestedFlow, result, message, tuple));
+    }
+
+    private void updateFlow(Flow requestedFlow, Callable<ImmutablePair<PathInfoData, PathInfoData>> result,
+                            CommandMessage message, Tuple tuple) throws Exception {
         String correlationId = message.getCorrelationId();
 
         ImmutablePair<PathInfoData, PathInfoData> path;
         try {
-            flowValidator.validate(requestedFlow);
-
-            path = pathComputer.getPath(requestedFlow, Strategy.COST);
+            path = result.call();
             logger.info("Updated flow path: {}, correlationId {}", path, correlationId);
-
-        } catch (FlowValidationException e) {
-            throw new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
-                    ErrorType.UPDATE_FAILURE, "Could not update flow", e.getMessage());
+            backupPaths.remove(requestedFlow.getFlowId());
         } catch (UnroutablePathException e) {
             throw new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
                     ErrorType.UPDATE_FAILURE, "Could not update flow", "Path was not found");
         }
+        // other flows could take the ports while the path was computed
+        validateUpdateRequest(requestedFlow, message);
 
         ImmutablePair<Flow, Flow> flow = flowCache.updateFlow(requestedFlow, path);
         logger.info("Updated flow: {}, correlationId {}", flow, correlationId);
@@ -742,14 +1295,22 @@ public class CrudBolt
         FlowInfoData data = new FlowInfoData(requestedFlow.getFlowId(), flow, UPDATE,
                 message.getCorrelationId());
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), message.getCorrelationId());
-        Values topology = new Values(MAPPER.writeValueAsString(infoMessage));
-        outputCollector.emit(StreamType.UPDATE.toString(), tuple, topology);
+        emitCacheUpdate(StreamType.UPDATE, tuple, infoMessage);
 
         Values northbound = new Values(new InfoMessage(new FlowResponse(buildFlowResponse(flow)),
                 message.getTimestamp(), message.getCorrelationId(), Destination.NORTHBOUND));
         outputCollector.emit(StreamType.RESPONSE.toString(), tuple, northbound);
     }
 
+    private void validateUpdateRequest(Flow requestedFlow, CommandMessage message) {
+        try {
+            flowValidator.validate(requestedFlow);
+        } catch (FlowValidationException e) {
+            throw new MessageException(message.getCorrelationId(), System.currentTimeMillis(),
+                    ErrorType.UPDATE_FAILURE, "Could not update flow", e.getMessage());
+        }
+    }
+
     private void handleDumpRequest(CommandMessage message, Tuple tuple) {
         List<Flow> flows = flowCache.dumpFlows().stream()
                 .map(ImmutablePair::getLeft)
@@ -809,21 +1370,18 @@ public class CrudBolt
     /**
      * This method changes the state of the Flow. It sets the state of both left and right to the
      * same state.
-     * It is currently called from 2 places - a failed update (set flow to DOWN), and a STATUS
-     * update from the TransactionBolt.
+     * It is called on a failed update (set flow to DOWN), on a STATUS update from the TransactionBolt and
+     * on reroute. The state is a part of the flow sync digest, so every change is sent to the cache topology.
      */
     private void handleStateRequest(String flowId, FlowState state, Tuple tuple, String correlationId)
             throws IOException {
-        ImmutablePair<Flow, Flow> flow = flowCache.getFlow(flowId);
         logger.info("State flow: {}={}", flowId, state);
-        flow.getLeft().setState(state);
-        flow.getRight().setState(state);
+        ImmutablePair<Flow, Flow> flow = flowCache.updateFlowState(flowId, state);
 
         FlowInfoData data = new FlowInfoData(flowId, flow, FlowOperation.STATE, correlationId);
         InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), correlationId);
 
-        Values topology = new Values(Utils.MAPPER.writeValueAsString(infoMessage));
-        outputCollector.emit(StreamType.STATUS.toString(), tuple, topology);
+        emitCacheUpdate(StreamType.STATUS, tuple, infoMessage);
 
     }
 
@@ -887,11 +1445,68 @@ public class CrudBolt
 
     private void initFlowCache() {
         PathComputerFlowFetcher flowFetcher = new PathComputerFlowFetcher(pathComputer);
+        flowFetcher.forEachFlow(bidirectionalFlow -> flowCache.pushFlow(
+                new ImmutablePair<>(bidirectionalFlow.getForward(), bidirectionalFlow.getReverse())));
+    }
 
-        for (BidirectionalFlow bidirectionalFlow : flowFetcher.getFlows()) {
-            ImmutablePair<Flow, Flow> flowPair = new ImmutablePair<>(
-                    bidirectionalFlow.getForward(), bidirectionalFlow.getReverse());
-            flowCache.pushFlow(flowPair);
+    /**
+     * Fills the new flow cache from the local store, then reads from the database only the digest buckets which
+     * differ. All flows are read from the database if there is no local copy.
+     */
+    private void restoreFlowCache() {
+        if (flowCacheStore == null) {
+            initFlowCache();
+            return;
+        }
+
+        int restored = 0;
+        try {
+            restored = flowCacheStore.restore(flowCache);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Unable to restore the flow cache from the local store", e);
+            flowCache.clear();
+        }
+
+        if (restored > 0) {
+            flowCache.setListener(flowCacheStore);
+            int buckets = new PathComputerFlowFetcher(pathComputer).syncFlowCache(flowCache, SYNC_DIGEST_BUCKETS);
+            logger.info("Flow cache is restored from the local store: {} flows, {} digest buckets read again",
+                    restored, buckets);
+        } else {
+            initFlowCache();
+            compactFlowCacheStore();
+            flowCache.setListener(flowCacheStore);
+        }
+    }
+
+    private void compactFlowCacheStore() {
+        try {
+            flowCacheStore.compact(flowCache.dumpFlows());
+        } catch (IOException e) {
+            logger.error("Unable to compact the flow cache store, the flow cache is not kept locally any more", e);
+            flowCache.setListener(null);
+            closeFlowCacheStore();
+        }
+    }
+
+    private void closeFlowCacheStore() {
+        try {
+            flowCacheStore.close();
+        } catch (IOException e) {
+            logger.error("Unable to close the flow cache store", e);
+        }
+        flowCacheStore = null;
+    }
+
+    /**
+     * Reloads the topology snapshot from the database. The bandwidth of the cached flows is already accounted there.
+     */
+    private void initTopologyCache() {
+        TopologySnapshot snapshot = pathComputer.getTopologySnapshot();
+        if (snapshot != null) {
+            topologyCache.load(snapshot, flowCache.dumpFlows());
+        } else {
+            topologyCache.invalidate();
         }
     }
 
@@ -937,4 +1552,25 @@ public class CrudBolt
                 flowCache.getAllocatedVlans(),
                 flowCache.getAllocatedCookies()));
     }
+
+    /**
+     * Handler of a tuple.
+     */
+    @FunctionalInterface
+    private interface TupleHandler {
+        void handle(Tuple tuple) throws Exception;
+    }
+
+    /**
+     * Handler of a path computation result.
+     */
+    @FunctionalInterface
+    private interface ComputationHandler<T> {
+        /**
+         * Handles the result.
+         *
+         * @param result returns the computed value or throws the exception of the computation
+         */
+        void handle(Callable<T> result) throws Exception;
+    }
 }
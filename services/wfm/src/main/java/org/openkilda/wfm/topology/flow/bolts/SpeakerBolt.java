@@ -15,11 +15,10 @@
 
 package org.openkilda.wfm.topology.flow.bolts;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.BaseInstallFlow;
@@ -69,12 +68,12 @@ public class SpeakerBolt extends BaseRichBolt {
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         Values values = null;
 
         try {
 
-            Message message = MAPPER.readValue(request, Message.class);
+            Message message = MessageCodecs.decode(request, Message.class);
             logger.debug("Request tuple={}", tuple);
 
             if (message instanceof InfoMessage) {
@@ -100,7 +99,7 @@ public class SpeakerBolt extends BaseRichBolt {
                             Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, request);
 
                     message.setDestination(Destination.TOPOLOGY_ENGINE);
-                    values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
+                    values = new Values(message, switchId, flowId, transactionId);
                     // FIXME(surabujin): looks like TE ignore this messages
                     outputCollector.emit(StreamType.CREATE.toString(), tuple, values);
 
@@ -115,7 +114,7 @@ public class SpeakerBolt extends BaseRichBolt {
                             Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, request);
 
                     message.setDestination(Destination.TOPOLOGY_ENGINE);
-                    values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
+                    values = new Values(message, switchId, flowId, transactionId);
                     outputCollector.emit(StreamType.DELETE.toString(), tuple, values);
 
                 } else {
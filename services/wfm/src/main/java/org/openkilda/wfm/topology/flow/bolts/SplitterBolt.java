@@ -15,11 +15,12 @@
 
 package org.openkilda.wfm.topology.flow.bolts;
 
-import static org.openkilda.messaging.Utils.MAPPER;
+import static java.lang.String.format;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.FlowCacheSyncRequest;
@@ -27,6 +28,7 @@ import org.openkilda.messaging.command.flow.FlowCreateRequest;
 import org.openkilda.messaging.command.flow.FlowDeleteRequest;
 import org.openkilda.messaging.command.flow.FlowGetRequest;
 import org.openkilda.messaging.command.flow.FlowPathRequest;
+import org.openkilda.messaging.command.flow.FlowRerouteBatchRequest;
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.command.flow.FlowStatusRequest;
 import org.openkilda.messaging.command.flow.FlowUpdateRequest;
@@ -35,6 +37,7 @@ import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.flow.FlowInfoData;
 import org.openkilda.messaging.info.flow.FlowOperation;
+import org.openkilda.messaging.model.Flow;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.wfm.topology.flow.FlowTopology;
 import org.openkilda.wfm.topology.flow.StreamType;
@@ -68,10 +71,10 @@ public class SplitterBolt extends BaseRichBolt {
     /**
      * Parse incoming message. Return null on parse failure.
      */
-    private Message tryMessage(String json) {
+    private Message tryMessage(Object request) {
         Message result = null;
         try {
-            result = MAPPER.readValue(json, Message.class);
+            result = MessageCodecs.decode(request, Message.class);
         } catch (Exception e) {
             /* do nothing */
         }
@@ -83,7 +86,7 @@ public class SplitterBolt extends BaseRichBolt {
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         Values values = new Values(request);
 
         try {
@@ -177,6 +180,23 @@ public class SplitterBolt extends BaseRichBolt {
                 values = new Values(message, flowId);
                 outputCollector.emit(StreamType.REROUTE.toString(), tuple, values);
 
+            } else if (data instanceof FlowRerouteBatchRequest) {
+                FlowRerouteBatchRequest batch = (FlowRerouteBatchRequest) data;
+
+                logger.info("Reroute of {} flows: reason={}, {}={}", batch.getFlowIds().size(), batch.getReason(),
+                        Utils.CORRELATION_ID, message.getCorrelationId());
+
+                for (String flowId : batch.getFlowIds()) {
+                    Flow flow = new Flow();
+                    flow.setFlowId(flowId);
+                    CommandMessage reroute = new CommandMessage(new FlowRerouteRequest(flow, batch.getOperation()),
+                            message.getTimestamp(), format("%s-%s", message.getCorrelationId(), flowId),
+                            Destination.WFM);
+                    outputCollector.emit(StreamType.REROUTE_BATCH.toString(), tuple, new Values(reroute, flowId));
+                }
+                // a bolt gets tuples of one task in the order they are emitted, so the flush comes after the flows
+                outputCollector.emit(StreamType.REROUTE_FLUSH.toString(), tuple, new Values(message, null));
+
             } else if (data instanceof FlowStatusRequest) {
                 String flowId = ((FlowStatusRequest) data).getPayload().getId();
 
@@ -244,6 +264,8 @@ public class SplitterBolt extends BaseRichBolt {
         outputFieldsDeclarer.declareStream(StreamType.CACHE_SYNC.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.VERIFICATION.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.REROUTE.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.REROUTE_BATCH.toString(), FlowTopology.fieldsMessageFlowId);
+        outputFieldsDeclarer.declareStream(StreamType.REROUTE_FLUSH.toString(), FlowTopology.fieldsMessageFlowId);
         outputFieldsDeclarer.declareStream(StreamType.ERROR.toString(), FlowTopology.fieldsMessageErrorType);
     }
 
@@ -15,11 +15,10 @@
 
 package org.openkilda.wfm.topology.flow.bolts;
 
-import static org.openkilda.messaging.Utils.MAPPER;
-
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
 import org.openkilda.messaging.command.flow.BaseInstallFlow;
@@ -61,11 +60,11 @@ public class TopologyEngineBolt extends BaseRichBolt {
      */
     @Override
     public void execute(Tuple tuple) {
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         Values values = null;
 
         try {
-            Message message = MAPPER.readValue(request, Message.class);
+            Message message = MessageCodecs.decode(request, Message.class);
             if (!Destination.WFM.equals(message.getDestination())) {
                 return;
             }
@@ -87,7 +86,7 @@ public class TopologyEngineBolt extends BaseRichBolt {
 
                     // FIXME(surabujin): send here and in TE
                     message.setDestination(Destination.CONTROLLER);
-                    values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
+                    values = new Values(message, switchId, flowId, transactionId);
                     outputCollector.emit(StreamType.CREATE.toString(), tuple, values);
 
                 } else if (data instanceof RemoveFlow) {
@@ -102,7 +101,7 @@ public class TopologyEngineBolt extends BaseRichBolt {
                             Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId, request);
 
                     message.setDestination(Destination.CONTROLLER);
-                    values = new Values(MAPPER.writeValueAsString(message), switchId, flowId, transactionId);
+                    values = new Values(message, switchId, flowId, transactionId);
                     outputCollector.emit(StreamType.DELETE.toString(), tuple, values);
 
                 } else {
@@ -0,0 +1,98 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.flow.bolts;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodecs;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.messaging.info.event.SwitchInfoData;
+import org.openkilda.messaging.info.flow.FlowInfoData;
+import org.openkilda.wfm.topology.flow.FlowTopology;
+import org.openkilda.wfm.topology.flow.StreamType;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.topology.base.BaseRichBolt;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Topology event bolt. Picks switch, ISL, port and flow events from the cache topic and passes them to the CRUD
+ * bolts, which keep their topology snapshots up to date with them. Flow events carry the bandwidth reservations made
+ * by the other CRUD bolt instances.
+ */
+public class TopologyEventBolt extends BaseRichBolt {
+    /**
+     * The logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(TopologyEventBolt.class);
+
+    /**
+     * Output collector.
+     */
+    private OutputCollector outputCollector;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void execute(Tuple tuple) {
+        Object request = tuple.getValue(0);
+
+        try {
+            Message message = MessageCodecs.decode(request, Message.class);
+            if (message instanceof InfoMessage) {
+                InfoData data = ((InfoMessage) message).getData();
+                if (data instanceof SwitchInfoData || data instanceof IslInfoData || data instanceof PortInfoData
+                        || data instanceof FlowInfoData) {
+                    logger.debug("Topology event: {}", data);
+                    outputCollector.emit(StreamType.TOPOLOGY_EVENT.toString(), tuple, new Values(data));
+                }
+            }
+        } catch (IOException exception) {
+            logger.error("Could not deserialize message={}", request, exception);
+        } catch (Exception e) {
+            logger.error(String.format("Unhandled exception in %s", getClass().getName()), e);
+        } finally {
+            outputCollector.ack(tuple);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
+        outputFieldsDeclarer.declareStream(StreamType.TOPOLOGY_EVENT.toString(), FlowTopology.fieldMessage);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void prepare(Map map, TopologyContext topologyContext, OutputCollector outputCollector) {
+        this.outputCollector = outputCollector;
+    }
+}
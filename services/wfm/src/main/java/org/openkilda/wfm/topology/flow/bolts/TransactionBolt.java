@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.topology.flow.bolts;
 
+import static org.openkilda.messaging.Utils.MAPPER;
+
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.ctrl.AbstractDumpState;
 import org.openkilda.messaging.ctrl.state.TransactionBoltState;
@@ -97,6 +99,9 @@ public class TransactionBolt
                     logger.info("Transaction from TopologyEngine: switch-id={}, {}={}, {}={}",
                             switchId, Utils.FLOW_ID, flowId, Utils.TRANSACTION_ID, transactionId);
 
+                    // the command is passed between bolts as an object, it is encoded once for the speaker topic
+                    String request = MAPPER.writeValueAsString(message);
+
                     flowTransactions = transactions.get(switchId);
                     if (flowTransactions == null) {
                         flowTransactions = new ConcurrentHashMap<>();
@@ -120,7 +125,7 @@ public class TransactionBolt
                     values = new Values(flowId, FlowState.IN_PROGRESS);
                     outputCollector.emit(StreamType.STATUS.toString(), tuple, values);
 
-                    values = new Values(message);
+                    values = new Values(switchId, request);
                     outputCollector.emit(streamId.toString(), tuple, values);
                     break;
 
@@ -204,8 +209,8 @@ public class TransactionBolt
      */
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
-        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldMessage);
-        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldMessage);
+        outputFieldsDeclarer.declareStream(StreamType.CREATE.toString(), FlowTopology.fieldsKeyMessage);
+        outputFieldsDeclarer.declareStream(StreamType.DELETE.toString(), FlowTopology.fieldsKeyMessage);
         outputFieldsDeclarer.declareStream(StreamType.STATUS.toString(), FlowTopology.fieldsFlowIdStatus);
         // FIXME(dbogun): use proper tuple format
         outputFieldsDeclarer.declareStream(STREAM_ID_CTRL, AbstractTopology.fieldMessage);
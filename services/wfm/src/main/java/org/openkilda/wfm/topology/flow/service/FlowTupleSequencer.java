@@ -0,0 +1,219 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.flow.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps the order of the tuples of a flow. While a path is being computed for the flow (the flow is busy), or the
+ * flow waits for the end of its reroute batch (the flow is pending), the next tuples of the flow are deferred and
+ * are taken back in the order they came once the flow is free.
+ *
+ * <p>Deferred and pending tuples are bounded by the capacity and expire after the timeout, so a tuple is never held
+ * past the message timeout of the topology (the spout would replay it while it still waits here) and a lost end of
+ * a reroute batch doesn't block its flows forever. The owner fails the expired tuples.</p>
+ *
+ * @param <T> the tuple type
+ */
+public class FlowTupleSequencer<T> {
+    private final int capacity;
+    private final long timeout;
+
+    private final Set<String> busyFlows = new HashSet<>();
+    private final Map<String, Deque<Entry<T>>> deferred = new HashMap<>();
+    private final Map<String, Entry<T>> pending = new LinkedHashMap<>();
+    private int deferredCount;
+
+    /**
+     * Instance constructor.
+     *
+     * @param capacity the maximum number of deferred tuples
+     * @param timeout how long a tuple may be deferred or pending, in milliseconds
+     */
+    public FlowTupleSequencer(int capacity, long timeout) {
+        this.capacity = capacity;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Checks whether a tuple of the flow has to be deferred. A pending flow accepts only the tuples of a reroute
+     * batch.
+     *
+     * @param flowId the flow
+     * @param rerouteBatch true if the tuple is a part of a reroute batch
+     * @return true if the tuple has to wait
+     */
+    public boolean isBusy(String flowId, boolean rerouteBatch) {
+        if (busyFlows.contains(flowId) || deferred.containsKey(flowId)) {
+            return true;
+        }
+        return !rerouteBatch && pending.containsKey(flowId);
+    }
+
+    /**
+     * Puts the tuple aside until the flow is free.
+     *
+     * @param flowId the flow
+     * @param tuple the tuple
+     * @param now current time in milliseconds
+     * @return false if the capacity is exhausted and the tuple was not taken
+     */
+    public boolean defer(String flowId, T tuple, long now) {
+        if (deferredCount >= capacity) {
+            return false;
+        }
+        deferred.computeIfAbsent(flowId, id -> new ArrayDeque<>()).add(new Entry<>(tuple, now));
+        deferredCount++;
+        return true;
+    }
+
+    /**
+     * Marks the flows busy, e.g. while their path is being computed.
+     */
+    public void acquire(Collection<String> flowIds) {
+        busyFlows.addAll(flowIds);
+    }
+
+    /**
+     * Marks the flows free, their deferred tuples can be taken with {@link #pollDeferred(String)}.
+     */
+    public void release(Collection<String> flowIds) {
+        busyFlows.removeAll(flowIds);
+    }
+
+    /**
+     * Takes the oldest deferred tuple of the flow, if the flow is free.
+     *
+     * @param flowId the flow
+     * @return the tuple or null if the flow is busy, pending, or has no deferred tuples
+     */
+    public T pollDeferred(String flowId) {
+        if (busyFlows.contains(flowId) || pending.containsKey(flowId)) {
+            return null;
+        }
+        Deque<Entry<T>> queue = deferred.get(flowId);
+        if (queue == null) {
+            return null;
+        }
+        Entry<T> entry = queue.poll();
+        if (queue.isEmpty()) {
+            deferred.remove(flowId);
+        }
+        deferredCount--;
+        return entry.tuple;
+    }
+
+    /**
+     * Gets the flows which have deferred tuples.
+     *
+     * @return copy of the flow ids
+     */
+    public List<String> getDeferredFlows() {
+        return new ArrayList<>(deferred.keySet());
+    }
+
+    /**
+     * Makes the flow pending till the end of its reroute batch.
+     *
+     * @param flowId the flow
+     * @param tuple the reroute tuple
+     * @param now current time in milliseconds
+     * @return the reroute tuple of the flow it replaces, or null
+     */
+    public T addPending(String flowId, T tuple, long now) {
+        Entry<T> previous = pending.put(flowId, new Entry<>(tuple, now));
+        return previous != null ? previous.tuple : null;
+    }
+
+    public boolean isPending(String flowId) {
+        return pending.containsKey(flowId);
+    }
+
+    /**
+     * Takes the reroute tuples of all pending flows, on the end of the batch.
+     *
+     * @return the tuples in the order they came
+     */
+    public List<T> drainPending() {
+        List<T> result = new ArrayList<>(pending.size());
+        for (Entry<T> entry : pending.values()) {
+            result.add(entry.tuple);
+        }
+        pending.clear();
+        return result;
+    }
+
+    /**
+     * Removes the tuples waiting longer than the timeout. If the oldest deferred tuple of a flow has expired, all
+     * deferred tuples of the flow are removed, so the later ones don't overtake it when it is replayed.
+     *
+     * @param now current time in milliseconds
+     * @return the expired tuples
+     */
+    public List<T> expire(long now) {
+        List<T> expired = new ArrayList<>();
+        Iterator<Deque<Entry<T>>> queues = deferred.values().iterator();
+        while (queues.hasNext()) {
+            Deque<Entry<T>> queue = queues.next();
+            if (isExpired(queue.peek(), now)) {
+                for (Entry<T> entry : queue) {
+                    expired.add(entry.tuple);
+                }
+                deferredCount -= queue.size();
+                queues.remove();
+            }
+        }
+
+        Iterator<Entry<T>> reroutes = pending.values().iterator();
+        while (reroutes.hasNext()) {
+            Entry<T> entry = reroutes.next();
+            if (isExpired(entry, now)) {
+                expired.add(entry.tuple);
+                reroutes.remove();
+            }
+        }
+        return expired;
+    }
+
+    public int getDeferredCount() {
+        return deferredCount;
+    }
+
+    private boolean isExpired(Entry<T> entry, long now) {
+        return entry.since + timeout <= now;
+    }
+
+    private static final class Entry<T> {
+        private final T tuple;
+        private final long since;
+
+        private Entry(T tuple, long since) {
+            this.tuple = tuple;
+            this.since = since;
+        }
+    }
+}
@@ -45,7 +45,7 @@ public class IslStatsTopology extends AbstractTopology<IslStatsTopologyConfig> {
         checkAndCreateTopic(topoDiscoTopic);
 
         logger.debug("connecting to {} topic", topoDiscoTopic);
-        builder.setSpout(ISL_STATS_SPOUT_ID, createKafkaSpout(topoDiscoTopic, ISL_STATS_SPOUT_ID));
+        builder.setSpout(ISL_STATS_SPOUT_ID, createKafkaMessageSpout(topoDiscoTopic, ISL_STATS_SPOUT_ID));
 
         IslStatsBolt verifyIslStatsBolt = new IslStatsBolt();
         logger.debug("starting {} bolt", ISL_STATS_BOLT_ID);
@@ -22,6 +22,7 @@ import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Tuple;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.info.Datapoint;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
@@ -65,12 +66,8 @@ public class IslStatsBolt extends BaseRichBolt {
         return tsdbTuple("pen.isl.latency", timestamp, data.getLatency(), tags);
     }
 
-    public String getJson(Tuple tuple) {
-        return tuple.getString(0);
-    }
-
-    public Message getMessage(String json) throws IOException {
-        return Utils.MAPPER.readValue(json, Message.class);
+    public Message getMessage(Tuple tuple) throws IOException {
+        return MessageCodecs.decode(tuple.getValue(0), Message.class);
     }
 
     public InfoData getInfoData(Message message) throws Exception {
@@ -91,15 +88,14 @@ public class IslStatsBolt extends BaseRichBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("tuple: " + tuple);
-        String json = getJson(tuple);
         try {
-            Message message = getMessage(json);
+            Message message = getMessage(tuple);
             IslInfoData data = getIslInfoData(getInfoData(message));
             List<Object> results = buildTsdbTuple(data, message.getTimestamp());
             logger.debug("emit: " + results);
             collector.emit(results);
         } catch(IOException e) {
-            logger.error("Could not deserialize message={}", json, e);
+            logger.error("Could not deserialize message={}", tuple.getValue(0), e);
         } catch(Exception e) {
             // TODO: has to be a cleaner way to do this?
         } finally {
@@ -54,7 +54,7 @@ public class PortStateTopology extends AbstractTopology<PortStateTopologyConfig>
         String topoDiscoTopic = topologyConfig.getKafkaTopoDiscoTopic();
         checkAndCreateTopic(topoDiscoTopic);
         logger.debug("connecting to {} topic", topoDiscoTopic);
-        builder.setSpout(TOPO_DISCO_SPOUT, createKafkaSpout(topoDiscoTopic, TOPO_DISCO_SPOUT));
+        builder.setSpout(TOPO_DISCO_SPOUT, createKafkaMessageSpout(topoDiscoTopic, TOPO_DISCO_SPOUT));
 
         TopoDiscoParseBolt topoDiscoParseBolt = new TopoDiscoParseBolt();
         builder.setBolt(TOPO_DISCO_PARSE_BOLT_NAME, topoDiscoParseBolt, topologyConfig.getParallelism())
@@ -75,7 +75,7 @@ public class PortStateTopology extends AbstractTopology<PortStateTopologyConfig>
         String wfmStatsTopic = topologyConfig.getKafkaStatsTopic();
         checkAndCreateTopic(wfmStatsTopic);
         logger.debug("connecting to {} topic", wfmStatsTopic);
-        builder.setSpout(WFM_STATS_SPOUT, createKafkaSpout(wfmStatsTopic, WFM_STATS_SPOUT));
+        builder.setSpout(WFM_STATS_SPOUT, createKafkaMessageSpout(wfmStatsTopic, WFM_STATS_SPOUT));
         
         WfmStatsParseBolt wfmStatsParseBolt = new WfmStatsParseBolt();
         builder.setBolt(WFM_STATS_PARSE_BOLT_NAME, wfmStatsParseBolt, topologyConfig.getParallelism())
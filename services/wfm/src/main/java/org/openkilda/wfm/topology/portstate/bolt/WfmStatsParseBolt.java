@@ -21,7 +21,7 @@ public class WfmStatsParseBolt extends AbstractKafkaParserBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("Ingoing tuple: {}", tuple);
-        String request = tuple.getString(0);
+        Object request = tuple.getValue(0);
         try {
             InfoData data = getInfoData(tuple);
             if (data instanceof SwitchPortStatusData) {
@@ -69,7 +69,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
 
 
         final String kafkaSpoutId = StatsComponentType.STATS_OFS_KAFKA_SPOUT.toString();
-        KafkaSpout kafkaSpout = createKafkaSpout(topologyConfig.getKafkaStatsTopic(), kafkaSpoutId);
+        KafkaSpout kafkaSpout = createKafkaMessageSpout(topologyConfig.getKafkaStatsTopic(), kafkaSpoutId);
         builder.setSpout(kafkaSpoutId, kafkaSpout, parallelism);
 
         SpeakerBolt speakerBolt = new SpeakerBolt();
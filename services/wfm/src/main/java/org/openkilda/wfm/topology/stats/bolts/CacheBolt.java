@@ -86,7 +86,7 @@ public class CacheBolt extends BaseRichBolt {
     private void initFlowCache() {
         try {
             PathComputer pathComputer = new NeoDriver(pathComputerAuth.getDriver());
-            pathComputer.getAllFlows().forEach(
+            pathComputer.forEachFlow(
                     flow -> cookieToFlow.put(flow.getCookie(), new CacheFlowEntry(
                             flow.getFlowId(),
                             StatsUtil.formatSwitchId(flow.getSourceSwitch()),
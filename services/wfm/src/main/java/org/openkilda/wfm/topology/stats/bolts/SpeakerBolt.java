@@ -19,7 +19,7 @@ import static org.openkilda.wfm.topology.AbstractTopology.fieldMessage;
 
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.FlowStatsData;
@@ -53,23 +53,22 @@ public class SpeakerBolt extends BaseRichBolt {
     @Override
     public void execute(Tuple tuple) {
         logger.debug("Ingoing tuple: {}", tuple);
-        String request = tuple.getString(0);
-        //String request = tuple.getStringByField("value");
+        Object request = tuple.getValue(0);
         try {
-            Message stats = Utils.MAPPER.readValue(request, Message.class);
+            Message stats = MessageCodecs.decode(request, Message.class);
             if (!Destination.WFM_STATS.equals(stats.getDestination()) || !(stats instanceof InfoMessage)) {
                 return;
             }
             InfoMessage message = (InfoMessage) stats;
             final InfoData data = message.getData();
             if (data instanceof PortStatsData) {
-                logger.debug("Port stats message: {}", new Values(request));
+                logger.debug("Port stats message: {}", message);
                 outputCollector.emit(PORT_STATS_STREAM, tuple, new Values(message));
             } else if (data instanceof MeterConfigStatsData) {
-                logger.debug("Meter config stats message: {}", new Values(request));
+                logger.debug("Meter config stats message: {}", message);
                 outputCollector.emit(METER_CFG_STATS_STREAM, tuple, new Values(message));
             } else if (data instanceof FlowStatsData) {
-                logger.debug("Flow stats message: {}", new Values(request));
+                logger.debug("Flow stats message: {}", message);
                 outputCollector.emit(FLOW_STATS_STREAM, tuple, new Values(message));
             }
         } catch (IOException exception) {
@@ -5,7 +5,7 @@ import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Tuple;
 import org.openkilda.messaging.Message;
-import org.openkilda.messaging.Utils;
+import org.openkilda.messaging.codec.MessageCodecs;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.wfm.error.MessageException;
@@ -16,12 +16,8 @@ import java.util.Map;
 public abstract class AbstractKafkaParserBolt extends BaseRichBolt {
     protected OutputCollector collector;
 
-    protected String getJson(Tuple tuple) {
-        return tuple.getString(0);
-    }
-
-    protected Message getMessage(String json) throws IOException {
-        return Utils.MAPPER.readValue(json, Message.class);
+    protected Message getMessage(Tuple tuple) throws IOException {
+        return MessageCodecs.decode(tuple.getValue(0), Message.class);
     }
 
     protected InfoData getInfoData(Message message) throws MessageException {
@@ -33,7 +29,7 @@ public abstract class AbstractKafkaParserBolt extends BaseRichBolt {
     }
 
     protected InfoData getInfoData(Tuple tuple) throws IOException, MessageException {
-        return getInfoData(getMessage(getJson(tuple)));
+        return getInfoData(getMessage(tuple));
     }
 
     @Override
@@ -0,0 +1,60 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.utils;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageCodecs;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.storm.kafka.spout.RecordTranslator;
+import org.apache.storm.tuple.Fields;
+import org.apache.storm.tuple.Values;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Decodes kafka record into {@link Message} right in the spout, so bolts receive ready to use objects.
+ *
+ * <p>Records that can't be decoded are passed as is, consuming bolt will report and ack them the same way it does
+ * for raw values.
+ */
+public class MessageRecordTranslator<K, V> implements RecordTranslator<K, V> {
+    private static final long serialVersionUID = 1L;
+    private static final Logger logger = LoggerFactory.getLogger(MessageRecordTranslator.class);
+
+    @Override
+    public List<Object> apply(ConsumerRecord<K, V> record) {
+        try {
+            return new Values(MessageCodecs.decode(record.value(), Message.class));
+        } catch (IOException e) {
+            logger.debug("Pass undecodable record {}:{} as is: {}", record.topic(), record.offset(), e.toString());
+            return new Values(record.value());
+        }
+    }
+
+    @Override
+    public Fields getFieldsFor(String stream) {
+        return KafkaRecordTranslator.FIELDS;
+    }
+
+    @Override
+    public List<String> streams() {
+        return DEFAULT_STREAM;
+    }
+}
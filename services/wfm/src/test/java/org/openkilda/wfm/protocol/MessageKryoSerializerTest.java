@@ -0,0 +1,48 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.protocol;
+
+import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MessageKryoSerializerTest {
+    @Test
+    public void serializeLoop() {
+        Kryo kryo = new Kryo();
+        kryo.register(InfoMessage.class, new MessageKryoSerializer());
+        kryo.register(PortInfoData.class, new MessageKryoSerializer());
+
+        InfoMessage message = new InfoMessage(
+                new PortInfoData("ff:fe:00:00:00:00:00:01", 2, PortChangeType.DOWN), 1L, "kryo", Destination.WFM);
+        PortInfoData data = (PortInfoData) message.getData();
+
+        Output output = new Output(1024, -1);
+        kryo.writeClassAndObject(output, message);
+        kryo.writeClassAndObject(output, data);
+
+        Input input = new Input(output.toBytes());
+        Assert.assertEquals(message, kryo.readClassAndObject(input));
+        Assert.assertEquals(data, kryo.readClassAndObject(input));
+    }
+}
@@ -0,0 +1,185 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.event.PathInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.model.Flow;
+import org.openkilda.messaging.model.ImmutablePair;
+import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.pce.cache.FlowCache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+public class FlowCacheStoreTest {
+    private static final long FORWARD_COOKIE = 0x4000000000000000L;
+    private static final long REVERSE_COOKIE = 0x2000000000000000L;
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("flow-cache-store");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void changesAreRestored() throws IOException {
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            store.flowStored(makeFlow("flow-1", 1, FlowState.UP));
+            store.flowStored(makeFlow("flow-2", 2, FlowState.UP));
+            store.flowStored(makeFlow("flow-1", 1, FlowState.DOWN));
+            store.flowRemoved("flow-2");
+        }
+
+        FlowCache flowCache = new FlowCache();
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            assertEquals(1, store.restore(flowCache));
+        }
+        assertEquals(FlowState.DOWN, flowCache.getFlow("flow-1").getLeft().getState());
+        assertFalse(flowCache.cacheContainsFlow("flow-2"));
+    }
+
+    @Test
+    public void compactedFlowsAreRestoredWithLaterChanges() throws IOException {
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            store.flowStored(makeFlow("flow-1", 1, FlowState.UP));
+            store.flowStored(makeFlow("flow-2", 2, FlowState.UP));
+            store.compact(Arrays.asList(makeFlow("flow-1", 1, FlowState.UP), makeFlow("flow-2", 2, FlowState.UP)));
+
+            // the changes made while the snapshot is written go to the new log segment
+            store.flowRemoved("flow-1");
+            store.flowStored(makeFlow("flow-3", 3, FlowState.UP));
+        }
+
+        // the segment written before the compaction is removed along with the snapshot
+        assertFalse(Files.exists(directory.resolve("flows.0.log")));
+        assertTrue(Files.exists(directory.resolve("flows.snapshot")));
+
+        FlowCache flowCache = new FlowCache();
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            assertEquals(2, store.restore(flowCache));
+        }
+        assertFalse(flowCache.cacheContainsFlow("flow-1"));
+        assertTrue(flowCache.cacheContainsFlow("flow-2"));
+        assertTrue(flowCache.cacheContainsFlow("flow-3"));
+    }
+
+    @Test
+    public void segmentsLeftByUnfinishedCompactionAreRestored() throws IOException {
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            store.flowStored(makeFlow("flow-1", 1, FlowState.UP));
+        }
+        byte[] firstSegment = Files.readAllBytes(directory.resolve("flows.0.log"));
+
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            store.compact(Collections.singletonList(makeFlow("flow-1", 1, FlowState.UP)));
+            store.flowStored(makeFlow("flow-2", 2, FlowState.UP));
+        }
+
+        // a crash before the snapshot is in place leaves the previous segment and the old snapshot
+        Files.delete(directory.resolve("flows.snapshot"));
+        Files.write(directory.resolve("flows.0.log"), firstSegment);
+
+        FlowCache flowCache = new FlowCache();
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            assertEquals(2, store.restore(flowCache));
+        }
+        assertTrue(flowCache.cacheContainsFlow("flow-1"));
+        assertTrue(flowCache.cacheContainsFlow("flow-2"));
+    }
+
+    @Test
+    public void truncatedLogKeepsEarlierChanges() throws IOException {
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            store.flowStored(makeFlow("flow-1", 1, FlowState.UP));
+            store.flowStored(makeFlow("flow-2", 2, FlowState.UP));
+        }
+
+        // the last record is cut by a crash
+        try (RandomAccessFile raw = new RandomAccessFile(directory.resolve("flows.0.log").toFile(), "rw")) {
+            raw.setLength(raw.length() - 10);
+        }
+
+        FlowCache flowCache = new FlowCache();
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            assertEquals(1, store.restore(flowCache));
+            store.flowStored(makeFlow("flow-3", 3, FlowState.UP));
+        }
+        assertTrue(flowCache.cacheContainsFlow("flow-1"));
+
+        flowCache = new FlowCache();
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            assertEquals(2, store.restore(flowCache));
+        }
+        assertTrue(flowCache.cacheContainsFlow("flow-3"));
+    }
+
+    @Test
+    public void corruptLogKeepsEarlierChanges() throws IOException {
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            store.flowStored(makeFlow("flow-1", 1, FlowState.UP));
+            store.flowStored(makeFlow("flow-2", 2, FlowState.UP));
+        }
+
+        try (RandomAccessFile raw = new RandomAccessFile(directory.resolve("flows.0.log").toFile(), "rw")) {
+            raw.seek(raw.length() - 1);
+            raw.write('x');
+        }
+
+        FlowCache flowCache = new FlowCache();
+        try (FlowCacheStore store = new FlowCacheStore(directory)) {
+            assertEquals(1, store.restore(flowCache));
+        }
+        assertTrue(flowCache.cacheContainsFlow("flow-1"));
+        assertFalse(flowCache.cacheContainsFlow("flow-2"));
+    }
+
+    private static ImmutablePair<Flow, Flow> makeFlow(String flowId, int index, FlowState state) {
+        PathInfoData forwardPath = new PathInfoData(0L, Arrays.asList(
+                new PathNode("00:00:00:00:00:00:00:01", 2, 0), new PathNode("00:00:00:00:00:00:00:02", 2, 1)));
+        PathInfoData reversePath = new PathInfoData(0L, Arrays.asList(
+                new PathNode("00:00:00:00:00:00:00:02", 2, 0), new PathNode("00:00:00:00:00:00:00:01", 2, 1)));
+        Flow forward = new Flow(flowId, 1000, false, FORWARD_COOKIE | index, "", "",
+                "00:00:00:00:00:00:00:01", "00:00:00:00:00:00:00:02", 1, 1, 100 + index, 100 + index,
+                10 + index, 100 + index, forwardPath, state);
+        Flow reverse = new Flow(flowId, 1000, false, REVERSE_COOKIE | index, "", "",
+                "00:00:00:00:00:00:00:02", "00:00:00:00:00:00:00:01", 1, 1, 100 + index, 100 + index,
+                10 + index, 200 + index, reversePath, state);
+        return new ImmutablePair<>(forward, reverse);
+    }
+}
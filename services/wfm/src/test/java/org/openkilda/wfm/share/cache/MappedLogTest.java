@@ -0,0 +1,134 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.share.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class MappedLogTest {
+    private static final int REGION_SIZE = 64;
+
+    private Path directory;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mapped-log");
+        file = directory.resolve("test.log");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Test
+    public void recordsAreReadAfterReopen() throws IOException {
+        try (MappedLog log = new MappedLog(file, REGION_SIZE)) {
+            for (int i = 0; i < 20; i++) {
+                log.append(record(i));
+            }
+        }
+
+        try (MappedLog log = new MappedLog(file, REGION_SIZE)) {
+            assertEquals(20, log.getRecordCount());
+            log.append(record(20));
+        }
+
+        List<byte[]> records = new ArrayList<>();
+        assertEquals(21, MappedLog.read(file, REGION_SIZE, records::add));
+        for (int i = 0; i < records.size(); i++) {
+            assertArrayEquals(record(i), records.get(i));
+        }
+    }
+
+    @Test
+    public void recordLargerThanRegion() throws IOException {
+        byte[] large = new byte[REGION_SIZE * 3];
+        large[large.length - 1] = 1;
+        try (MappedLog log = new MappedLog(file, REGION_SIZE)) {
+            log.append(record(0));
+            log.append(large);
+            log.append(record(1));
+        }
+
+        List<byte[]> records = new ArrayList<>();
+        MappedLog.read(file, REGION_SIZE, records::add);
+        assertEquals(3, records.size());
+        assertArrayEquals(large, records.get(1));
+        assertArrayEquals(record(1), records.get(2));
+    }
+
+    @Test
+    public void logEndsAtDamagedRecord() throws IOException {
+        try (MappedLog log = new MappedLog(file, REGION_SIZE)) {
+            log.append(record(0));
+            log.append(record(1));
+        }
+
+        // a record cut by a crash: the content is damaged
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(raw.length() - 1);
+            raw.write('x');
+        }
+
+        try (MappedLog log = new MappedLog(file, REGION_SIZE)) {
+            assertEquals(1, log.getRecordCount());
+            log.append(record(2));
+        }
+
+        List<byte[]> records = new ArrayList<>();
+        MappedLog.read(file, REGION_SIZE, records::add);
+        assertEquals(2, records.size());
+        assertArrayEquals(record(2), records.get(1));
+    }
+
+    @Test
+    public void resetRemovesRecords() throws IOException {
+        try (MappedLog log = new MappedLog(file, REGION_SIZE)) {
+            log.append(record(0));
+            log.reset();
+            log.append(record(1));
+            assertEquals(1, log.getRecordCount());
+        }
+
+        List<byte[]> records = new ArrayList<>();
+        MappedLog.read(file, REGION_SIZE, records::add);
+        assertEquals(1, records.size());
+        assertArrayEquals(record(1), records.get(0));
+    }
+
+    private static byte[] record(int index) {
+        return String.format("record-%d", index).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -18,7 +18,7 @@ package org.openkilda.wfm.topology.cache;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandMessage;
-import org.openkilda.messaging.command.flow.FlowRerouteRequest;
+import org.openkilda.messaging.command.flow.FlowRerouteBatchRequest;
 import org.openkilda.messaging.ctrl.CtrlRequest;
 import org.openkilda.messaging.ctrl.CtrlResponse;
 import org.openkilda.messaging.ctrl.DumpStateResponseData;
@@ -265,8 +265,8 @@ public class CacheTopologyTest extends AbstractStormTest {
         Assert.assertNotNull(record);
         CommandMessage message = objectMapper.readValue(record.value(), CommandMessage.class);
         Assert.assertNotNull(message);
-        FlowRerouteRequest command = (FlowRerouteRequest) message.getData();
-        Assert.assertTrue(command.getPayload().getFlowId().equals(flowId));
+        FlowRerouteBatchRequest command = (FlowRerouteBatchRequest) message.getData();
+        Assert.assertEquals(Collections.singletonList(flowId), command.getFlowIds());
     }
 
     private static <T extends Message> void sendMessage(T message, String topic) throws IOException {
@@ -0,0 +1,85 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.cache.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.flow.FlowOperation;
+import org.openkilda.messaging.model.Flow;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class RerouteQueueTest {
+    private final RerouteQueue.Reason reason = new RerouteQueue.Reason(FlowOperation.UPDATE, "test", "corr-id");
+
+    @Test
+    public void flowsWithMoreBandwidthGoFirst() {
+        RerouteQueue queue = new RerouteQueue();
+        queue.add(flow("small", 100), reason);
+        queue.add(flow("large", 10000), reason);
+        queue.add(flow("medium", 1000), reason);
+
+        assertEquals(3, queue.size());
+        assertEquals(Arrays.asList("large", "medium"), flowIds(queue.poll(2)));
+        assertEquals(Collections.singletonList("small"), flowIds(queue.poll(2)));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void flowIsQueuedOnce() {
+        RerouteQueue queue = new RerouteQueue();
+        RerouteQueue.Reason later = new RerouteQueue.Reason(FlowOperation.UPDATE, "later", "corr-id-2");
+        queue.add(flow("flow", 100), reason);
+        queue.add(flow("flow", 100), later);
+
+        List<RerouteQueue.Entry> entries = queue.poll(10);
+        assertEquals(1, entries.size());
+        assertEquals(later, entries.get(0).getReason());
+    }
+
+    @Test
+    public void reasonIsContainedUntilAllItsFlowsAreTaken() {
+        RerouteQueue queue = new RerouteQueue();
+        RerouteQueue.Reason later = new RerouteQueue.Reason(FlowOperation.UPDATE, "later", "corr-id-2");
+        queue.add(flow("small", 100), reason);
+        queue.add(flow("large", 10000), reason);
+        queue.add(flow("other", 1000), later);
+        queue.add(flow("other", 1000), reason);
+
+        assertFalse(queue.contains(later));
+        assertTrue(queue.contains(reason));
+        queue.poll(2);
+        assertTrue(queue.contains(reason));
+        queue.poll(1);
+        assertFalse(queue.contains(reason));
+    }
+
+    private static Flow flow(String flowId, int bandwidth) {
+        return new Flow(flowId, bandwidth, false, flowId, "sw1", 1, 100, "sw2", 2, 200);
+    }
+
+    private static List<String> flowIds(List<RerouteQueue.Entry> entries) {
+        return entries.stream().map(RerouteQueue.Entry::getFlowId).collect(Collectors.toList());
+    }
+}
@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.topology.flow;
 
+import org.openkilda.pce.cache.PathCache;
+import org.openkilda.pce.cache.TopologyCache;
 import org.openkilda.pce.provider.PathComputerAuth;
 
 public class MockedPathComputerAuth extends PathComputerAuth {
@@ -28,4 +30,14 @@ public class MockedPathComputerAuth extends PathComputerAuth {
         return new PathComputerMock();
     }
 
+    @Override
+    public PathComputerMock getPathComputer(TopologyCache topologyCache) {
+        return new PathComputerMock();
+    }
+
+    @Override
+    public PathComputerMock getPathComputer(TopologyCache topologyCache, PathCache pathCache) {
+        return new PathComputerMock();
+    }
+
 }
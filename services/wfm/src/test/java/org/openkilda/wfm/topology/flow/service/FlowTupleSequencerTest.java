@@ -0,0 +1,118 @@
+/* Copyright 2018 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.wfm.topology.flow.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class FlowTupleSequencerTest {
+    private static final long TIMEOUT = 1000;
+
+    private final FlowTupleSequencer<String> sequencer = new FlowTupleSequencer<>(10, TIMEOUT);
+
+    @Test
+    public void deferredTuplesAreTakenInOrder() {
+        sequencer.acquire(Collections.singleton("flow"));
+        assertTrue(sequencer.isBusy("flow", false));
+        assertTrue(sequencer.defer("flow", "update", 0));
+        assertTrue(sequencer.defer("flow", "delete", 0));
+        assertNull(sequencer.pollDeferred("flow"));
+
+        sequencer.release(Collections.singleton("flow"));
+        assertTrue("deferred tuples go ahead of the new ones", sequencer.isBusy("flow", false));
+        assertEquals("update", sequencer.pollDeferred("flow"));
+        assertEquals("delete", sequencer.pollDeferred("flow"));
+        assertNull(sequencer.pollDeferred("flow"));
+        assertFalse(sequencer.isBusy("flow", false));
+        assertEquals(0, sequencer.getDeferredCount());
+    }
+
+    @Test
+    public void otherFlowsAreNotBlocked() {
+        sequencer.acquire(Collections.singleton("flow"));
+        assertFalse(sequencer.isBusy("other", false));
+    }
+
+    @Test
+    public void pendingFlowWaitsForFlush() {
+        assertNull(sequencer.addPending("flow", "reroute", 0));
+        assertTrue(sequencer.isBusy("flow", false));
+        assertFalse("next reroute of the batch is accepted", sequencer.isBusy("flow", true));
+        assertEquals("reroute", sequencer.addPending("flow", "reroute-2", 0));
+
+        assertTrue(sequencer.defer("flow", "delete", 0));
+        assertNull(sequencer.pollDeferred("flow"));
+
+        assertEquals(Collections.singletonList("reroute-2"), sequencer.drainPending());
+        assertFalse(sequencer.isPending("flow"));
+        assertEquals(Collections.singletonList("flow"), sequencer.getDeferredFlows());
+        assertEquals("delete", sequencer.pollDeferred("flow"));
+    }
+
+    @Test
+    public void drainKeepsBatchOrder() {
+        sequencer.addPending("a", "reroute-a", 0);
+        sequencer.addPending("b", "reroute-b", 0);
+        sequencer.addPending("c", "reroute-c", 0);
+
+        assertEquals(Arrays.asList("reroute-a", "reroute-b", "reroute-c"), sequencer.drainPending());
+        assertTrue(sequencer.drainPending().isEmpty());
+    }
+
+    @Test
+    public void expiredFlowDropsAllItsDeferredTuples() {
+        sequencer.acquire(Collections.singleton("flow"));
+        sequencer.defer("flow", "first", 0);
+        sequencer.defer("flow", "second", TIMEOUT - 1);
+        sequencer.acquire(Collections.singleton("other"));
+        sequencer.defer("other", "fresh", TIMEOUT - 1);
+
+        assertTrue(sequencer.expire(TIMEOUT - 1).isEmpty());
+        assertEquals(Arrays.asList("first", "second"), sequencer.expire(TIMEOUT));
+        assertEquals(1, sequencer.getDeferredCount());
+        assertEquals(Collections.singletonList("other"), sequencer.getDeferredFlows());
+    }
+
+    @Test
+    public void lostFlushDoesNotBlockFlowForever() {
+        sequencer.addPending("flow", "reroute", 0);
+
+        assertEquals(Collections.singletonList("reroute"), sequencer.expire(TIMEOUT));
+        assertFalse(sequencer.isPending("flow"));
+        assertFalse(sequencer.isBusy("flow", false));
+    }
+
+    @Test
+    public void deferRejectsOverCapacity() {
+        FlowTupleSequencer<String> small = new FlowTupleSequencer<>(2, TIMEOUT);
+        small.acquire(Collections.singleton("flow"));
+        assertTrue(small.defer("flow", "1", 0));
+        assertTrue(small.defer("flow", "2", 0));
+        assertFalse(small.defer("flow", "3", 0));
+
+        small.release(Collections.singleton("flow"));
+        small.pollDeferred("flow");
+        assertTrue(small.defer("flow", "3", 0));
+    }
+}